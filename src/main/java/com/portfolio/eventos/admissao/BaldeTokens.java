@@ -0,0 +1,62 @@
+package com.portfolio.eventos.admissao;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Balde de tokens: reposto continuamente a uma taxa fixa por segundo e limitado a um segundo de tokens,
+ * de modo que uma rajada após um período ocioso nunca passa da taxa configurada.
+ */
+public class BaldeTokens {
+
+    private static final double NANOS_POR_SEGUNDO = 1_000_000_000d;
+
+    private final LongSupplier relogio;
+    private int porSegundo;
+    private double tokens;
+    private long ultimaReposicao;
+
+    public BaldeTokens(int porSegundo) {
+        this(porSegundo, System::nanoTime);
+    }
+
+    BaldeTokens(int porSegundo, LongSupplier relogio) {
+        if (porSegundo <= 0) {
+            throw new IllegalArgumentException("A taxa do balde deve ser maior que zero");
+        }
+        this.relogio = relogio;
+        this.porSegundo = porSegundo;
+        this.tokens = porSegundo;
+        this.ultimaReposicao = relogio.getAsLong();
+    }
+
+    /**
+     * Consome um token; retorna false se o balde estiver vazio
+     */
+    public synchronized boolean tentarConsumir() {
+        repor();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    public synchronized void alterarTaxa(int porSegundo) {
+        if (porSegundo <= 0) {
+            throw new IllegalArgumentException("A taxa do balde deve ser maior que zero");
+        }
+        repor();
+        this.porSegundo = porSegundo;
+        this.tokens = Math.min(tokens, porSegundo);
+    }
+
+    public synchronized int getPorSegundo() {
+        return porSegundo;
+    }
+
+    private void repor() {
+        long agora = relogio.getAsLong();
+        tokens = Math.min(porSegundo, tokens + (agora - ultimaReposicao) * porSegundo / NANOS_POR_SEGUNDO);
+        ultimaReposicao = agora;
+    }
+}
@@ -0,0 +1,92 @@
+package com.portfolio.eventos.admissao;
+
+import java.util.ArrayDeque;
+
+/**
+ * Sala de espera de um evento: um balde de tokens limita as admissões por segundo e os pedidos excedentes
+ * aguardam em uma fila FIFO limitada.
+ *
+ * Enquanto houver fila, novos pedidos entram no fim dela mesmo que sobrem tokens, para que ninguém passe
+ * à frente de quem já espera. Cada pedido enfileirado recebe um número de ordem; sua posição é a distância
+ * até o último pedido liberado, sem percorrer a fila.
+ */
+public class SalaEspera<T> {
+
+    /** Retorno de {@link #entrar} para pedido admitido sem espera */
+    public static final long ADMITIDO = 0;
+
+    /** Retorno de {@link #entrar} para fila cheia */
+    public static final long FILA_CHEIA = -1;
+
+    private final BaldeTokens balde;
+    private final int capacidadeFila;
+    private final ArrayDeque<T> fila = new ArrayDeque<>();
+    private long chegadas;
+    private long liberados;
+    private boolean semLimite;
+
+    public SalaEspera(BaldeTokens balde, int capacidadeFila) {
+        this.balde = balde;
+        this.capacidadeFila = capacidadeFila;
+    }
+
+    /**
+     * Admite o pedido se houver token e ninguém esperando; caso contrário o enfileira.
+     * Retorna {@link #ADMITIDO}, {@link #FILA_CHEIA} ou o número de ordem do pedido na fila (a partir de 1).
+     */
+    public synchronized long entrar(T pedido) {
+        if (fila.isEmpty() && balde.tentarConsumir()) {
+            return ADMITIDO;
+        }
+        if (fila.size() >= capacidadeFila) {
+            return FILA_CHEIA;
+        }
+        fila.addLast(pedido);
+        return ++chegadas;
+    }
+
+    /**
+     * Retira o primeiro pedido da fila se houver token para ele (ou se o limite foi removido), ou retorna null
+     */
+    public synchronized T liberarProximo() {
+        if (fila.isEmpty() || (!semLimite && !balde.tentarConsumir())) {
+            return null;
+        }
+        liberados++;
+        return fila.pollFirst();
+    }
+
+    /**
+     * Posição atual (a partir de 1) do pedido com o número de ordem informado, ou 0 se ele já foi liberado
+     */
+    public synchronized long posicao(long ordem) {
+        return Math.max(ordem - liberados, 0);
+    }
+
+    /**
+     * Estimativa em segundos até a liberação de um pedido na posição informada
+     */
+    public long esperaEstimadaSegundos(long posicao) {
+        int porSegundo = balde.getPorSegundo();
+        return (posicao + porSegundo - 1) / porSegundo;
+    }
+
+    /**
+     * Passa a liberar os pedidos que aguardam sem consumir tokens, na ordem de chegada e mantendo as posições
+     */
+    public synchronized void removerLimite() {
+        semLimite = true;
+    }
+
+    public synchronized int tamanhoFila() {
+        return fila.size();
+    }
+
+    public void alterarLimite(int porSegundo) {
+        balde.alterarTaxa(porSegundo);
+    }
+
+    public int getLimite() {
+        return balde.getPorSegundo();
+    }
+}
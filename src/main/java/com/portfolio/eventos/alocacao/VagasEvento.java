@@ -0,0 +1,199 @@
+package com.portfolio.eventos.alocacao;
+
+import com.portfolio.eventos.entity.Evento;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vagas de um evento em modo de alta demanda, alocadas em memória sem locks.
+ *
+ * As vagas restantes são divididas em faixas: cada thread começa pela sua faixa e só percorre as demais
+ * quando ela se esgota, de modo que reservas concorrentes raramente disputam o mesmo contador.
+ * Cada reserva decrementa uma faixa positiva com compare-and-set, portanto nunca são concedidas mais vagas
+ * do que a capacidade. Reduções de capacidade maiores que as vagas livres viram um déficit,
+ * quitado pelas próximas liberações antes que voltem a ficar disponíveis.
+ *
+ * Também guarda os participantes já inscritos, para recusar duplicidades sem consultar o banco.
+ */
+public class VagasEvento {
+
+    /** Distância entre faixas no array, para que cada uma ocupe sua própria linha de cache (64 bytes) */
+    private static final int ESPACAMENTO = 16;
+
+    private final Long eventoId;
+    private final int faixas;
+    private final AtomicIntegerArray restantes;
+    private final AtomicInteger deficit = new AtomicInteger();
+    private final LongAdder ocupadas = new LongAdder();
+    private final Set<Long> participantes = ConcurrentHashMap.newKeySet();
+
+    private volatile Integer capacidadeMaxima;
+    private volatile String nome;
+    private volatile Evento.StatusEvento status;
+
+    public VagasEvento(Long eventoId, String nome, Evento.StatusEvento status, Integer capacidadeMaxima,
+                       long confirmadas, Collection<Long> participantesInscritos, int faixas) {
+        if (Integer.bitCount(faixas) != 1) {
+            throw new IllegalArgumentException("A quantidade de faixas deve ser uma potência de 2");
+        }
+        this.eventoId = eventoId;
+        this.nome = nome;
+        this.status = status;
+        this.faixas = faixas;
+        this.restantes = new AtomicIntegerArray(faixas * ESPACAMENTO);
+        this.participantes.addAll(participantesInscritos);
+        this.ocupadas.add(confirmadas);
+        definirCapacidade(capacidadeMaxima);
+    }
+
+    /**
+     * Ocupa uma vaga; retorna false se o evento estiver lotado
+     */
+    public boolean reservar() {
+        if (ilimitada(capacidadeMaxima)) {
+            ocupadas.increment();
+            return true;
+        }
+        int inicio = faixaDaThread();
+        for (int i = 0; i < faixas; i++) {
+            int indice = ((inicio + i) & (faixas - 1)) * ESPACAMENTO;
+            int atual;
+            while ((atual = restantes.get(indice)) > 0) {
+                if (restantes.compareAndSet(indice, atual, atual - 1)) {
+                    ocupadas.increment();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void liberar() {
+        ocupadas.decrement();
+        if (ilimitada(capacidadeMaxima)) {
+            return;
+        }
+        int atual;
+        while ((atual = deficit.get()) > 0) {
+            if (deficit.compareAndSet(atual, atual - 1)) {
+                return;
+            }
+        }
+        restantes.incrementAndGet(faixaDaThread() * ESPACAMENTO);
+    }
+
+    /**
+     * Registra o participante; retorna false se ele já estiver inscrito no evento
+     */
+    public boolean registrarParticipante(Long participanteId) {
+        return participantes.add(participanteId);
+    }
+
+    public void removerParticipante(Long participanteId) {
+        participantes.remove(participanteId);
+    }
+
+    public boolean aceitaInscricoes() {
+        Evento.StatusEvento atual = status;
+        return atual != Evento.StatusEvento.CANCELADO && atual != Evento.StatusEvento.CONCLUIDO;
+    }
+
+    /**
+     * Aplica a alteração de um evento. Mudanças de capacidade são convertidas em vagas a mais ou a menos,
+     * preservando as reservas já feitas.
+     */
+    public synchronized void atualizar(String nome, Evento.StatusEvento status, Integer capacidadeMaxima) {
+        this.nome = nome;
+        this.status = status;
+        Integer anterior = this.capacidadeMaxima;
+        if (ilimitada(anterior) || ilimitada(capacidadeMaxima)) {
+            definirCapacidade(capacidadeMaxima);
+        } else {
+            this.capacidadeMaxima = capacidadeMaxima;
+            ajustarVagas(capacidadeMaxima - anterior);
+        }
+    }
+
+    /**
+     * Vagas livres no momento, ou -1 para capacidade ilimitada (mesma convenção do Evento)
+     */
+    public int vagasRestantes() {
+        if (ilimitada(capacidadeMaxima)) {
+            return -1;
+        }
+        int total = -deficit.get();
+        for (int i = 0; i < faixas; i++) {
+            total += restantes.get(i * ESPACAMENTO);
+        }
+        return Math.max(total, 0);
+    }
+
+    public long ocupadas() {
+        return ocupadas.sum();
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Redistribui as vagas livres (capacidade menos ocupadas) entre as faixas
+     */
+    private synchronized void definirCapacidade(Integer capacidadeMaxima) {
+        this.capacidadeMaxima = capacidadeMaxima;
+        deficit.set(0);
+        for (int i = 0; i < faixas; i++) {
+            restantes.set(i * ESPACAMENTO, 0);
+        }
+        if (!ilimitada(capacidadeMaxima)) {
+            ajustarVagas(capacidadeMaxima - ocupadas.intValue());
+        }
+    }
+
+    private void ajustarVagas(int delta) {
+        if (delta >= 0) {
+            int atual;
+            while (delta > 0 && (atual = deficit.get()) > 0) {
+                int quitado = Math.min(atual, delta);
+                if (deficit.compareAndSet(atual, atual - quitado)) {
+                    delta -= quitado;
+                }
+            }
+            for (int i = 0; i < faixas && delta > 0; i++) {
+                int parte = (delta + faixas - 1 - i) / (faixas - i);
+                restantes.addAndGet(i * ESPACAMENTO, parte);
+                delta -= parte;
+            }
+            return;
+        }
+        int falta = -delta;
+        for (int i = 0; i < faixas && falta > 0; i++) {
+            int indice = i * ESPACAMENTO;
+            int atual;
+            while (falta > 0 && (atual = restantes.get(indice)) > 0) {
+                int retirado = Math.min(atual, falta);
+                if (restantes.compareAndSet(indice, atual, atual - retirado)) {
+                    falta -= retirado;
+                }
+            }
+        }
+        deficit.addAndGet(falta);
+    }
+
+    private int faixaDaThread() {
+        return (int) Thread.currentThread().getId() & (faixas - 1);
+    }
+
+    private static boolean ilimitada(Integer capacidadeMaxima) {
+        return capacidadeMaxima == null || capacidadeMaxima == 0;
+    }
+}
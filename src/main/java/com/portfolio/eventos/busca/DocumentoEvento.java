@@ -0,0 +1,41 @@
+package com.portfolio.eventos.busca;
+
+/**
+ * Campos textuais de um evento usados na indexação (inclui os nomes do local e da categoria).
+ */
+public class DocumentoEvento {
+
+    private final Long id;
+    private final String nome;
+    private final String descricao;
+    private final String nomeLocal;
+    private final String nomeCategoria;
+
+    public DocumentoEvento(Long id, String nome, String descricao, String nomeLocal, String nomeCategoria) {
+        this.id = id;
+        this.nome = nome;
+        this.descricao = descricao;
+        this.nomeLocal = nomeLocal;
+        this.nomeCategoria = nomeCategoria;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public String getNomeLocal() {
+        return nomeLocal;
+    }
+
+    public String getNomeCategoria() {
+        return nomeCategoria;
+    }
+}
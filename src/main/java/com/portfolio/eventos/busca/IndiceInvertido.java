@@ -0,0 +1,212 @@
+package com.portfolio.eventos.busca;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória com busca por prefixo (n-gramas de borda) e ranqueamento por relevância.
+ *
+ * Cada token normalizado é indexado por inteiro e por todos os seus prefixos a partir de
+ * {@link #TAMANHO_MINIMO_NGRAMA} caracteres, de modo que "palest" encontra "Palestrá".
+ * A consulta exige todos os termos (AND) e percorre apenas a menor lista de documentos entre
+ * os termos informados, portanto o custo depende da seletividade da consulta e não do tamanho do índice.
+ */
+public class IndiceInvertido {
+
+    public static final int TAMANHO_MINIMO_NGRAMA = 3;
+
+    /** Fração do peso do campo atribuída a um prefixo, para que o token completo seja mais relevante */
+    private static final float FATOR_PREFIXO = 0.5f;
+
+    private static final Comparator<Map.Entry<Long, Double>> POR_RELEVANCIA =
+            Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final Map<String, Map<Long, Float>> documentosPorTermo = new HashMap<>();
+    private final Map<Long, Set<String>> termosPorDocumento = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa (ou reindexa) o documento com os campos informados
+     */
+    public void indexar(Long id, Campo... campos) {
+        Map<String, Float> pesos = new HashMap<>();
+        for (Campo campo : campos) {
+            for (String token : NormalizadorTexto.tokenizar(campo.getTexto())) {
+                pesos.merge(token, campo.getPeso(), Float::sum);
+                for (int tamanho = TAMANHO_MINIMO_NGRAMA; tamanho < token.length(); tamanho++) {
+                    pesos.merge(token.substring(0, tamanho), campo.getPeso() * FATOR_PREFIXO, Float::sum);
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+            pesos.forEach((termo, peso) -> documentosPorTermo.computeIfAbsent(termo, t -> new HashMap<>()).put(id, peso));
+            termosPorDocumento.put(id, pesos.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            documentosPorTermo.clear();
+            termosPorDocumento.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int totalDocumentos() {
+        lock.readLock().lock();
+        try {
+            return termosPorDocumento.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os ids dos documentos que contêm todos os termos da consulta, do mais para o menos relevante,
+     * a partir da posição {@code offset}; o total considera todos os documentos encontrados
+     */
+    public Resultado buscar(String consulta, int offset, int limite) {
+        Set<String> termos = new LinkedHashSet<>(NormalizadorTexto.tokenizar(consulta));
+        if (termos.isEmpty() || limite < 1) {
+            return new Resultado(Collections.emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Float>> listas = new ArrayList<>();
+            for (String termo : termos) {
+                Map<Long, Float> documentos = documentosPorTermo.get(termo);
+                if (documentos == null) {
+                    return new Resultado(Collections.emptyList(), 0);
+                }
+                listas.add(documentos);
+            }
+            listas.sort(Comparator.comparingInt(Map::size));
+
+            double totalDocumentos = termosPorDocumento.size();
+            double[] idf = new double[listas.size()];
+            for (int i = 0; i < listas.size(); i++) {
+                idf[i] = Math.log(1 + totalDocumentos / listas.get(i).size());
+            }
+
+            int capacidade = offset + limite;
+            PriorityQueue<Map.Entry<Long, Double>> melhores = new PriorityQueue<>(POR_RELEVANCIA.reversed());
+            int total = 0;
+            for (Map.Entry<Long, Float> candidato : listas.get(0).entrySet()) {
+                Long id = candidato.getKey();
+                double relevancia = candidato.getValue() * idf[0];
+                boolean contemTodos = true;
+                for (int i = 1; i < listas.size() && contemTodos; i++) {
+                    Float peso = listas.get(i).get(id);
+                    contemTodos = peso != null;
+                    if (contemTodos) {
+                        relevancia += peso * idf[i];
+                    }
+                }
+                if (!contemTodos) {
+                    continue;
+                }
+                total++;
+                if (melhores.size() < capacidade) {
+                    melhores.offer(Map.entry(id, relevancia));
+                } else if (POR_RELEVANCIA.compare(Map.entry(id, relevancia), melhores.peek()) < 0) {
+                    melhores.poll();
+                    melhores.offer(Map.entry(id, relevancia));
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(POR_RELEVANCIA);
+            List<Long> ids = new ArrayList<>();
+            for (int i = offset; i < ordenados.size(); i++) {
+                ids.add(ordenados.get(i).getKey());
+            }
+            return new Resultado(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removerDocumento(Long id) {
+        Set<String> termos = termosPorDocumento.remove(id);
+        if (termos == null) {
+            return;
+        }
+        for (String termo : termos) {
+            Map<Long, Float> documentos = documentosPorTermo.get(termo);
+            documentos.remove(id);
+            if (documentos.isEmpty()) {
+                documentosPorTermo.remove(termo);
+            }
+        }
+    }
+
+    /**
+     * Texto de um campo do documento e o peso dos seus termos na relevância
+     */
+    public static class Campo {
+
+        private final String texto;
+        private final float peso;
+
+        public Campo(String texto, float peso) {
+            this.texto = texto;
+            this.peso = peso;
+        }
+
+        public String getTexto() {
+            return texto;
+        }
+
+        public float getPeso() {
+            return peso;
+        }
+    }
+
+    /**
+     * Página de ids encontrados, em ordem de relevância, e o total de documentos encontrados
+     */
+    public static class Resultado {
+
+        private final List<Long> ids;
+        private final long total;
+
+        public Resultado(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
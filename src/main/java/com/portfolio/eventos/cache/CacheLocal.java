@@ -0,0 +1,190 @@
+package com.portfolio.eventos.cache;
+
+import com.portfolio.eventos.dto.EstatisticasCacheDTO;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache em memória read-through com limite de tamanho (remove o menos usado recentemente de uma amostra)
+ * e tempo de vida por entrada.
+ *
+ * As entradas ficam em um ConcurrentHashMap e as leituras não usam lock: um acerto só lê a entrada, anota o
+ * último acesso (com resolução de {@link #RESOLUCAO_ULTIMO_ACESSO}, para não escrever na entrada a cada leitura)
+ * e soma aos contadores. Ao exceder o tamanho, quem inseriu remove, entre {@link #AMOSTRA_REMOCAO} entradas
+ * percorridas por um ponteiro circular sobre o mapa, a de acesso mais antigo; entre a inserção e a remoção o
+ * tamanho pode passar do máximo por algumas entradas.
+ *
+ * O carregamento é feito fora de qualquer lock. Uma invalidação que ocorra durante o carregamento
+ * impede que o valor carregado seja guardado, para não reintroduzir um dado já desatualizado.
+ */
+public class CacheLocal<K, V> {
+
+    /** Entradas comparadas a cada remoção por tamanho */
+    public static final int AMOSTRA_REMOCAO = 8;
+
+    /** Diferença mínima para anotar de novo o último acesso a uma entrada */
+    public static final Duration RESOLUCAO_ULTIMO_ACESSO = Duration.ofMillis(1);
+
+    private static final long RESOLUCAO_ULTIMO_ACESSO_NANOS = RESOLUCAO_ULTIMO_ACESSO.toNanos();
+
+    private final int tamanhoMaximo;
+    private final long tempoDeVidaNanos;
+    private final LongSupplier relogio;
+    private final ConcurrentHashMap<K, Entrada<V>> entradas = new ConcurrentHashMap<>();
+
+    // Incrementada antes de cada invalidação; um valor carregado só é guardado se ela não mudou no carregamento
+    private final AtomicLong geracao = new AtomicLong();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoesPorTamanho = new LongAdder();
+    private final LongAdder remocoesPorExpiracao = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+
+    // Uma remoção por tamanho por vez; o ponteiro continua de onde a anterior parou
+    private final Object remocao = new Object();
+    private Iterator<Map.Entry<K, Entrada<V>>> ponteiro;
+
+    public CacheLocal(int tamanhoMaximo, Duration tempoDeVida) {
+        this(tamanhoMaximo, tempoDeVida, System::nanoTime);
+    }
+
+    public CacheLocal(int tamanhoMaximo, Duration tempoDeVida, LongSupplier relogio) {
+        if (tamanhoMaximo < 1) {
+            throw new IllegalArgumentException("O tamanho máximo do cache deve ser maior que zero");
+        }
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.tempoDeVidaNanos = tempoDeVida.toNanos();
+        this.relogio = relogio;
+    }
+
+    /**
+     * Retorna o valor em cache ou o carrega com o carregador; valores nulos não são guardados
+     */
+    public V obter(K chave, Function<K, V> carregador) {
+        long geracaoNoCarregamento = geracao.get();
+        V emCache = buscar(chave);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        V valor = carregador.apply(chave);
+
+        if (valor != null) {
+            Entrada<V> nova = new Entrada<>(valor, relogio.getAsLong());
+            // A invalidação remove a chave sob o mesmo lock do compute: ou ela vê a entrada nova e a remove,
+            // ou a geração já mudou quando o compute a compara
+            entradas.compute(chave, (c, atual) -> geracao.get() == geracaoNoCarregamento ? nova : atual);
+            removerExcedentes();
+        }
+        return valor;
+    }
+
+    /**
+     * Retorna o valor em cache, ou null se ele não existir ou tiver expirado
+     */
+    public V buscar(K chave) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada != null) {
+            long agora = relogio.getAsLong();
+            if (agora - entrada.criadaEm < tempoDeVidaNanos) {
+                if (agora - entrada.ultimoAcesso >= RESOLUCAO_ULTIMO_ACESSO_NANOS) {
+                    entrada.ultimoAcesso = agora;
+                }
+                acertos.increment();
+                return entrada.valor;
+            }
+            if (entradas.remove(chave, entrada)) {
+                remocoesPorExpiracao.increment();
+            }
+        }
+        falhas.increment();
+        return null;
+    }
+
+    /**
+     * Guarda o valor, substituindo o anterior e reiniciando o tempo de vida da entrada
+     */
+    public void guardar(K chave, V valor) {
+        entradas.put(chave, new Entrada<>(valor, relogio.getAsLong()));
+        removerExcedentes();
+    }
+
+    public void invalidar(K chave) {
+        geracao.incrementAndGet();
+        if (entradas.remove(chave) != null) {
+            invalidacoes.increment();
+        }
+    }
+
+    public void limpar() {
+        geracao.incrementAndGet();
+        invalidacoes.add(entradas.size());
+        entradas.clear();
+    }
+
+    public EstatisticasCacheDTO estatisticas() {
+        return new EstatisticasCacheDTO(entradas.size(), tamanhoMaximo, acertos.sum(), falhas.sum(),
+                remocoesPorTamanho.sum(), remocoesPorExpiracao.sum(), invalidacoes.sum());
+    }
+
+    private void removerExcedentes() {
+        if (entradas.size() <= tamanhoMaximo) {
+            return;
+        }
+        synchronized (remocao) {
+            while (entradas.size() > tamanhoMaximo) {
+                removerMenosUsadaDaAmostra();
+            }
+        }
+    }
+
+    /**
+     * Remove a entrada de acesso mais antigo entre as próximas do ponteiro, ou a primeira expirada encontrada
+     */
+    private void removerMenosUsadaDaAmostra() {
+        long agora = relogio.getAsLong();
+        Map.Entry<K, Entrada<V>> menosUsada = null;
+        for (int i = 0; i < AMOSTRA_REMOCAO; i++) {
+            if (ponteiro == null || !ponteiro.hasNext()) {
+                ponteiro = entradas.entrySet().iterator();
+                if (!ponteiro.hasNext()) {
+                    return;
+                }
+            }
+            Map.Entry<K, Entrada<V>> candidata = ponteiro.next();
+            Entrada<V> entrada = candidata.getValue();
+            if (agora - entrada.criadaEm >= tempoDeVidaNanos) {
+                if (entradas.remove(candidata.getKey(), entrada)) {
+                    remocoesPorExpiracao.increment();
+                }
+                return;
+            }
+            if (menosUsada == null || entrada.ultimoAcesso < menosUsada.getValue().ultimoAcesso) {
+                menosUsada = candidata;
+            }
+        }
+        if (entradas.remove(menosUsada.getKey(), menosUsada.getValue())) {
+            remocoesPorTamanho.increment();
+        }
+    }
+
+    private static class Entrada<V> {
+
+        private final V valor;
+        private final long criadaEm;
+        private volatile long ultimoAcesso;
+
+        private Entrada(V valor, long criadaEm) {
+            this.valor = valor;
+            this.criadaEm = criadaEm;
+            this.ultimoAcesso = criadaEm;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.portfolio.eventos.calendario;
+
+import com.portfolio.eventos.dto.EventoDTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Eventos agrupados por dia de início, com cada dia já ordenado por hora de início e id.
+ * Os dias são listas imutáveis substituídas a cada alteração, então as leituras não precisam de lock:
+ * "os próximos N dias" é a concatenação dos dias do intervalo.
+ */
+public class CalendarioEventos {
+
+    private static final Comparator<EventoDTO> ORDEM_DO_DIA = Comparator
+            .comparing(EventoDTO::getHoraInicio, Comparator.nullsFirst(Comparator.<LocalTime>naturalOrder()))
+            .thenComparing(EventoDTO::getId);
+
+    private final NavigableMap<LocalDate, List<EventoDTO>> dias = new ConcurrentSkipListMap<>();
+    private final Map<Long, LocalDate> diaPorEvento = new ConcurrentHashMap<>();
+
+    public CalendarioEventos() {}
+
+    public CalendarioEventos(Collection<EventoDTO> eventos) {
+        eventos.forEach(this::adicionar);
+    }
+
+    /**
+     * Inclui ou substitui o evento no dia da sua data de início
+     */
+    public synchronized void adicionar(EventoDTO evento) {
+        remover(evento.getId());
+        List<EventoDTO> dia = new ArrayList<>(dias.getOrDefault(evento.getDataInicio(), List.of()));
+        dia.add(evento);
+        dia.sort(ORDEM_DO_DIA);
+        dias.put(evento.getDataInicio(), List.copyOf(dia));
+        diaPorEvento.put(evento.getId(), evento.getDataInicio());
+    }
+
+    public synchronized void remover(Long eventoId) {
+        LocalDate data = diaPorEvento.remove(eventoId);
+        if (data == null) {
+            return;
+        }
+        List<EventoDTO> dia = new ArrayList<>(dias.get(data));
+        dia.removeIf(evento -> evento.getId().equals(eventoId));
+        if (dia.isEmpty()) {
+            dias.remove(data);
+        } else {
+            dias.put(data, List.copyOf(dia));
+        }
+    }
+
+    /**
+     * Eventos que começam entre as duas datas (inclusive), em ordem de data, hora de início e id
+     */
+    public List<EventoDTO> entre(LocalDate inicio, LocalDate fim, Long categoriaId) {
+        List<EventoDTO> eventos = new ArrayList<>();
+        for (List<EventoDTO> dia : dias.subMap(inicio, true, fim, true).values()) {
+            if (categoriaId == null) {
+                eventos.addAll(dia);
+            } else {
+                for (EventoDTO evento : dia) {
+                    if (categoriaId.equals(evento.getCategoriaId())) {
+                        eventos.add(evento);
+                    }
+                }
+            }
+        }
+        return eventos;
+    }
+
+    public int totalEventos() {
+        return diaPorEvento.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.portfolio.eventos.concorrencia;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Repete o método transacional quando ele falha por conflito de concorrência (versão alterada por outra transação,
+ * deadlock ou bloqueio indisponível), cada tentativa em uma transação nova. Ver {@link RetentativasConflitoAspect}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetentarEmConflito {
+}
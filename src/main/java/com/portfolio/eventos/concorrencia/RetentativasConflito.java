@@ -0,0 +1,86 @@
+package com.portfolio.eventos.concorrencia;
+
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Política de novas tentativas para operações que falham por conflito de concorrência.
+ *
+ * A espera antes de cada nova tentativa dobra a partir da espera inicial até a máxima, e é sorteada entre metade
+ * e o total desse teto, para que as transações que colidiram não voltem a colidir no mesmo instante.
+ * Esgotadas as tentativas, a última falha é propagada.
+ */
+public class RetentativasConflito {
+
+    private final int maximoTentativas;
+    private final long esperaInicialMs;
+    private final long esperaMaximaMs;
+    private final LongUnaryOperator sorteio;
+    private final Pausa pausa;
+
+    public RetentativasConflito(int maximoTentativas, long esperaInicialMs, long esperaMaximaMs) {
+        this(maximoTentativas, esperaInicialMs, esperaMaximaMs,
+                teto -> teto / 2 + ThreadLocalRandom.current().nextLong(teto - teto / 2 + 1), Thread::sleep);
+    }
+
+    RetentativasConflito(int maximoTentativas, long esperaInicialMs, long esperaMaximaMs,
+                         LongUnaryOperator sorteio, Pausa pausa) {
+        if (maximoTentativas < 1) {
+            throw new IllegalArgumentException("O número de tentativas deve ser maior que zero");
+        }
+        if (esperaInicialMs < 0 || esperaMaximaMs < esperaInicialMs) {
+            throw new IllegalArgumentException("Esperas inválidas: inicial " + esperaInicialMs + ", máxima " + esperaMaximaMs);
+        }
+        this.maximoTentativas = maximoTentativas;
+        this.esperaInicialMs = esperaInicialMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.sorteio = sorteio;
+        this.pausa = pausa;
+    }
+
+    /**
+     * Executa a operação, repetindo-a enquanto falhar por conflito de concorrência e houver tentativas
+     */
+    public <T> T executar(Supplier<T> operacao) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return operacao.get();
+            } catch (ConcurrencyFailureException conflito) {
+                if (tentativa >= maximoTentativas) {
+                    throw conflito;
+                }
+                aguardar(tentativa, conflito);
+            }
+        }
+    }
+
+    /**
+     * Teto da espera após a tentativa informada (a partir de 1): a espera inicial dobrada a cada tentativa
+     */
+    long tetoEspera(int tentativa) {
+        int dobras = Math.min(tentativa - 1, 62);
+        long teto = esperaInicialMs << dobras;
+        return teto < esperaInicialMs || teto > esperaMaximaMs ? esperaMaximaMs : teto;
+    }
+
+    public int getMaximoTentativas() {
+        return maximoTentativas;
+    }
+
+    private void aguardar(int tentativa, ConcurrencyFailureException conflito) {
+        try {
+            pausa.aguardar(sorteio.applyAsLong(tetoEspera(tentativa)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflito;
+        }
+    }
+
+    @FunctionalInterface
+    interface Pausa {
+        void aguardar(long millis) throws InterruptedException;
+    }
+}
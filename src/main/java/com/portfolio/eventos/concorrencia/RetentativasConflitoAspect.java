@@ -0,0 +1,56 @@
+package com.portfolio.eventos.concorrencia;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aplica a política de {@link RetentativasConflito} aos métodos anotados com {@link RetentarEmConflito}.
+ *
+ * Tem precedência sobre o interceptador de {@code @Transactional}, de modo que cada tentativa abre e encerra
+ * a sua própria transação e relê o estado atual. Chamado dentro de uma transação já existente, não repete:
+ * o conflito a deixa marcada para rollback, e quem a abriu é que deve tentar de novo.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RetentativasConflitoAspect {
+
+    public static final int MAXIMO_TENTATIVAS = 5;
+    public static final long ESPERA_INICIAL_MS = 5;
+    public static final long ESPERA_MAXIMA_MS = 100;
+
+    private final RetentativasConflito retentativas =
+            new RetentativasConflito(MAXIMO_TENTATIVAS, ESPERA_INICIAL_MS, ESPERA_MAXIMA_MS);
+
+    @Around("@annotation(com.portfolio.eventos.concorrencia.RetentarEmConflito)")
+    public Object retentar(ProceedingJoinPoint chamada) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return chamada.proceed();
+        }
+        try {
+            return retentativas.executar(() -> {
+                try {
+                    return chamada.proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new ExcecaoVerificada(e);
+                }
+            });
+        } catch (ExcecaoVerificada e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ExcecaoVerificada extends RuntimeException {
+
+        private ExcecaoVerificada(Throwable causa) {
+            super(causa);
+        }
+    }
+}
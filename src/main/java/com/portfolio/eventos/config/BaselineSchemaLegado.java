@@ -0,0 +1,83 @@
+package com.portfolio.eventos.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ajusta ao V1 um schema criado pelo ddl-auto=update, de antes das migrações, quando o Flyway o adota com
+ * spring.flyway.baseline-on-migrate (baseline na versão 1).
+ *
+ * O Hibernate deu um nome gerado à restrição de status de inscricoes, que a V4 substitui pelo nome do V1,
+ * e não criou os índices do V1 que as entidades ainda não declaravam. Só é executado no baseline.
+ */
+@Component
+public class BaselineSchemaLegado implements Callback {
+
+    private static final List<String> INDICES_V1 = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_eventos_data_inicio ON eventos (data_inicio)",
+            "CREATE INDEX IF NOT EXISTS idx_eventos_categoria_data_inicio ON eventos (categoria_id, data_inicio)",
+            "CREATE INDEX IF NOT EXISTS idx_eventos_local_data_inicio ON eventos (local_id, data_inicio)",
+            "CREATE INDEX IF NOT EXISTS idx_eventos_status_data_inicio ON eventos (status, data_inicio)",
+            "CREATE INDEX IF NOT EXISTS idx_eventos_preco ON eventos (preco)",
+            "CREATE INDEX IF NOT EXISTS idx_inscricoes_evento_status ON inscricoes (evento_id, status)",
+            "CREATE INDEX IF NOT EXISTS idx_inscricoes_participante_status ON inscricoes (participante_id, status)",
+            "CREATE INDEX IF NOT EXISTS idx_inscricoes_data_inscricao ON inscricoes (data_inscricao)");
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_BASELINE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String restricao : restricoesDeStatusDeInscricoes(statement)) {
+                statement.execute("ALTER TABLE inscricoes DROP CONSTRAINT \"" + restricao + "\"");
+            }
+            statement.execute("ALTER TABLE inscricoes ADD CONSTRAINT ck_inscricoes_status "
+                    + "CHECK (status IN ('PENDENTE', 'CONFIRMADA', 'CANCELADA'))");
+            for (String indice : INDICES_V1) {
+                statement.execute(indice);
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Falha ao ajustar o schema existente ao baseline das migrações", e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "baselineSchemaLegado";
+    }
+
+    /**
+     * Restrições CHECK sobre o status de inscricoes, com o nome que o banco tiver dado a elas
+     */
+    private List<String> restricoesDeStatusDeInscricoes(Statement statement) throws SQLException {
+        List<String> restricoes = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery(
+                "SELECT tc.constraint_name FROM information_schema.table_constraints tc "
+                        + "JOIN information_schema.check_constraints cc "
+                        + "ON cc.constraint_schema = tc.constraint_schema AND cc.constraint_name = tc.constraint_name "
+                        + "WHERE tc.table_schema = CURRENT_SCHEMA AND UPPER(tc.table_name) = 'INSCRICOES' "
+                        + "AND tc.constraint_type = 'CHECK' AND cc.check_clause LIKE '%PENDENTE%'")) {
+            while (rs.next()) {
+                restricoes.add(rs.getString(1));
+            }
+        }
+        return restricoes;
+    }
+}
@@ -0,0 +1,24 @@
+package com.portfolio.eventos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.eventos.idempotencia.ArmazenamentoIdempotencia;
+import com.portfolio.eventos.idempotencia.IdempotenciaFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotenciaConfig {
+
+    /**
+     * Registrado depois da cadeia do Spring Security, apenas para a API
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(ArmazenamentoIdempotencia armazenamento,
+                                                                         ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotenciaFilter> registro =
+                new FilterRegistrationBean<>(new IdempotenciaFilter(armazenamento, objectMapper));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
@@ -30,13 +30,13 @@ public class CategoriaController {
     @GetMapping
     public ResponseEntity<List<CategoriaDTO>> listarCategorias() {
         List<CategoriaDTO> categorias = categoriaService.listarCategorias();
-        return ResponseEntity.ok(categorias);
+        return RespostasCondicionais.lista(categorias, RespostasCondicionais::versao);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<CategoriaDTO> buscarCategoriaPorId(@PathVariable Long id) {
         CategoriaDTO categoria = categoriaService.buscarCategoriaPorId(id);
-        return ResponseEntity.ok(categoria);
+        return RespostasCondicionais.recurso(categoria, RespostasCondicionais::versao);
     }
 
     @PutMapping("/{id}")
@@ -1,8 +1,18 @@
 package com.portfolio.eventos.controller;
 
+import com.portfolio.eventos.dto.CheckinDTO;
+import com.portfolio.eventos.dto.CursorPageDTO;
+import com.portfolio.eventos.dto.EstatisticasCacheDTO;
+import com.portfolio.eventos.dto.EstatisticasInscricoesDTO;
 import com.portfolio.eventos.dto.EventoDTO;
+import com.portfolio.eventos.dto.OperacaoInscricoesDTO;
+import com.portfolio.eventos.dto.ResultadoCheckinDTO;
+import com.portfolio.eventos.dto.ResultadoOperacaoInscricoesDTO;
 import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.service.CredenciamentoService;
+import com.portfolio.eventos.service.EstatisticasInscricoesService;
 import com.portfolio.eventos.service.EventoService;
+import com.portfolio.eventos.service.InscricaoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -16,16 +26,25 @@ import org.springframework.web.bind.annotation.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/eventos")
 public class EventoController {
 
     private final EventoService eventoService;
+    private final InscricaoService inscricaoService;
+    private final EstatisticasInscricoesService estatisticasInscricoesService;
+    private final CredenciamentoService credenciamentoService;
 
     @Autowired
-    public EventoController(EventoService eventoService) {
+    public EventoController(EventoService eventoService, InscricaoService inscricaoService,
+                            EstatisticasInscricoesService estatisticasInscricoesService,
+                            CredenciamentoService credenciamentoService) {
         this.eventoService = eventoService;
+        this.inscricaoService = inscricaoService;
+        this.estatisticasInscricoesService = estatisticasInscricoesService;
+        this.credenciamentoService = credenciamentoService;
     }
 
     @PostMapping
@@ -42,13 +61,23 @@ public class EventoController {
         Sort sorting = Sort.by(Sort.Direction.fromString(sort[1]), sort[0]);
         Pageable pageable = PageRequest.of(page, size, sorting);
         Page<EventoDTO> eventos = eventoService.listarEventos(pageable);
-        return ResponseEntity.ok(eventos);
+        return RespostasCondicionais.pagina(eventos, RespostasCondicionais::versao);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<EventoDTO>> listarEventosPorCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort) {
+        Sort.Order ordem = new Sort.Order(Sort.Direction.fromString(sort[1]), sort[0]);
+        CursorPageDTO<EventoDTO> eventos = eventoService.listarEventosPorCursor(cursor, size, ordem);
+        return RespostasCondicionais.paginaPorCursor(eventos, RespostasCondicionais::versao);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<EventoDTO> buscarEventoPorId(@PathVariable Long id) {
         EventoDTO evento = eventoService.buscarEventoPorId(id);
-        return ResponseEntity.ok(evento);
+        return RespostasCondicionais.recurso(evento, RespostasCondicionais::versao);
     }
 
     @PutMapping("/{id}")
@@ -63,6 +92,50 @@ public class EventoController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Confirma as inscrições pendentes do evento informadas por ids ou pelo status, respeitando a capacidade
+     */
+    @PostMapping("/{id}/inscricoes/confirmar")
+    public ResponseEntity<ResultadoOperacaoInscricoesDTO> confirmarInscricoes(@PathVariable Long id,
+                                                                              @Valid @RequestBody OperacaoInscricoesDTO operacao) {
+        ResultadoOperacaoInscricoesDTO resultado = inscricaoService.confirmarInscricoesDoEvento(id, operacao);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping("/{id}/inscricoes/cancelar")
+    public ResponseEntity<ResultadoOperacaoInscricoesDTO> cancelarInscricoes(@PathVariable Long id,
+                                                                             @Valid @RequestBody OperacaoInscricoesDTO operacao) {
+        ResultadoOperacaoInscricoesDTO resultado = inscricaoService.cancelarInscricoesDoEvento(id, operacao);
+        return ResponseEntity.ok(resultado);
+    }
+
+    /**
+     * Confere o ingresso apresentado na entrada do evento; um ingresso já usado responde com a situação REPETIDO
+     */
+    @PostMapping("/{id}/checkin")
+    public ResponseEntity<ResultadoCheckinDTO> registrarCheckin(@PathVariable Long id,
+                                                                @Valid @RequestBody CheckinDTO checkin) {
+        return ResponseEntity.ok(credenciamentoService.registrarCheckin(id, checkin.getCodigo()));
+    }
+
+    /**
+     * Contagens de inscrições por status do evento
+     */
+    @GetMapping("/{id}/estatisticas")
+    public ResponseEntity<EstatisticasInscricoesDTO> buscarEstatisticasInscricoes(@PathVariable Long id) {
+        EstatisticasInscricoesDTO estatisticas = estatisticasInscricoesService.buscarPorEvento(id);
+        return RespostasCondicionais.recurso(estatisticas, RespostasCondicionais::versao);
+    }
+
+    /**
+     * Contagens de inscrições por status de vários eventos (ids separados por vírgula), em uma única consulta
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<EstatisticasInscricoesDTO>> buscarEstatisticasInscricoes(@RequestParam List<Long> ids) {
+        List<EstatisticasInscricoesDTO> estatisticas = estatisticasInscricoesService.buscarPorEventos(ids);
+        return RespostasCondicionais.lista(estatisticas, RespostasCondicionais::versao);
+    }
+
     @GetMapping("/filtrar")
     public ResponseEntity<Page<EventoDTO>> buscarEventosComFiltros(
             @RequestParam(required = false) Long categoriaId,
@@ -78,19 +151,57 @@ public class EventoController {
         Pageable pageable = PageRequest.of(page, size, sorting);
         Page<EventoDTO> eventos = eventoService.buscarEventosComFiltros(
                 categoriaId, localId, status, dataInicio, dataFim, precoMaximo, pageable);
-        return ResponseEntity.ok(eventos);
+        return RespostasCondicionais.pagina(eventos, RespostasCondicionais::versao);
+    }
+
+    @GetMapping(value = "/filtrar", params = "cursor")
+    public ResponseEntity<CursorPageDTO<EventoDTO>> buscarEventosComFiltrosPorCursor(
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Long localId,
+            @RequestParam(required = false) Evento.StatusEvento status,
+            @RequestParam(required = false) LocalDate dataInicio,
+            @RequestParam(required = false) LocalDate dataFim,
+            @RequestParam(required = false) BigDecimal precoMaximo,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort) {
+        Sort.Order ordem = new Sort.Order(Sort.Direction.fromString(sort[1]), sort[0]);
+        CursorPageDTO<EventoDTO> eventos = eventoService.buscarEventosComFiltrosPorCursor(
+                categoriaId, localId, status, dataInicio, dataFim, precoMaximo, cursor, size, ordem);
+        return RespostasCondicionais.paginaPorCursor(eventos, RespostasCondicionais::versao);
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<Page<EventoDTO>> buscarEventosPorTexto(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<EventoDTO> eventos = eventoService.buscarEventosPorTexto(q, PageRequest.of(page, size));
+        return RespostasCondicionais.pagina(eventos, RespostasCondicionais::versao);
     }
 
     @GetMapping("/proximos")
-    public ResponseEntity<List<EventoDTO>> buscarEventosProximos(@RequestParam(defaultValue = "7") int dias) {
-        List<EventoDTO> eventos = eventoService.buscarEventosProximos(dias);
-        return ResponseEntity.ok(eventos);
+    public ResponseEntity<List<EventoDTO>> buscarEventosProximos(
+            @RequestParam(defaultValue = "7") int dias,
+            @RequestParam(required = false) Long categoriaId) {
+        List<EventoDTO> eventos = eventoService.buscarEventosProximos(dias, categoriaId);
+        return RespostasCondicionais.lista(eventos, RespostasCondicionais::versao);
     }
 
     @GetMapping("/populares")
     public ResponseEntity<List<EventoDTO>> buscarEventosMaisPopulares(@RequestParam(defaultValue = "5") int limit) {
         List<EventoDTO> eventos = eventoService.buscarEventosMaisPopulares(limit);
-        return ResponseEntity.ok(eventos);
+        return RespostasCondicionais.lista(eventos, RespostasCondicionais::versao);
     }
-}
 
+    @GetMapping("/cache/estatisticas")
+    public ResponseEntity<EstatisticasCacheDTO> obterEstatisticasCache() {
+        return ResponseEntity.ok(eventoService.obterEstatisticasCache());
+    }
+
+    @PostMapping("/contadores/reconciliar")
+    public ResponseEntity<Map<String, Integer>> reconciliarContadoresInscricoes() {
+        int eventosAtualizados = eventoService.reconciliarContadoresInscricoes();
+        return ResponseEntity.ok(Map.of("eventosAtualizados", eventosAtualizados));
+    }
+}
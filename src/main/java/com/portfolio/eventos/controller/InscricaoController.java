@@ -1,18 +1,37 @@
 package com.portfolio.eventos.controller;
 
+import com.portfolio.eventos.dto.ConsolidacaoSeriesDTO;
+import com.portfolio.eventos.dto.ExportacaoHistoricoDTO;
+import com.portfolio.eventos.dto.IngressoDTO;
 import com.portfolio.eventos.dto.InscricaoDTO;
+import com.portfolio.eventos.dto.LoteInscricoesDTO;
+import com.portfolio.eventos.dto.PontoSerieDTO;
+import com.portfolio.eventos.dto.PosicaoListaEsperaDTO;
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.dto.ResultadoLoteInscricoesDTO;
+import com.portfolio.eventos.dto.SenhaAdmissaoDTO;
 import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo;
+import com.portfolio.eventos.service.AdmissaoInscricoesService;
+import com.portfolio.eventos.service.CredenciamentoService;
+import com.portfolio.eventos.service.HistoricoInscricoesService;
+import com.portfolio.eventos.service.InscricaoAltaDemandaService;
 import com.portfolio.eventos.service.InscricaoService;
+import com.portfolio.eventos.service.SeriesInscricoesService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,18 +39,79 @@ import java.util.List;
 public class InscricaoController {
 
     private final InscricaoService inscricaoService;
+    private final InscricaoAltaDemandaService inscricaoAltaDemandaService;
+    private final AdmissaoInscricoesService admissaoInscricoesService;
+    private final HistoricoInscricoesService historicoInscricoesService;
+    private final CredenciamentoService credenciamentoService;
+    private final SeriesInscricoesService seriesInscricoesService;
+
+    /** Intervalo máximo sugerido entre consultas de uma senha de admissão */
+    private static final long INTERVALO_MAXIMO_CONSULTA_SEGUNDOS = 10;
 
     @Autowired
-    public InscricaoController(InscricaoService inscricaoService) {
+    public InscricaoController(InscricaoService inscricaoService, InscricaoAltaDemandaService inscricaoAltaDemandaService,
+                               AdmissaoInscricoesService admissaoInscricoesService,
+                               HistoricoInscricoesService historicoInscricoesService,
+                               CredenciamentoService credenciamentoService,
+                               SeriesInscricoesService seriesInscricoesService) {
         this.inscricaoService = inscricaoService;
+        this.inscricaoAltaDemandaService = inscricaoAltaDemandaService;
+        this.admissaoInscricoesService = admissaoInscricoesService;
+        this.historicoInscricoesService = historicoInscricoesService;
+        this.credenciamentoService = credenciamentoService;
+        this.seriesInscricoesService = seriesInscricoesService;
     }
 
+    /**
+     * Cria a inscrição (201) ou, se o evento estiver acima do seu limite de inscrições por segundo,
+     * responde 202 com a senha do pedido na sala de espera e o endereço para acompanhá-lo
+     */
     @PostMapping
-    public ResponseEntity<InscricaoDTO> criarInscricao(@Valid @RequestBody InscricaoDTO inscricaoDTO) {
-        InscricaoDTO novaInscricao = inscricaoService.criarInscricao(inscricaoDTO);
+    public ResponseEntity<?> criarInscricao(@Valid @RequestBody InscricaoDTO inscricaoDTO) {
+        SenhaAdmissaoDTO senha = admissaoInscricoesService.admitir(inscricaoDTO);
+        if (senha != null) {
+            long intervaloConsulta = Math.min(Math.max(senha.getEsperaEstimadaSegundos(), 1),
+                    INTERVALO_MAXIMO_CONSULTA_SEGUNDOS);
+            return ResponseEntity.accepted()
+                    .location(URI.create(senha.getUrlConsulta()))
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(intervaloConsulta))
+                    .body(senha);
+        }
+        InscricaoDTO novaInscricao = inscricaoAltaDemandaService.criarInscricao(inscricaoDTO);
         return new ResponseEntity<>(novaInscricao, HttpStatus.CREATED);
     }
 
+    @GetMapping("/admissao/{senha}")
+    public ResponseEntity<SenhaAdmissaoDTO> consultarSenhaAdmissao(@PathVariable String senha) {
+        SenhaAdmissaoDTO admissao = admissaoInscricoesService.consultar(senha);
+        return ResponseEntity.ok(admissao);
+    }
+
+    /**
+     * Inscreve o participante ou, se o evento estiver lotado, o coloca na lista de espera
+     */
+    @PostMapping("/lista-espera")
+    public ResponseEntity<InscricaoDTO> entrarNaListaEspera(@Valid @RequestBody InscricaoDTO inscricaoDTO) {
+        InscricaoDTO inscricao = inscricaoService.entrarNaListaEspera(inscricaoDTO);
+        return new ResponseEntity<>(inscricao, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/lista-espera/evento/{eventoId}/participante/{participanteId}")
+    public ResponseEntity<PosicaoListaEsperaDTO> buscarPosicaoListaEspera(@PathVariable Long eventoId,
+                                                                          @PathVariable Long participanteId) {
+        PosicaoListaEsperaDTO posicao = inscricaoService.buscarPosicaoListaEspera(eventoId, participanteId);
+        return ResponseEntity.ok(posicao);
+    }
+
+    /**
+     * Cria as inscrições do lote e responde com o resultado de cada item; itens recusados não impedem os demais
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteInscricoesDTO> criarInscricoesEmLote(@Valid @RequestBody LoteInscricoesDTO lote) {
+        ResultadoLoteInscricoesDTO resultado = inscricaoService.inscreverEmLote(lote.getInscricoes());
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping
     public ResponseEntity<Page<InscricaoDTO>> listarInscricoes(
             @RequestParam(defaultValue = "0") int page,
@@ -43,6 +123,44 @@ public class InscricaoController {
         return ResponseEntity.ok(inscricoes);
     }
 
+    /**
+     * Histórico de todas as inscrições em ordem de sequência, a partir da sequência informada (exclusiva)
+     */
+    @GetMapping("/historico")
+    public ResponseEntity<List<RegistroHistoricoDTO>> listarHistorico(
+            @RequestParam(defaultValue = "0") long aPartirDe,
+            @RequestParam(defaultValue = "100") int limite) {
+        return ResponseEntity.ok(historicoInscricoesService.listar(aPartirDe, limite));
+    }
+
+    /**
+     * Exporta para os arquivos de segmento o histórico ainda não exportado
+     */
+    @PostMapping("/historico/segmentos")
+    public ResponseEntity<ExportacaoHistoricoDTO> exportarHistorico() {
+        return ResponseEntity.ok(historicoInscricoesService.exportarSegmentos());
+    }
+
+    /**
+     * Inscrições criadas, confirmadas e canceladas por período, do evento ou de todos os eventos
+     */
+    @GetMapping("/serie")
+    public ResponseEntity<List<PontoSerieDTO>> buscarSerie(
+            @RequestParam(required = false) Long eventoId,
+            @RequestParam(defaultValue = "HORA") InscricoesPorPeriodo.Granularidade granularidade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate) {
+        return ResponseEntity.ok(seriesInscricoesService.serie(eventoId, granularidade, de, ate));
+    }
+
+    /**
+     * Descarta as séries e as agrega de novo a partir do histórico
+     */
+    @PostMapping("/serie/reconstruir")
+    public ResponseEntity<ConsolidacaoSeriesDTO> reconstruirSeries() {
+        return ResponseEntity.ok(seriesInscricoesService.reconstruir());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InscricaoDTO> buscarInscricaoPorId(@PathVariable Long id) {
         InscricaoDTO inscricao = inscricaoService.buscarInscricaoPorId(id);
@@ -73,6 +191,19 @@ public class InscricaoController {
         return ResponseEntity.ok(inscricaoCancelada);
     }
 
+    @GetMapping("/{id}/historico")
+    public ResponseEntity<List<RegistroHistoricoDTO>> buscarHistoricoInscricao(@PathVariable Long id) {
+        return ResponseEntity.ok(historicoInscricoesService.listarPorInscricao(id));
+    }
+
+    /**
+     * Ingresso assinado da inscrição confirmada, conferido no check-in do evento
+     */
+    @GetMapping("/{id}/ingresso")
+    public ResponseEntity<IngressoDTO> emitirIngresso(@PathVariable Long id) {
+        return ResponseEntity.ok(credenciamentoService.emitirIngresso(id));
+    }
+
     @GetMapping("/participante/{participanteId}")
     public ResponseEntity<Page<InscricaoDTO>> buscarInscricoesPorParticipante(
             @PathVariable Long participanteId,
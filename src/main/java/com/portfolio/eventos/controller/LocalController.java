@@ -30,13 +30,13 @@ public class LocalController {
     @GetMapping
     public ResponseEntity<List<LocalDTO>> listarLocais() {
         List<LocalDTO> locais = localService.listarLocais();
-        return ResponseEntity.ok(locais);
+        return RespostasCondicionais.lista(locais, RespostasCondicionais::versao);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<LocalDTO> buscarLocalPorId(@PathVariable Long id) {
         LocalDTO local = localService.buscarLocalPorId(id);
-        return ResponseEntity.ok(local);
+        return RespostasCondicionais.recurso(local, RespostasCondicionais::versao);
     }
 
     @PutMapping("/{id}")
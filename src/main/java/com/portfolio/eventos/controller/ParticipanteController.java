@@ -1,25 +1,43 @@
 package com.portfolio.eventos.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.eventos.dto.CursorPageDTO;
+import com.portfolio.eventos.dto.EstatisticasSenhasDTO;
 import com.portfolio.eventos.dto.ParticipanteDTO;
 import com.portfolio.eventos.dto.ParticipanteRequestDTO;
 import com.portfolio.eventos.service.ParticipanteService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/participantes")
 public class ParticipanteController {
 
     private final ParticipanteService participanteService;
+    private final ObjectMapper objectMapper;
+
+    /** Formato da exportação: um participante em JSON por linha */
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @Autowired
-    public ParticipanteController(ParticipanteService participanteService) {
+    public ParticipanteController(ParticipanteService participanteService, ObjectMapper objectMapper) {
         this.participanteService = participanteService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -29,11 +47,52 @@ public class ParticipanteController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ParticipanteDTO>> listarParticipantes() {
-        List<ParticipanteDTO> participantes = participanteService.listarParticipantes();
+    public ResponseEntity<Page<ParticipanteDTO>> listarParticipantes(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort) {
+        Sort sorting = Sort.by(Sort.Direction.fromString(sort[1]), sort[0]);
+        Pageable pageable = PageRequest.of(page, size, sorting);
+        Page<ParticipanteDTO> participantes = participanteService.listarParticipantes(pageable);
         return ResponseEntity.ok(participantes);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<ParticipanteDTO>> listarParticipantesPorCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(participanteService.listarParticipantesPorCursor(cursor, size));
+    }
+
+    /**
+     * Todos os participantes, com os totais de inscrições, em ordem de id e um por linha, escritos conforme são
+     * lidos do banco
+     */
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportarParticipantes() {
+        StreamingResponseBody corpo = saida -> {
+            BufferedWriter escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            participanteService.exportarParticipantes(participante -> {
+                try {
+                    escritor.write(objectMapper.writeValueAsString(participante));
+                    escritor.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            escritor.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(corpo);
+    }
+
+    /**
+     * Fila e tempos da codificação das senhas dos cadastros
+     */
+    @GetMapping("/senhas/estatisticas")
+    public ResponseEntity<EstatisticasSenhasDTO> obterEstatisticasSenhas() {
+        return ResponseEntity.ok(participanteService.obterEstatisticasSenhas());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ParticipanteDTO> buscarParticipantePorId(@PathVariable Long id) {
         ParticipanteDTO participante = participanteService.buscarParticipantePorId(id);
@@ -0,0 +1,108 @@
+package com.portfolio.eventos.controller;
+
+import com.portfolio.eventos.dto.CategoriaDTO;
+import com.portfolio.eventos.dto.CursorPageDTO;
+import com.portfolio.eventos.dto.EstatisticasInscricoesDTO;
+import com.portfolio.eventos.dto.EventoDTO;
+import com.portfolio.eventos.dto.LocalDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Respostas GET com ETag forte. Quando o If-None-Match da requisição coincide, o Spring responde
+ * 304 sem serializar o corpo.
+ *
+ * A versão de um recurso é derivada do id, da data de atualização e dos contadores exibidos
+ * (inscrições confirmadas, total de eventos), que mudam sem alterar a data de atualização.
+ * Por esse motivo não é enviado Last-Modified: um If-Modified-Since responderia 304 com contadores antigos.
+ * Listas recebem um ETag agregado a partir das versões dos itens, na ordem, e dos metadados da página.
+ */
+final class RespostasCondicionais {
+
+    /** Quantidade de bytes do SHA-256 mantida no ETag agregado */
+    private static final int BYTES_ETAG_AGREGADO = 16;
+
+    private RespostasCondicionais() {
+    }
+
+    static String versao(EventoDTO evento) {
+        return evento.getId() + "-" + carimbo(evento.getDataAtualizacao())
+                + "-" + evento.getNumeroInscricoesConfirmadas() + "-" + evento.getVagasDisponiveis();
+    }
+
+    static String versao(LocalDTO local) {
+        return local.getId() + "-" + carimbo(local.getDataAtualizacao()) + "-" + local.getTotalEventos();
+    }
+
+    static String versao(CategoriaDTO categoria) {
+        return categoria.getId() + "-" + carimbo(categoria.getDataAtualizacao()) + "-" + categoria.getTotalEventos();
+    }
+
+    static String versao(EstatisticasInscricoesDTO estatisticas) {
+        return estatisticas.getEventoId() + "-" + estatisticas.getPendentes() + "-" + estatisticas.getConfirmadas()
+                + "-" + estatisticas.getCanceladas() + "-" + estatisticas.getListaEspera();
+    }
+
+    static <T> ResponseEntity<T> recurso(T corpo, Function<T, String> versao) {
+        return comEtag(corpo, versao.apply(corpo));
+    }
+
+    static <T> ResponseEntity<List<T>> lista(List<T> itens, Function<T, String> versao) {
+        return comEtag(itens, agregar(itens, versao, ""));
+    }
+
+    static <T> ResponseEntity<Page<T>> pagina(Page<T> pagina, Function<T, String> versao) {
+        String metadados = pagina.getNumber() + "/" + pagina.getSize() + "/" + pagina.getTotalElements();
+        return comEtag(pagina, agregar(pagina.getContent(), versao, metadados));
+    }
+
+    static <T> ResponseEntity<CursorPageDTO<T>> paginaPorCursor(CursorPageDTO<T> pagina, Function<T, String> versao) {
+        return comEtag(pagina, agregar(pagina.getContent(), versao, String.valueOf(pagina.getNextCursor())));
+    }
+
+    /**
+     * O no-cache permite ao cliente guardar a resposta, mas exige revalidação a cada uso
+     */
+    private static <T> ResponseEntity<T> comEtag(T corpo, String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(corpo);
+    }
+
+    private static <T> String agregar(List<T> itens, Function<T, String> versao, String metadados) {
+        MessageDigest digest = sha256();
+        digest.update(metadados.getBytes(StandardCharsets.UTF_8));
+        for (T item : itens) {
+            digest.update((byte) ';');
+            digest.update(versao.apply(item).getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] hash = digest.digest();
+        return HexFormat.of().formatHex(hash, 0, BYTES_ETAG_AGREGADO);
+    }
+
+    private static String carimbo(LocalDateTime data) {
+        if (data == null) {
+            return "0";
+        }
+        return Long.toHexString(data.toEpochSecond(ZoneOffset.UTC)) + "." + Integer.toHexString(data.getNano());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
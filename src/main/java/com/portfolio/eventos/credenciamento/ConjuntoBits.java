@@ -0,0 +1,109 @@
+package com.portfolio.eventos.credenciamento;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Conjunto de ids não negativos guardado como bits, seguro para uso concorrente sem bloqueio nas operações.
+ *
+ * Os bits ficam em páginas de {@value #BITS_POR_PAGINA} ids, criadas na primeira inclusão de um id da faixa:
+ * ids de sequência, densos, ocupam cerca de um bit cada. Cada bit é alterado com compare-and-set na palavra
+ * que o contém, de modo que {@link #adicionar} informa com exatidão qual de várias threads incluiu o id.
+ */
+public final class ConjuntoBits {
+
+    private static final int DESLOCAMENTO_PAGINA = 16;
+
+    public static final int BITS_POR_PAGINA = 1 << DESLOCAMENTO_PAGINA;
+
+    private static final int PALAVRAS_POR_PAGINA = BITS_POR_PAGINA / Long.SIZE;
+
+    // Só é substituído e só recebe páginas novas sob o monitor; a leitura não bloqueia
+    private volatile AtomicReferenceArray<AtomicLongArray> paginas = new AtomicReferenceArray<>(16);
+
+    /**
+     * Inclui o id e retorna true se ele ainda não estava no conjunto
+     */
+    public boolean adicionar(long id) {
+        AtomicLongArray pagina = pagina(id, true);
+        int palavra = palavra(id);
+        long bit = bit(id);
+        long atual;
+        do {
+            atual = pagina.get(palavra);
+            if ((atual & bit) != 0) {
+                return false;
+            }
+        } while (!pagina.compareAndSet(palavra, atual, atual | bit));
+        return true;
+    }
+
+    /**
+     * Retira o id e retorna true se ele estava no conjunto
+     */
+    public boolean remover(long id) {
+        AtomicLongArray pagina = pagina(id, false);
+        if (pagina == null) {
+            return false;
+        }
+        int palavra = palavra(id);
+        long bit = bit(id);
+        long atual;
+        do {
+            atual = pagina.get(palavra);
+            if ((atual & bit) == 0) {
+                return false;
+            }
+        } while (!pagina.compareAndSet(palavra, atual, atual & ~bit));
+        return true;
+    }
+
+    public boolean contem(long id) {
+        AtomicLongArray pagina = pagina(id, false);
+        return pagina != null && (pagina.get(palavra(id)) & bit(id)) != 0;
+    }
+
+    public synchronized void limpar() {
+        paginas = new AtomicReferenceArray<>(16);
+    }
+
+    private AtomicLongArray pagina(long id, boolean criar) {
+        long indice = id >>> DESLOCAMENTO_PAGINA;
+        if (id < 0 || indice >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Id fora da faixa do conjunto: " + id);
+        }
+        AtomicReferenceArray<AtomicLongArray> atuais = paginas;
+        AtomicLongArray pagina = indice < atuais.length() ? atuais.get((int) indice) : null;
+        if (pagina != null || !criar) {
+            return pagina;
+        }
+        return criarPagina((int) indice);
+    }
+
+    private synchronized AtomicLongArray criarPagina(int indice) {
+        AtomicReferenceArray<AtomicLongArray> atuais = paginas;
+        if (indice >= atuais.length()) {
+            AtomicReferenceArray<AtomicLongArray> maiores =
+                    new AtomicReferenceArray<>(Math.max(indice + 1, atuais.length() * 2));
+            for (int i = 0; i < atuais.length(); i++) {
+                maiores.set(i, atuais.get(i));
+            }
+            paginas = maiores;
+            atuais = maiores;
+        }
+        AtomicLongArray pagina = atuais.get(indice);
+        if (pagina == null) {
+            pagina = new AtomicLongArray(PALAVRAS_POR_PAGINA);
+            atuais.set(indice, pagina);
+        }
+        return pagina;
+    }
+
+    private static int palavra(long id) {
+        return (int) (id & (BITS_POR_PAGINA - 1)) >>> 6;
+    }
+
+    private static long bit(long id) {
+        return 1L << id;
+    }
+}
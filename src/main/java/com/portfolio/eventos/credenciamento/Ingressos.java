@@ -0,0 +1,105 @@
+package com.portfolio.eventos.credenciamento;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Emissão e verificação dos ingressos de um evento: códigos compactos assinados com a chave do evento, que
+ * podem ser conferidos sem consultar o banco.
+ *
+ * O código é o Base64 URL, sem preenchimento, de 33 bytes: a versão do formato (1 byte), o id da inscrição e o
+ * id do evento (8 bytes cada) e os 16 primeiros bytes do HMAC-SHA256 desses 17 bytes, o que dá {@value
+ * #TAMANHO_CODIGO} caracteres, curto o bastante para um QR code pequeno. Cada thread usa sua própria instância
+ * de {@link Mac}, inicializada uma vez com a chave.
+ */
+public final class Ingressos {
+
+    /** Tamanho em bytes das chaves geradas por {@link #novaChave()} */
+    public static final int TAMANHO_CHAVE = 32;
+
+    public static final int TAMANHO_CODIGO = 44;
+
+    /** Retorno de {@link #verificar} para códigos inválidos */
+    public static final long INVALIDO = -1;
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final byte VERSAO = 1;
+    private static final int TAMANHO_DADOS = 1 + 2 * Long.BYTES;
+    private static final int TAMANHO_ASSINATURA = 16;
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+
+    private final long eventoId;
+    private final ThreadLocal<Mac> macs;
+
+    public Ingressos(long eventoId, byte[] chave) {
+        SecretKeySpec especificacao = new SecretKeySpec(chave, ALGORITMO);
+        novoMac(especificacao); // falha já na criação se a chave for inválida
+        this.eventoId = eventoId;
+        this.macs = ThreadLocal.withInitial(() -> novoMac(especificacao));
+    }
+
+    public static byte[] novaChave() {
+        byte[] chave = new byte[TAMANHO_CHAVE];
+        ALEATORIO.nextBytes(chave);
+        return chave;
+    }
+
+    public String emitir(long inscricaoId) {
+        byte[] bytes = new byte[TAMANHO_DADOS + TAMANHO_ASSINATURA];
+        ByteBuffer.wrap(bytes).put(VERSAO).putLong(inscricaoId).putLong(eventoId);
+        System.arraycopy(assinar(bytes), 0, bytes, TAMANHO_DADOS, TAMANHO_ASSINATURA);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Id da inscrição do código, ou {@link #INVALIDO} se o código estiver malformado, não tiver sido assinado com
+     * a chave deste evento ou for de outro evento
+     */
+    public long verificar(String codigo) {
+        if (codigo == null || codigo.length() != TAMANHO_CODIGO) {
+            return INVALIDO;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(codigo);
+        } catch (IllegalArgumentException e) {
+            return INVALIDO;
+        }
+        if (bytes.length != TAMANHO_DADOS + TAMANHO_ASSINATURA) {
+            return INVALIDO;
+        }
+        ByteBuffer dados = ByteBuffer.wrap(bytes);
+        if (dados.get() != VERSAO) {
+            return INVALIDO;
+        }
+        long inscricaoId = dados.getLong();
+        if (dados.getLong() != eventoId || inscricaoId < 0) {
+            return INVALIDO;
+        }
+        byte[] esperada = Arrays.copyOf(assinar(bytes), TAMANHO_ASSINATURA);
+        byte[] recebida = Arrays.copyOfRange(bytes, TAMANHO_DADOS, bytes.length);
+        return MessageDigest.isEqual(esperada, recebida) ? inscricaoId : INVALIDO;
+    }
+
+    private byte[] assinar(byte[] bytes) {
+        Mac mac = macs.get();
+        mac.update(bytes, 0, TAMANHO_DADOS);
+        return mac.doFinal();
+    }
+
+    private static Mac novoMac(SecretKeySpec chave) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Chave de ingressos inválida", e);
+        }
+    }
+}
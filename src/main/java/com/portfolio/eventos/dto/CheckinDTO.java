@@ -0,0 +1,25 @@
+package com.portfolio.eventos.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class CheckinDTO {
+
+    @NotBlank(message = "Código do ingresso é obrigatório")
+    private String codigo;
+
+    // Construtores
+    public CheckinDTO() {}
+
+    public CheckinDTO(String codigo) {
+        this.codigo = codigo;
+    }
+
+    // Getters e Setters
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+}
@@ -0,0 +1,33 @@
+package com.portfolio.eventos.dto;
+
+public class ConsolidacaoSeriesDTO {
+
+    // Períodos gravados ou somados pela consolidação
+    private long periodos;
+    private long ultimaSequencia;
+
+    // Construtores
+    public ConsolidacaoSeriesDTO() {}
+
+    public ConsolidacaoSeriesDTO(long periodos, long ultimaSequencia) {
+        this.periodos = periodos;
+        this.ultimaSequencia = ultimaSequencia;
+    }
+
+    // Getters e Setters
+    public long getPeriodos() {
+        return periodos;
+    }
+
+    public void setPeriodos(long periodos) {
+        this.periodos = periodos;
+    }
+
+    public long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    public void setUltimaSequencia(long ultimaSequencia) {
+        this.ultimaSequencia = ultimaSequencia;
+    }
+}
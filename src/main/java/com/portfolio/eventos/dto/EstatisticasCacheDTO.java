@@ -0,0 +1,100 @@
+package com.portfolio.eventos.dto;
+
+public class EstatisticasCacheDTO {
+
+    private int tamanho;
+    private int tamanhoMaximo;
+    private long acertos;
+    private long falhas;
+    private long remocoesPorTamanho;
+    private long remocoesPorExpiracao;
+    private long invalidacoes;
+
+    // Construtores
+    public EstatisticasCacheDTO() {}
+
+    public EstatisticasCacheDTO(int tamanho, int tamanhoMaximo, long acertos, long falhas,
+                                long remocoesPorTamanho, long remocoesPorExpiracao, long invalidacoes) {
+        this.tamanho = tamanho;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.remocoesPorTamanho = remocoesPorTamanho;
+        this.remocoesPorExpiracao = remocoesPorExpiracao;
+        this.invalidacoes = invalidacoes;
+    }
+
+    // Getters e Setters
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getRemocoesPorTamanho() {
+        return remocoesPorTamanho;
+    }
+
+    public void setRemocoesPorTamanho(long remocoesPorTamanho) {
+        this.remocoesPorTamanho = remocoesPorTamanho;
+    }
+
+    public long getRemocoesPorExpiracao() {
+        return remocoesPorExpiracao;
+    }
+
+    public void setRemocoesPorExpiracao(long remocoesPorExpiracao) {
+        this.remocoesPorExpiracao = remocoesPorExpiracao;
+    }
+
+    public long getInvalidacoes() {
+        return invalidacoes;
+    }
+
+    public void setInvalidacoes(long invalidacoes) {
+        this.invalidacoes = invalidacoes;
+    }
+
+    public double getTaxaAcerto() {
+        long total = acertos + falhas;
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+
+    @Override
+    public String toString() {
+        return "EstatisticasCacheDTO{" +
+                "tamanho=" + tamanho +
+                ", acertos=" + acertos +
+                ", falhas=" + falhas +
+                ", remocoesPorTamanho=" + remocoesPorTamanho +
+                ", remocoesPorExpiracao=" + remocoesPorExpiracao +
+                ", invalidacoes=" + invalidacoes +
+                '}';
+    }
+}
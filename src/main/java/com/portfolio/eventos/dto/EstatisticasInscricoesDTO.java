@@ -0,0 +1,67 @@
+package com.portfolio.eventos.dto;
+
+public class EstatisticasInscricoesDTO {
+
+    private Long eventoId;
+    private long pendentes;
+    private long confirmadas;
+    private long canceladas;
+    private long listaEspera;
+    private long total;
+
+    // Construtores
+    public EstatisticasInscricoesDTO() {}
+
+    public EstatisticasInscricoesDTO(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    // Getters e Setters
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public long getPendentes() {
+        return pendentes;
+    }
+
+    public void setPendentes(long pendentes) {
+        this.pendentes = pendentes;
+    }
+
+    public long getConfirmadas() {
+        return confirmadas;
+    }
+
+    public void setConfirmadas(long confirmadas) {
+        this.confirmadas = confirmadas;
+    }
+
+    public long getCanceladas() {
+        return canceladas;
+    }
+
+    public void setCanceladas(long canceladas) {
+        this.canceladas = canceladas;
+    }
+
+    public long getListaEspera() {
+        return listaEspera;
+    }
+
+    public void setListaEspera(long listaEspera) {
+        this.listaEspera = listaEspera;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,95 @@
+package com.portfolio.eventos.dto;
+
+public class EstatisticasSenhasDTO {
+
+    private int threads;
+    private int capacidadeFila;
+    // Codificações aguardando na fila no momento
+    private int tamanhoFila;
+    private int emExecucao;
+    private long concluidas;
+    // Recusadas com a fila cheia ou por exceder a espera máxima
+    private long recusadas;
+    private double tempoMedioEsperaMs;
+    private double tempoMedioCodificacaoMs;
+
+    // Construtores
+    public EstatisticasSenhasDTO() {}
+
+    public EstatisticasSenhasDTO(int threads, int capacidadeFila, int tamanhoFila, int emExecucao, long concluidas,
+                                 long recusadas, double tempoMedioEsperaMs, double tempoMedioCodificacaoMs) {
+        this.threads = threads;
+        this.capacidadeFila = capacidadeFila;
+        this.tamanhoFila = tamanhoFila;
+        this.emExecucao = emExecucao;
+        this.concluidas = concluidas;
+        this.recusadas = recusadas;
+        this.tempoMedioEsperaMs = tempoMedioEsperaMs;
+        this.tempoMedioCodificacaoMs = tempoMedioCodificacaoMs;
+    }
+
+    // Getters e Setters
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getCapacidadeFila() {
+        return capacidadeFila;
+    }
+
+    public void setCapacidadeFila(int capacidadeFila) {
+        this.capacidadeFila = capacidadeFila;
+    }
+
+    public int getTamanhoFila() {
+        return tamanhoFila;
+    }
+
+    public void setTamanhoFila(int tamanhoFila) {
+        this.tamanhoFila = tamanhoFila;
+    }
+
+    public int getEmExecucao() {
+        return emExecucao;
+    }
+
+    public void setEmExecucao(int emExecucao) {
+        this.emExecucao = emExecucao;
+    }
+
+    public long getConcluidas() {
+        return concluidas;
+    }
+
+    public void setConcluidas(long concluidas) {
+        this.concluidas = concluidas;
+    }
+
+    public long getRecusadas() {
+        return recusadas;
+    }
+
+    public void setRecusadas(long recusadas) {
+        this.recusadas = recusadas;
+    }
+
+    public double getTempoMedioEsperaMs() {
+        return tempoMedioEsperaMs;
+    }
+
+    public void setTempoMedioEsperaMs(double tempoMedioEsperaMs) {
+        this.tempoMedioEsperaMs = tempoMedioEsperaMs;
+    }
+
+    public double getTempoMedioCodificacaoMs() {
+        return tempoMedioCodificacaoMs;
+    }
+
+    public void setTempoMedioCodificacaoMs(double tempoMedioCodificacaoMs) {
+        this.tempoMedioCodificacaoMs = tempoMedioCodificacaoMs;
+    }
+}
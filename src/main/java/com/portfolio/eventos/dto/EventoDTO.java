@@ -47,6 +47,13 @@ public class EventoDTO {
 
     private Integer vagasDisponiveis;
     private Long numeroInscricoesConfirmadas;
+    private boolean altaDemanda;
+
+    @Min(value = 1, message = "Limite de inscrições por segundo deve ser maior que zero")
+    private Integer limiteInscricoesPorSegundo;
+
+    // Versão lida pelo cliente; se informada na atualização, precisa ser a atual do evento
+    private Long versao;
 
     // Construtores
     public EventoDTO() {}
@@ -71,6 +78,29 @@ public class EventoDTO {
         this.dataAtualizacao = dataAtualizacao;
     }
 
+    // Usado pelas consultas de projeção do EventoRepository, que já trazem o contador de confirmadas
+    public EventoDTO(Long id, String nome, String descricao, LocalDate dataInicio, LocalDate dataFim,
+                     LocalTime horaInicio, LocalTime horaFim, Integer capacidadeMaxima, BigDecimal preco,
+                     Evento.StatusEvento status, Long localId, Long categoriaId, LocalDateTime dataCriacao,
+                     LocalDateTime dataAtualizacao, Long numeroInscricoesConfirmadas) {
+        this(id, nome, descricao, dataInicio, dataFim, horaInicio, horaFim, capacidadeMaxima, preco,
+             status, localId, categoriaId, dataCriacao, dataAtualizacao);
+        this.numeroInscricoesConfirmadas = numeroInscricoesConfirmadas;
+        this.vagasDisponiveis = Evento.calcularVagasDisponiveis(capacidadeMaxima, numeroInscricoesConfirmadas);
+    }
+
+    public EventoDTO(Long id, String nome, String descricao, LocalDate dataInicio, LocalDate dataFim,
+                     LocalTime horaInicio, LocalTime horaFim, Integer capacidadeMaxima, BigDecimal preco,
+                     Evento.StatusEvento status, Long localId, Long categoriaId, LocalDateTime dataCriacao,
+                     LocalDateTime dataAtualizacao, Long numeroInscricoesConfirmadas, boolean altaDemanda,
+                     Integer limiteInscricoesPorSegundo, Long versao) {
+        this(id, nome, descricao, dataInicio, dataFim, horaInicio, horaFim, capacidadeMaxima, preco,
+             status, localId, categoriaId, dataCriacao, dataAtualizacao, numeroInscricoesConfirmadas);
+        this.altaDemanda = altaDemanda;
+        this.limiteInscricoesPorSegundo = limiteInscricoesPorSegundo;
+        this.versao = versao;
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -200,6 +230,30 @@ public class EventoDTO {
         this.numeroInscricoesConfirmadas = numeroInscricoesConfirmadas;
     }
 
+    public boolean isAltaDemanda() {
+        return altaDemanda;
+    }
+
+    public void setAltaDemanda(boolean altaDemanda) {
+        this.altaDemanda = altaDemanda;
+    }
+
+    public Integer getLimiteInscricoesPorSegundo() {
+        return limiteInscricoesPorSegundo;
+    }
+
+    public void setLimiteInscricoesPorSegundo(Integer limiteInscricoesPorSegundo) {
+        this.limiteInscricoesPorSegundo = limiteInscricoesPorSegundo;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     @Override
     public String toString() {
         return "EventoDTO{" +
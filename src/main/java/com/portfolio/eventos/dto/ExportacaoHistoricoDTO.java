@@ -0,0 +1,32 @@
+package com.portfolio.eventos.dto;
+
+public class ExportacaoHistoricoDTO {
+
+    private long exportados;
+    private long ultimaSequencia;
+
+    // Construtores
+    public ExportacaoHistoricoDTO() {}
+
+    public ExportacaoHistoricoDTO(long exportados, long ultimaSequencia) {
+        this.exportados = exportados;
+        this.ultimaSequencia = ultimaSequencia;
+    }
+
+    // Getters e Setters
+    public long getExportados() {
+        return exportados;
+    }
+
+    public void setExportados(long exportados) {
+        this.exportados = exportados;
+    }
+
+    public long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    public void setUltimaSequencia(long ultimaSequencia) {
+        this.ultimaSequencia = ultimaSequencia;
+    }
+}
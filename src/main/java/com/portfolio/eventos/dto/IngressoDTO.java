@@ -0,0 +1,53 @@
+package com.portfolio.eventos.dto;
+
+public class IngressoDTO {
+
+    private Long inscricaoId;
+    private Long eventoId;
+    private Long participanteId;
+    // Código assinado apresentado no check-in, em geral como QR code
+    private String codigo;
+
+    // Construtores
+    public IngressoDTO() {}
+
+    public IngressoDTO(Long inscricaoId, Long eventoId, Long participanteId, String codigo) {
+        this.inscricaoId = inscricaoId;
+        this.eventoId = eventoId;
+        this.participanteId = participanteId;
+        this.codigo = codigo;
+    }
+
+    // Getters e Setters
+    public Long getInscricaoId() {
+        return inscricaoId;
+    }
+
+    public void setInscricaoId(Long inscricaoId) {
+        this.inscricaoId = inscricaoId;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public Long getParticipanteId() {
+        return participanteId;
+    }
+
+    public void setParticipanteId(Long participanteId) {
+        this.participanteId = participanteId;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+}
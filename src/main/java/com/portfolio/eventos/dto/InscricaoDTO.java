@@ -22,6 +22,9 @@ public class InscricaoDTO {
     private String nomeParticipante;
     private String nomeEvento;
 
+    // Versão lida pelo cliente; se informada na atualização, precisa ser a atual da inscrição
+    private Long versao;
+
     // Construtores
     public InscricaoDTO() {}
 
@@ -113,6 +116,14 @@ public class InscricaoDTO {
         this.nomeEvento = nomeEvento;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     @Override
     public String toString() {
         return "InscricaoDTO{" +
@@ -0,0 +1,84 @@
+package com.portfolio.eventos.dto;
+
+/**
+ * Resultado de um item do lote de inscrições: a inscrição criada ou o motivo da recusa
+ */
+public class ItemLoteInscricaoDTO {
+
+    private int indice;
+    private Long participanteId;
+    private Long eventoId;
+    private boolean criada;
+    private InscricaoDTO inscricao;
+    private String mensagem;
+
+    // Construtores
+    public ItemLoteInscricaoDTO() {}
+
+    public ItemLoteInscricaoDTO(int indice, Long participanteId, Long eventoId, boolean criada,
+                                InscricaoDTO inscricao, String mensagem) {
+        this.indice = indice;
+        this.participanteId = participanteId;
+        this.eventoId = eventoId;
+        this.criada = criada;
+        this.inscricao = inscricao;
+        this.mensagem = mensagem;
+    }
+
+    public static ItemLoteInscricaoDTO criada(int indice, InscricaoDTO inscricao) {
+        return new ItemLoteInscricaoDTO(indice, inscricao.getParticipanteId(), inscricao.getEventoId(), true, inscricao, null);
+    }
+
+    public static ItemLoteInscricaoDTO recusada(int indice, InscricaoDTO pedido, String mensagem) {
+        return new ItemLoteInscricaoDTO(indice, pedido.getParticipanteId(), pedido.getEventoId(), false, null, mensagem);
+    }
+
+    // Getters e Setters
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Long getParticipanteId() {
+        return participanteId;
+    }
+
+    public void setParticipanteId(Long participanteId) {
+        this.participanteId = participanteId;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public boolean isCriada() {
+        return criada;
+    }
+
+    public void setCriada(boolean criada) {
+        this.criada = criada;
+    }
+
+    public InscricaoDTO getInscricao() {
+        return inscricao;
+    }
+
+    public void setInscricao(InscricaoDTO inscricao) {
+        this.inscricao = inscricao;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
@@ -0,0 +1,32 @@
+package com.portfolio.eventos.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class LoteInscricoesDTO {
+
+    public static final int TAMANHO_MAXIMO = 5000;
+
+    @NotEmpty(message = "O lote deve ter ao menos uma inscrição")
+    @Size(max = TAMANHO_MAXIMO, message = "O lote deve ter no máximo " + TAMANHO_MAXIMO + " inscrições")
+    private List<@Valid InscricaoDTO> inscricoes;
+
+    // Construtores
+    public LoteInscricoesDTO() {}
+
+    public LoteInscricoesDTO(List<InscricaoDTO> inscricoes) {
+        this.inscricoes = inscricoes;
+    }
+
+    // Getters e Setters
+    public List<InscricaoDTO> getInscricoes() {
+        return inscricoes;
+    }
+
+    public void setInscricoes(List<InscricaoDTO> inscricoes) {
+        this.inscricoes = inscricoes;
+    }
+}
@@ -0,0 +1,42 @@
+package com.portfolio.eventos.dto;
+
+import com.portfolio.eventos.entity.Inscricao;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class OperacaoInscricoesDTO {
+
+    public static final int TAMANHO_MAXIMO = 100_000;
+
+    // Inscrições selecionadas; sem ids, a operação vale para todas as inscrições do evento no status informado
+    @Size(max = TAMANHO_MAXIMO, message = "Informe no máximo " + TAMANHO_MAXIMO + " inscrições")
+    private List<Long> ids;
+
+    private Inscricao.StatusInscricao status;
+
+    // Construtores
+    public OperacaoInscricoesDTO() {}
+
+    public OperacaoInscricoesDTO(List<Long> ids, Inscricao.StatusInscricao status) {
+        this.ids = ids;
+        this.status = status;
+    }
+
+    // Getters e Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Inscricao.StatusInscricao getStatus() {
+        return status;
+    }
+
+    public void setStatus(Inscricao.StatusInscricao status) {
+        this.status = status;
+    }
+}
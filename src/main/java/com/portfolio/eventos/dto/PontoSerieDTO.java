@@ -0,0 +1,55 @@
+package com.portfolio.eventos.dto;
+
+import java.time.LocalDateTime;
+
+public class PontoSerieDTO {
+
+    // Início do período; o fim é o início do período seguinte
+    private LocalDateTime inicio;
+    private long criadas;
+    private long confirmadas;
+    private long canceladas;
+
+    // Construtores
+    public PontoSerieDTO() {}
+
+    public PontoSerieDTO(LocalDateTime inicio, long criadas, long confirmadas, long canceladas) {
+        this.inicio = inicio;
+        this.criadas = criadas;
+        this.confirmadas = confirmadas;
+        this.canceladas = canceladas;
+    }
+
+    // Getters e Setters
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public long getCriadas() {
+        return criadas;
+    }
+
+    public void setCriadas(long criadas) {
+        this.criadas = criadas;
+    }
+
+    public long getConfirmadas() {
+        return confirmadas;
+    }
+
+    public void setConfirmadas(long confirmadas) {
+        this.confirmadas = confirmadas;
+    }
+
+    public long getCanceladas() {
+        return canceladas;
+    }
+
+    public void setCanceladas(long canceladas) {
+        this.canceladas = canceladas;
+    }
+}
@@ -0,0 +1,52 @@
+package com.portfolio.eventos.dto;
+
+public class PosicaoListaEsperaDTO {
+
+    private Long eventoId;
+    private Long participanteId;
+    private int posicao;
+    private int tamanhoFila;
+
+    // Construtores
+    public PosicaoListaEsperaDTO() {}
+
+    public PosicaoListaEsperaDTO(Long eventoId, Long participanteId, int posicao, int tamanhoFila) {
+        this.eventoId = eventoId;
+        this.participanteId = participanteId;
+        this.posicao = posicao;
+        this.tamanhoFila = tamanhoFila;
+    }
+
+    // Getters e Setters
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public Long getParticipanteId() {
+        return participanteId;
+    }
+
+    public void setParticipanteId(Long participanteId) {
+        this.participanteId = participanteId;
+    }
+
+    public int getPosicao() {
+        return posicao;
+    }
+
+    public void setPosicao(int posicao) {
+        this.posicao = posicao;
+    }
+
+    public int getTamanhoFila() {
+        return tamanhoFila;
+    }
+
+    public void setTamanhoFila(int tamanhoFila) {
+        this.tamanhoFila = tamanhoFila;
+    }
+}
@@ -0,0 +1,98 @@
+package com.portfolio.eventos.dto;
+
+import com.portfolio.eventos.entity.HistoricoInscricao.TipoRegistro;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+
+import java.time.LocalDateTime;
+
+public class RegistroHistoricoDTO {
+
+    private long sequencia;
+    private long inscricaoId;
+    private long eventoId;
+    private long participanteId;
+    private TipoRegistro tipo;
+    private StatusInscricao statusAnterior;
+    private StatusInscricao statusNovo;
+    private LocalDateTime dataRegistro;
+
+    // Construtores
+    public RegistroHistoricoDTO() {}
+
+    public RegistroHistoricoDTO(long sequencia, long inscricaoId, long eventoId, long participanteId, TipoRegistro tipo,
+                                StatusInscricao statusAnterior, StatusInscricao statusNovo, LocalDateTime dataRegistro) {
+        this.sequencia = sequencia;
+        this.inscricaoId = inscricaoId;
+        this.eventoId = eventoId;
+        this.participanteId = participanteId;
+        this.tipo = tipo;
+        this.statusAnterior = statusAnterior;
+        this.statusNovo = statusNovo;
+        this.dataRegistro = dataRegistro;
+    }
+
+    // Getters e Setters
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public void setSequencia(long sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    public long getInscricaoId() {
+        return inscricaoId;
+    }
+
+    public void setInscricaoId(long inscricaoId) {
+        this.inscricaoId = inscricaoId;
+    }
+
+    public long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public long getParticipanteId() {
+        return participanteId;
+    }
+
+    public void setParticipanteId(long participanteId) {
+        this.participanteId = participanteId;
+    }
+
+    public TipoRegistro getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoRegistro tipo) {
+        this.tipo = tipo;
+    }
+
+    public StatusInscricao getStatusAnterior() {
+        return statusAnterior;
+    }
+
+    public void setStatusAnterior(StatusInscricao statusAnterior) {
+        this.statusAnterior = statusAnterior;
+    }
+
+    public StatusInscricao getStatusNovo() {
+        return statusNovo;
+    }
+
+    public void setStatusNovo(StatusInscricao statusNovo) {
+        this.statusNovo = statusNovo;
+    }
+
+    public LocalDateTime getDataRegistro() {
+        return dataRegistro;
+    }
+
+    public void setDataRegistro(LocalDateTime dataRegistro) {
+        this.dataRegistro = dataRegistro;
+    }
+}
@@ -0,0 +1,47 @@
+package com.portfolio.eventos.dto;
+
+public class ResultadoCheckinDTO {
+
+    private Long inscricaoId;
+    private Long eventoId;
+    private SituacaoCheckin situacao;
+
+    // Enum para o resultado da conferência: primeira entrada ou ingresso já apresentado antes
+    public enum SituacaoCheckin {
+        REALIZADO, REPETIDO
+    }
+
+    // Construtores
+    public ResultadoCheckinDTO() {}
+
+    public ResultadoCheckinDTO(Long inscricaoId, Long eventoId, SituacaoCheckin situacao) {
+        this.inscricaoId = inscricaoId;
+        this.eventoId = eventoId;
+        this.situacao = situacao;
+    }
+
+    // Getters e Setters
+    public Long getInscricaoId() {
+        return inscricaoId;
+    }
+
+    public void setInscricaoId(Long inscricaoId) {
+        this.inscricaoId = inscricaoId;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public SituacaoCheckin getSituacao() {
+        return situacao;
+    }
+
+    public void setSituacao(SituacaoCheckin situacao) {
+        this.situacao = situacao;
+    }
+}
@@ -0,0 +1,54 @@
+package com.portfolio.eventos.dto;
+
+import java.util.List;
+
+public class ResultadoLoteInscricoesDTO {
+
+    private int total;
+    private int criadas;
+    private int recusadas;
+    private List<ItemLoteInscricaoDTO> itens;
+
+    // Construtores
+    public ResultadoLoteInscricoesDTO() {}
+
+    public ResultadoLoteInscricoesDTO(List<ItemLoteInscricaoDTO> itens) {
+        this.itens = itens;
+        this.total = itens.size();
+        this.criadas = (int) itens.stream().filter(ItemLoteInscricaoDTO::isCriada).count();
+        this.recusadas = total - criadas;
+    }
+
+    // Getters e Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCriadas() {
+        return criadas;
+    }
+
+    public void setCriadas(int criadas) {
+        this.criadas = criadas;
+    }
+
+    public int getRecusadas() {
+        return recusadas;
+    }
+
+    public void setRecusadas(int recusadas) {
+        this.recusadas = recusadas;
+    }
+
+    public List<ItemLoteInscricaoDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemLoteInscricaoDTO> itens) {
+        this.itens = itens;
+    }
+}
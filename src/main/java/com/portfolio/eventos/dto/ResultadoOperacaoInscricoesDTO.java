@@ -0,0 +1,58 @@
+package com.portfolio.eventos.dto;
+
+public class ResultadoOperacaoInscricoesDTO {
+
+    private Long eventoId;
+    private long selecionadas;
+    private long alteradas;
+    private long semVaga;
+    private long ignoradas;
+
+    // Construtores
+    public ResultadoOperacaoInscricoesDTO() {}
+
+    public ResultadoOperacaoInscricoesDTO(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    // Getters e Setters
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public long getSelecionadas() {
+        return selecionadas;
+    }
+
+    public void setSelecionadas(long selecionadas) {
+        this.selecionadas = selecionadas;
+    }
+
+    public long getAlteradas() {
+        return alteradas;
+    }
+
+    public void setAlteradas(long alteradas) {
+        this.alteradas = alteradas;
+    }
+
+    public long getSemVaga() {
+        return semVaga;
+    }
+
+    public void setSemVaga(long semVaga) {
+        this.semVaga = semVaga;
+    }
+
+    public long getIgnoradas() {
+        return ignoradas;
+    }
+
+    public void setIgnoradas(long ignoradas) {
+        this.ignoradas = ignoradas;
+    }
+}
@@ -0,0 +1,102 @@
+package com.portfolio.eventos.dto;
+
+public class SenhaAdmissaoDTO {
+
+    private String senha;
+    private Long eventoId;
+    private Long participanteId;
+    private StatusAdmissao status;
+    private Long posicao;
+    private Long esperaEstimadaSegundos;
+    private String urlConsulta;
+    private InscricaoDTO inscricao;
+    private String mensagem;
+
+    // Enum para a situação do pedido na sala de espera
+    public enum StatusAdmissao {
+        AGUARDANDO, PROCESSANDO, CONCLUIDA, RECUSADA, FALHOU
+    }
+
+    // Construtores
+    public SenhaAdmissaoDTO() {}
+
+    public SenhaAdmissaoDTO(String senha, Long eventoId, Long participanteId, StatusAdmissao status) {
+        this.senha = senha;
+        this.eventoId = eventoId;
+        this.participanteId = participanteId;
+        this.status = status;
+    }
+
+    // Getters e Setters
+    public String getSenha() {
+        return senha;
+    }
+
+    public void setSenha(String senha) {
+        this.senha = senha;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public void setEventoId(Long eventoId) {
+        this.eventoId = eventoId;
+    }
+
+    public Long getParticipanteId() {
+        return participanteId;
+    }
+
+    public void setParticipanteId(Long participanteId) {
+        this.participanteId = participanteId;
+    }
+
+    public StatusAdmissao getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusAdmissao status) {
+        this.status = status;
+    }
+
+    public Long getPosicao() {
+        return posicao;
+    }
+
+    public void setPosicao(Long posicao) {
+        this.posicao = posicao;
+    }
+
+    public Long getEsperaEstimadaSegundos() {
+        return esperaEstimadaSegundos;
+    }
+
+    public void setEsperaEstimadaSegundos(Long esperaEstimadaSegundos) {
+        this.esperaEstimadaSegundos = esperaEstimadaSegundos;
+    }
+
+    public String getUrlConsulta() {
+        return urlConsulta;
+    }
+
+    public void setUrlConsulta(String urlConsulta) {
+        this.urlConsulta = urlConsulta;
+    }
+
+    public InscricaoDTO getInscricao() {
+        return inscricao;
+    }
+
+    public void setInscricao(InscricaoDTO inscricao) {
+        this.inscricao = inscricao;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
@@ -0,0 +1,109 @@
+package com.portfolio.eventos.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta gravada para uma Idempotency-Key, usada quando o armazenamento de idempotência é o banco
+ */
+@Entity
+@Table(name = "chaves_idempotencia",
+       indexes = @Index(name = "idx_chaves_idempotencia_data_criacao", columnList = "data_criacao"))
+public class ChaveIdempotencia {
+
+    @Id
+    @Column(length = 400)
+    private String chave;
+
+    @Column(name = "impressao_digital", nullable = false, length = 64)
+    private String impressaoDigital;
+
+    @Column(nullable = false)
+    private int status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    /** Headers guardados da resposta, um "Nome: valor" por linha */
+    @Column(length = 2000)
+    private String headers;
+
+    @Column(nullable = false)
+    private byte[] corpo;
+
+    /** Definida pela aplicação, e não por @CreationTimestamp, para ser renovada quando uma chave expirada é reutilizada */
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    // Construtores
+    public ChaveIdempotencia() {}
+
+    public ChaveIdempotencia(String chave, String impressaoDigital, int status, String contentType, String headers,
+                             byte[] corpo) {
+        this.chave = chave;
+        this.impressaoDigital = impressaoDigital;
+        this.status = status;
+        this.contentType = contentType;
+        this.headers = headers;
+        this.corpo = corpo;
+        this.dataCriacao = LocalDateTime.now();
+    }
+
+    // Getters e Setters
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public String getImpressaoDigital() {
+        return impressaoDigital;
+    }
+
+    public void setImpressaoDigital(String impressaoDigital) {
+        this.impressaoDigital = impressaoDigital;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(String headers) {
+        this.headers = headers;
+    }
+
+    public byte[] getCorpo() {
+        return corpo;
+    }
+
+    public void setCorpo(byte[] corpo) {
+        this.corpo = corpo;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+}
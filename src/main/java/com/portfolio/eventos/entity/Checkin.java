@@ -0,0 +1,51 @@
+package com.portfolio.eventos.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada de um participante no evento, registrada ao conferir o ingresso da inscrição. Cada inscrição tem no
+ * máximo um check-in, identificado pelo id dela; removida a inscrição, o banco remove o check-in em cascata.
+ */
+@Entity
+@Immutable
+@Table(name = "checkins", indexes = {
+        @Index(name = "idx_checkins_evento", columnList = "evento_id")
+})
+public class Checkin {
+
+    @Id
+    @Column(name = "inscricao_id")
+    private Long inscricaoId;
+
+    @Column(name = "evento_id", nullable = false, updatable = false)
+    private Long eventoId;
+
+    /** Momento da conferência do ingresso, e não da gravação, que é feita depois em lotes */
+    @Column(name = "data_checkin", nullable = false, updatable = false)
+    private LocalDateTime dataCheckin;
+
+    // Construtores
+    public Checkin() {}
+
+    public Checkin(Long inscricaoId, Long eventoId, LocalDateTime dataCheckin) {
+        this.inscricaoId = inscricaoId;
+        this.eventoId = eventoId;
+        this.dataCheckin = dataCheckin;
+    }
+
+    // Getters
+    public Long getInscricaoId() {
+        return inscricaoId;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public LocalDateTime getDataCheckin() {
+        return dataCheckin;
+    }
+}
@@ -0,0 +1,41 @@
+package com.portfolio.eventos.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Linha única com a sequência do último registro do histórico de inscrições já somado às séries
+ * (InscricoesPorPeriodo). É bloqueada durante a consolidação, o que serializa consolidações simultâneas.
+ */
+@Entity
+@Table(name = "consolidacao_series")
+public class ConsolidacaoSeries {
+
+    /** Id da única linha, criada pela migração ou, sem ela, na primeira consolidação */
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "ultima_sequencia", nullable = false)
+    private long ultimaSequencia;
+
+    // Construtores
+    public ConsolidacaoSeries() {}
+
+    public ConsolidacaoSeries(Integer id) {
+        this.id = id;
+    }
+
+    // Getters e Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    public void setUltimaSequencia(long ultimaSequencia) {
+        this.ultimaSequencia = ultimaSequencia;
+    }
+}
@@ -1,5 +1,6 @@
 package com.portfolio.eventos.entity;
 
+import com.portfolio.eventos.credenciamento.Ingressos;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,7 +13,13 @@ import java.time.LocalTime;
 import java.util.List;
 
 @Entity
-@Table(name = "eventos")
+@Table(name = "eventos", indexes = {
+        @Index(name = "idx_eventos_data_inicio", columnList = "data_inicio"),
+        @Index(name = "idx_eventos_categoria_data_inicio", columnList = "categoria_id, data_inicio"),
+        @Index(name = "idx_eventos_local_data_inicio", columnList = "local_id, data_inicio"),
+        @Index(name = "idx_eventos_status_data_inicio", columnList = "status, data_inicio"),
+        @Index(name = "idx_eventos_preco", columnList = "preco")
+})
 public class Evento {
 
     @Id
@@ -54,6 +61,21 @@ public class Evento {
     @Column(nullable = false)
     private StatusEvento status = StatusEvento.EM_BREVE;
 
+    // Contador desnormalizado mantido pelo InscricaoService via UPDATE atômico; também conta as pendentes que
+    // guardam a vaga da promoção da lista de espera (Inscricao.vagaReservada).
+    // Não é gravado pelo flush da entidade para não sobrescrever incrementos concorrentes
+    @Column(name = "inscricoes_confirmadas", nullable = false, updatable = false)
+    private long numeroInscricoesConfirmadas = 0;
+
+    // Em alta demanda as vagas são alocadas em memória e as inscrições gravadas em lote
+    @Column(name = "alta_demanda", nullable = false)
+    private boolean altaDemanda = false;
+
+    // Inscrições admitidas por segundo; acima disso os pedidos entram na sala de espera (null = sem limite)
+    @Min(value = 1, message = "Limite de inscrições por segundo deve ser maior que zero")
+    @Column(name = "limite_inscricoes_por_segundo")
+    private Integer limiteInscricoesPorSegundo;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "local_id", nullable = false)
     @NotNull(message = "Local é obrigatório")
@@ -72,6 +94,16 @@ public class Evento {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
+    // Bloqueio otimista: o UPDATE da entidade falha se outra transação alterou o evento depois da leitura.
+    // Os UPDATEs do contador de confirmadas não a incrementam, pois não concorrem com a edição do evento
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    // Chave HMAC dos ingressos do evento, gerada na criação; não é exposta pela API
+    @Column(name = "chave_ingressos", nullable = false, updatable = false)
+    private byte[] chaveIngressos;
+
     @OneToMany(mappedBy = "evento", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Inscricao> inscricoes;
 
@@ -108,16 +140,19 @@ public class Evento {
         return preco.compareTo(BigDecimal.ZERO) == 0;
     }
 
-    public long getNumeroInscricoesConfirmadas() {
-        if (inscricoes == null) return 0;
-        return inscricoes.stream()
-                .filter(inscricao -> inscricao.getStatus() == Inscricao.StatusInscricao.CONFIRMADA)
-                .count();
-    }
-
     public boolean temVagasDisponiveis() {
         if (temCapacidadeIlimitada()) return true;
-        return getNumeroInscricoesConfirmadas() < capacidadeMaxima;
+        return numeroInscricoesConfirmadas < capacidadeMaxima;
+    }
+
+    public int getVagasDisponiveis() {
+        return calcularVagasDisponiveis(capacidadeMaxima, numeroInscricoesConfirmadas);
+    }
+
+    // Retorna -1 para capacidade ilimitada
+    public static int calcularVagasDisponiveis(Integer capacidadeMaxima, long numeroInscricoesConfirmadas) {
+        if (capacidadeMaxima == null || capacidadeMaxima == 0) return -1;
+        return (int) Math.max(0, capacidadeMaxima - numeroInscricoesConfirmadas);
     }
 
     // Getters e Setters
@@ -201,6 +236,30 @@ public class Evento {
         this.status = status;
     }
 
+    public long getNumeroInscricoesConfirmadas() {
+        return numeroInscricoesConfirmadas;
+    }
+
+    public void setNumeroInscricoesConfirmadas(long numeroInscricoesConfirmadas) {
+        this.numeroInscricoesConfirmadas = numeroInscricoesConfirmadas;
+    }
+
+    public boolean isAltaDemanda() {
+        return altaDemanda;
+    }
+
+    public void setAltaDemanda(boolean altaDemanda) {
+        this.altaDemanda = altaDemanda;
+    }
+
+    public Integer getLimiteInscricoesPorSegundo() {
+        return limiteInscricoesPorSegundo;
+    }
+
+    public void setLimiteInscricoesPorSegundo(Integer limiteInscricoesPorSegundo) {
+        this.limiteInscricoesPorSegundo = limiteInscricoesPorSegundo;
+    }
+
     public Local getLocal() {
         return local;
     }
@@ -233,6 +292,25 @@ public class Evento {
         this.dataAtualizacao = dataAtualizacao;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public byte[] getChaveIngressos() {
+        return chaveIngressos;
+    }
+
+    @PrePersist
+    void gerarChaveIngressos() {
+        if (chaveIngressos == null) {
+            chaveIngressos = Ingressos.novaChave();
+        }
+    }
+
     public List<Inscricao> getInscricoes() {
         return inscricoes;
     }
@@ -251,6 +329,7 @@ public class Evento {
                 ", capacidadeMaxima=" + capacidadeMaxima +
                 ", preco=" + preco +
                 ", status=" + status +
+                ", numeroInscricoesConfirmadas=" + numeroInscricoesConfirmadas +
                 ", dataCriacao=" + dataCriacao +
                 '}';
     }
@@ -0,0 +1,130 @@
+package com.portfolio.eventos.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro do histórico de inscrições: uma transição de status de uma inscrição, gravada na mesma transação
+ * que a alterou. Os registros só são inseridos, nunca alterados; o id, vindo de uma sequência, é o número de
+ * sequência do registro no histórico.
+ */
+@Entity
+@Immutable
+@Table(name = "historico_inscricoes",
+       indexes = {
+               @Index(name = "idx_historico_inscricoes_inscricao", columnList = "inscricao_id, id"),
+               @Index(name = "idx_historico_inscricoes_evento", columnList = "evento_id, id")
+       })
+public class HistoricoInscricao {
+
+    /** Ids reservados a cada consulta à sequência, para que os registros sejam inseridos em lotes JDBC */
+    public static final int TAMANHO_ALOCACAO_ID = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historico_inscricoes_seq")
+    @SequenceGenerator(name = "historico_inscricoes_seq", sequenceName = "historico_inscricoes_seq",
+            allocationSize = TAMANHO_ALOCACAO_ID)
+    private Long id;
+
+    // Ids sem associação: o registro continua válido depois que a inscrição ou o evento é removido
+    @Column(name = "inscricao_id", nullable = false, updatable = false)
+    private Long inscricaoId;
+
+    @Column(name = "evento_id", nullable = false, updatable = false)
+    private Long eventoId;
+
+    @Column(name = "participante_id", nullable = false, updatable = false)
+    private Long participanteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private TipoRegistro tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_anterior", updatable = false)
+    private Inscricao.StatusInscricao statusAnterior;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_novo", updatable = false)
+    private Inscricao.StatusInscricao statusNovo;
+
+    @CreationTimestamp
+    @Column(name = "data_registro", nullable = false, updatable = false)
+    private LocalDateTime dataRegistro;
+
+    // Enum para o tipo de registro; novos valores entram sempre no fim (os segmentos gravam a posição)
+    public enum TipoRegistro {
+        CRIADA, CONFIRMADA, CANCELADA, REMOVIDA, ALTERADA;
+
+        /**
+         * Tipo da transição entre os status; um status nulo representa a ausência da inscrição.
+         * Transições que não criam, confirmam, cancelam nem removem (promoção da lista de espera para pendente,
+         * alteração de status por um administrador) são ALTERADA.
+         */
+        public static TipoRegistro daTransicao(Inscricao.StatusInscricao statusAnterior,
+                                               Inscricao.StatusInscricao statusNovo) {
+            if (statusAnterior == null) {
+                return CRIADA;
+            }
+            if (statusNovo == null) {
+                return REMOVIDA;
+            }
+            if (statusNovo == Inscricao.StatusInscricao.CONFIRMADA) {
+                return CONFIRMADA;
+            }
+            if (statusNovo == Inscricao.StatusInscricao.CANCELADA) {
+                return CANCELADA;
+            }
+            return ALTERADA;
+        }
+    }
+
+    // Construtores
+    public HistoricoInscricao() {}
+
+    public HistoricoInscricao(Long inscricaoId, Long eventoId, Long participanteId,
+                              Inscricao.StatusInscricao statusAnterior, Inscricao.StatusInscricao statusNovo) {
+        this.inscricaoId = inscricaoId;
+        this.eventoId = eventoId;
+        this.participanteId = participanteId;
+        this.tipo = TipoRegistro.daTransicao(statusAnterior, statusNovo);
+        this.statusAnterior = statusAnterior;
+        this.statusNovo = statusNovo;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getInscricaoId() {
+        return inscricaoId;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public Long getParticipanteId() {
+        return participanteId;
+    }
+
+    public TipoRegistro getTipo() {
+        return tipo;
+    }
+
+    public Inscricao.StatusInscricao getStatusAnterior() {
+        return statusAnterior;
+    }
+
+    public Inscricao.StatusInscricao getStatusNovo() {
+        return statusNovo;
+    }
+
+    public LocalDateTime getDataRegistro() {
+        return dataRegistro;
+    }
+}
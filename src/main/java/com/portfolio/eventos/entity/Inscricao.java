@@ -9,11 +9,27 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "inscricoes", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"participante_id", "evento_id"}))
+       uniqueConstraints = @UniqueConstraint(name = Inscricao.RESTRICAO_PARTICIPANTE_EVENTO,
+               columnNames = {"participante_id", "evento_id"}),
+       indexes = {
+               @Index(name = "idx_inscricoes_evento_status", columnList = "evento_id, status"),
+               @Index(name = "idx_inscricoes_participante_status", columnList = "participante_id, status"),
+               @Index(name = "idx_inscricoes_data_inscricao", columnList = "data_inscricao")
+       })
 public class Inscricao {
 
+    /** Restrição que impede mais de uma inscrição do mesmo participante no mesmo evento */
+    public static final String RESTRICAO_PARTICIPANTE_EVENTO = "uk_inscricoes_participante_evento";
+
+    /**
+     * Ids reservados a cada consulta à sequência. Com ids conhecidos antes do INSERT o Hibernate pode agrupar
+     * as inserções em lotes JDBC (hibernate.jdbc.batch_size), o que não acontece com IDENTITY.
+     */
+    public static final int TAMANHO_ALOCACAO_ID = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inscricoes_seq")
+    @SequenceGenerator(name = "inscricoes_seq", sequenceName = "inscricoes_seq", allocationSize = TAMANHO_ALOCACAO_ID)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -38,9 +54,28 @@ public class Inscricao {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
-    // Enum para status da inscrição
+    /**
+     * Senha de chegada na lista de espera do evento, crescente por ordem de entrada; nula fora da lista.
+     * A posição atual na fila é calculada a partir dela pela FilaEspera.
+     */
+    @Column(name = "posicao_lista_espera")
+    private Long posicaoListaEspera;
+
+    /**
+     * Vaga reservada na promoção da lista de espera de um evento pago: enquanto pendente, a inscrição já conta
+     * no contador de confirmadas do evento, e a confirmação não reserva outra vaga
+     */
+    @Column(name = "vaga_reservada", nullable = false)
+    private boolean vagaReservada;
+
+    // Bloqueio otimista; os UPDATEs em massa do InscricaoRepository também a incrementam
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    // Enum para status da inscrição; novos valores entram sempre no fim (os segmentos do histórico gravam a posição)
     public enum StatusInscricao {
-        PENDENTE, CONFIRMADA, CANCELADA
+        PENDENTE, CONFIRMADA, CANCELADA, LISTA_ESPERA
     }
 
     // Construtores
@@ -71,12 +106,29 @@ public class Inscricao {
         return status == StatusInscricao.CANCELADA;
     }
 
+    public boolean isNaListaEspera() {
+        return status == StatusInscricao.LISTA_ESPERA;
+    }
+
+    /**
+     * Se a inscrição no status informado conta no contador de confirmadas do evento; status nulo não ocupa vaga
+     */
+    public static boolean ocupaVaga(StatusInscricao status, boolean vagaReservada) {
+        return status == StatusInscricao.CONFIRMADA || (status == StatusInscricao.PENDENTE && vagaReservada);
+    }
+
     public void confirmar() {
         this.status = StatusInscricao.CONFIRMADA;
     }
 
     public void cancelar() {
         this.status = StatusInscricao.CANCELADA;
+        this.posicaoListaEspera = null;
+    }
+
+    public void entrarNaListaEspera(long posicaoListaEspera) {
+        this.status = StatusInscricao.LISTA_ESPERA;
+        this.posicaoListaEspera = posicaoListaEspera;
     }
 
     // Getters e Setters
@@ -128,6 +180,30 @@ public class Inscricao {
         this.dataAtualizacao = dataAtualizacao;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public boolean isVagaReservada() {
+        return vagaReservada;
+    }
+
+    public void setVagaReservada(boolean vagaReservada) {
+        this.vagaReservada = vagaReservada;
+    }
+
+    public Long getPosicaoListaEspera() {
+        return posicaoListaEspera;
+    }
+
+    public void setPosicaoListaEspera(Long posicaoListaEspera) {
+        this.posicaoListaEspera = posicaoListaEspera;
+    }
+
     @Override
     public String toString() {
         return "Inscricao{" +
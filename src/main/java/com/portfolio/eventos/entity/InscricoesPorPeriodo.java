@@ -0,0 +1,150 @@
+package com.portfolio.eventos.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * Contagens das transições de inscrições de um evento num período (minuto, hora ou dia), consolidadas a partir
+ * do histórico de inscrições. Só existem linhas para períodos com alguma transição contada.
+ * As contagens são alteradas por UPDATEs que somam, e não pela entidade.
+ */
+@Entity
+@Table(name = "inscricoes_por_periodo")
+@IdClass(InscricoesPorPeriodo.Chave.class)
+public class InscricoesPorPeriodo {
+
+    /** evento_id das contagens de todos os eventos somados */
+    public static final long TODOS_EVENTOS = 0;
+
+    @Id
+    @Column(name = "evento_id")
+    private Long eventoId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private Granularidade granularidade;
+
+    @Id
+    private LocalDateTime inicio;
+
+    // Inscrições criadas no período, em qualquer status
+    @Column(nullable = false)
+    private long criadas;
+
+    // Transições para CONFIRMADA, inclusive inscrições já criadas confirmadas
+    @Column(nullable = false)
+    private long confirmadas;
+
+    @Column(nullable = false)
+    private long canceladas;
+
+    // Enum para o tamanho do período; a consolidação grava as três granularidades
+    public enum Granularidade {
+        MINUTO(ChronoUnit.MINUTES), HORA(ChronoUnit.HOURS), DIA(ChronoUnit.DAYS);
+
+        private final ChronoUnit unidade;
+
+        Granularidade(ChronoUnit unidade) {
+            this.unidade = unidade;
+        }
+
+        /**
+         * Início do período que contém o momento informado
+         */
+        public LocalDateTime truncar(LocalDateTime momento) {
+            return momento.truncatedTo(unidade);
+        }
+
+        public Duration getDuracao() {
+            return unidade.getDuration();
+        }
+    }
+
+    // Chave primária composta: evento, granularidade e início do período
+    public static class Chave implements Serializable {
+
+        private Long eventoId;
+        private Granularidade granularidade;
+        private LocalDateTime inicio;
+
+        public Chave() {}
+
+        public Chave(Long eventoId, Granularidade granularidade, LocalDateTime inicio) {
+            this.eventoId = eventoId;
+            this.granularidade = granularidade;
+            this.inicio = inicio;
+        }
+
+        public Long getEventoId() {
+            return eventoId;
+        }
+
+        public Granularidade getGranularidade() {
+            return granularidade;
+        }
+
+        public LocalDateTime getInicio() {
+            return inicio;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Chave outra)) {
+                return false;
+            }
+            return Objects.equals(eventoId, outra.eventoId) && granularidade == outra.granularidade
+                    && Objects.equals(inicio, outra.inicio);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventoId, granularidade, inicio);
+        }
+    }
+
+    // Construtores
+    public InscricoesPorPeriodo() {}
+
+    public InscricoesPorPeriodo(Chave chave, long criadas, long confirmadas, long canceladas) {
+        this.eventoId = chave.getEventoId();
+        this.granularidade = chave.getGranularidade();
+        this.inicio = chave.getInicio();
+        this.criadas = criadas;
+        this.confirmadas = confirmadas;
+        this.canceladas = canceladas;
+    }
+
+    // Getters
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public Granularidade getGranularidade() {
+        return granularidade;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public long getCriadas() {
+        return criadas;
+    }
+
+    public long getConfirmadas() {
+        return confirmadas;
+    }
+
+    public long getCanceladas() {
+        return canceladas;
+    }
+}
@@ -0,0 +1,137 @@
+package com.portfolio.eventos.espera;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Fila de espera FIFO de um evento, ordenada pela senha recebida ao entrar.
+ *
+ * Além das senhas em ordem, mantém uma árvore de Fenwick com uma marca por senha ocupada, de modo que a
+ * posição de um participante (quantas senhas ocupadas existem até a dele) custa O(log n) mesmo depois de
+ * saídas no meio da fila. Entrar, sair e retirar o primeiro também custam O(log n).
+ */
+public class FilaEspera {
+
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    private final NavigableMap<Long, Entrada> porSenha = new TreeMap<>();
+    private final Map<Long, Entrada> porParticipante = new HashMap<>();
+    private long ultimaSenha;
+
+    /** Árvore de Fenwick indexada por senha - base; ocupadas[0] não é usado */
+    private int[] ocupadas = new int[CAPACIDADE_INICIAL + 1];
+    private long base = -1;
+
+    /**
+     * Reserva a senha de uma nova entrada, maior que todas as já emitidas
+     */
+    public synchronized long proximaSenha() {
+        return ++ultimaSenha;
+    }
+
+    public synchronized void adicionar(long senha, Long inscricaoId, Long participanteId) {
+        if (porParticipante.containsKey(participanteId)) {
+            return;
+        }
+        Entrada entrada = new Entrada(senha, inscricaoId, participanteId);
+        porSenha.put(senha, entrada);
+        porParticipante.put(participanteId, entrada);
+        ultimaSenha = Math.max(ultimaSenha, senha);
+        if (base < 0 || senha <= base || senha - base >= ocupadas.length) {
+            reconstruirArvore();
+        } else {
+            marcar(senha, 1);
+        }
+    }
+
+    /**
+     * Remove e devolve a entrada mais antiga, ou null se a fila estiver vazia
+     */
+    public synchronized Entrada retirarPrimeiro() {
+        Map.Entry<Long, Entrada> primeira = porSenha.pollFirstEntry();
+        if (primeira == null) {
+            return null;
+        }
+        Entrada entrada = primeira.getValue();
+        porParticipante.remove(entrada.getParticipanteId());
+        marcar(entrada.getSenha(), -1);
+        return entrada;
+    }
+
+    public synchronized void remover(Long participanteId) {
+        Entrada entrada = porParticipante.remove(participanteId);
+        if (entrada != null) {
+            porSenha.remove(entrada.getSenha());
+            marcar(entrada.getSenha(), -1);
+        }
+    }
+
+    /**
+     * Posição do participante na fila, começando em 1; 0 se ele não estiver na fila
+     */
+    public synchronized int posicao(Long participanteId) {
+        Entrada entrada = porParticipante.get(participanteId);
+        if (entrada == null) {
+            return 0;
+        }
+        int total = 0;
+        for (int i = (int) (entrada.getSenha() - base); i > 0; i -= i & -i) {
+            total += ocupadas[i];
+        }
+        return total;
+    }
+
+    public synchronized int tamanho() {
+        return porSenha.size();
+    }
+
+    private void marcar(long senha, int delta) {
+        for (int i = (int) (senha - base); i < ocupadas.length; i += i & -i) {
+            ocupadas[i] += delta;
+        }
+    }
+
+    /**
+     * Recalcula a árvore a partir das senhas na fila, com a base logo abaixo da menor senha e espaço
+     * para o dobro das senhas ocupadas
+     */
+    private void reconstruirArvore() {
+        base = porSenha.firstKey() - 1;
+        long amplitude = porSenha.lastKey() - base;
+        int capacidade = CAPACIDADE_INICIAL;
+        while (capacidade <= amplitude * 2) {
+            capacidade *= 2;
+        }
+        ocupadas = new int[capacidade + 1];
+        for (Long senha : porSenha.keySet()) {
+            marcar(senha, 1);
+        }
+    }
+
+    public static class Entrada {
+
+        private final long senha;
+        private final Long inscricaoId;
+        private final Long participanteId;
+
+        public Entrada(long senha, Long inscricaoId, Long participanteId) {
+            this.senha = senha;
+            this.inscricaoId = inscricaoId;
+            this.participanteId = participanteId;
+        }
+
+        public long getSenha() {
+            return senha;
+        }
+
+        public Long getInscricaoId() {
+            return inscricaoId;
+        }
+
+        public Long getParticipanteId() {
+            return participanteId;
+        }
+    }
+}
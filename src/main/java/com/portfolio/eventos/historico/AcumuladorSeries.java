@@ -0,0 +1,77 @@
+package com.portfolio.eventos.historico;
+
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.HistoricoInscricao.TipoRegistro;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo.Chave;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo.Granularidade;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Soma os registros do histórico nos períodos de cada granularidade, por evento e para todos os eventos.
+ *
+ * Conta como criada todo registro CRIADA, como confirmada toda transição para CONFIRMADA (inclusive a criação já
+ * confirmada) e como cancelada toda transição para CANCELADA; os demais registros não entram nas séries.
+ * Os mesmos critérios valem para a agregação feita no banco por InscricoesPorPeriodoRepository. Não é thread-safe.
+ */
+public class AcumuladorSeries implements Consumer<RegistroHistoricoDTO> {
+
+    private static final Granularidade[] GRANULARIDADES = Granularidade.values();
+
+    private final Map<Chave, long[]> contagens = new HashMap<>();
+
+    @Override
+    public void accept(RegistroHistoricoDTO registro) {
+        long criadas = criada(registro) ? 1 : 0;
+        long confirmadas = confirmada(registro) ? 1 : 0;
+        long canceladas = cancelada(registro) ? 1 : 0;
+        if (criadas + confirmadas + canceladas == 0) {
+            return;
+        }
+        for (Granularidade granularidade : GRANULARIDADES) {
+            LocalDateTime inicio = granularidade.truncar(registro.getDataRegistro());
+            somar(new Chave(registro.getEventoId(), granularidade, inicio), criadas, confirmadas, canceladas);
+            somar(new Chave(InscricoesPorPeriodo.TODOS_EVENTOS, granularidade, inicio), criadas, confirmadas, canceladas);
+        }
+    }
+
+    public static boolean criada(RegistroHistoricoDTO registro) {
+        return registro.getTipo() == TipoRegistro.CRIADA;
+    }
+
+    public static boolean confirmada(RegistroHistoricoDTO registro) {
+        return registro.getStatusNovo() == StatusInscricao.CONFIRMADA;
+    }
+
+    public static boolean cancelada(RegistroHistoricoDTO registro) {
+        return registro.getStatusNovo() == StatusInscricao.CANCELADA;
+    }
+
+    public boolean isEmpty() {
+        return contagens.isEmpty();
+    }
+
+    /**
+     * Períodos com as contagens somadas, em ordem indefinida
+     */
+    public List<InscricoesPorPeriodo> periodos() {
+        List<InscricoesPorPeriodo> periodos = new ArrayList<>(contagens.size());
+        contagens.forEach((chave, valores) ->
+                periodos.add(new InscricoesPorPeriodo(chave, valores[0], valores[1], valores[2])));
+        return periodos;
+    }
+
+    private void somar(Chave chave, long criadas, long confirmadas, long canceladas) {
+        long[] valores = contagens.computeIfAbsent(chave, c -> new long[3]);
+        valores[0] += criadas;
+        valores[1] += confirmadas;
+        valores[2] += canceladas;
+    }
+}
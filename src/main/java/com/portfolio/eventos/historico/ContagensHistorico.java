@@ -0,0 +1,56 @@
+package com.portfolio.eventos.historico;
+
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+import com.portfolio.eventos.ranking.ContagemInscricoes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reconstrói, a partir do histórico, a quantidade de inscrições de cada evento em cada status.
+ *
+ * Cada registro tira uma inscrição do status anterior e a coloca no novo, então o resultado não depende da
+ * ordem em que os registros são aplicados. Usado como consumidor de {@link LeitorSegmentos#reproduzir} ou da
+ * reprodução pelo banco; não é thread-safe.
+ */
+public class ContagensHistorico implements Consumer<RegistroHistoricoDTO> {
+
+    private static final StatusInscricao[] STATUS = StatusInscricao.values();
+
+    private final Map<Long, long[]> porEvento = new HashMap<>();
+
+    @Override
+    public void accept(RegistroHistoricoDTO registro) {
+        long[] contagens = porEvento.computeIfAbsent(registro.getEventoId(), id -> new long[STATUS.length]);
+        if (registro.getStatusAnterior() != null) {
+            contagens[registro.getStatusAnterior().ordinal()]--;
+        }
+        if (registro.getStatusNovo() != null) {
+            contagens[registro.getStatusNovo().ordinal()]++;
+        }
+    }
+
+    public long total(Long eventoId, StatusInscricao status) {
+        long[] contagens = porEvento.get(eventoId);
+        return contagens == null ? 0 : contagens[status.ordinal()];
+    }
+
+    /**
+     * Contagens diferentes de zero, no formato da consulta agrupada do EventoRepository
+     */
+    public List<ContagemInscricoes> contagens() {
+        List<ContagemInscricoes> resultado = new ArrayList<>();
+        porEvento.forEach((eventoId, contagens) -> {
+            for (StatusInscricao status : STATUS) {
+                if (contagens[status.ordinal()] != 0) {
+                    resultado.add(new ContagemInscricoes(eventoId, status, contagens[status.ordinal()]));
+                }
+            }
+        });
+        return resultado;
+    }
+}
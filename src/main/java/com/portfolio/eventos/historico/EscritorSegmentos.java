@@ -0,0 +1,116 @@
+package com.portfolio.eventos.historico;
+
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Anexa registros do histórico aos segmentos de um diretório (ver {@link FormatoSegmento}).
+ *
+ * Cada segmento é mapeado em memória com a capacidade inteira, e a quantidade do cabeçalho só é atualizada depois
+ * que o registro foi escrito: um leitor nunca vê um registro incompleto. Ao abrir um diretório existente a escrita
+ * continua no último segmento. Não é thread-safe, e deve haver um único escritor por diretório.
+ */
+public class EscritorSegmentos implements Closeable {
+
+    /** Registros por segmento, cerca de 48 MB por arquivo */
+    public static final int REGISTROS_POR_SEGMENTO = 1 << 20;
+
+    /** Um segmento é mapeado em um único buffer, limitado a 2 GB */
+    public static final int MAXIMO_REGISTROS_POR_SEGMENTO =
+            (Integer.MAX_VALUE - FormatoSegmento.TAMANHO_CABECALHO) / FormatoSegmento.TAMANHO_REGISTRO;
+
+    private final Path diretorio;
+    private final int registrosPorSegmento;
+    private FileChannel canal;
+    private MappedByteBuffer buffer;
+    private int capacidade;
+    private int quantidade;
+    private long ultimaSequencia;
+
+    public EscritorSegmentos(Path diretorio) throws IOException {
+        this(diretorio, REGISTROS_POR_SEGMENTO);
+    }
+
+    public EscritorSegmentos(Path diretorio, int registrosPorSegmento) throws IOException {
+        if (registrosPorSegmento <= 0 || registrosPorSegmento > MAXIMO_REGISTROS_POR_SEGMENTO) {
+            throw new IllegalArgumentException("Capacidade de segmento inválida: " + registrosPorSegmento);
+        }
+        this.diretorio = Files.createDirectories(diretorio);
+        this.registrosPorSegmento = registrosPorSegmento;
+        List<Path> segmentos = FormatoSegmento.listar(diretorio);
+        if (!segmentos.isEmpty()) {
+            abrir(segmentos.get(segmentos.size() - 1));
+        }
+    }
+
+    /**
+     * Anexa o registro, cuja sequência deve ser maior que a do último registro gravado
+     */
+    public void anexar(RegistroHistoricoDTO registro) throws IOException {
+        if (registro.getSequencia() <= ultimaSequencia) {
+            throw new IllegalArgumentException("Sequência " + registro.getSequencia()
+                    + " fora de ordem; a última gravada é " + ultimaSequencia);
+        }
+        if (buffer == null || quantidade == capacidade) {
+            criar(registro.getSequencia());
+        }
+        FormatoSegmento.escrever(buffer, FormatoSegmento.posicao(quantidade), registro);
+        quantidade++;
+        buffer.putLong(FormatoSegmento.POSICAO_QUANTIDADE, quantidade);
+        ultimaSequencia = registro.getSequencia();
+    }
+
+    /**
+     * Sequência do último registro gravado no diretório, ou 0 se ainda não há registros
+     */
+    public long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    /**
+     * Grava no disco as alterações do segmento atual
+     */
+    public void sincronizar() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sincronizar();
+        if (canal != null) {
+            canal.close();
+        }
+    }
+
+    private void abrir(Path arquivo) throws IOException {
+        canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+        FormatoSegmento.validarCabecalho(buffer, arquivo);
+        capacidade = buffer.getInt(FormatoSegmento.POSICAO_CAPACIDADE);
+        quantidade = (int) buffer.getLong(FormatoSegmento.POSICAO_QUANTIDADE);
+        ultimaSequencia = quantidade > 0
+                ? FormatoSegmento.sequencia(buffer, quantidade - 1)
+                : buffer.getLong(FormatoSegmento.POSICAO_PRIMEIRA_SEQUENCIA) - 1;
+    }
+
+    private void criar(long primeiraSequencia) throws IOException {
+        close();
+        Path arquivo = FormatoSegmento.arquivo(diretorio, primeiraSequencia);
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        capacidade = registrosPorSegmento;
+        quantidade = 0;
+        buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, FormatoSegmento.posicao(capacidade));
+        FormatoSegmento.escreverCabecalho(buffer, capacidade, primeiraSequencia);
+    }
+}
@@ -0,0 +1,126 @@
+package com.portfolio.eventos.historico;
+
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.HistoricoInscricao.TipoRegistro;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Formato dos arquivos de segmento do histórico de inscrições.
+ *
+ * Cada segmento tem um cabeçalho de 32 bytes seguido de registros de tamanho fixo (48 bytes), em ordem crescente
+ * de sequência, o que permite localizar um registro pela posição e percorrer o arquivo mapeado em memória sem
+ * decodificar texto. O nome do arquivo é a primeira sequência do segmento com zeros à esquerda, então a ordem
+ * alfabética dos arquivos é a ordem do histórico.
+ *
+ * Cabeçalho: mágico (int), versão (short), tamanho do registro (short), capacidade em registros (int),
+ * reservado (int), primeira sequência (long), quantidade de registros gravados (long).
+ * Registro: sequência, inscrição, evento, participante, segundos da data (long cada), nanossegundos (int),
+ * tipo, status anterior, status novo e um byte reservado. Os status são gravados como posição + 1 (0 = nulo).
+ */
+final class FormatoSegmento {
+
+    static final int MAGICO = 0x48495331; // "HIS1"
+    static final short VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 32;
+    static final int TAMANHO_REGISTRO = 48;
+    static final String EXTENSAO = ".seg";
+
+    static final int POSICAO_CAPACIDADE = 8;
+    static final int POSICAO_PRIMEIRA_SEQUENCIA = 16;
+    static final int POSICAO_QUANTIDADE = 24;
+
+    private static final TipoRegistro[] TIPOS = TipoRegistro.values();
+    private static final StatusInscricao[] STATUS = StatusInscricao.values();
+
+    private FormatoSegmento() {}
+
+    static void escreverCabecalho(ByteBuffer buffer, int capacidade, long primeiraSequencia) {
+        buffer.putInt(0, MAGICO);
+        buffer.putShort(4, VERSAO);
+        buffer.putShort(6, (short) TAMANHO_REGISTRO);
+        buffer.putInt(POSICAO_CAPACIDADE, capacidade);
+        buffer.putLong(POSICAO_PRIMEIRA_SEQUENCIA, primeiraSequencia);
+        buffer.putLong(POSICAO_QUANTIDADE, 0);
+    }
+
+    static void validarCabecalho(ByteBuffer buffer, Path arquivo) throws IOException {
+        if (buffer.limit() < TAMANHO_CABECALHO || buffer.getInt(0) != MAGICO) {
+            throw new IOException("Arquivo não é um segmento do histórico: " + arquivo);
+        }
+        if (buffer.getShort(4) != VERSAO || buffer.getShort(6) != TAMANHO_REGISTRO) {
+            throw new IOException("Versão de segmento não suportada: " + arquivo);
+        }
+    }
+
+    static int posicao(int indice) {
+        return TAMANHO_CABECALHO + indice * TAMANHO_REGISTRO;
+    }
+
+    static void escrever(ByteBuffer buffer, int posicao, RegistroHistoricoDTO registro) {
+        LocalDateTime data = registro.getDataRegistro();
+        buffer.putLong(posicao, registro.getSequencia());
+        buffer.putLong(posicao + 8, registro.getInscricaoId());
+        buffer.putLong(posicao + 16, registro.getEventoId());
+        buffer.putLong(posicao + 24, registro.getParticipanteId());
+        buffer.putLong(posicao + 32, data.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(posicao + 40, data.getNano());
+        buffer.put(posicao + 44, (byte) registro.getTipo().ordinal());
+        buffer.put(posicao + 45, codigo(registro.getStatusAnterior()));
+        buffer.put(posicao + 46, codigo(registro.getStatusNovo()));
+    }
+
+    /**
+     * Lê o registro da posição no objeto informado, que é reaproveitado entre as leituras
+     */
+    static void ler(ByteBuffer buffer, int posicao, RegistroHistoricoDTO registro) {
+        registro.setSequencia(buffer.getLong(posicao));
+        registro.setInscricaoId(buffer.getLong(posicao + 8));
+        registro.setEventoId(buffer.getLong(posicao + 16));
+        registro.setParticipanteId(buffer.getLong(posicao + 24));
+        registro.setDataRegistro(LocalDateTime.ofEpochSecond(buffer.getLong(posicao + 32), buffer.getInt(posicao + 40),
+                ZoneOffset.UTC));
+        registro.setTipo(TIPOS[buffer.get(posicao + 44)]);
+        registro.setStatusAnterior(status(buffer.get(posicao + 45)));
+        registro.setStatusNovo(status(buffer.get(posicao + 46)));
+    }
+
+    static long sequencia(ByteBuffer buffer, int indice) {
+        return buffer.getLong(posicao(indice));
+    }
+
+    static Path arquivo(Path diretorio, long primeiraSequencia) {
+        return diretorio.resolve(String.format("%020d", primeiraSequencia) + EXTENSAO);
+    }
+
+    /**
+     * Segmentos do diretório em ordem de sequência
+     */
+    static List<Path> listar(Path diretorio) throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return List.of();
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().endsWith(EXTENSAO))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static byte codigo(StatusInscricao status) {
+        return status == null ? 0 : (byte) (status.ordinal() + 1);
+    }
+
+    private static StatusInscricao status(byte codigo) {
+        return codigo == 0 ? null : STATUS[codigo - 1];
+    }
+}
@@ -0,0 +1,88 @@
+package com.portfolio.eventos.historico;
+
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reproduz o histórico gravado nos segmentos de um diretório (ver {@link FormatoSegmento}), sem acesso ao banco.
+ *
+ * Cada segmento é mapeado em memória somente para leitura até a quantidade de registros do cabeçalho, e os
+ * registros são entregues em ordem de sequência. Para não criar um objeto por registro, o consumidor recebe
+ * sempre a mesma instância, preenchida com o registro atual: quem precisar guardá-lo deve copiar os valores.
+ * Pode ser usado enquanto um {@link EscritorSegmentos} grava no mesmo diretório; os registros anexados depois
+ * da leitura do cabeçalho de um segmento ficam para a próxima reprodução.
+ */
+public final class LeitorSegmentos {
+
+    private LeitorSegmentos() {}
+
+    /**
+     * Entrega ao consumidor os registros com sequência maior que a informada e retorna a sequência do último
+     * registro entregue (a própria sequência informada se não houver nenhum), a partir da qual a reprodução pode
+     * continuar depois. Os segmentos inteiramente anteriores à sequência não são abertos, e no primeiro segmento
+     * lido a posição inicial é encontrada por busca binária.
+     */
+    public static long reproduzir(Path diretorio, long aPartirDe, Consumer<RegistroHistoricoDTO> consumidor)
+            throws IOException {
+        List<Path> segmentos = FormatoSegmento.listar(diretorio);
+        RegistroHistoricoDTO registro = new RegistroHistoricoDTO();
+        long ultimaSequencia = aPartirDe;
+        for (int i = 0; i < segmentos.size(); i++) {
+            if (i + 1 < segmentos.size() && primeiraSequencia(segmentos.get(i + 1)) <= aPartirDe + 1) {
+                continue;
+            }
+            ultimaSequencia = reproduzirSegmento(segmentos.get(i), ultimaSequencia, consumidor, registro);
+        }
+        return ultimaSequencia;
+    }
+
+    private static long reproduzirSegmento(Path arquivo, long aPartirDe, Consumer<RegistroHistoricoDTO> consumidor,
+                                           RegistroHistoricoDTO registro) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer cabecalho = canal.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(canal.size(), FormatoSegmento.TAMANHO_CABECALHO));
+            FormatoSegmento.validarCabecalho(cabecalho, arquivo);
+            int quantidade = (int) cabecalho.getLong(FormatoSegmento.POSICAO_QUANTIDADE);
+            if (quantidade == 0) {
+                return aPartirDe;
+            }
+
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, FormatoSegmento.posicao(quantidade));
+            int indice = primeiroIndiceApos(buffer, quantidade, aPartirDe);
+            if (indice == quantidade) {
+                return aPartirDe;
+            }
+            for (int i = indice; i < quantidade; i++) {
+                FormatoSegmento.ler(buffer, FormatoSegmento.posicao(i), registro);
+                consumidor.accept(registro);
+            }
+            return FormatoSegmento.sequencia(buffer, quantidade - 1);
+        }
+    }
+
+    private static int primeiroIndiceApos(MappedByteBuffer buffer, int quantidade, long aPartirDe) {
+        int inicio = 0;
+        int fim = quantidade;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (FormatoSegmento.sequencia(buffer, meio) <= aPartirDe) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    private static long primeiraSequencia(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(0, nome.length() - FormatoSegmento.EXTENSAO.length()));
+    }
+}
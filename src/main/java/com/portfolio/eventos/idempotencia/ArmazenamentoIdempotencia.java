@@ -0,0 +1,19 @@
+package com.portfolio.eventos.idempotencia;
+
+import java.time.Duration;
+
+/**
+ * Onde ficam as respostas já enviadas para cada Idempotency-Key.
+ * Implementações descartam as respostas mais antigas que {@link #TEMPO_DE_VIDA}.
+ */
+public interface ArmazenamentoIdempotencia {
+
+    Duration TEMPO_DE_VIDA = Duration.ofHours(24);
+
+    /**
+     * Resposta guardada para a chave, ou null se não houver uma dentro do tempo de vida
+     */
+    RespostaIdempotente buscar(String chave);
+
+    void guardar(String chave, RespostaIdempotente resposta);
+}
@@ -0,0 +1,86 @@
+package com.portfolio.eventos.idempotencia;
+
+import com.portfolio.eventos.entity.ChaveIdempotencia;
+import com.portfolio.eventos.repository.ChaveIdempotenciaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Armazenamento na tabela chaves_idempotencia, compartilhado entre instâncias e preservado entre reinícios.
+ * Ativado com eventos.idempotencia.armazenamento=banco. As respostas expiradas são removidas de hora em hora.
+ */
+@Component
+@ConditionalOnProperty(name = "eventos.idempotencia.armazenamento", havingValue = "banco")
+public class ArmazenamentoIdempotenciaBanco implements ArmazenamentoIdempotencia {
+
+    private final ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Autowired
+    public ArmazenamentoIdempotenciaBanco(ChaveIdempotenciaRepository chaveIdempotenciaRepository) {
+        this.chaveIdempotenciaRepository = chaveIdempotenciaRepository;
+    }
+
+    @Override
+    public RespostaIdempotente buscar(String chave) {
+        return chaveIdempotenciaRepository.findByChaveAndDataCriacaoAfter(chave, LocalDateTime.now().minus(TEMPO_DE_VIDA))
+                .map(gravada -> new RespostaIdempotente(gravada.getImpressaoDigital(), gravada.getStatus(),
+                        gravada.getContentType(), lerHeaders(gravada.getHeaders()), gravada.getCorpo()))
+                .orElse(null);
+    }
+
+    /**
+     * Uma chave expirada ainda não removida é sobrescrita. Se outra instância gravar a mesma chave
+     * ao mesmo tempo, a resposta dela é mantida.
+     */
+    @Override
+    public void guardar(String chave, RespostaIdempotente resposta) {
+        try {
+            chaveIdempotenciaRepository.save(new ChaveIdempotencia(chave, resposta.getImpressaoDigital(),
+                    resposta.getStatus(), resposta.getContentType(), escreverHeaders(resposta.getHeaders()),
+                    resposta.getCorpo()));
+        } catch (DataIntegrityViolationException e) {
+            // chave gravada concorrentemente por outra instância
+        }
+    }
+
+    @Scheduled(fixedRate = 60 * 60 * 1000)
+    @Transactional
+    public void removerExpiradas() {
+        chaveIdempotenciaRepository.removerCriadasAntesDe(LocalDateTime.now().minus(TEMPO_DE_VIDA));
+    }
+
+    /**
+     * Um "Nome: valor" por linha; valores de headers HTTP não contêm quebras de linha
+     */
+    private static String escreverHeaders(Map<String, List<String>> headers) {
+        StringBuilder texto = new StringBuilder();
+        headers.forEach((nome, valores) -> valores.forEach(
+                valor -> texto.append(nome).append(": ").append(valor).append('\n')));
+        return texto.toString();
+    }
+
+    private static Map<String, List<String>> lerHeaders(String texto) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (texto == null) {
+            return headers;
+        }
+        for (String linha : texto.split("\n")) {
+            int separador = linha.indexOf(": ");
+            if (separador > 0) {
+                headers.computeIfAbsent(linha.substring(0, separador), nome -> new ArrayList<>())
+                        .add(linha.substring(separador + 2));
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,27 @@
+package com.portfolio.eventos.idempotencia;
+
+import com.portfolio.eventos.cache.CacheLocal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Armazenamento padrão: respostas em um cache local limitado, perdidas ao reiniciar a aplicação
+ */
+@Component
+@ConditionalOnProperty(name = "eventos.idempotencia.armazenamento", havingValue = "memoria", matchIfMissing = true)
+public class ArmazenamentoIdempotenciaMemoria implements ArmazenamentoIdempotencia {
+
+    public static final int TAMANHO_MAXIMO = 10_000;
+
+    private final CacheLocal<String, RespostaIdempotente> respostas = new CacheLocal<>(TAMANHO_MAXIMO, TEMPO_DE_VIDA);
+
+    @Override
+    public RespostaIdempotente buscar(String chave) {
+        return respostas.buscar(chave);
+    }
+
+    @Override
+    public void guardar(String chave, RespostaIdempotente resposta) {
+        respostas.guardar(chave, resposta);
+    }
+}
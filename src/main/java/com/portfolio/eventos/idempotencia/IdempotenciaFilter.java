@@ -0,0 +1,282 @@
+package com.portfolio.eventos.idempotencia;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.eventos.exception.GlobalExceptionHandler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Torna idempotentes os POSTs da API que enviam o header Idempotency-Key.
+ *
+ * A primeira requisição com uma chave é processada normalmente e sua resposta é guardada; as repetições recebem
+ * a resposta guardada, com o header Idempotent-Replayed, sem chegar aos controllers e serviços. Requisições
+ * simultâneas com a mesma chave são agrupadas: só a primeira é processada e as demais aguardam a resposta dela.
+ *
+ * A chave vale por método e caminho, e reutilizá-la com outro corpo resulta em 422. Respostas 5xx e 409 (conflito
+ * de concorrência, transitório) não são guardadas, para que o cliente possa repetir a requisição com a mesma chave.
+ * Da resposta são guardados o status, o corpo e os headers de {@link #HEADERS_GUARDADOS}; os demais (segurança,
+ * cache) são gerados de novo na repetição.
+ */
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_CHAVE = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+    public static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    /**
+     * Headers que fazem parte do resultado da requisição e são repetidos com ela, como o Location e o Retry-After
+     * de uma inscrição aceita na sala de espera
+     */
+    public static final List<String> HEADERS_GUARDADOS = List.of(HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CONTENT_LOCATION);
+
+    /** Tempo que uma requisição repetida aguarda a original terminar antes de responder 409 */
+    private static final Duration TEMPO_MAXIMO_ESPERA = Duration.ofSeconds(30);
+
+    private final ArmazenamentoIdempotencia armazenamento;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, EmAndamento> emAndamento = new ConcurrentHashMap<>();
+
+    public IdempotenciaFilter(ArmazenamentoIdempotencia armazenamento, ObjectMapper objectMapper) {
+        this.armazenamento = armazenamento;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(HEADER_CHAVE) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String chaveCliente = request.getHeader(HEADER_CHAVE);
+        if (chaveCliente.isBlank() || chaveCliente.length() > TAMANHO_MAXIMO_CHAVE) {
+            responderErro(response, HttpStatus.BAD_REQUEST,
+                    "O header " + HEADER_CHAVE + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+            return;
+        }
+        RequisicaoComCorpo requisicao = new RequisicaoComCorpo(request);
+        String chave = request.getMethod() + " " + request.getRequestURI() + " " + chaveCliente;
+        String impressaoDigital = sha256(requisicao.corpo);
+
+        while (true) {
+            RespostaIdempotente guardada = armazenamento.buscar(chave);
+            if (guardada != null) {
+                repetir(guardada, impressaoDigital, response);
+                return;
+            }
+
+            EmAndamento novo = new EmAndamento(impressaoDigital);
+            EmAndamento atual = emAndamento.putIfAbsent(chave, novo);
+            if (atual == null) {
+                processar(chave, novo, requisicao, response, chain);
+                return;
+            }
+
+            if (!atual.impressaoDigital.equals(impressaoDigital)) {
+                responderChaveReutilizada(response);
+                return;
+            }
+            RespostaIdempotente original;
+            try {
+                original = atual.resposta.get(TEMPO_MAXIMO_ESPERA.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                responderErro(response, HttpStatus.CONFLICT,
+                        "Uma requisição com a mesma " + HEADER_CHAVE + " ainda está em processamento.");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrompido aguardando a requisição original", e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            if (original != null) {
+                repetir(original, impressaoDigital, response);
+                return;
+            }
+            // a requisição original terminou sem resposta guardada (erro 5xx); esta é processada no lugar dela
+        }
+    }
+
+    /**
+     * A resposta é guardada antes de a chave sair de emAndamento, para que nenhuma repetição a processe de novo
+     */
+    private void processar(String chave, EmAndamento andamento, RequisicaoComCorpo requisicao,
+                           HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        RespostaIdempotente resposta = null;
+        ContentCachingResponseWrapper captura = new ContentCachingResponseWrapper(response);
+        try {
+            // outra requisição pode ter guardado a resposta entre a consulta ao armazenamento e o registro em emAndamento
+            resposta = armazenamento.buscar(chave);
+            if (resposta != null) {
+                repetir(resposta, andamento.impressaoDigital, response);
+                return;
+            }
+            chain.doFilter(requisicao, captura);
+            if (captura.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()
+                    && captura.getStatus() != HttpStatus.CONFLICT.value()) {
+                resposta = new RespostaIdempotente(andamento.impressaoDigital, captura.getStatus(),
+                        captura.getContentType(), headersGuardados(captura), captura.getContentAsByteArray());
+                armazenamento.guardar(chave, resposta);
+            }
+            captura.copyBodyToResponse();
+        } finally {
+            andamento.resposta.complete(resposta);
+            emAndamento.remove(chave, andamento);
+        }
+    }
+
+    private void repetir(RespostaIdempotente resposta, String impressaoDigital, HttpServletResponse response)
+            throws IOException {
+        if (!resposta.getImpressaoDigital().equals(impressaoDigital)) {
+            responderChaveReutilizada(response);
+            return;
+        }
+        response.setStatus(resposta.getStatus());
+        if (resposta.getContentType() != null) {
+            response.setContentType(resposta.getContentType());
+        }
+        resposta.getHeaders().forEach((nome, valores) -> valores.forEach(valor -> response.addHeader(nome, valor)));
+        response.setHeader(HEADER_REPETIDA, "true");
+        response.setContentLength(resposta.getCorpo().length);
+        response.getOutputStream().write(resposta.getCorpo());
+    }
+
+    private static Map<String, List<String>> headersGuardados(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String nome : HEADERS_GUARDADOS) {
+            if (response.containsHeader(nome)) {
+                headers.put(nome, new ArrayList<>(response.getHeaders(nome)));
+            }
+        }
+        return headers;
+    }
+
+    private void responderChaveReutilizada(HttpServletResponse response) throws IOException {
+        responderErro(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                "A " + HEADER_CHAVE + " já foi usada com outra requisição.");
+    }
+
+    private void responderErro(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        GlobalExceptionHandler.ErrorResponse erro = new GlobalExceptionHandler.ErrorResponse(
+                status.value(), "Requisição idempotente inválida", mensagem, LocalDateTime.now());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+
+    private static String sha256(byte[] conteudo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static class EmAndamento {
+
+        private final String impressaoDigital;
+        private final CompletableFuture<RespostaIdempotente> resposta = new CompletableFuture<>();
+
+        private EmAndamento(String impressaoDigital) {
+            this.impressaoDigital = impressaoDigital;
+        }
+    }
+
+    /**
+     * Lê o corpo da requisição uma vez, para calcular a impressão digital, e o entrega de novo aos controllers
+     */
+    private static class RequisicaoComCorpo extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        private RequisicaoComCorpo(HttpServletRequest request) throws IOException {
+            super(request);
+            this.corpo = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * O corpo já está todo em memória, então os dados estão disponíveis desde o início
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.portfolio.eventos.idempotencia;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resposta guardada para uma Idempotency-Key, junto da impressão digital da requisição que a gerou.
+ * Além do status e do corpo guarda os headers de {@link IdempotenciaFilter#HEADERS_GUARDADOS} que a resposta trazia.
+ */
+public class RespostaIdempotente {
+
+    private final String impressaoDigital;
+    private final int status;
+    private final String contentType;
+    private final Map<String, List<String>> headers;
+    private final byte[] corpo;
+
+    public RespostaIdempotente(String impressaoDigital, int status, String contentType,
+                               Map<String, List<String>> headers, byte[] corpo) {
+        this.impressaoDigital = impressaoDigital;
+        this.status = status;
+        this.contentType = contentType;
+        this.headers = headers;
+        this.corpo = corpo;
+    }
+
+    public String getImpressaoDigital() {
+        return impressaoDigital;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Valores de cada header guardado, na ordem em que foram enviados
+     */
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getCorpo() {
+        return corpo;
+    }
+}
@@ -0,0 +1,31 @@
+package com.portfolio.eventos.ranking;
+
+import com.portfolio.eventos.entity.Inscricao;
+
+/**
+ * Total de inscrições de um evento em um status; status nulo indica evento sem inscrições.
+ */
+public class ContagemInscricoes {
+
+    private final Long eventoId;
+    private final Inscricao.StatusInscricao status;
+    private final long total;
+
+    public ContagemInscricoes(Long eventoId, Inscricao.StatusInscricao status, Long total) {
+        this.eventoId = eventoId;
+        this.status = status;
+        this.total = total;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public Inscricao.StatusInscricao getStatus() {
+        return status;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,89 @@
+package com.portfolio.eventos.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Ranking em memória de ids por contagem (maior primeiro, empate pelo menor id).
+ * Ajustes custam O(log n) e a leitura dos K primeiros custa O(K).
+ */
+public class RankingContagens {
+
+    private static final Comparator<Posicao> MAIOR_CONTAGEM_PRIMEIRO =
+            Comparator.comparingLong(Posicao::getTotal).reversed().thenComparing(Posicao::getId);
+
+    private final Map<Long, Posicao> posicoes = new HashMap<>();
+    private final NavigableSet<Posicao> ordenadas = new TreeSet<>(MAIOR_CONTAGEM_PRIMEIRO);
+
+    /**
+     * Inclui o id com contagem zero, se ainda não estiver no ranking
+     */
+    public synchronized void incluir(Long id) {
+        if (!posicoes.containsKey(id)) {
+            definir(id, 0);
+        }
+    }
+
+    public synchronized void definir(Long id, long total) {
+        remover(id);
+        Posicao posicao = new Posicao(id, total);
+        posicoes.put(id, posicao);
+        ordenadas.add(posicao);
+    }
+
+    public synchronized void ajustar(Long id, long delta) {
+        Posicao atual = posicoes.get(id);
+        definir(id, Math.max(0, (atual != null ? atual.getTotal() : 0) + delta));
+    }
+
+    public synchronized void remover(Long id) {
+        Posicao atual = posicoes.remove(id);
+        if (atual != null) {
+            ordenadas.remove(atual);
+        }
+    }
+
+    public synchronized void limpar() {
+        posicoes.clear();
+        ordenadas.clear();
+    }
+
+    public synchronized long total(Long id) {
+        Posicao posicao = posicoes.get(id);
+        return posicao != null ? posicao.getTotal() : 0;
+    }
+
+    public synchronized List<Posicao> primeiros(int limite) {
+        List<Posicao> primeiros = new ArrayList<>(Math.min(limite, ordenadas.size()));
+        Iterator<Posicao> iterator = ordenadas.iterator();
+        while (iterator.hasNext() && primeiros.size() < limite) {
+            primeiros.add(iterator.next());
+        }
+        return primeiros;
+    }
+
+    public static class Posicao {
+
+        private final Long id;
+        private final long total;
+
+        public Posicao(Long id, long total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.entity.ChaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    /**
+     * Busca a resposta gravada para a chave, se ela tiver sido criada depois do limite informado
+     */
+    Optional<ChaveIdempotencia> findByChaveAndDataCriacaoAfter(String chave, LocalDateTime limite);
+
+    /**
+     * Remove as respostas criadas antes do limite informado
+     */
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.dataCriacao < :limite")
+    int removerCriadasAntesDe(@Param("limite") LocalDateTime limite);
+}
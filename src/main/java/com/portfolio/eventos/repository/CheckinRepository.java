@@ -0,0 +1,22 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.entity.Checkin;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CheckinRepository extends JpaRepository<Checkin, Long>, CheckinRepositoryCustom {
+
+    /**
+     * Próxima página por keyset dos ids das inscrições com check-in
+     */
+    @Query("SELECT c.inscricaoId FROM Checkin c WHERE c.inscricaoId > :ultimoId ORDER BY c.inscricaoId")
+    List<Long> findInscricaoIdsAposId(@Param("ultimoId") long ultimoId, Pageable pageable);
+
+    long countByEventoId(Long eventoId);
+}
@@ -0,0 +1,15 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.entity.Checkin;
+
+import java.util.Collection;
+
+public interface CheckinRepositoryCustom {
+
+    /**
+     * Insere em lotes JDBC, na transação corrente ou numa nova, os check-ins cuja inscrição ainda existe e ainda não tem
+     * check-in gravado, e retorna quantos foram inseridos. Os demais são descartados: a inscrição foi removida
+     * depois da conferência do ingresso, ou outra instância já gravou a mesma entrada.
+     */
+    int inserirNovos(Collection<Checkin> checkins);
+}
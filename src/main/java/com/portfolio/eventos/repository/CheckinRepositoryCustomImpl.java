@@ -0,0 +1,47 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.entity.Checkin;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CheckinRepositoryCustomImpl implements CheckinRepositoryCustom {
+
+    /** Ids por consulta de filtragem e check-ins persistidos entre dois flushes; múltiplo do hibernate.jdbc.batch_size */
+    private static final int TAMANHO_BLOCO = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int inserirNovos(Collection<Checkin> checkins) {
+        List<Checkin> todos = new ArrayList<>(checkins);
+        int inseridos = 0;
+        for (int inicio = 0; inicio < todos.size(); inicio += TAMANHO_BLOCO) {
+            List<Checkin> bloco = todos.subList(inicio, Math.min(inicio + TAMANHO_BLOCO, todos.size()));
+            Set<Long> novos = new HashSet<>(entityManager.createQuery(
+                            "SELECT i.id FROM Inscricao i WHERE i.id IN :ids AND NOT EXISTS " +
+                            "(SELECT 1 FROM Checkin c WHERE c.inscricaoId = i.id)", Long.class)
+                    .setParameter("ids", bloco.stream().map(Checkin::getInscricaoId).toList())
+                    .getResultList());
+            for (Checkin checkin : bloco) {
+                // remove do conjunto para que uma entrada repetida no mesmo lote não viole a chave primária
+                if (novos.remove(checkin.getInscricaoId())) {
+                    entityManager.persist(checkin);
+                    inseridos++;
+                }
+            }
+            // Sem clear(): numa transação maior, as demais entidades continuam gerenciadas
+            entityManager.flush();
+            bloco.forEach(entityManager::detach);
+        }
+        return inseridos;
+    }
+}
@@ -0,0 +1,22 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.entity.ConsolidacaoSeries;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ConsolidacaoSeriesRepository extends JpaRepository<ConsolidacaoSeries, Integer> {
+
+    /**
+     * Linha de consolidação bloqueada até o fim da transação
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ConsolidacaoSeries c WHERE c.id = :id")
+    Optional<ConsolidacaoSeries> findParaConsolidar(@Param("id") Integer id);
+}
@@ -1,19 +1,37 @@
 package com.portfolio.eventos.repository;
 
+import com.portfolio.eventos.busca.DocumentoEvento;
+import com.portfolio.eventos.dto.EventoDTO;
 import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.ranking.ContagemInscricoes;
+import com.portfolio.eventos.repository.specification.EventoSpecifications;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EventoRepository extends JpaRepository<Evento, Long> {
+public interface EventoRepository extends JpaRepository<Evento, Long>, JpaSpecificationExecutor<Evento>,
+        EventoRepositoryCustom {
+
+    String PROJECAO_EVENTO_DTO = "SELECT new com.portfolio.eventos.dto.EventoDTO(" +
+            "e.id, e.nome, e.descricao, e.dataInicio, e.dataFim, e.horaInicio, e.horaFim, " +
+            "e.capacidadeMaxima, e.preco, e.status, e.local.id, e.categoria.id, " +
+            "e.dataCriacao, e.dataAtualizacao, e.numeroInscricoesConfirmadas, e.altaDemanda, " +
+            "e.limiteInscricoesPorSegundo, e.versao) ";
+
+    String PROJECAO_DOCUMENTO_BUSCA = "SELECT new com.portfolio.eventos.busca.DocumentoEvento(" +
+            "e.id, e.nome, e.descricao, e.local.nome, e.categoria.nome) FROM Evento e ";
 
     /**
      * Busca eventos por status
@@ -25,6 +43,23 @@ public interface EventoRepository extends JpaRepository<Evento, Long> {
      */
     Page<Evento> findByStatus(Evento.StatusEvento status, Pageable pageable);
 
+    /**
+     * Pares (eventoId, limite) dos eventos com limite de inscrições por segundo
+     */
+    @Query("SELECT e.id, e.limiteInscricoesPorSegundo FROM Evento e WHERE e.limiteInscricoesPorSegundo IS NOT NULL")
+    List<Object[]> findLimitesInscricoesPorSegundo();
+
+    /**
+     * Chave de assinatura dos ingressos do evento
+     */
+    @Query("SELECT e.chaveIngressos FROM Evento e WHERE e.id = :id")
+    Optional<byte[]> findChaveIngressosById(@Param("id") Long id);
+
+    /**
+     * Eventos em modo de alta demanda
+     */
+    List<Evento> findByAltaDemandaTrue();
+
     /**
      * Busca eventos por categoria
      */
@@ -73,7 +108,7 @@ public interface EventoRepository extends JpaRepository<Evento, Long> {
      */
     @Query("SELECT e FROM Evento e WHERE " +
            "e.capacidadeMaxima IS NULL OR e.capacidadeMaxima = 0 OR " +
-           "(SELECT COUNT(i) FROM Inscricao i WHERE i.evento = e AND i.status = 'CONFIRMADA') < e.capacidadeMaxima")
+           "e.numeroInscricoesConfirmadas < e.capacidadeMaxima")
     List<Evento> findEventosComVagasDisponiveis();
 
     /**
@@ -85,21 +120,24 @@ public interface EventoRepository extends JpaRepository<Evento, Long> {
     /**
      * Busca eventos com filtros múltiplos
      */
-    @Query("SELECT e FROM Evento e WHERE " +
-           "(:categoriaId IS NULL OR e.categoria.id = :categoriaId) AND " +
-           "(:localId IS NULL OR e.local.id = :localId) AND " +
-           "(:status IS NULL OR e.status = :status) AND " +
-           "(:dataInicio IS NULL OR e.dataInicio >= :dataInicio) AND " +
-           "(:dataFim IS NULL OR e.dataFim <= :dataFim) AND " +
-           "(:precoMaximo IS NULL OR e.preco <= :precoMaximo)")
-    Page<Evento> findEventosComFiltros(
-            @Param("categoriaId") Long categoriaId,
-            @Param("localId") Long localId,
-            @Param("status") Evento.StatusEvento status,
-            @Param("dataInicio") LocalDate dataInicio,
-            @Param("dataFim") LocalDate dataFim,
-            @Param("precoMaximo") BigDecimal precoMaximo,
-            Pageable pageable);
+    default Page<Evento> findEventosComFiltros(
+            Long categoriaId,
+            Long localId,
+            Evento.StatusEvento status,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            BigDecimal precoMaximo,
+            Pageable pageable) {
+        return findAll(EventoSpecifications.comFiltros(
+                categoriaId, localId, status, dataInicio, dataFim, precoMaximo), pageable);
+    }
+
+    /**
+     * Lista eventos já projetados em EventoDTO com o total de inscrições confirmadas (uma consulta + contagem)
+     */
+    @Query(value = PROJECAO_EVENTO_DTO + "FROM Evento e",
+           countQuery = "SELECT COUNT(e) FROM Evento e")
+    Page<EventoDTO> findAllComTotais(Pageable pageable);
 
     /**
      * Conta o número de inscrições confirmadas para um evento
@@ -107,18 +145,87 @@ public interface EventoRepository extends JpaRepository<Evento, Long> {
     @Query("SELECT COUNT(i) FROM Inscricao i WHERE i.evento.id = :eventoId AND i.status = 'CONFIRMADA'")
     long countInscricoesConfirmadasByEventoId(@Param("eventoId") Long eventoId);
 
+    /**
+     * Valor atual do contador desnormalizado de inscrições confirmadas, lido do banco
+     */
+    @Query("SELECT e.numeroInscricoesConfirmadas FROM Evento e WHERE e.id = :eventoId")
+    long buscarInscricoesConfirmadas(@Param("eventoId") Long eventoId);
+
+    /**
+     * Soma o delta ao contador desnormalizado de inscrições confirmadas do evento
+     */
+    @Modifying
+    @Query("UPDATE Evento e SET e.numeroInscricoesConfirmadas = e.numeroInscricoesConfirmadas + :delta " +
+           "WHERE e.id = :eventoId")
+    int ajustarInscricoesConfirmadas(@Param("eventoId") Long eventoId, @Param("delta") long delta);
+
+    /**
+     * Reserva vagas incrementando o contador de confirmadas apenas se todas couberem na capacidade.
+     * A condição é avaliada pelo banco sob o lock da linha; retorna 0 quando não há vagas suficientes.
+     */
+    @Modifying
+    @Query("UPDATE Evento e SET e.numeroInscricoesConfirmadas = e.numeroInscricoesConfirmadas + :quantidade " +
+           "WHERE e.id = :eventoId AND (e.capacidadeMaxima IS NULL OR e.capacidadeMaxima = 0 " +
+           "OR e.numeroInscricoesConfirmadas + :quantidade <= e.capacidadeMaxima)")
+    int reservarVagas(@Param("eventoId") Long eventoId, @Param("quantidade") long quantidade);
+
+    /**
+     * Recalcula o contador de inscrições confirmadas de todos os eventos a partir da tabela de inscrições,
+     * incluindo as pendentes com vaga reservada na promoção da lista de espera
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Evento e SET e.numeroInscricoesConfirmadas = " +
+           "(SELECT COUNT(i) FROM Inscricao i WHERE i.evento = e AND (i.status = 'CONFIRMADA' " +
+           "OR (i.status = 'PENDENTE' AND i.vagaReservada = TRUE)))")
+    int reconciliarInscricoesConfirmadas();
+
+    /**
+     * Lote de documentos para a indexação textual, em ordem de id a partir do último id processado
+     */
+    @Query(PROJECAO_DOCUMENTO_BUSCA + "WHERE e.id > :ultimoId ORDER BY e.id")
+    List<DocumentoEvento> findDocumentosBusca(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Documentos para a indexação textual dos eventos de um local
+     */
+    @Query(PROJECAO_DOCUMENTO_BUSCA + "WHERE e.local.id = :localId")
+    List<DocumentoEvento> findDocumentosBuscaByLocalId(@Param("localId") Long localId);
+
+    /**
+     * Documentos para a indexação textual dos eventos de uma categoria
+     */
+    @Query(PROJECAO_DOCUMENTO_BUSCA + "WHERE e.categoria.id = :categoriaId")
+    List<DocumentoEvento> findDocumentosBuscaByCategoriaId(@Param("categoriaId") Long categoriaId);
+
     /**
      * Busca eventos ordenados por data de início (mais próximos primeiro)
      */
     List<Evento> findAllByOrderByDataInicioAsc();
 
     /**
-     * Busca eventos mais populares (com mais inscrições confirmadas)
+     * Total de inscrições por evento e status; eventos sem inscrições vêm com status nulo e total zero
+     */
+    @Query("SELECT new com.portfolio.eventos.ranking.ContagemInscricoes(e.id, i.status, COUNT(i)) " +
+           "FROM Evento e LEFT JOIN e.inscricoes i " +
+           "GROUP BY e.id, i.status")
+    List<ContagemInscricoes> findContagensInscricoesPorStatus();
+
+    /**
+     * Total de pendentes com vaga reservada na promoção da lista de espera, por evento
+     */
+    @Query("SELECT new com.portfolio.eventos.ranking.ContagemInscricoes(i.evento.id, i.status, COUNT(i)) " +
+           "FROM Inscricao i WHERE i.status = 'PENDENTE' AND i.vagaReservada = TRUE " +
+           "GROUP BY i.evento.id, i.status")
+    List<ContagemInscricoes> findContagensVagasReservadas();
+
+    /**
+     * Total de inscrições por status dos eventos informados, em uma única consulta agrupada;
+     * eventos inexistentes não aparecem e eventos sem inscrições vêm com status nulo e total zero
      */
-    @Query("SELECT e FROM Evento e LEFT JOIN e.inscricoes i " +
-           "WHERE i.status = 'CONFIRMADA' OR i.status IS NULL " +
-           "GROUP BY e " +
-           "ORDER BY COUNT(i) DESC")
-    List<Evento> findEventosMaisPopulares(Pageable pageable);
+    @Query("SELECT new com.portfolio.eventos.ranking.ContagemInscricoes(e.id, i.status, COUNT(i)) " +
+           "FROM Evento e LEFT JOIN e.inscricoes i " +
+           "WHERE e.id IN :eventoIds " +
+           "GROUP BY e.id, i.status")
+    List<ContagemInscricoes> findContagensInscricoesPorStatusByEventoIdIn(@Param("eventoIds") Collection<Long> eventoIds);
 }
 
@@ -0,0 +1,28 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.dto.EventoDTO;
+import com.portfolio.eventos.entity.Evento;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventoRepositoryCustom {
+
+    /**
+     * Busca eventos que atendem aos filtros já projetados em EventoDTO (uma consulta + contagem)
+     */
+    Page<EventoDTO> findComTotais(Specification<Evento> filtros, Pageable pageable);
+
+    /**
+     * Busca a próxima janela de eventos por keyset (sem OFFSET e sem COUNT), já projetados em EventoDTO.
+     * A ordenação usa uma única propriedade, com o id como critério de desempate.
+     */
+    Window<EventoDTO> findComTotaisPorKeyset(
+            Specification<Evento> filtros,
+            Sort.Order ordem,
+            KeysetScrollPosition posicao,
+            int limite);
+}
@@ -0,0 +1,134 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.dto.EventoDTO;
+import com.portfolio.eventos.entity.Evento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EventoRepositoryCustomImpl implements EventoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EventoDTO> findComTotais(Specification<Evento> filtros, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventoDTO> query = cb.createQuery(EventoDTO.class);
+        Root<Evento> e = query.from(Evento.class);
+        query.select(projecaoEventoDTO(cb, e));
+        Predicate predicado = filtros.toPredicate(e, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), e, cb));
+
+        TypedQuery<EventoDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> contar(filtros));
+    }
+
+    @Override
+    public Window<EventoDTO> findComTotaisPorKeyset(
+            Specification<Evento> filtros,
+            Sort.Order ordem,
+            KeysetScrollPosition posicao,
+            int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventoDTO> query = cb.createQuery(EventoDTO.class);
+        Root<Evento> e = query.from(Evento.class);
+        query.select(projecaoEventoDTO(cb, e));
+
+        List<Predicate> predicados = new ArrayList<>();
+        Predicate predicadoFiltros = filtros.toPredicate(e, query, cb);
+        if (predicadoFiltros != null) predicados.add(predicadoFiltros);
+        if (!posicao.isInitial()) predicados.add(depoisDaPosicao(cb, e, ordem, posicao));
+        query.where(predicados.toArray(new Predicate[0]));
+
+        Path<Comparable<Object>> chave = e.get(ordem.getProperty());
+        Path<Long> id = e.get("id");
+        if (ordem.isAscending()) {
+            query.orderBy(cb.asc(chave), cb.asc(id));
+        } else {
+            query.orderBy(cb.desc(chave), cb.desc(id));
+        }
+
+        List<EventoDTO> resultado = entityManager.createQuery(query)
+                .setMaxResults(limite + 1)
+                .getResultList();
+        boolean temProxima = resultado.size() > limite;
+        List<EventoDTO> janela = temProxima ? resultado.subList(0, limite) : resultado;
+        return Window.from(janela, indice -> posicaoDe(janela.get(indice), ordem), temProxima);
+    }
+
+    // (chave, id) > (ultimaChave, ultimoId) na direção da ordenação, expandido para usar o índice da chave
+    private Predicate depoisDaPosicao(CriteriaBuilder cb, Root<Evento> e, Sort.Order ordem, KeysetScrollPosition posicao) {
+        Path<Comparable<Object>> chave = e.get(ordem.getProperty());
+        Path<Long> id = e.get("id");
+        @SuppressWarnings("unchecked")
+        Comparable<Object> ultimaChave = (Comparable<Object>) posicao.getKeys().get(ordem.getProperty());
+        Long ultimoId = (Long) posicao.getKeys().get("id");
+
+        if ("id".equals(ordem.getProperty())) {
+            return ordem.isAscending() ? cb.greaterThan(id, ultimoId) : cb.lessThan(id, ultimoId);
+        }
+        if (ordem.isAscending()) {
+            return cb.or(cb.greaterThan(chave, ultimaChave),
+                    cb.and(cb.equal(chave, ultimaChave), cb.greaterThan(id, ultimoId)));
+        }
+        return cb.or(cb.lessThan(chave, ultimaChave),
+                cb.and(cb.equal(chave, ultimaChave), cb.lessThan(id, ultimoId)));
+    }
+
+    private long contar(Specification<Evento> filtros) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Evento> e = query.from(Evento.class);
+        query.select(cb.count(e));
+        Predicate predicado = filtros.toPredicate(e, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private ScrollPosition posicaoDe(EventoDTO evento, Sort.Order ordem) {
+        Map<String, Object> chaves = new LinkedHashMap<>();
+        chaves.put(ordem.getProperty(), new BeanWrapperImpl(evento).getPropertyValue(ordem.getProperty()));
+        chaves.put("id", evento.getId());
+        return ScrollPosition.forward(chaves);
+    }
+
+    private CompoundSelection<EventoDTO> projecaoEventoDTO(CriteriaBuilder cb, Root<Evento> e) {
+        return cb.construct(EventoDTO.class,
+                e.get("id"), e.get("nome"), e.get("descricao"), e.get("dataInicio"), e.get("dataFim"),
+                e.get("horaInicio"), e.get("horaFim"), e.get("capacidadeMaxima"), e.get("preco"), e.get("status"),
+                e.get("local").get("id"), e.get("categoria").get("id"),
+                e.get("dataCriacao"), e.get("dataAtualizacao"), e.get("numeroInscricoesConfirmadas"),
+                e.get("altaDemanda"), e.get("limiteInscricoesPorSegundo"), e.get("versao"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.HistoricoInscricao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface HistoricoInscricaoRepository extends JpaRepository<HistoricoInscricao, Long>,
+        HistoricoInscricaoRepositoryCustom {
+
+    String PROJECAO_REGISTRO_DTO = "SELECT new com.portfolio.eventos.dto.RegistroHistoricoDTO(" +
+            "h.id, h.inscricaoId, h.eventoId, h.participanteId, h.tipo, h.statusAnterior, h.statusNovo, h.dataRegistro) " +
+            "FROM HistoricoInscricao h ";
+
+    /**
+     * Registros de uma inscrição, em ordem de sequência
+     */
+    @Query(PROJECAO_REGISTRO_DTO + "WHERE h.inscricaoId = :inscricaoId ORDER BY h.id")
+    List<RegistroHistoricoDTO> findRegistrosByInscricaoId(@Param("inscricaoId") Long inscricaoId);
+
+    /**
+     * Próxima página do histórico por keyset: registros com sequência maior que a informada, em ordem de sequência
+     */
+    @Query(PROJECAO_REGISTRO_DTO + "WHERE h.id > :sequencia ORDER BY h.id")
+    List<RegistroHistoricoDTO> findRegistrosAposSequencia(@Param("sequencia") long sequencia, Pageable pageable);
+
+    @Query("SELECT MAX(h.id) FROM HistoricoInscricao h")
+    Long findUltimaSequencia();
+}
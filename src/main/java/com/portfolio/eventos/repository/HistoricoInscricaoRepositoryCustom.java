@@ -0,0 +1,14 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.entity.HistoricoInscricao;
+
+import java.util.Collection;
+
+public interface HistoricoInscricaoRepositoryCustom {
+
+    /**
+     * Insere os registros em lotes JDBC e os retira do contexto de persistência, que não cresce com o tamanho
+     * da operação. Os INSERTs vão ao banco na própria chamada, dentro da transação corrente.
+     */
+    void inserirEmLote(Collection<HistoricoInscricao> registros);
+}
@@ -0,0 +1,40 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.entity.HistoricoInscricao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class HistoricoInscricaoRepositoryCustomImpl implements HistoricoInscricaoRepositoryCustom {
+
+    /** Registros persistidos entre dois flushes; múltiplo do hibernate.jdbc.batch_size */
+    private static final int TAMANHO_BLOCO = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void inserirEmLote(Collection<HistoricoInscricao> registros) {
+        List<HistoricoInscricao> bloco = new ArrayList<>(Math.min(registros.size(), TAMANHO_BLOCO));
+        for (HistoricoInscricao registro : registros) {
+            entityManager.persist(registro);
+            bloco.add(registro);
+            if (bloco.size() == TAMANHO_BLOCO) {
+                descarregar(bloco);
+            }
+        }
+        if (!bloco.isEmpty()) {
+            descarregar(bloco);
+        }
+    }
+
+    // Sem clear(): as demais entidades da transação continuam gerenciadas
+    private void descarregar(List<HistoricoInscricao> bloco) {
+        entityManager.flush();
+        bloco.forEach(entityManager::detach);
+        bloco.clear();
+    }
+}
@@ -1,39 +1,47 @@
 package com.portfolio.eventos.repository;
 
+import com.portfolio.eventos.dto.InscricaoDTO;
 import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.repository.specification.InscricaoSpecifications;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InscricaoRepository extends JpaRepository<Inscricao, Long> {
+public interface InscricaoRepository extends JpaRepository<Inscricao, Long>, JpaSpecificationExecutor<Inscricao> {
+
+    String PROJECAO_INSCRICAO_DTO = "SELECT new com.portfolio.eventos.dto.InscricaoDTO(" +
+            "i.id, p.id, e.id, i.dataInscricao, i.status, i.dataAtualizacao, p.nome, e.nome) " +
+            "FROM Inscricao i JOIN i.participante p JOIN i.evento e ";
 
     /**
      * Busca inscrição específica por participante e evento
      */
     Optional<Inscricao> findByParticipanteIdAndEventoId(Long participanteId, Long eventoId);
 
-    /**
-     * Verifica se existe inscrição para um participante em um evento
-     */
-    boolean existsByParticipanteIdAndEventoId(Long participanteId, Long eventoId);
-
     /**
      * Busca todas as inscrições de um participante
      */
     List<Inscricao> findByParticipanteId(Long participanteId);
 
     /**
-     * Busca todas as inscrições de um participante com paginação
+     * Inscrições do participante com os nomes de participante e evento, em uma consulta e uma contagem
      */
-    Page<Inscricao> findByParticipanteId(Long participanteId, Pageable pageable);
+    @Query(value = PROJECAO_INSCRICAO_DTO + "WHERE p.id = :participanteId",
+           countQuery = "SELECT COUNT(i) FROM Inscricao i WHERE i.participante.id = :participanteId")
+    Page<InscricaoDTO> findComNomesByParticipanteId(@Param("participanteId") Long participanteId, Pageable pageable);
 
     /**
      * Busca todas as inscrições de um evento
@@ -41,9 +49,17 @@ public interface InscricaoRepository extends JpaRepository<Inscricao, Long> {
     List<Inscricao> findByEventoId(Long eventoId);
 
     /**
-     * Busca todas as inscrições de um evento com paginação
+     * Inscrições do evento com os nomes de participante e evento, em uma consulta e uma contagem
+     */
+    @Query(value = PROJECAO_INSCRICAO_DTO + "WHERE e.id = :eventoId",
+           countQuery = "SELECT COUNT(i) FROM Inscricao i WHERE i.evento.id = :eventoId")
+    Page<InscricaoDTO> findComNomesByEventoId(@Param("eventoId") Long eventoId, Pageable pageable);
+
+    /**
+     * Todas as inscrições com os nomes de participante e evento, em uma consulta e uma contagem
      */
-    Page<Inscricao> findByEventoId(Long eventoId, Pageable pageable);
+    @Query(value = PROJECAO_INSCRICAO_DTO, countQuery = "SELECT COUNT(i) FROM Inscricao i")
+    Page<InscricaoDTO> findAllComNomes(Pageable pageable);
 
     /**
      * Busca inscrições por status
@@ -102,19 +118,82 @@ public interface InscricaoRepository extends JpaRepository<Inscricao, Long> {
     /**
      * Busca inscrições com filtros múltiplos
      */
-    @Query("SELECT i FROM Inscricao i WHERE " +
-           "(:participanteId IS NULL OR i.participante.id = :participanteId) AND " +
-           "(:eventoId IS NULL OR i.evento.id = :eventoId) AND " +
-           "(:status IS NULL OR i.status = :status) AND " +
-           "(:dataInicio IS NULL OR i.dataInscricao >= :dataInicio) AND " +
-           "(:dataFim IS NULL OR i.dataInscricao <= :dataFim)")
-    Page<Inscricao> findInscricoesComFiltros(
-            @Param("participanteId") Long participanteId,
-            @Param("eventoId") Long eventoId,
-            @Param("status") Inscricao.StatusInscricao status,
-            @Param("dataInicio") LocalDateTime dataInicio,
-            @Param("dataFim") LocalDateTime dataFim,
-            Pageable pageable);
+    default Page<Inscricao> findInscricoesComFiltros(
+            Long participanteId,
+            Long eventoId,
+            Inscricao.StatusInscricao status,
+            LocalDateTime dataInicio,
+            LocalDateTime dataFim,
+            Pageable pageable) {
+        return findAll(InscricaoSpecifications.comFiltros(participanteId, eventoId, status, dataInicio, dataFim), pageable);
+    }
+
+    /**
+     * Ids dos participantes inscritos no evento, em qualquer status
+     */
+    @Query("SELECT i.participante.id FROM Inscricao i WHERE i.evento.id = :eventoId")
+    List<Long> findParticipanteIdsByEventoId(@Param("eventoId") Long eventoId);
+
+    /**
+     * Pares (eventoId, participanteId) já inscritos entre os eventos e participantes informados
+     */
+    @Query("SELECT i.evento.id, i.participante.id FROM Inscricao i " +
+           "WHERE i.evento.id IN :eventoIds AND i.participante.id IN :participanteIds")
+    List<Object[]> findParesEventoParticipante(@Param("eventoIds") Collection<Long> eventoIds,
+                                               @Param("participanteIds") Collection<Long> participanteIds);
+
+    /**
+     * Promove uma inscrição da lista de espera para o status informado, marcando se ela guarda a vaga reservada;
+     * retorna 0 se ela não estiver mais na lista
+     */
+    @Modifying
+    @Query("UPDATE Inscricao i SET i.status = :status, i.vagaReservada = :vagaReservada, " +
+           "i.posicaoListaEspera = NULL, i.dataAtualizacao = CURRENT_TIMESTAMP, i.versao = i.versao + 1 " +
+           "WHERE i.id = :inscricaoId AND i.status = 'LISTA_ESPERA'")
+    int promoverDaListaEspera(@Param("inscricaoId") Long inscricaoId,
+                              @Param("status") Inscricao.StatusInscricao status,
+                              @Param("vagaReservada") boolean vagaReservada);
+
+    /**
+     * Bloco de inscrições do evento nos status informados, em ordem de id a partir do último id processado,
+     * como quádruplas (id, status, participanteId, vagaReservada). As inscrições lidas ficam bloqueadas até o fim
+     * da transação, então um UPDATE seguinte altera exatamente as inscrições lidas e o histórico as registra sem divergência.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id, i.status, i.participante.id, i.vagaReservada FROM Inscricao i " +
+           "WHERE i.evento.id = :eventoId AND i.status IN :status AND i.id > :ultimoId ORDER BY i.id")
+    List<Object[]> findSituacoesByEventoId(@Param("eventoId") Long eventoId,
+                                           @Param("status") Collection<Inscricao.StatusInscricao> status,
+                                           @Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Entre os ids informados, as inscrições do evento nos status informados, como quádruplas
+     * (id, status, participanteId, vagaReservada), bloqueadas até o fim da transação como em findSituacoesByEventoId
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id, i.status, i.participante.id, i.vagaReservada FROM Inscricao i " +
+           "WHERE i.evento.id = :eventoId AND i.status IN :status AND i.id IN :ids ORDER BY i.id")
+    List<Object[]> findSituacoesByEventoIdAndIdIn(@Param("eventoId") Long eventoId,
+                                                  @Param("status") Collection<Inscricao.StatusInscricao> status,
+                                                  @Param("ids") Collection<Long> ids);
+
+    /**
+     * Próxima página por keyset dos ids das inscrições no status informado, de todos os eventos
+     */
+    @Query("SELECT i.id FROM Inscricao i WHERE i.status = :status AND i.id > :ultimoId ORDER BY i.id")
+    List<Long> findIdsByStatusAposId(@Param("status") Inscricao.StatusInscricao status,
+                                     @Param("ultimoId") long ultimoId, Pageable pageable);
+
+    /**
+     * Altera o status das inscrições informadas que ainda estiverem no status anterior; retorna quantas mudaram
+     */
+    @Modifying
+    @Query("UPDATE Inscricao i SET i.status = :statusNovo, i.posicaoListaEspera = NULL, " +
+           "i.dataAtualizacao = CURRENT_TIMESTAMP, i.versao = i.versao + 1 " +
+           "WHERE i.id IN :ids AND i.status = :statusAnterior")
+    int alterarStatus(@Param("ids") Collection<Long> ids,
+                      @Param("statusAnterior") Inscricao.StatusInscricao statusAnterior,
+                      @Param("statusNovo") Inscricao.StatusInscricao statusNovo);
 
     /**
      * Busca participantes mais ativos (com mais inscrições confirmadas)
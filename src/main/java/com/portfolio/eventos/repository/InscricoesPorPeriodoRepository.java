@@ -0,0 +1,43 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.dto.PontoSerieDTO;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InscricoesPorPeriodoRepository
+        extends JpaRepository<InscricoesPorPeriodo, InscricoesPorPeriodo.Chave>, InscricoesPorPeriodoRepositoryCustom {
+
+    /**
+     * Períodos do evento na granularidade informada com início no intervalo [de, ate), em ordem de início
+     */
+    @Query("SELECT new com.portfolio.eventos.dto.PontoSerieDTO(p.inicio, p.criadas, p.confirmadas, p.canceladas) " +
+           "FROM InscricoesPorPeriodo p WHERE p.eventoId = :eventoId AND p.granularidade = :granularidade " +
+           "AND p.inicio >= :de AND p.inicio < :ate ORDER BY p.inicio")
+    List<PontoSerieDTO> findSerie(@Param("eventoId") Long eventoId,
+                                  @Param("granularidade") InscricoesPorPeriodo.Granularidade granularidade,
+                                  @Param("de") LocalDateTime de, @Param("ate") LocalDateTime ate);
+
+    /**
+     * Soma as contagens às do período; retorna 0 se o período ainda não tem linha
+     */
+    @Modifying
+    @Query("UPDATE InscricoesPorPeriodo p SET p.criadas = p.criadas + :criadas, " +
+           "p.confirmadas = p.confirmadas + :confirmadas, p.canceladas = p.canceladas + :canceladas " +
+           "WHERE p.eventoId = :eventoId AND p.granularidade = :granularidade AND p.inicio = :inicio")
+    int somar(@Param("eventoId") Long eventoId,
+              @Param("granularidade") InscricoesPorPeriodo.Granularidade granularidade,
+              @Param("inicio") LocalDateTime inicio, @Param("criadas") long criadas,
+              @Param("confirmadas") long confirmadas, @Param("canceladas") long canceladas);
+
+    @Modifying
+    @Query("DELETE FROM InscricoesPorPeriodo p")
+    int removerTodos();
+}
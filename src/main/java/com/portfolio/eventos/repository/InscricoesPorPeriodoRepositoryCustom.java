@@ -0,0 +1,19 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.entity.InscricoesPorPeriodo;
+
+import java.util.List;
+
+public interface InscricoesPorPeriodoRepositoryCustom {
+
+    /**
+     * Grava, com INSERT ... SELECT no banco, os períodos de todas as granularidades agregados dos registros do
+     * histórico com sequência até a informada, e retorna quantos períodos foram gravados. A tabela deve estar vazia.
+     */
+    int agregarHistoricoAte(long sequencia);
+
+    /**
+     * Grava os períodos como linhas novas, sem consultá-los antes
+     */
+    void inserir(List<InscricoesPorPeriodo> periodos);
+}
@@ -0,0 +1,60 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.entity.InscricoesPorPeriodo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+public class InscricoesPorPeriodoRepositoryCustomImpl implements InscricoesPorPeriodoRepositoryCustom {
+
+    private static final String INSERT = "INSERT INTO inscricoes_por_periodo "
+            + "(evento_id, granularidade, inicio, criadas, confirmadas, canceladas) ";
+
+    // Mesmos critérios de AcumuladorSeries
+    private static final String MINUTOS_DO_HISTORICO = INSERT
+            + "SELECT evento_id, 'MINUTO', DATE_TRUNC('minute', data_registro), "
+            + "SUM(CASE WHEN tipo = 'CRIADA' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN status_novo = 'CONFIRMADA' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN status_novo = 'CANCELADA' THEN 1 ELSE 0 END) "
+            + "FROM historico_inscricoes "
+            + "WHERE id <= :sequencia AND (tipo = 'CRIADA' OR status_novo IN ('CONFIRMADA', 'CANCELADA')) "
+            + "GROUP BY evento_id, DATE_TRUNC('minute', data_registro)";
+
+    private static final String REAGRUPAR = INSERT
+            + "SELECT evento_id, '%s', DATE_TRUNC('%s', inicio), SUM(criadas), SUM(confirmadas), SUM(canceladas) "
+            + "FROM inscricoes_por_periodo WHERE granularidade = '%s' "
+            + "GROUP BY evento_id, DATE_TRUNC('%s', inicio)";
+
+    private static final String TODOS_OS_EVENTOS = INSERT
+            + "SELECT 0, granularidade, inicio, SUM(criadas), SUM(confirmadas), SUM(canceladas) "
+            + "FROM inscricoes_por_periodo WHERE evento_id <> 0 GROUP BY granularidade, inicio";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * O histórico é lido uma única vez, para os minutos; as horas vêm dos minutos, os dias das horas e as
+     * contagens de todos os eventos das linhas por evento
+     */
+    @Override
+    public int agregarHistoricoAte(long sequencia) {
+        int periodos = entityManager.createNativeQuery(MINUTOS_DO_HISTORICO)
+                .setParameter("sequencia", sequencia)
+                .executeUpdate();
+        periodos += entityManager.createNativeQuery(String.format(REAGRUPAR, "HORA", "hour", "MINUTO", "hour"))
+                .executeUpdate();
+        periodos += entityManager.createNativeQuery(String.format(REAGRUPAR, "DIA", "day", "HORA", "day"))
+                .executeUpdate();
+        periodos += entityManager.createNativeQuery(TODOS_OS_EVENTOS).executeUpdate();
+        return periodos;
+    }
+
+    /**
+     * persist em vez do save do Spring Data, que com a chave preenchida faria um merge e um SELECT por período
+     */
+    @Override
+    public void inserir(List<InscricoesPorPeriodo> periodos) {
+        periodos.forEach(entityManager::persist);
+    }
+}
@@ -1,17 +1,24 @@
 package com.portfolio.eventos.repository;
 
+import com.portfolio.eventos.dto.ParticipanteDTO;
 import com.portfolio.eventos.entity.Participante;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ParticipanteRepository extends JpaRepository<Participante, Long> {
 
+    String PROJECAO_PARTICIPANTE_DTO = "SELECT new com.portfolio.eventos.dto.ParticipanteDTO(" +
+            "p.id, p.nome, p.email, p.telefone, p.role, p.dataCriacao, p.dataAtualizacao) FROM Participante p ";
+
     /**
      * Busca um participante pelo email (usado para autenticação)
      */
@@ -52,6 +59,27 @@ public interface ParticipanteRepository extends JpaRepository<Participante, Long
     @Query("SELECT COUNT(i) FROM Inscricao i WHERE i.participante.id = :participanteId AND i.status = 'CONFIRMADA'")
     long countInscricoesConfirmadasByParticipanteId(@Param("participanteId") Long participanteId);
 
+    /**
+     * Página de participantes já projetados em ParticipanteDTO, sem os totais de inscrições
+     */
+    @Query(value = PROJECAO_PARTICIPANTE_DTO,
+           countQuery = "SELECT COUNT(p) FROM Participante p")
+    Page<ParticipanteDTO> findPagina(Pageable pageable);
+
+    /**
+     * Participantes com id maior que o informado, em ordem de id (paginação por keyset)
+     */
+    @Query(PROJECAO_PARTICIPANTE_DTO + "WHERE p.id > :ultimoId ORDER BY p.id")
+    List<ParticipanteDTO> findAposId(@Param("ultimoId") long ultimoId, Pageable pageable);
+
+    /**
+     * Total de inscrições e de inscrições confirmadas de cada participante informado que tenha inscrições,
+     * numa única consulta agrupada: [participanteId, total, confirmadas]
+     */
+    @Query("SELECT i.participante.id, COUNT(i), SUM(CASE WHEN i.status = 'CONFIRMADA' THEN 1 ELSE 0 END) " +
+           "FROM Inscricao i WHERE i.participante.id IN :participanteIds GROUP BY i.participante.id")
+    List<Object[]> countInscricoesPorParticipante(@Param("participanteIds") Collection<Long> participanteIds);
+
     /**
      * Busca participantes ordenados por data de criação (mais recentes primeiro)
      */
@@ -0,0 +1,50 @@
+package com.portfolio.eventos.repository.specification;
+
+import com.portfolio.eventos.entity.Evento;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+public final class EventoSpecifications {
+
+    private EventoSpecifications() {}
+
+    /**
+     * Filtros da busca de eventos; apenas os parâmetros não nulos entram na consulta
+     */
+    public static Specification<Evento> comFiltros(
+            Long categoriaId,
+            Long localId,
+            Evento.StatusEvento status,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            BigDecimal precoMaximo) {
+        return FiltroSpecificationBuilder.<Evento>novo()
+                .igual("categoria.id", categoriaId)
+                .igual("local.id", localId)
+                .igual("status", status)
+                .maiorOuIgual("dataInicio", dataInicio)
+                .menorOuIgual("dataFim", dataFim)
+                .menorOuIgual("preco", precoMaximo)
+                .build();
+    }
+
+    /**
+     * Eventos que começam entre as duas datas (inclusive)
+     */
+    public static Specification<Evento> comDataInicioEntre(LocalDate inicio, LocalDate fim) {
+        return FiltroSpecificationBuilder.<Evento>novo()
+                .maiorOuIgual("dataInicio", inicio)
+                .menorOuIgual("dataInicio", fim)
+                .build();
+    }
+
+    /**
+     * Eventos com os ids informados
+     */
+    public static Specification<Evento> comIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+}
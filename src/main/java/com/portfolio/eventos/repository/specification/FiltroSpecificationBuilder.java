@@ -0,0 +1,60 @@
+package com.portfolio.eventos.repository.specification;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monta uma Specification apenas com os filtros informados.
+ * Filtros nulos não geram predicado algum, evitando o padrão "(:param IS NULL OR ...)"
+ * que impede o banco de escolher o índice adequado para cada combinação de filtros.
+ */
+public final class FiltroSpecificationBuilder<T> {
+
+    private final List<Specification<T>> filtros = new ArrayList<>();
+
+    private FiltroSpecificationBuilder() {}
+
+    public static <T> FiltroSpecificationBuilder<T> novo() {
+        return new FiltroSpecificationBuilder<>();
+    }
+
+    public FiltroSpecificationBuilder<T> igual(String atributo, Object valor) {
+        if (valor != null) {
+            filtros.add((root, query, cb) -> cb.equal(caminho(root, atributo), valor));
+        }
+        return this;
+    }
+
+    public <Y extends Comparable<? super Y>> FiltroSpecificationBuilder<T> maiorOuIgual(String atributo, Y valor) {
+        if (valor != null) {
+            filtros.add((root, query, cb) -> cb.greaterThanOrEqualTo(caminho(root, atributo), valor));
+        }
+        return this;
+    }
+
+    public <Y extends Comparable<? super Y>> FiltroSpecificationBuilder<T> menorOuIgual(String atributo, Y valor) {
+        if (valor != null) {
+            filtros.add((root, query, cb) -> cb.lessThanOrEqualTo(caminho(root, atributo), valor));
+        }
+        return this;
+    }
+
+    public Specification<T> build() {
+        return Specification.allOf(filtros);
+    }
+
+    // Navega atributos aninhados ("categoria.id"); o id de uma associação é lido da própria FK, sem join
+    private static <T, Y> Path<Y> caminho(Root<T> root, String atributo) {
+        Path<?> caminho = root;
+        for (String parte : atributo.split("\\.")) {
+            caminho = caminho.get(parte);
+        }
+        @SuppressWarnings("unchecked")
+        Path<Y> tipado = (Path<Y>) caminho;
+        return tipado;
+    }
+}
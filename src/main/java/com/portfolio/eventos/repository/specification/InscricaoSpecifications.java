@@ -0,0 +1,29 @@
+package com.portfolio.eventos.repository.specification;
+
+import com.portfolio.eventos.entity.Inscricao;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class InscricaoSpecifications {
+
+    private InscricaoSpecifications() {}
+
+    /**
+     * Filtros da busca de inscrições; apenas os parâmetros não nulos entram na consulta
+     */
+    public static Specification<Inscricao> comFiltros(
+            Long participanteId,
+            Long eventoId,
+            Inscricao.StatusInscricao status,
+            LocalDateTime dataInicio,
+            LocalDateTime dataFim) {
+        return FiltroSpecificationBuilder.<Inscricao>novo()
+                .igual("participante.id", participanteId)
+                .igual("evento.id", eventoId)
+                .igual("status", status)
+                .maiorOuIgual("dataInscricao", dataInicio)
+                .menorOuIgual("dataInscricao", dataFim)
+                .build();
+    }
+}
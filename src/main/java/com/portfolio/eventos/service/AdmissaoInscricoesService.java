@@ -0,0 +1,300 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.admissao.BaldeTokens;
+import com.portfolio.eventos.admissao.SalaEspera;
+import com.portfolio.eventos.cache.CacheLocal;
+import com.portfolio.eventos.dto.InscricaoDTO;
+import com.portfolio.eventos.dto.SenhaAdmissaoDTO;
+import com.portfolio.eventos.dto.SenhaAdmissaoDTO.StatusAdmissao;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.exception.ResourceNotFoundException;
+import com.portfolio.eventos.exception.SobrecargaException;
+import com.portfolio.eventos.exception.ValidationException;
+import com.portfolio.eventos.repository.EventoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão das novas inscrições em eventos com limite de inscrições por segundo.
+ *
+ * Cada evento limitado tem uma {@link SalaEspera}: dentro do limite a inscrição segue na própria requisição;
+ * acima dele o pedido recebe uma senha e aguarda na fila do evento, sem ocupar threads do servidor nem conexões
+ * do banco. Uma thread libera os pedidos enfileirados conforme o limite de cada evento e um pool fixo os processa,
+ * o que limita também a concorrência no banco. Um pedido só sai da sala quando há um processador livre para ele,
+ * então os que excedem a capacidade de processamento continuam na fila do evento, com a posição atualizada,
+ * em vez de se acumularem no pool. O resultado de cada senha é consultado pelo cliente.
+ *
+ * Os pedidos aguardando só existem em memória: ao reiniciar a aplicação suas senhas deixam de existir.
+ */
+@Service
+public class AdmissaoInscricoesService {
+
+    public static final String CAMINHO_CONSULTA = "/api/inscricoes/admissao/";
+
+    /** Pedidos que podem aguardar na fila de cada evento; além disso a requisição é recusada com 503 */
+    public static final int TAMANHO_MAXIMO_FILA = 10_000;
+
+    /** Threads que processam os pedidos liberados da fila */
+    public static final int PROCESSADORES = 4;
+
+    /** Tempo que o resultado de uma senha fica disponível para consulta depois de processado */
+    public static final Duration TEMPO_RESULTADO = Duration.ofHours(1);
+
+    private static final int MAXIMO_RESULTADOS = 100_000;
+    private static final long INTERVALO_LIBERACAO_MS = 20;
+
+    private final EventoRepository eventoRepository;
+    private final InscricaoAltaDemandaService inscricaoAltaDemandaService;
+    private final Map<Long, SalaEspera<Pedido>> salas = new ConcurrentHashMap<>();
+    /** Salas de eventos que deixaram de ter limite, até que os pedidos que nelas aguardavam sejam liberados */
+    private final Set<SalaEspera<Pedido>> salasEncerradas = ConcurrentHashMap.newKeySet();
+    private final Map<String, Pedido> pendentes = new ConcurrentHashMap<>();
+    private final CacheLocal<String, SenhaAdmissaoDTO> resultados = new CacheLocal<>(MAXIMO_RESULTADOS, TEMPO_RESULTADO);
+    private final ScheduledExecutorService liberador = Executors.newSingleThreadScheduledExecutor(
+            tarefa -> novaThread(tarefa, "liberador-admissao"));
+    private final Semaphore processadoresLivres = new Semaphore(PROCESSADORES);
+    // Cada pedido liberado já tem um processador reservado, então a fila do pool nunca passa de PROCESSADORES
+    private final ThreadPoolExecutor processadores = new ThreadPoolExecutor(PROCESSADORES, PROCESSADORES,
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(PROCESSADORES),
+            tarefa -> novaThread(tarefa, "processador-admissao"));
+
+    @Autowired
+    public AdmissaoInscricoesService(EventoRepository eventoRepository,
+                                     InscricaoAltaDemandaService inscricaoAltaDemandaService) {
+        this.eventoRepository = eventoRepository;
+        this.inscricaoAltaDemandaService = inscricaoAltaDemandaService;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        liberador.scheduleWithFixedDelay(this::liberar, INTERVALO_LIBERACAO_MS, INTERVALO_LIBERACAO_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Deixa de liberar pedidos da fila e aguarda os que já estão em processamento
+     */
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        liberador.shutdownNow();
+        processadores.shutdown();
+        processadores.awaitTermination(InscricaoAltaDemandaService.TEMPO_MAXIMO_GRAVACAO.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        salas.clear();
+        for (Object[] limite : eventoRepository.findLimitesInscricoesPorSegundo()) {
+            salas.put((Long) limite[0], novaSala((Integer) limite[1]));
+        }
+    }
+
+    /**
+     * Admite a inscrição ou a coloca na sala de espera do evento.
+     * Retorna null se a inscrição pode ser criada agora, ou a senha do pedido que ficou aguardando.
+     */
+    public SenhaAdmissaoDTO admitir(InscricaoDTO inscricaoDTO) {
+        SalaEspera<Pedido> sala = salas.get(inscricaoDTO.getEventoId());
+        if (sala == null) {
+            return null;
+        }
+
+        Pedido pedido = new Pedido(UUID.randomUUID().toString(), inscricaoDTO, sala);
+        // registrado antes de entrar na fila, pois pode ser liberado e concluído antes de entrar() retornar
+        pendentes.put(pedido.senha, pedido);
+        long ordem = sala.entrar(pedido);
+        if (ordem == SalaEspera.ADMITIDO) {
+            pendentes.remove(pedido.senha);
+            return null;
+        }
+        if (ordem == SalaEspera.FILA_CHEIA) {
+            pendentes.remove(pedido.senha);
+            throw new SobrecargaException("Muitas inscrições aguardando neste evento. Tente novamente em instantes.",
+                    sala.esperaEstimadaSegundos(TAMANHO_MAXIMO_FILA));
+        }
+        pedido.ordem = ordem;
+        return pedido.toDTO();
+    }
+
+    public SenhaAdmissaoDTO consultar(String senha) {
+        Pedido pedido = pendentes.get(senha);
+        if (pedido != null) {
+            return pedido.toDTO();
+        }
+        SenhaAdmissaoDTO resultado = resultados.buscar(senha);
+        if (resultado == null) {
+            throw new ResourceNotFoundException("Senha de admissão não encontrada: " + senha);
+        }
+        return resultado;
+    }
+
+    /**
+     * Cria, altera ou remove a sala de espera conforme o limite do evento salvo na transação corrente
+     */
+    public void atualizarEvento(Evento evento) {
+        Long eventoId = evento.getId();
+        Integer limite = evento.getLimiteInscricoesPorSegundo();
+        if (limite == null) {
+            removerEvento(eventoId);
+            return;
+        }
+        AposCommit.executar(() -> {
+            SalaEspera<Pedido> atual = salas.putIfAbsent(eventoId, novaSala(limite));
+            if (atual != null) {
+                atual.alterarLimite(limite);
+            }
+        });
+    }
+
+    /**
+     * Os pedidos que ainda aguardavam na sala são liberados sem limite, à medida que houver processadores livres,
+     * e recusados se o evento não existir mais
+     */
+    public void removerEvento(Long eventoId) {
+        AposCommit.executar(() -> {
+            SalaEspera<Pedido> sala = salas.remove(eventoId);
+            if (sala != null) {
+                sala.removerLimite();
+                salasEncerradas.add(sala);
+            }
+        });
+    }
+
+    public int totalAguardando() {
+        return salas.values().stream().mapToInt(SalaEspera::tamanhoFila).sum()
+                + salasEncerradas.stream().mapToInt(SalaEspera::tamanhoFila).sum();
+    }
+
+    /**
+     * Libera um pedido de cada sala por vez enquanto houver processador livre, para que um evento com fila longa
+     * não atrase os demais
+     */
+    private void liberar() {
+        salasEncerradas.removeIf(sala -> sala.tamanhoFila() == 0);
+        boolean liberou = true;
+        while (liberou) {
+            liberou = false;
+            for (SalaEspera<Pedido> sala : salasParaLiberar()) {
+                if (!processadoresLivres.tryAcquire()) {
+                    return;
+                }
+                Pedido pedido = sala.liberarProximo();
+                if (pedido == null) {
+                    processadoresLivres.release();
+                } else {
+                    despachar(pedido);
+                    liberou = true;
+                }
+            }
+        }
+    }
+
+    private List<SalaEspera<Pedido>> salasParaLiberar() {
+        List<SalaEspera<Pedido>> todas = new ArrayList<>(salasEncerradas);
+        todas.addAll(salas.values());
+        return todas;
+    }
+
+    private void despachar(Pedido pedido) {
+        pedido.status = StatusAdmissao.PROCESSANDO;
+        processadores.execute(() -> {
+            try {
+                processar(pedido);
+            } finally {
+                processadoresLivres.release();
+                liberarDeNovo();
+            }
+        });
+    }
+
+    /**
+     * Um processador ficou livre: o próximo pedido é liberado já, sem esperar o intervalo da thread liberadora
+     */
+    private void liberarDeNovo() {
+        try {
+            liberador.execute(this::liberar);
+        } catch (RejectedExecutionException e) {
+            // aplicação encerrando
+        }
+    }
+
+    /**
+     * O resultado é guardado antes de a senha sair dos pendentes, para que uma consulta nunca a perca
+     */
+    private void processar(Pedido pedido) {
+        SenhaAdmissaoDTO resultado;
+        try {
+            InscricaoDTO inscricao = inscricaoAltaDemandaService.criarInscricao(pedido.inscricao);
+            resultado = pedido.resultado(StatusAdmissao.CONCLUIDA);
+            resultado.setInscricao(inscricao);
+        } catch (ValidationException | ResourceNotFoundException e) {
+            resultado = pedido.resultado(StatusAdmissao.RECUSADA);
+            resultado.setMensagem(e.getMessage());
+        } catch (RuntimeException e) {
+            resultado = pedido.resultado(StatusAdmissao.FALHOU);
+            resultado.setMensagem("Não foi possível processar a inscrição. Tente novamente.");
+        }
+        resultados.guardar(pedido.senha, resultado);
+        pendentes.remove(pedido.senha);
+    }
+
+    private static SalaEspera<Pedido> novaSala(int limite) {
+        return new SalaEspera<>(new BaldeTokens(limite), TAMANHO_MAXIMO_FILA);
+    }
+
+    private static Thread novaThread(Runnable tarefa, String nome) {
+        Thread thread = new Thread(tarefa, nome);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static class Pedido {
+
+        private final String senha;
+        private final InscricaoDTO inscricao;
+        private final SalaEspera<Pedido> sala;
+        private volatile long ordem;
+        private volatile StatusAdmissao status = StatusAdmissao.AGUARDANDO;
+
+        private Pedido(String senha, InscricaoDTO inscricao, SalaEspera<Pedido> sala) {
+            this.senha = senha;
+            this.inscricao = inscricao;
+            this.sala = sala;
+        }
+
+        private SenhaAdmissaoDTO toDTO() {
+            SenhaAdmissaoDTO dto = resultado(status);
+            if (status == StatusAdmissao.AGUARDANDO) {
+                long posicao = sala.posicao(ordem);
+                dto.setPosicao(posicao);
+                dto.setEsperaEstimadaSegundos(sala.esperaEstimadaSegundos(posicao));
+            }
+            return dto;
+        }
+
+        private SenhaAdmissaoDTO resultado(StatusAdmissao status) {
+            SenhaAdmissaoDTO dto = new SenhaAdmissaoDTO(senha, inscricao.getEventoId(), inscricao.getParticipanteId(), status);
+            dto.setUrlConsulta(CAMINHO_CONSULTA + senha);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.alocacao.VagasEvento;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.repository.EventoRepository;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vagas em memória dos eventos em modo de alta demanda.
+ *
+ * O estado é reconstruído do banco na inicialização: as vagas ocupadas vêm do contador de confirmadas
+ * e os participantes, das inscrições gravadas. Como uma inscrição só é confirmada ao cliente depois de
+ * gravada, o que estava apenas na fila de gravação ao reiniciar não precisa ser recuperado.
+ */
+@Service
+public class AlocadorVagasService {
+
+    /** Quantidade de faixas de cada contador de vagas, proporcional ao número de processadores */
+    private static final int FAIXAS = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2);
+
+    private final EventoRepository eventoRepository;
+    private final InscricaoRepository inscricaoRepository;
+    private final Map<Long, VagasEvento> eventos = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AlocadorVagasService(EventoRepository eventoRepository, InscricaoRepository inscricaoRepository) {
+        this.eventoRepository = eventoRepository;
+        this.inscricaoRepository = inscricaoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        eventos.clear();
+        for (Evento evento : eventoRepository.findByAltaDemandaTrue()) {
+            eventos.put(evento.getId(), novasVagas(evento));
+        }
+    }
+
+    /**
+     * Vagas do evento, ou null se ele não estiver em modo de alta demanda
+     */
+    public VagasEvento buscar(Long eventoId) {
+        return eventos.get(eventoId);
+    }
+
+    /**
+     * Ativa, atualiza ou desativa o modo de alta demanda conforme o evento salvo na transação corrente
+     */
+    public void atualizarEvento(Evento evento) {
+        Long eventoId = evento.getId();
+        if (!evento.isAltaDemanda()) {
+            AposCommit.executar(() -> eventos.remove(eventoId));
+            return;
+        }
+        VagasEvento atuais = eventos.get(eventoId);
+        if (atuais != null) {
+            String nome = evento.getNome();
+            Evento.StatusEvento status = evento.getStatus();
+            Integer capacidadeMaxima = evento.getCapacidadeMaxima();
+            AposCommit.executar(() -> atuais.atualizar(nome, status, capacidadeMaxima));
+            return;
+        }
+        VagasEvento novas = novasVagas(evento);
+        AposCommit.executar(() -> eventos.put(eventoId, novas));
+    }
+
+    public void removerEvento(Long eventoId) {
+        AposCommit.executar(() -> eventos.remove(eventoId));
+    }
+
+    public int totalEventos() {
+        return eventos.size();
+    }
+
+    private VagasEvento novasVagas(Evento evento) {
+        List<Long> participantes = inscricaoRepository.findParticipanteIdsByEventoId(evento.getId());
+        return new VagasEvento(evento.getId(), evento.getNome(), evento.getStatus(), evento.getCapacidadeMaxima(),
+                evento.getNumeroInscricoesConfirmadas(), participantes, FAIXAS);
+    }
+}
@@ -0,0 +1,61 @@
+package com.portfolio.eventos.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia alterações em estruturas em memória para depois do commit da transação corrente,
+ * para que um rollback não as deixe divergentes do banco. Sem transação ativa, executa imediatamente.
+ * Alterações que precisam ser feitas antes do commit registram em {@link #aoDesfazer} a sua compensação.
+ */
+final class AposCommit {
+
+    private AposCommit() {}
+
+    static void executar(Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alteracao.run();
+            }
+        });
+    }
+
+    /**
+     * Executa a compensação se a transação corrente for desfeita; sem transação ativa, não há o que desfazer
+     */
+    static void aoDesfazer(Runnable compensacao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensacao.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Executa a ação quando a transação corrente terminar, com commit ou rollback; sem transação ativa,
+     * executa imediatamente
+     */
+    static void aoConcluir(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acao.run();
+            }
+        });
+    }
+}
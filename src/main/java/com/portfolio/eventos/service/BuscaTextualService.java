@@ -0,0 +1,85 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.busca.DocumentoEvento;
+import com.portfolio.eventos.busca.IndiceInvertido;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.repository.EventoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Mantém o índice textual de eventos (nome, descrição, local e categoria) em memória.
+ * O índice é reconstruído a partir do banco na inicialização e atualizado pelos serviços
+ * após o commit de cada alteração.
+ */
+@Service
+public class BuscaTextualService {
+
+    private static final int TAMANHO_LOTE_RECONSTRUCAO = 1000;
+
+    private static final float PESO_NOME = 3.0f;
+    private static final float PESO_LOCAL = 1.5f;
+    private static final float PESO_CATEGORIA = 1.5f;
+    private static final float PESO_DESCRICAO = 1.0f;
+
+    private final EventoRepository eventoRepository;
+    private final IndiceInvertido indiceEventos = new IndiceInvertido();
+
+    @Autowired
+    public BuscaTextualService(EventoRepository eventoRepository) {
+        this.eventoRepository = eventoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruirIndice() {
+        indiceEventos.limpar();
+        long ultimoId = 0;
+        List<DocumentoEvento> lote;
+        do {
+            lote = eventoRepository.findDocumentosBusca(ultimoId, PageRequest.ofSize(TAMANHO_LOTE_RECONSTRUCAO));
+            lote.forEach(this::indexar);
+            if (!lote.isEmpty()) {
+                ultimoId = lote.get(lote.size() - 1).getId();
+            }
+        } while (lote.size() == TAMANHO_LOTE_RECONSTRUCAO);
+    }
+
+    public void indexarEvento(Evento evento) {
+        DocumentoEvento documento = new DocumentoEvento(evento.getId(), evento.getNome(), evento.getDescricao(),
+                evento.getLocal().getNome(), evento.getCategoria().getNome());
+        AposCommit.executar(() -> indexar(documento));
+    }
+
+    public void removerEvento(Long eventoId) {
+        AposCommit.executar(() -> indiceEventos.remover(eventoId));
+    }
+
+    public void reindexarEventosDoLocal(Long localId) {
+        List<DocumentoEvento> documentos = eventoRepository.findDocumentosBuscaByLocalId(localId);
+        AposCommit.executar(() -> documentos.forEach(this::indexar));
+    }
+
+    public void reindexarEventosDaCategoria(Long categoriaId) {
+        List<DocumentoEvento> documentos = eventoRepository.findDocumentosBuscaByCategoriaId(categoriaId);
+        AposCommit.executar(() -> documentos.forEach(this::indexar));
+    }
+
+    public IndiceInvertido.Resultado buscarEventos(String consulta, int offset, int limite) {
+        return indiceEventos.buscar(consulta, offset, limite);
+    }
+
+    private void indexar(DocumentoEvento documento) {
+        indiceEventos.indexar(documento.getId(),
+                new IndiceInvertido.Campo(documento.getNome(), PESO_NOME),
+                new IndiceInvertido.Campo(documento.getNomeLocal(), PESO_LOCAL),
+                new IndiceInvertido.Campo(documento.getNomeCategoria(), PESO_CATEGORIA),
+                new IndiceInvertido.Campo(documento.getDescricao(), PESO_DESCRICAO));
+    }
+}
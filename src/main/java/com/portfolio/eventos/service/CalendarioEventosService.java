@@ -0,0 +1,86 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.calendario.CalendarioEventos;
+import com.portfolio.eventos.dto.EventoDTO;
+import com.portfolio.eventos.repository.EventoRepository;
+import com.portfolio.eventos.repository.specification.EventoSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Calendário em memória dos eventos que começam entre hoje e {@link #HORIZONTE_DIAS} dias à frente.
+ * É reconstruído na inicialização e à meia-noite, e atualizado pelo EventoService após o commit.
+ * Os totais de inscrições confirmadas vêm do ranking de popularidade, também em memória.
+ */
+@Service
+public class CalendarioEventosService {
+
+    public static final int HORIZONTE_DIAS = 365;
+
+    private final EventoRepository eventoRepository;
+    private final RankingPopularidadeService rankingPopularidadeService;
+    private volatile CalendarioEventos calendario = new CalendarioEventos();
+
+    @Autowired
+    public CalendarioEventosService(EventoRepository eventoRepository,
+                                    RankingPopularidadeService rankingPopularidadeService) {
+        this.eventoRepository = eventoRepository;
+        this.rankingPopularidadeService = rankingPopularidadeService;
+    }
+
+    /**
+     * Sincronizado com as atualizações para que uma alteração confirmada durante a reconstrução
+     * não se perca ao trocar o calendário
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 0 * * *")
+    @Transactional(readOnly = true)
+    public synchronized void reconstruir() {
+        LocalDate hoje = LocalDate.now();
+        List<EventoDTO> eventos = eventoRepository.findComTotais(
+                EventoSpecifications.comDataInicioEntre(hoje, hoje.plusDays(HORIZONTE_DIAS)),
+                Pageable.unpaged()).getContent();
+        calendario = new CalendarioEventos(eventos);
+    }
+
+    public void atualizarEvento(EventoDTO evento) {
+        AposCommit.executar(() -> aplicar(evento));
+    }
+
+    public void removerEvento(Long eventoId) {
+        AposCommit.executar(() -> remover(eventoId));
+    }
+
+    /**
+     * Eventos que começam hoje ou nos próximos dias, opcionalmente de uma categoria
+     */
+    public List<EventoDTO> proximos(int dias, Long categoriaId) {
+        LocalDate hoje = LocalDate.now();
+        return calendario.entre(hoje, hoje.plusDays(dias), categoriaId).stream()
+                .map(rankingPopularidadeService::comTotalConfirmadasAtual)
+                .collect(Collectors.toList());
+    }
+
+    private synchronized void aplicar(EventoDTO evento) {
+        LocalDate hoje = LocalDate.now();
+        LocalDate dataInicio = evento.getDataInicio();
+        if (dataInicio.isBefore(hoje) || dataInicio.isAfter(hoje.plusDays(HORIZONTE_DIAS))) {
+            calendario.remover(evento.getId());
+        } else {
+            calendario.adicionar(evento);
+        }
+    }
+
+    private synchronized void remover(Long eventoId) {
+        calendario.remover(eventoId);
+    }
+}
@@ -16,10 +16,12 @@ import java.util.stream.Collectors;
 public class CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
+    private final BuscaTextualService buscaTextualService;
 
     @Autowired
-    public CategoriaService(CategoriaRepository categoriaRepository) {
+    public CategoriaService(CategoriaRepository categoriaRepository, BuscaTextualService buscaTextualService) {
         this.categoriaRepository = categoriaRepository;
+        this.buscaTextualService = buscaTextualService;
     }
 
     @Transactional
@@ -56,9 +58,13 @@ public class CategoriaService {
             throw new ValidationException("Já existe outra categoria com este nome.");
         }
 
+        boolean nomeAlterado = !categoriaExistente.getNome().equals(categoriaDTO.getNome());
         categoriaExistente.setNome(categoriaDTO.getNome());
         categoriaExistente.setDescricao(categoriaDTO.getDescricao());
         categoriaExistente = categoriaRepository.save(categoriaExistente);
+        if (nomeAlterado) {
+            buscaTextualService.reindexarEventosDaCategoria(id);
+        }
         return toDTO(categoriaExistente);
     }
 
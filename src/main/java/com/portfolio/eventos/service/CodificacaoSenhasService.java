@@ -0,0 +1,131 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.EstatisticasSenhasDTO;
+import com.portfolio.eventos.exception.SobrecargaException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Codificação das senhas dos participantes (BCrypt, com o custo de eventos.senhas.custo-bcrypt) num pool próprio,
+ * dimensionado pelos processadores, para que um pico de cadastros não ocupe a CPU das demais requisições.
+ *
+ * A requisição aguarda a codificação, mas a fila do pool é limitada: cheia, a codificação é recusada com
+ * {@link SobrecargaException} (503 com Retry-After) em vez de acumular requisições esperando. Os tempos de espera
+ * na fila e de codificação ficam em {@link #obterEstatisticas()}.
+ */
+@Service
+public class CodificacaoSenhasService {
+
+    /** Threads do pool: os processadores menos um, que fica para as demais requisições */
+    public static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /** Codificações que podem aguardar na fila por thread do pool */
+    public static final int FILA_POR_THREAD = 8;
+
+    /** Espera máxima da requisição pela codificação, com folga sobre a fila cheia */
+    public static final Duration TEMPO_MAXIMO_ESPERA = Duration.ofSeconds(10);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int capacidadeFila;
+    private final LongAdder concluidas = new LongAdder();
+    private final LongAdder recusadas = new LongAdder();
+    private final LongAdder nanosEspera = new LongAdder();
+    private final LongAdder nanosCodificacao = new LongAdder();
+
+    @Autowired
+    public CodificacaoSenhasService(PasswordEncoder passwordEncoder) {
+        this(passwordEncoder, THREADS, THREADS * FILA_POR_THREAD);
+    }
+
+    CodificacaoSenhasService(PasswordEncoder passwordEncoder, int threads, int capacidadeFila) {
+        this.passwordEncoder = passwordEncoder;
+        this.capacidadeFila = capacidadeFila;
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "codificacao-senhas-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Codifica a senha no pool e aguarda o resultado; não deve ser chamado com uma transação aberta, que manteria
+     * uma conexão do banco presa durante a espera
+     */
+    public String codificar(String senha) {
+        long enfileirada = System.nanoTime();
+        Future<String> codificacao;
+        try {
+            codificacao = executor.submit(() -> {
+                long inicio = System.nanoTime();
+                nanosEspera.add(inicio - enfileirada);
+                String codificada = passwordEncoder.encode(senha);
+                nanosCodificacao.add(System.nanoTime() - inicio);
+                concluidas.increment();
+                return codificada;
+            });
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            throw sobrecarga();
+        }
+        try {
+            return codificacao.get(TEMPO_MAXIMO_ESPERA.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            codificacao.cancel(true);
+            recusadas.increment();
+            throw sobrecarga();
+        } catch (InterruptedException e) {
+            codificacao.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Codificação da senha interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falha ao codificar a senha", e.getCause());
+        }
+    }
+
+    public EstatisticasSenhasDTO obterEstatisticas() {
+        long total = concluidas.sum();
+        return new EstatisticasSenhasDTO(executor.getMaximumPoolSize(), capacidadeFila, executor.getQueue().size(),
+                executor.getActiveCount(), total, recusadas.sum(), mediaMs(nanosEspera.sum(), total),
+                mediaMs(nanosCodificacao.sum(), total));
+    }
+
+    /**
+     * Sugere nova tentativa depois do tempo para esvaziar a fila cheia, pela duração média das codificações
+     */
+    private SobrecargaException sobrecarga() {
+        long total = concluidas.sum();
+        double codificacaoMs = total > 0 ? mediaMs(nanosCodificacao.sum(), total) : 100;
+        int threads = executor.getMaximumPoolSize();
+        long segundos = (long) Math.ceil(codificacaoMs * (capacidadeFila + threads) / threads / 1000);
+        return new SobrecargaException("Muitos cadastros em andamento. Tente novamente em instantes.",
+                Math.max(1, segundos));
+    }
+
+    private static double mediaMs(long nanos, long quantidade) {
+        return quantidade == 0 ? 0 : nanos / 1_000_000.0 / quantidade;
+    }
+}
@@ -0,0 +1,194 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.credenciamento.ConjuntoBits;
+import com.portfolio.eventos.credenciamento.Ingressos;
+import com.portfolio.eventos.dto.IngressoDTO;
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.dto.ResultadoCheckinDTO;
+import com.portfolio.eventos.dto.ResultadoCheckinDTO.SituacaoCheckin;
+import com.portfolio.eventos.entity.Checkin;
+import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.exception.ResourceNotFoundException;
+import com.portfolio.eventos.exception.ValidationException;
+import com.portfolio.eventos.repository.CheckinRepository;
+import com.portfolio.eventos.repository.EventoRepository;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Credenciamento na entrada dos eventos: emissão dos ingressos das inscrições confirmadas e check-in pela
+ * conferência do ingresso, sem consultar o banco.
+ *
+ * O ingresso é um código assinado com a chave do evento ({@link Ingressos}), lida do banco uma vez por evento.
+ * As inscrições confirmadas e as que já fizeram check-in ficam em dois {@link ConjuntoBits}: carregados na
+ * inicialização e mantidos pelo histórico de inscrições, que entrega cada transição após o commit. Um ingresso
+ * apresentado de novo é identificado pelo conjunto de check-ins, e os check-ins novos ficam numa fila gravada no
+ * banco em lotes a cada {@value #INTERVALO_GRAVACAO_MS} ms e no encerramento da aplicação.
+ *
+ * Como as demais estruturas em memória, pressupõe uma única instância: com várias, um ingresso apresentado em
+ * duas delas é aceito nas duas, e só um dos check-ins é gravado.
+ */
+@Service
+public class CredenciamentoService {
+
+    /** Intervalo entre as gravações dos check-ins pendentes */
+    public static final long INTERVALO_GRAVACAO_MS = 200;
+
+    /** Check-ins gravados por transação */
+    public static final int TAMANHO_LOTE_GRAVACAO = 5_000;
+
+    /** Ids lidos do banco por consulta na carga dos conjuntos */
+    public static final int TAMANHO_PAGINA_CARGA = 10_000;
+
+    private final EventoRepository eventoRepository;
+    private final InscricaoRepository inscricaoRepository;
+    private final CheckinRepository checkinRepository;
+    private final HistoricoInscricoesService historicoInscricoesService;
+    private final Map<Long, Ingressos> ingressosPorEvento = new ConcurrentHashMap<>();
+    private final ConjuntoBits confirmadas = new ConjuntoBits();
+    private final ConjuntoBits presentes = new ConjuntoBits();
+    private final Queue<Checkin> pendentes = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public CredenciamentoService(EventoRepository eventoRepository, InscricaoRepository inscricaoRepository,
+                                 CheckinRepository checkinRepository,
+                                 HistoricoInscricoesService historicoInscricoesService) {
+        this.eventoRepository = eventoRepository;
+        this.inscricaoRepository = inscricaoRepository;
+        this.checkinRepository = checkinRepository;
+        this.historicoInscricoesService = historicoInscricoesService;
+    }
+
+    /**
+     * Assina o histórico antes da carga, para que nenhuma transição confirmada durante a carga se perca
+     */
+    @PostConstruct
+    void iniciar() {
+        historicoInscricoesService.assinar(this::aplicar);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long ultimoId = 0;
+        List<Long> ids;
+        while (!(ids = inscricaoRepository.findIdsByStatusAposId(Inscricao.StatusInscricao.CONFIRMADA, ultimoId,
+                PageRequest.of(0, TAMANHO_PAGINA_CARGA))).isEmpty()) {
+            ids.forEach(confirmadas::adicionar);
+            ultimoId = ids.get(ids.size() - 1);
+        }
+        ultimoId = 0;
+        while (!(ids = checkinRepository.findInscricaoIdsAposId(ultimoId,
+                PageRequest.of(0, TAMANHO_PAGINA_CARGA))).isEmpty()) {
+            ids.forEach(presentes::adicionar);
+            ultimoId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Ingresso de uma inscrição confirmada; o código é o mesmo a cada emissão
+     */
+    @Transactional(readOnly = true)
+    public IngressoDTO emitirIngresso(Long inscricaoId) {
+        Inscricao inscricao = inscricaoRepository.findById(inscricaoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inscrição não encontrada com ID: " + inscricaoId));
+        if (inscricao.getStatus() != Inscricao.StatusInscricao.CONFIRMADA) {
+            throw new ValidationException("Apenas inscrições confirmadas têm ingresso.");
+        }
+        Long eventoId = inscricao.getEvento().getId();
+        return new IngressoDTO(inscricaoId, eventoId, inscricao.getParticipante().getId(),
+                ingressos(eventoId).emitir(inscricaoId));
+    }
+
+    /**
+     * Confere o ingresso apresentado na entrada do evento e registra o check-in da inscrição. Só consulta o banco
+     * no primeiro check-in de cada evento, para ler a chave; a gravação do check-in fica para o próximo lote.
+     */
+    public ResultadoCheckinDTO registrarCheckin(Long eventoId, String codigo) {
+        long inscricaoId = ingressos(eventoId).verificar(codigo);
+        if (inscricaoId == Ingressos.INVALIDO) {
+            throw new ValidationException("Ingresso inválido para este evento.");
+        }
+        if (!confirmadas.contem(inscricaoId)) {
+            throw new ValidationException("A inscrição deste ingresso não está confirmada.");
+        }
+        if (!presentes.adicionar(inscricaoId)) {
+            return new ResultadoCheckinDTO(inscricaoId, eventoId, SituacaoCheckin.REPETIDO);
+        }
+        pendentes.add(new Checkin(inscricaoId, eventoId, LocalDateTime.now()));
+        return new ResultadoCheckinDTO(inscricaoId, eventoId, SituacaoCheckin.REALIZADO);
+    }
+
+    /**
+     * Grava os check-ins pendentes em lotes; um lote que falha volta para a fila e é tentado na próxima gravação
+     */
+    @Scheduled(fixedDelay = INTERVALO_GRAVACAO_MS)
+    public void gravarPendentes() {
+        List<Checkin> lote = new ArrayList<>();
+        Checkin checkin;
+        while ((checkin = pendentes.poll()) != null) {
+            lote.add(checkin);
+            if (lote.size() == TAMANHO_LOTE_GRAVACAO) {
+                gravar(lote);
+                lote = new ArrayList<>();
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravar(lote);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        gravarPendentes();
+    }
+
+    private void gravar(List<Checkin> lote) {
+        try {
+            checkinRepository.inserirNovos(lote);
+        } catch (RuntimeException e) {
+            pendentes.addAll(lote);
+            throw e;
+        }
+    }
+
+    /**
+     * Acompanha as transições do histórico; o check-in de uma inscrição removida é removido em cascata pelo banco
+     */
+    private void aplicar(RegistroHistoricoDTO registro) {
+        long inscricaoId = registro.getInscricaoId();
+        if (registro.getStatusNovo() == Inscricao.StatusInscricao.CONFIRMADA) {
+            confirmadas.adicionar(inscricaoId);
+        } else {
+            confirmadas.remover(inscricaoId);
+        }
+        if (registro.getStatusNovo() == null) {
+            presentes.remover(inscricaoId);
+        }
+    }
+
+    private Ingressos ingressos(Long eventoId) {
+        Ingressos ingressos = ingressosPorEvento.get(eventoId);
+        if (ingressos != null) {
+            return ingressos;
+        }
+        byte[] chave = eventoRepository.findChaveIngressosById(eventoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Evento não encontrado com ID: " + eventoId));
+        return ingressosPorEvento.computeIfAbsent(eventoId, id -> new Ingressos(id, chave));
+    }
+}
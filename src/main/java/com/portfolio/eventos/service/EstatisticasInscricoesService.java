@@ -0,0 +1,114 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.cache.CacheLocal;
+import com.portfolio.eventos.dto.EstatisticasInscricoesDTO;
+import com.portfolio.eventos.exception.ResourceNotFoundException;
+import com.portfolio.eventos.exception.ValidationException;
+import com.portfolio.eventos.ranking.ContagemInscricoes;
+import com.portfolio.eventos.repository.EventoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contagens de inscrições por status dos eventos, para os painéis dos organizadores.
+ *
+ * As contagens de vários eventos vêm de uma única consulta agrupada por evento e status, e ficam em cache por
+ * poucos segundos: os painéis atualizam com frequência, e uma contagem alguns segundos atrasada é aceitável.
+ * Por isso as alterações de inscrições não invalidam o cache.
+ */
+@Service
+public class EstatisticasInscricoesService {
+
+    /** Eventos consultados por requisição na variante de vários eventos */
+    public static final int MAXIMO_EVENTOS_POR_CONSULTA = 500;
+
+    /** Tempo que as contagens de um evento ficam em cache */
+    public static final Duration TEMPO_DE_VIDA_CACHE = Duration.ofSeconds(5);
+
+    private static final int TAMANHO_MAXIMO_CACHE = 10_000;
+
+    private final EventoRepository eventoRepository;
+    private final CacheLocal<Long, EstatisticasInscricoesDTO> cache =
+            new CacheLocal<>(TAMANHO_MAXIMO_CACHE, TEMPO_DE_VIDA_CACHE);
+
+    @Autowired
+    public EstatisticasInscricoesService(EventoRepository eventoRepository) {
+        this.eventoRepository = eventoRepository;
+    }
+
+    public EstatisticasInscricoesDTO buscarPorEvento(Long eventoId) {
+        EstatisticasInscricoesDTO estatisticas = cache.obter(eventoId, id -> carregar(List.of(id)).get(id));
+        if (estatisticas == null) {
+            throw new ResourceNotFoundException("Evento não encontrado com ID: " + eventoId);
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Contagens dos eventos informados, na ordem pedida e sem repetições; ids de eventos inexistentes são ignorados.
+     * Os eventos fora do cache são consultados juntos.
+     */
+    public List<EstatisticasInscricoesDTO> buscarPorEventos(Collection<Long> eventoIds) {
+        Set<Long> ids = new LinkedHashSet<>(eventoIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new ValidationException("Informe os ids dos eventos.");
+        }
+        if (ids.size() > MAXIMO_EVENTOS_POR_CONSULTA) {
+            throw new ValidationException("Informe no máximo " + MAXIMO_EVENTOS_POR_CONSULTA + " eventos por consulta.");
+        }
+
+        Map<Long, EstatisticasInscricoesDTO> encontradas = new HashMap<>();
+        List<Long> ausentes = new ArrayList<>();
+        for (Long id : ids) {
+            EstatisticasInscricoesDTO estatisticas = cache.buscar(id);
+            if (estatisticas != null) {
+                encontradas.put(id, estatisticas);
+            } else {
+                ausentes.add(id);
+            }
+        }
+        if (!ausentes.isEmpty()) {
+            Map<Long, EstatisticasInscricoesDTO> carregadas = carregar(ausentes);
+            carregadas.forEach(cache::guardar);
+            encontradas.putAll(carregadas);
+        }
+
+        List<EstatisticasInscricoesDTO> resultado = new ArrayList<>(encontradas.size());
+        for (Long id : ids) {
+            EstatisticasInscricoesDTO estatisticas = encontradas.get(id);
+            if (estatisticas != null) {
+                resultado.add(estatisticas);
+            }
+        }
+        return resultado;
+    }
+
+    private Map<Long, EstatisticasInscricoesDTO> carregar(Collection<Long> eventoIds) {
+        Map<Long, EstatisticasInscricoesDTO> porEvento = new HashMap<>();
+        for (ContagemInscricoes contagem : eventoRepository.findContagensInscricoesPorStatusByEventoIdIn(eventoIds)) {
+            EstatisticasInscricoesDTO estatisticas =
+                    porEvento.computeIfAbsent(contagem.getEventoId(), EstatisticasInscricoesDTO::new);
+            if (contagem.getStatus() == null) {
+                continue;
+            }
+            switch (contagem.getStatus()) {
+                case PENDENTE -> estatisticas.setPendentes(contagem.getTotal());
+                case CONFIRMADA -> estatisticas.setConfirmadas(contagem.getTotal());
+                case CANCELADA -> estatisticas.setCanceladas(contagem.getTotal());
+                case LISTA_ESPERA -> estatisticas.setListaEspera(contagem.getTotal());
+            }
+            estatisticas.setTotal(estatisticas.getTotal() + contagem.getTotal());
+        }
+        return porEvento;
+    }
+}
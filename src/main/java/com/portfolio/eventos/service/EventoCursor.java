@@ -0,0 +1,92 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.exception.ValidationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor opaco da paginação por keyset de eventos.
+ * Guarda a ordenação usada na primeira página e os valores (propriedade de ordenação + id)
+ * do último evento retornado, codificados em Base64 URL-safe.
+ */
+public final class EventoCursor {
+
+    /** Propriedades não nulas e aceitas como chave de ordenação na paginação por cursor */
+    public static final List<String> PROPRIEDADES_ORDENAVEIS = List.of("id", "nome", "dataInicio", "dataFim", "dataCriacao");
+
+    private static final String VERSAO = "v1";
+    private static final String SEPARADOR = "|";
+
+    private final Sort.Order ordem;
+    private final KeysetScrollPosition posicao;
+
+    private EventoCursor(Sort.Order ordem, KeysetScrollPosition posicao) {
+        this.ordem = ordem;
+        this.posicao = posicao;
+    }
+
+    public static EventoCursor inicial(Sort.Order ordem) {
+        if (!PROPRIEDADES_ORDENAVEIS.contains(ordem.getProperty())) {
+            throw new ValidationException("Ordenação não suportada na paginação por cursor: " + ordem.getProperty()
+                    + ". Use uma de " + PROPRIEDADES_ORDENAVEIS);
+        }
+        return new EventoCursor(ordem, ScrollPosition.keyset());
+    }
+
+    public static EventoCursor decodificar(String cursor) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = conteudo.split("\\" + SEPARADOR, 5);
+            if (partes.length != 5 || !VERSAO.equals(partes[0])) {
+                throw new ValidationException("Cursor inválido.");
+            }
+            Sort.Order ordem = new Sort.Order(Sort.Direction.fromString(partes[2]), partes[1]);
+            Long ultimoId = Long.valueOf(partes[3]);
+            Object ultimoValor = converterValor(ordem.getProperty(), partes[4]);
+            Map<String, Object> chaves = new LinkedHashMap<>();
+            chaves.put(ordem.getProperty(), ultimoValor);
+            chaves.put("id", ultimoId);
+            return inicial(ordem).comPosicao(ScrollPosition.forward(chaves));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Cursor inválido.", e);
+        }
+    }
+
+    public EventoCursor comPosicao(ScrollPosition novaPosicao) {
+        return new EventoCursor(ordem, (KeysetScrollPosition) novaPosicao);
+    }
+
+    public String codificar() {
+        Map<String, Object> chaves = posicao.getKeys();
+        String conteudo = String.join(SEPARADOR, VERSAO, ordem.getProperty(), ordem.getDirection().name(),
+                String.valueOf(chaves.get("id")), String.valueOf(chaves.get(ordem.getProperty())));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object converterValor(String propriedade, String valor) {
+        return switch (propriedade) {
+            case "id" -> Long.valueOf(valor);
+            case "dataInicio", "dataFim" -> LocalDate.parse(valor);
+            case "dataCriacao" -> LocalDateTime.parse(valor);
+            default -> valor;
+        };
+    }
+
+    public Sort.Order getOrdem() {
+        return ordem;
+    }
+
+    public KeysetScrollPosition getPosicao() {
+        return posicao;
+    }
+}
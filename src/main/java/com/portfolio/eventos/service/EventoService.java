@@ -1,37 +1,78 @@
 package com.portfolio.eventos.service;
 
+import com.portfolio.eventos.busca.IndiceInvertido;
+import com.portfolio.eventos.cache.CacheLocal;
+import com.portfolio.eventos.concorrencia.RetentarEmConflito;
+import com.portfolio.eventos.dto.CursorPageDTO;
+import com.portfolio.eventos.dto.EstatisticasCacheDTO;
 import com.portfolio.eventos.dto.EventoDTO;
 import com.portfolio.eventos.entity.Categoria;
 import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.entity.Inscricao;
 import com.portfolio.eventos.entity.Local;
+import com.portfolio.eventos.exception.ConflitoException;
 import com.portfolio.eventos.exception.ResourceNotFoundException;
 import com.portfolio.eventos.exception.ValidationException;
 import com.portfolio.eventos.repository.CategoriaRepository;
 import com.portfolio.eventos.repository.EventoRepository;
 import com.portfolio.eventos.repository.LocalRepository;
+import com.portfolio.eventos.repository.specification.EventoSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class EventoService {
 
+    /** Quantidade máxima de eventos mantidos no cache de leitura por id */
+    public static final int TAMANHO_MAXIMO_CACHE = 10_000;
+
+    /** Tempo de vida de uma entrada do cache; alterações feitas por esta instância invalidam a entrada antes */
+    public static final Duration TEMPO_DE_VIDA_CACHE = Duration.ofMinutes(5);
+
+    private final CacheLocal<Long, EventoDTO> cacheEventos = new CacheLocal<>(TAMANHO_MAXIMO_CACHE, TEMPO_DE_VIDA_CACHE);
     private final EventoRepository eventoRepository;
     private final CategoriaRepository categoriaRepository;
     private final LocalRepository localRepository;
+    private final BuscaTextualService buscaTextualService;
+    private final RankingPopularidadeService rankingPopularidadeService;
+    private final CalendarioEventosService calendarioEventosService;
+    private final AlocadorVagasService alocadorVagasService;
+    private final AdmissaoInscricoesService admissaoInscricoesService;
+    private final HistoricoInscricoesService historicoInscricoesService;
+    private final ListaEsperaService listaEsperaService;
 
     @Autowired
-    public EventoService(EventoRepository eventoRepository, CategoriaRepository categoriaRepository, LocalRepository localRepository) {
+    public EventoService(EventoRepository eventoRepository, CategoriaRepository categoriaRepository, LocalRepository localRepository,
+                         BuscaTextualService buscaTextualService, RankingPopularidadeService rankingPopularidadeService,
+                         CalendarioEventosService calendarioEventosService, AlocadorVagasService alocadorVagasService,
+                         AdmissaoInscricoesService admissaoInscricoesService,
+                         HistoricoInscricoesService historicoInscricoesService,
+                         ListaEsperaService listaEsperaService) {
         this.eventoRepository = eventoRepository;
         this.categoriaRepository = categoriaRepository;
         this.localRepository = localRepository;
+        this.buscaTextualService = buscaTextualService;
+        this.rankingPopularidadeService = rankingPopularidadeService;
+        this.calendarioEventosService = calendarioEventosService;
+        this.alocadorVagasService = alocadorVagasService;
+        this.admissaoInscricoesService = admissaoInscricoesService;
+        this.historicoInscricoesService = historicoInscricoesService;
+        this.listaEsperaService = listaEsperaService;
     }
 
     @Transactional
@@ -44,6 +85,7 @@ public class EventoService {
         if (eventoDTO.getDataInicio().isAfter(eventoDTO.getDataFim())) {
             throw new ValidationException("Data de início não pode ser depois da data de fim.");
         }
+        validarAltaDemanda(eventoDTO);
 
         Evento evento = new Evento(
                 eventoDTO.getNome(),
@@ -58,26 +100,48 @@ public class EventoService {
                 categoria
         );
         evento.setStatus(eventoDTO.getStatus() != null ? eventoDTO.getStatus() : Evento.StatusEvento.EM_BREVE);
+        evento.setAltaDemanda(eventoDTO.isAltaDemanda());
+        evento.setLimiteInscricoesPorSegundo(eventoDTO.getLimiteInscricoesPorSegundo());
         evento = eventoRepository.save(evento);
-        return toDTO(evento);
+        buscaTextualService.indexarEvento(evento);
+        rankingPopularidadeService.adicionarEvento(evento.getId());
+        alocadorVagasService.atualizarEvento(evento);
+        admissaoInscricoesService.atualizarEvento(evento);
+        EventoDTO eventoCriado = toDTO(evento);
+        calendarioEventosService.atualizarEvento(eventoCriado);
+        return eventoCriado;
     }
 
     @Transactional(readOnly = true)
     public Page<EventoDTO> listarEventos(Pageable pageable) {
-        return eventoRepository.findAll(pageable).map(this::toDTOComTotais);
+        return eventoRepository.findAllComTotais(pageable);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Lê o evento do cache, consultando o banco apenas na primeira leitura ou após alteração/expiração.
+     * As vagas disponíveis vêm do total de confirmadas mantido pelo ranking, atualizado a cada inscrição.
+     */
     public EventoDTO buscarEventoPorId(Long id) {
-        Evento evento = eventoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Evento não encontrado com ID: " + id));
-        return toDTOComTotais(evento);
+        EventoDTO evento = cacheEventos.obter(id, this::carregarEvento);
+        if (evento == null) {
+            throw new ResourceNotFoundException("Evento não encontrado com ID: " + id);
+        }
+        return rankingPopularidadeService.comTotalConfirmadasAtual(evento);
+    }
+
+    public EstatisticasCacheDTO obterEstatisticasCache() {
+        return cacheEventos.estatisticas();
     }
 
+    @RetentarEmConflito
     @Transactional
     public EventoDTO atualizarEvento(Long id, EventoDTO eventoDTO) {
         Evento eventoExistente = eventoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Evento não encontrado com ID: " + id));
+        if (eventoDTO.getVersao() != null && !eventoDTO.getVersao().equals(eventoExistente.getVersao())) {
+            throw new ConflitoException("O evento foi alterado por outra requisição (versão atual: "
+                    + eventoExistente.getVersao() + "). Consulte-o novamente antes de alterar.");
+        }
 
         Categoria categoria = categoriaRepository.findById(eventoDTO.getCategoriaId())
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada com ID: " + eventoDTO.getCategoriaId()));
@@ -87,6 +151,7 @@ public class EventoService {
         if (eventoDTO.getDataInicio().isAfter(eventoDTO.getDataFim())) {
             throw new ValidationException("Data de início não pode ser depois da data de fim.");
         }
+        validarAltaDemanda(eventoDTO);
 
         eventoExistente.setNome(eventoDTO.getNome());
         eventoExistente.setDescricao(eventoDTO.getDescricao());
@@ -99,9 +164,19 @@ public class EventoService {
         eventoExistente.setStatus(eventoDTO.getStatus());
         eventoExistente.setLocal(local);
         eventoExistente.setCategoria(categoria);
+        eventoExistente.setAltaDemanda(eventoDTO.isAltaDemanda());
+        eventoExistente.setLimiteInscricoesPorSegundo(eventoDTO.getLimiteInscricoesPorSegundo());
 
         eventoExistente = eventoRepository.save(eventoExistente);
-        return toDTO(eventoExistente);
+        eventoRepository.flush();
+        buscaTextualService.indexarEvento(eventoExistente);
+        rankingPopularidadeService.atualizarEvento(id);
+        alocadorVagasService.atualizarEvento(eventoExistente);
+        admissaoInscricoesService.atualizarEvento(eventoExistente);
+        AposCommit.executar(() -> cacheEventos.invalidar(id));
+        EventoDTO eventoAtualizado = toDTO(eventoExistente);
+        calendarioEventosService.atualizarEvento(eventoAtualizado);
+        return eventoAtualizado;
     }
 
     @Transactional
@@ -112,7 +187,16 @@ public class EventoService {
         if (eventoRepository.countInscricoesConfirmadasByEventoId(id) > 0) {
             throw new ValidationException("Não é possível deletar evento com inscrições confirmadas.");
         }
+        // As inscrições são removidas em cascata com o evento
+        historicoInscricoesService.registrarRemocoesDoEvento(id);
         eventoRepository.delete(evento);
+        buscaTextualService.removerEvento(id);
+        rankingPopularidadeService.removerEvento(id);
+        calendarioEventosService.removerEvento(id);
+        alocadorVagasService.removerEvento(id);
+        admissaoInscricoesService.removerEvento(id);
+        listaEsperaService.removerEvento(id);
+        AposCommit.executar(() -> cacheEventos.invalidar(id));
     }
 
     @Transactional(readOnly = true)
@@ -124,31 +208,118 @@ public class EventoService {
             LocalDate dataFim,
             BigDecimal precoMaximo,
             Pageable pageable) {
-        return eventoRepository.findEventosComFiltros(
-                categoriaId, localId, status, dataInicio, dataFim, precoMaximo, pageable)
-                .map(this::toDTOComTotais);
+        return eventoRepository.findComTotais(
+                EventoSpecifications.comFiltros(categoriaId, localId, status, dataInicio, dataFim, precoMaximo),
+                pageable);
     }
 
+    /**
+     * Busca textual no índice em memória (nome, descrição, local e categoria), ordenada por relevância.
+     * Os eventos da página são carregados em uma única consulta pelos ids encontrados.
+     */
     @Transactional(readOnly = true)
-    public List<EventoDTO> buscarEventosProximos(int dias) {
-        LocalDate hoje = LocalDate.now();
-        LocalDate dataLimite = hoje.plusDays(dias);
-        return eventoRepository.findEventosProximos(hoje, dataLimite).stream()
-                .map(this::toDTOComTotais)
+    public Page<EventoDTO> buscarEventosPorTexto(String texto, Pageable pageable) {
+        if (texto == null || texto.isBlank()) {
+            throw new ValidationException("O texto da busca é obrigatório.");
+        }
+        IndiceInvertido.Resultado resultado = buscaTextualService.buscarEventos(
+                texto, (int) pageable.getOffset(), pageable.getPageSize());
+        if (resultado.getIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, resultado.getTotal());
+        }
+
+        Map<Long, EventoDTO> eventosPorId = eventoRepository
+                .findComTotais(EventoSpecifications.comIds(resultado.getIds()), Pageable.unpaged())
+                .stream()
+                .collect(Collectors.toMap(EventoDTO::getId, Function.identity()));
+        List<EventoDTO> eventos = resultado.getIds().stream()
+                .map(eventosPorId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return new PageImpl<>(eventos, pageable, resultado.getTotal());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EventoDTO> listarEventosPorCursor(String cursor, int size, Sort.Order ordem) {
+        return buscarEventosComFiltrosPorCursor(null, null, null, null, null, null, cursor, size, ordem);
     }
 
+    /**
+     * Paginação por keyset: o cursor vazio inicia a listagem com a ordenação informada;
+     * os cursores seguintes carregam a própria ordenação e a posição do último evento retornado.
+     */
     @Transactional(readOnly = true)
+    public CursorPageDTO<EventoDTO> buscarEventosComFiltrosPorCursor(
+            Long categoriaId,
+            Long localId,
+            Evento.StatusEvento status,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            BigDecimal precoMaximo,
+            String cursor,
+            int size,
+            Sort.Order ordem) {
+        if (size < 1) {
+            throw new ValidationException("O tamanho da página deve ser maior que zero.");
+        }
+        EventoCursor posicao = cursor == null || cursor.isBlank()
+                ? EventoCursor.inicial(ordem)
+                : EventoCursor.decodificar(cursor);
+
+        Window<EventoDTO> janela = eventoRepository.findComTotaisPorKeyset(
+                EventoSpecifications.comFiltros(categoriaId, localId, status, dataInicio, dataFim, precoMaximo),
+                posicao.getOrdem(), posicao.getPosicao(), size);
+
+        String proximoCursor = janela.hasNext()
+                ? posicao.comPosicao(janela.positionAt(janela.size() - 1)).codificar()
+                : null;
+        return new CursorPageDTO<>(janela.getContent(), size, proximoCursor);
+    }
+
+    /**
+     * Servido pelo calendário em memória, sem transação: não abre conexão com o banco
+     */
+    public List<EventoDTO> buscarEventosProximos(int dias, Long categoriaId) {
+        if (dias < 0 || dias > CalendarioEventosService.HORIZONTE_DIAS) {
+            throw new ValidationException("O número de dias deve estar entre 0 e " + CalendarioEventosService.HORIZONTE_DIAS + ".");
+        }
+        return calendarioEventosService.proximos(dias, categoriaId);
+    }
+
+    /**
+     * Servido pelo ranking em memória, sem transação: não abre conexão com o banco
+     */
     public List<EventoDTO> buscarEventosMaisPopulares(int limit) {
-        Pageable pageable = Pageable.ofSize(limit);
-        return eventoRepository.findEventosMaisPopulares(pageable).stream()
-                .map(this::toDTOComTotais)
-                .collect(Collectors.toList());
+        if (limit < 1 || limit > RankingPopularidadeService.LIMITE_MAXIMO) {
+            throw new ValidationException("O limite deve estar entre 1 e " + RankingPopularidadeService.LIMITE_MAXIMO + ".");
+        }
+        return rankingPopularidadeService.maisPopulares(Inscricao.StatusInscricao.CONFIRMADA, limit);
+    }
+
+    /**
+     * Reconstrói o contador de inscrições confirmadas de todos os eventos a partir da tabela de inscrições.
+     * Retorna o número de eventos processados.
+     */
+    @Transactional
+    public int reconciliarContadoresInscricoes() {
+        int eventosAtualizados = eventoRepository.reconciliarInscricoesConfirmadas();
+        rankingPopularidadeService.recarregar();
+        AposCommit.executar(cacheEventos::limpar);
+        return eventosAtualizados;
+    }
+
+    /**
+     * O modo de alta demanda confirma a inscrição na admissão, por isso só vale para eventos gratuitos
+     */
+    private void validarAltaDemanda(EventoDTO eventoDTO) {
+        if (eventoDTO.isAltaDemanda() && eventoDTO.getPreco() != null && eventoDTO.getPreco().signum() > 0) {
+            throw new ValidationException("O modo de alta demanda só está disponível para eventos gratuitos.");
+        }
     }
 
     // Métodos de conversão Entity para DTO
     private EventoDTO toDTO(Evento evento) {
-        return new EventoDTO(
+        EventoDTO dto = new EventoDTO(
                 evento.getId(),
                 evento.getNome(),
                 evento.getDescricao(),
@@ -164,11 +335,19 @@ public class EventoService {
                 evento.getDataCriacao(),
                 evento.getDataAtualizacao()
         );
+        dto.setAltaDemanda(evento.isAltaDemanda());
+        dto.setLimiteInscricoesPorSegundo(evento.getLimiteInscricoesPorSegundo());
+        dto.setVersao(evento.getVersao());
+        return dto;
+    }
+
+    private EventoDTO carregarEvento(Long id) {
+        return eventoRepository.findById(id).map(this::toDTOComTotais).orElse(null);
     }
 
     private EventoDTO toDTOComTotais(Evento evento) {
         EventoDTO dto = toDTO(evento);
-        dto.setVagasDisponiveis(evento.temCapacidadeIlimitada() ? -1 : (int)(evento.getCapacidadeMaxima() - evento.getNumeroInscricoesConfirmadas()));
+        dto.setVagasDisponiveis(evento.getVagasDisponiveis());
         dto.setNumeroInscricoesConfirmadas(evento.getNumeroInscricoesConfirmadas());
         return dto;
     }
@@ -0,0 +1,293 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.ExportacaoHistoricoDTO;
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.HistoricoInscricao;
+import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.exception.ResourceNotFoundException;
+import com.portfolio.eventos.exception.ValidationException;
+import com.portfolio.eventos.historico.ContagensHistorico;
+import com.portfolio.eventos.historico.EscritorSegmentos;
+import com.portfolio.eventos.historico.LeitorSegmentos;
+import com.portfolio.eventos.repository.HistoricoInscricaoRepository;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Histórico de inscrições: um registro por transição de status (criação, confirmação, cancelamento, remoção e
+ * demais alterações), gravado na transação que fez a transição, e sua reprodução para reconstruir estado derivado.
+ *
+ * A sequência dos registros vem de uma sequência do banco com ids reservados em blocos, e as transações não
+ * terminam na ordem em que obtiveram os ids: um registro de sequência menor pode aparecer depois que outro maior
+ * já foi lido. Por isso a exportação para os segmentos e a consolidação das séries param na última sequência
+ * consolidada ({@link #ultimaSequenciaConsolidada}), abaixo da primeira sequência que uma gravação ainda em
+ * andamento pode ter obtido. Cada instância só conhece as próprias gravações: com várias instâncias os blocos se
+ * intercalam e a consolidação só é garantida com uma única instância gravando o histórico.
+ *
+ * Estruturas em memória que dependem do status das inscrições podem {@link #assinar} os registros: recebem os
+ * gravados por esta instância depois do commit da transação que os gravou.
+ */
+@Service
+public class HistoricoInscricoesService {
+
+    /** Registros por página na consulta do histórico pela API */
+    public static final int LIMITE_MAXIMO = 1000;
+
+    /** Registros lidos do banco por consulta ao reproduzir o histórico */
+    public static final int TAMANHO_PAGINA_REPRODUCAO = 10_000;
+
+    private final HistoricoInscricaoRepository historicoInscricaoRepository;
+    private final InscricaoRepository inscricaoRepository;
+    // Diretório dos segmentos exportados pela API (eventos.historico.diretorio-segmentos)
+    private final Path diretorioSegmentos;
+    private final List<Consumer<RegistroHistoricoDTO>> assinantes = new CopyOnWriteArrayList<>();
+    // Limite inferior das sequências de cada gravação cuja transação não terminou, com a quantidade de gravações
+    // que o usam; registrado antes de obter os ids, para que nenhuma sequência obtida fique fora do mapa
+    private final ConcurrentNavigableMap<Long, Integer> gravacoesEmAndamento = new ConcurrentSkipListMap<>();
+    // Maior sequência obtida por esta instância; os ids seguintes são maiores
+    private final AtomicLong ultimaObtida = new AtomicLong();
+
+    @Autowired
+    public HistoricoInscricoesService(HistoricoInscricaoRepository historicoInscricaoRepository,
+                                      InscricaoRepository inscricaoRepository,
+                                      @Value("${eventos.historico.diretorio-segmentos:data/historico}")
+                                      Path diretorioSegmentos) {
+        this.historicoInscricaoRepository = historicoInscricaoRepository;
+        this.inscricaoRepository = inscricaoRepository;
+        this.diretorioSegmentos = diretorioSegmentos;
+    }
+
+    /**
+     * Inclui um consumidor dos registros gravados a partir de agora, chamado após o commit de cada transação
+     */
+    public void assinar(Consumer<RegistroHistoricoDTO> assinante) {
+        assinantes.add(assinante);
+    }
+
+    /**
+     * Registra a transição na transação corrente; o INSERT vai ao banco no próximo flush, em lote com os demais
+     */
+    public void registrar(Long inscricaoId, Long eventoId, Long participanteId,
+                          Inscricao.StatusInscricao statusAnterior, Inscricao.StatusInscricao statusNovo) {
+        List<HistoricoInscricao> registros = List.of(
+                new HistoricoInscricao(inscricaoId, eventoId, participanteId, statusAnterior, statusNovo));
+        gravar(registros, () -> historicoInscricaoRepository.save(registros.get(0)));
+    }
+
+    public void registrar(Inscricao inscricao, Inscricao.StatusInscricao statusAnterior,
+                          Inscricao.StatusInscricao statusNovo) {
+        registrar(inscricao.getId(), inscricao.getEvento().getId(), inscricao.getParticipante().getId(),
+                statusAnterior, statusNovo);
+    }
+
+    /**
+     * Registra a criação das inscrições já gravadas, em lotes JDBC
+     */
+    public void registrarCriacoes(List<Inscricao> inscricoes) {
+        List<HistoricoInscricao> registros = new ArrayList<>(inscricoes.size());
+        for (Inscricao inscricao : inscricoes) {
+            registros.add(new HistoricoInscricao(inscricao.getId(), inscricao.getEvento().getId(),
+                    inscricao.getParticipante().getId(), null, inscricao.getStatus()));
+        }
+        gravar(registros, () -> historicoInscricaoRepository.inserirEmLote(registros));
+    }
+
+    /**
+     * Registra a transição de um bloco de inscrições do evento, dadas como as situações de
+     * InscricaoRepository.findSituacoesByEventoId (id, status, participanteId, ...)
+     * com o status anterior; um status novo nulo registra a remoção
+     */
+    public void registrarTransicoes(Long eventoId, List<Object[]> situacoes, Inscricao.StatusInscricao statusNovo) {
+        List<HistoricoInscricao> registros = new ArrayList<>(situacoes.size());
+        for (Object[] situacao : situacoes) {
+            registros.add(new HistoricoInscricao((Long) situacao[0], eventoId, (Long) situacao[2],
+                    (Inscricao.StatusInscricao) situacao[1], statusNovo));
+        }
+        gravar(registros, () -> historicoInscricaoRepository.inserirEmLote(registros));
+    }
+
+    /**
+     * Registra a remoção de todas as inscrições do evento, que serão removidas com ele na transação corrente
+     */
+    public void registrarRemocoesDoEvento(Long eventoId) {
+        EnumSet<Inscricao.StatusInscricao> todos = EnumSet.allOf(Inscricao.StatusInscricao.class);
+        long ultimoId = 0;
+        List<Object[]> bloco;
+        while (!(bloco = inscricaoRepository.findSituacoesByEventoId(eventoId, todos, ultimoId,
+                PageRequest.of(0, InscricaoService.TAMANHO_BLOCO_OPERACAO))).isEmpty()) {
+            registrarTransicoes(eventoId, bloco, null);
+            ultimoId = (Long) bloco.get(bloco.size() - 1)[0];
+        }
+    }
+
+    /**
+     * Registros de uma inscrição, em ordem de sequência; continuam disponíveis depois que ela é removida
+     */
+    @Transactional(readOnly = true)
+    public List<RegistroHistoricoDTO> listarPorInscricao(Long inscricaoId) {
+        List<RegistroHistoricoDTO> registros = historicoInscricaoRepository.findRegistrosByInscricaoId(inscricaoId);
+        if (registros.isEmpty()) {
+            throw new ResourceNotFoundException("Histórico não encontrado para a inscrição com ID: " + inscricaoId);
+        }
+        return registros;
+    }
+
+    /**
+     * Página do histórico com sequência maior que a informada; a próxima página começa na última sequência recebida
+     */
+    @Transactional(readOnly = true)
+    public List<RegistroHistoricoDTO> listar(long aPartirDe, int limite) {
+        if (aPartirDe < 0) {
+            throw new ValidationException("A sequência inicial não pode ser negativa.");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new ValidationException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        return historicoInscricaoRepository.findRegistrosAposSequencia(aPartirDe, PageRequest.of(0, limite));
+    }
+
+    /**
+     * Como {@link #reproduzir(long, Consumer)}, mas só até a última sequência consolidada, de modo que nenhum
+     * registro de sequência menor que o último entregue apareça depois
+     */
+    public long reproduzirConsolidados(long aPartirDe, Consumer<RegistroHistoricoDTO> consumidor) {
+        return reproduzir(aPartirDe, ultimaSequenciaConsolidada(), consumidor);
+    }
+
+    /**
+     * Sequência até a qual o histórico não muda mais: a última gravada no banco, ou a anterior ao limite inferior
+     * da gravação em andamento mais antiga desta instância, se for menor
+     */
+    @Transactional(readOnly = true)
+    public long ultimaSequenciaConsolidada() {
+        Long ultima = historicoInscricaoRepository.findUltimaSequencia();
+        // Lidas depois da última sequência: uma gravação que obteve uma sequência menor ou está no mapa ou já
+        // terminou, com o registro visível ou desfeito
+        Map.Entry<Long, Integer> maisAntiga = gravacoesEmAndamento.firstEntry();
+        long consolidada = ultima != null ? ultima : 0;
+        return maisAntiga != null ? Math.min(consolidada, maisAntiga.getKey() - 1) : consolidada;
+    }
+
+    /**
+     * Entrega ao consumidor, em ordem de sequência, os registros do banco com sequência maior que a informada, e
+     * retorna a sequência do último entregue. Lê páginas por keyset, cada uma em sua própria consulta, sem manter
+     * uma transação aberta durante toda a reprodução.
+     */
+    public long reproduzir(long aPartirDe, Consumer<RegistroHistoricoDTO> consumidor) {
+        return reproduzir(aPartirDe, Long.MAX_VALUE, consumidor);
+    }
+
+    /**
+     * Reconstrói as contagens de inscrições por evento e status com os segmentos do diretório, sem consultar o
+     * banco para o que já foi exportado, e com os registros do banco posteriores ao último segmento
+     */
+    public ContagensHistorico reconstruirContagens(Path diretorio) {
+        ContagensHistorico contagens = new ContagensHistorico();
+        try {
+            reproduzir(LeitorSegmentos.reproduzir(diretorio, 0, contagens), contagens);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return contagens;
+    }
+
+    /**
+     * Anexa aos segmentos do diretório os registros do banco posteriores ao último exportado, até a última
+     * sequência consolidada. Sincronizado porque cada diretório admite um único escritor.
+     */
+    public synchronized ExportacaoHistoricoDTO exportarSegmentos(Path diretorio) {
+        long limite = ultimaSequenciaConsolidada();
+        try (EscritorSegmentos escritor = new EscritorSegmentos(diretorio)) {
+            long anterior = escritor.getUltimaSequencia();
+            long[] exportados = new long[1];
+            long ultimaSequencia = reproduzir(anterior, limite, registro -> {
+                try {
+                    escritor.anexar(registro);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                exportados[0]++;
+            });
+            return new ExportacaoHistoricoDTO(exportados[0], ultimaSequencia);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ExportacaoHistoricoDTO exportarSegmentos() {
+        return exportarSegmentos(diretorioSegmentos);
+    }
+
+    /**
+     * Executa a inserção dos registros com um limite inferior das suas sequências entre as gravações em andamento,
+     * do qual sai quando a transação corrente termina, com commit ou rollback, depois da publicação
+     */
+    private void gravar(List<HistoricoInscricao> registros, Runnable insercao) {
+        long limiteInferior = ultimaObtida.get() + 1;
+        gravacoesEmAndamento.merge(limiteInferior, 1, Integer::sum);
+        try {
+            insercao.run();
+            long maior = 0;
+            for (HistoricoInscricao registro : registros) {
+                maior = Math.max(maior, registro.getId());
+            }
+            ultimaObtida.accumulateAndGet(maior, Math::max);
+            publicar(registros);
+        } finally {
+            AposCommit.aoConcluir(() ->
+                    gravacoesEmAndamento.computeIfPresent(limiteInferior, (limite, gravacoes) ->
+                            gravacoes > 1 ? gravacoes - 1 : null));
+        }
+    }
+
+    private void publicar(List<HistoricoInscricao> registros) {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        AposCommit.executar(() -> {
+            for (HistoricoInscricao registro : registros) {
+                RegistroHistoricoDTO dto = new RegistroHistoricoDTO(registro.getId(), registro.getInscricaoId(),
+                        registro.getEventoId(), registro.getParticipanteId(), registro.getTipo(),
+                        registro.getStatusAnterior(), registro.getStatusNovo(), registro.getDataRegistro());
+                assinantes.forEach(assinante -> assinante.accept(dto));
+            }
+        });
+    }
+
+    /**
+     * Reprodução pelo banco que para no primeiro registro de sequência maior que o limite
+     */
+    private long reproduzir(long aPartirDe, long limite, Consumer<RegistroHistoricoDTO> consumidor) {
+        long ultimaSequencia = aPartirDe;
+        List<RegistroHistoricoDTO> pagina;
+        do {
+            pagina = historicoInscricaoRepository.findRegistrosAposSequencia(ultimaSequencia,
+                    PageRequest.of(0, TAMANHO_PAGINA_REPRODUCAO));
+            for (RegistroHistoricoDTO registro : pagina) {
+                if (registro.getSequencia() > limite) {
+                    return ultimaSequencia;
+                }
+                consumidor.accept(registro);
+                ultimaSequencia = registro.getSequencia();
+            }
+        } while (pagina.size() == TAMANHO_PAGINA_REPRODUCAO);
+        return ultimaSequencia;
+    }
+}
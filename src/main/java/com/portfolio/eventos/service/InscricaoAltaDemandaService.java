@@ -0,0 +1,237 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.alocacao.VagasEvento;
+import com.portfolio.eventos.dto.InscricaoDTO;
+import com.portfolio.eventos.exception.SobrecargaException;
+import com.portfolio.eventos.exception.ValidationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Ponto de entrada das novas inscrições.
+ *
+ * Em eventos de alta demanda a admissão (participante repetido, status do evento e vaga) é decidida em memória
+ * pelo {@link AlocadorVagasService}, e as inscrições admitidas entram em uma fila gravada em lotes por uma única
+ * thread. Cada requisição aguarda o commit do lote que contém a sua inscrição antes de responder, portanto uma
+ * resposta de sucesso significa inscrição gravada. Se a espera se esgotar antes de o escritor pegar o pedido, ele é
+ * retirado da fila e a vaga devolvida; se o pedido já estiver sendo gravado, a resposta (503) indica onde conferir
+ * se a inscrição foi gravada antes de tentar de novo. Os demais eventos seguem o fluxo transacional do
+ * InscricaoService.
+ */
+@Service
+public class InscricaoAltaDemandaService {
+
+    public static final int TAMANHO_MAXIMO_LOTE = 500;
+
+    /** Tempo máximo que uma requisição aguarda a gravação da sua inscrição */
+    public static final Duration TEMPO_MAXIMO_GRAVACAO = Duration.ofSeconds(30);
+
+    /** Prazo sugerido no Retry-After quando a gravação não é confirmada a tempo */
+    public static final long SEGUNDOS_PARA_NOVA_TENTATIVA = 5;
+
+    private static final long INTERVALO_ESPERA_FILA_MS = 100;
+
+    private final InscricaoService inscricaoService;
+    private final AlocadorVagasService alocadorVagasService;
+    private final Duration tempoMaximoGravacao;
+    private final BlockingQueue<Pedido> fila = new LinkedBlockingQueue<>();
+    private final Thread escritor = new Thread(this::escrever, "escritor-inscricoes");
+    private volatile boolean ativo = true;
+
+    @Autowired
+    public InscricaoAltaDemandaService(InscricaoService inscricaoService, AlocadorVagasService alocadorVagasService) {
+        this(inscricaoService, alocadorVagasService, TEMPO_MAXIMO_GRAVACAO);
+    }
+
+    InscricaoAltaDemandaService(InscricaoService inscricaoService, AlocadorVagasService alocadorVagasService,
+                                Duration tempoMaximoGravacao) {
+        this.inscricaoService = inscricaoService;
+        this.alocadorVagasService = alocadorVagasService;
+        this.tempoMaximoGravacao = tempoMaximoGravacao;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Para de aceitar novos lotes depois de gravar o que já está na fila
+     */
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        ativo = false;
+        escritor.join(tempoMaximoGravacao.toMillis());
+    }
+
+    public InscricaoDTO criarInscricao(InscricaoDTO inscricaoDTO) {
+        VagasEvento vagas = alocadorVagasService.buscar(inscricaoDTO.getEventoId());
+        if (vagas == null) {
+            return inscricaoService.criarInscricao(inscricaoDTO);
+        }
+
+        Long participanteId = inscricaoDTO.getParticipanteId();
+        if (!vagas.aceitaInscricoes()) {
+            throw new ValidationException("Não é possível inscrever-se em eventos cancelados ou concluídos.");
+        }
+        if (!vagas.registrarParticipante(participanteId)) {
+            throw new ValidationException("Participante já inscrito neste evento.");
+        }
+        if (!vagas.reservar()) {
+            vagas.removerParticipante(participanteId);
+            throw new ValidationException("Evento lotado. Não há vagas disponíveis.");
+        }
+
+        Pedido pedido = new Pedido(vagas, participanteId);
+        fila.add(pedido);
+        return aguardarGravacao(pedido);
+    }
+
+    public int pedidosPendentes() {
+        return fila.size();
+    }
+
+    private InscricaoDTO aguardarGravacao(Pedido pedido) {
+        try {
+            return resultado(pedido, tempoMaximoGravacao.toMillis());
+        } catch (TimeoutException e) {
+            if (desistir(pedido)) {
+                throw new SobrecargaException("A inscrição não foi gravada a tempo e o pedido foi descartado. " +
+                        "Tente novamente em instantes.", SEGUNDOS_PARA_NOVA_TENTATIVA);
+            }
+            // O escritor já pegou o pedido: a inscrição pode ter sido gravada neste intervalo
+            if (pedido.resultado.isDone()) {
+                return aguardarGravacao(pedido);
+            }
+            throw new SobrecargaException("A gravação da inscrição ainda está em andamento. Consulte " +
+                    "/api/inscricoes/participante/" + pedido.participanteId + " antes de tentar novamente.",
+                    SEGUNDOS_PARA_NOVA_TENTATIVA);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            desistir(pedido);
+            throw new IllegalStateException("Interrompido aguardando a gravação da inscrição.");
+        }
+    }
+
+    private static InscricaoDTO resultado(Pedido pedido, long esperaMs) throws TimeoutException, InterruptedException {
+        try {
+            return pedido.resultado.get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falha ao gravar a inscrição.", e.getCause());
+        }
+    }
+
+    /**
+     * Retira da fila um pedido que o escritor ainda não pegou e devolve a vaga; retorna false se ele já
+     * estiver sendo gravado
+     */
+    private boolean desistir(Pedido pedido) {
+        if (!pedido.assumir()) {
+            return false;
+        }
+        fila.remove(pedido);
+        pedido.vagas.liberar();
+        pedido.vagas.removerParticipante(pedido.participanteId);
+        return true;
+    }
+
+    /**
+     * Enquanto um lote é gravado os próximos pedidos se acumulam, então o tamanho do lote acompanha a carga
+     * sem atrasar pedidos isolados
+     */
+    private void escrever() {
+        List<Pedido> lote = new ArrayList<>(TAMANHO_MAXIMO_LOTE);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pedido primeiro = fila.poll(INTERVALO_ESPERA_FILA_MS, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, TAMANHO_MAXIMO_LOTE - 1);
+                // Pedidos cujas requisições desistiram de esperar já devolveram a vaga
+                lote.removeIf(pedido -> !pedido.assumir());
+                if (!lote.isEmpty()) {
+                    gravar(lote);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    /**
+     * Se o lote falhar, os pedidos são gravados um a um para que só os inválidos sejam recusados
+     */
+    private void gravar(List<Pedido> lote) {
+        try {
+            List<InscricaoDTO> gravadas = inscricaoService.criarInscricoesEmLote(
+                    lote.stream().map(Pedido::toDTO).collect(Collectors.toList()));
+            for (int i = 0; i < lote.size(); i++) {
+                lote.get(i).resultado.complete(gravadas.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (lote.size() > 1) {
+                lote.forEach(pedido -> gravar(List.of(pedido)));
+                return;
+            }
+            recusar(lote.get(0), e);
+        }
+    }
+
+    /**
+     * Devolve a vaga reservada na admissão. O participante sai do conjunto de inscritos mesmo quando o motivo
+     * é uma inscrição já existente: uma nova tentativa é barrada pela restrição única do banco.
+     */
+    private void recusar(Pedido pedido, RuntimeException motivo) {
+        pedido.vagas.liberar();
+        pedido.vagas.removerParticipante(pedido.participanteId);
+        pedido.resultado.completeExceptionally(motivo);
+    }
+
+    private static class Pedido {
+
+        private final VagasEvento vagas;
+        private final Long participanteId;
+        private final CompletableFuture<InscricaoDTO> resultado = new CompletableFuture<>();
+        /** Disputado pelo escritor, para gravar o pedido, e pela requisição, para desistir dele */
+        private final AtomicBoolean assumido = new AtomicBoolean();
+
+        private Pedido(VagasEvento vagas, Long participanteId) {
+            this.vagas = vagas;
+            this.participanteId = participanteId;
+        }
+
+        private boolean assumir() {
+            return assumido.compareAndSet(false, true);
+        }
+
+        private InscricaoDTO toDTO() {
+            InscricaoDTO dto = new InscricaoDTO();
+            dto.setParticipanteId(participanteId);
+            dto.setEventoId(vagas.getEventoId());
+            return dto;
+        }
+    }
+}
@@ -1,38 +1,97 @@
 package com.portfolio.eventos.service;
 
+import com.portfolio.eventos.alocacao.VagasEvento;
+import com.portfolio.eventos.concorrencia.RetentarEmConflito;
 import com.portfolio.eventos.dto.InscricaoDTO;
+import com.portfolio.eventos.dto.ItemLoteInscricaoDTO;
+import com.portfolio.eventos.dto.OperacaoInscricoesDTO;
+import com.portfolio.eventos.dto.PosicaoListaEsperaDTO;
+import com.portfolio.eventos.dto.ResultadoLoteInscricoesDTO;
+import com.portfolio.eventos.dto.ResultadoOperacaoInscricoesDTO;
 import com.portfolio.eventos.entity.Evento;
 import com.portfolio.eventos.entity.Inscricao;
 import com.portfolio.eventos.entity.Participante;
+import com.portfolio.eventos.espera.FilaEspera;
+import com.portfolio.eventos.exception.ConflitoException;
 import com.portfolio.eventos.exception.ResourceNotFoundException;
 import com.portfolio.eventos.exception.ValidationException;
 import com.portfolio.eventos.repository.EventoRepository;
 import com.portfolio.eventos.repository.InscricaoRepository;
 import com.portfolio.eventos.repository.ParticipanteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Inscrições dos participantes nos eventos.
+ *
+ * Ocupam vaga as confirmadas e as pendentes com vaga reservada (promovidas da lista de espera em eventos pagos);
+ * o contador de confirmadas do evento só as reserva por UPDATE condicional, e toda vaga liberada é oferecida
+ * à lista de espera na mesma transação.
+ */
 @Service
 public class InscricaoService {
 
+    /** Inscrições lidas e alteradas por vez nas operações em massa de um evento */
+    public static final int TAMANHO_BLOCO_OPERACAO = 1000;
+
+    /** Releituras do contador de confirmadas ao reservar as vagas de um lote sob concorrência */
+    private static final int MAXIMO_TENTATIVAS_RESERVA = 5;
+
+    /** Intervalo entre as varreduras das listas de espera em busca de vagas livres sem promoção */
+    private static final long INTERVALO_VARREDURA_LISTA_ESPERA_MS = 60_000;
+
     private final InscricaoRepository inscricaoRepository;
     private final ParticipanteRepository participanteRepository;
     private final EventoRepository eventoRepository;
+    private final RankingPopularidadeService rankingPopularidadeService;
+    private final AlocadorVagasService alocadorVagasService;
+    private final ListaEsperaService listaEsperaService;
+    private final HistoricoInscricoesService historicoInscricoesService;
+    private final TransactionTemplate transacaoNova;
 
     @Autowired
     public InscricaoService(InscricaoRepository inscricaoRepository, 
                             ParticipanteRepository participanteRepository, 
-                            EventoRepository eventoRepository) {
+                            EventoRepository eventoRepository,
+                            RankingPopularidadeService rankingPopularidadeService,
+                            AlocadorVagasService alocadorVagasService,
+                            ListaEsperaService listaEsperaService,
+                            HistoricoInscricoesService historicoInscricoesService,
+                            PlatformTransactionManager transactionManager) {
         this.inscricaoRepository = inscricaoRepository;
         this.participanteRepository = participanteRepository;
         this.eventoRepository = eventoRepository;
+        this.rankingPopularidadeService = rankingPopularidadeService;
+        this.alocadorVagasService = alocadorVagasService;
+        this.listaEsperaService = listaEsperaService;
+        this.historicoInscricoesService = historicoInscricoesService;
+        // Para o trabalho feito depois do commit de outra transação, que não pode mais ser reaproveitada,
+        // e para refazer itens de um lote cuja transação foi desfeita
+        this.transacaoNova = new TransactionTemplate(transactionManager);
+        this.transacaoNova.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     @Transactional
@@ -42,15 +101,12 @@ public class InscricaoService {
         Evento evento = eventoRepository.findById(inscricaoDTO.getEventoId())
                 .orElseThrow(() -> new ResourceNotFoundException("Evento não encontrado com ID: " + inscricaoDTO.getEventoId()));
 
-        if (inscricaoRepository.existsByParticipanteIdAndEventoId(participante.getId(), evento.getId())) {
-            throw new ValidationException("Participante já inscrito neste evento.");
-        }
-
         if (evento.getStatus() == Evento.StatusEvento.CANCELADO || evento.getStatus() == Evento.StatusEvento.CONCLUIDO) {
             throw new ValidationException("Não é possível inscrever-se em eventos cancelados ou concluídos.");
         }
 
-        if (!evento.temCapacidadeIlimitada() && !evento.temVagasDisponiveis()) {
+        // Verificação rápida pelo contador; a reserva da vaga na confirmação é que garante a capacidade
+        if (!evento.temVagasDisponiveis()) {
             throw new ValidationException("Evento lotado. Não há vagas disponíveis.");
         }
 
@@ -59,13 +115,238 @@ public class InscricaoService {
         if (evento.isGratuito()) {
             inscricao.confirmar();
         }
-        inscricao = inscricaoRepository.save(inscricao);
+        try {
+            // Com ids de sequência o INSERT só iria ao banco no commit; o flush traz a violação para cá
+            inscricao = inscricaoRepository.saveAndFlush(inscricao);
+        } catch (DataIntegrityViolationException e) {
+            if (violouRestricao(e, Inscricao.RESTRICAO_PARTICIPANTE_EVENTO)) {
+                throw new ValidationException("Participante já inscrito neste evento.");
+            }
+            throw e;
+        }
+        registrarTransicaoStatus(inscricao, null, inscricao.getStatus());
+        VagasEvento vagas = alocadorVagasService.buscar(evento.getId());
+        if (vagas != null) {
+            AposCommit.executar(() -> vagas.registrarParticipante(participante.getId()));
+        }
+        return toDTO(inscricao);
+    }
+
+    /**
+     * Inscreve o participante se houver vaga; caso contrário o coloca no fim da lista de espera do evento.
+     * Quando uma vaga é liberada o primeiro da fila é promovido automaticamente (ver promoverListaEspera).
+     * A entrada só chega à fila em memória depois do commit, então um cancelamento que libere a vaga nesse
+     * intervalo não encontra quem promover; por isso as vagas livres são conferidas de novo depois da entrada.
+     */
+    @Transactional
+    public InscricaoDTO entrarNaListaEspera(InscricaoDTO inscricaoDTO) {
+        Participante participante = participanteRepository.findById(inscricaoDTO.getParticipanteId())
+                .orElseThrow(() -> new ResourceNotFoundException("Participante não encontrado com ID: " + inscricaoDTO.getParticipanteId()));
+        Evento evento = eventoRepository.findById(inscricaoDTO.getEventoId())
+                .orElseThrow(() -> new ResourceNotFoundException("Evento não encontrado com ID: " + inscricaoDTO.getEventoId()));
+
+        if (evento.getStatus() == Evento.StatusEvento.CANCELADO || evento.getStatus() == Evento.StatusEvento.CONCLUIDO) {
+            throw new ValidationException("Não é possível inscrever-se em eventos cancelados ou concluídos.");
+        }
+        if (evento.isAltaDemanda()) {
+            throw new ValidationException("Eventos de alta demanda não têm lista de espera.");
+        }
+        if (evento.temVagasDisponiveis()) {
+            return criarInscricao(inscricaoDTO);
+        }
+
+        Inscricao inscricao = new Inscricao(participante, evento);
+        inscricao.entrarNaListaEspera(listaEsperaService.proximaSenha(evento.getId()));
+        try {
+            inscricao = inscricaoRepository.saveAndFlush(inscricao);
+        } catch (DataIntegrityViolationException e) {
+            if (violouRestricao(e, Inscricao.RESTRICAO_PARTICIPANTE_EVENTO)) {
+                throw new ValidationException("Participante já inscrito neste evento.");
+            }
+            throw e;
+        }
+        registrarTransicaoStatus(inscricao, null, inscricao.getStatus());
+        listaEsperaService.adicionar(inscricao);
+        // Registrada depois da entrada na fila, roda depois dela no commit
+        Long eventoId = evento.getId();
+        AposCommit.executar(() -> promoverComVagasLivres(eventoId));
         return toDTO(inscricao);
     }
 
+    /**
+     * Promove as listas de espera que ficaram com vagas livres, caso a conferência feita depois de uma entrada
+     * tenha falhado ou não tenha chegado a rodar (por exemplo, com a aplicação encerrada logo após o commit)
+     */
+    @Scheduled(fixedDelay = INTERVALO_VARREDURA_LISTA_ESPERA_MS)
+    public void varrerListasEspera() {
+        listaEsperaService.eventosComFila().forEach(this::promoverComVagasLivres);
+    }
+
+    /**
+     * Consulta apenas a fila em memória, sem acessar o banco
+     */
+    public PosicaoListaEsperaDTO buscarPosicaoListaEspera(Long eventoId, Long participanteId) {
+        int posicao = listaEsperaService.posicao(eventoId, participanteId);
+        if (posicao == 0) {
+            throw new ResourceNotFoundException("Participante " + participanteId
+                    + " não está na lista de espera do evento " + eventoId);
+        }
+        return new PosicaoListaEsperaDTO(eventoId, participanteId, posicao, listaEsperaService.tamanho(eventoId));
+    }
+
+    /**
+     * Grava em uma única transação inscrições confirmadas já admitidas pelo alocador de vagas em memória.
+     * As vagas são reservadas no banco com um UPDATE condicional por evento, que continua garantindo
+     * a capacidade caso o estado em memória divirja. Retorna as inscrições na ordem recebida.
+     */
+    @Transactional
+    public List<InscricaoDTO> criarInscricoesEmLote(List<InscricaoDTO> pedidos) {
+        Map<Long, Participante> participantes = participantesPorId(
+                pedidos.stream().map(InscricaoDTO::getParticipanteId).collect(Collectors.toSet()));
+        Map<Long, Evento> eventos = eventosPorId(pedidos.stream().map(InscricaoDTO::getEventoId).collect(Collectors.toSet()));
+
+        List<Inscricao> inscricoes = new ArrayList<>();
+        for (InscricaoDTO pedido : pedidos) {
+            Participante participante = participantes.get(pedido.getParticipanteId());
+            if (participante == null) {
+                throw new ResourceNotFoundException("Participante não encontrado com ID: " + pedido.getParticipanteId());
+            }
+            Evento evento = eventos.get(pedido.getEventoId());
+            if (evento == null) {
+                throw new ResourceNotFoundException("Evento não encontrado com ID: " + pedido.getEventoId());
+            }
+            Inscricao inscricao = new Inscricao(participante, evento);
+            inscricao.confirmar();
+            inscricoes.add(inscricao);
+        }
+
+        Map<Long, Long> confirmadasPorEvento = pedidos.stream()
+                .collect(Collectors.groupingBy(InscricaoDTO::getEventoId, Collectors.counting()));
+        confirmadasPorEvento.forEach((eventoId, quantidade) -> {
+            if (eventoRepository.reservarVagas(eventoId, quantidade) == 0) {
+                throw new ValidationException("Evento lotado. Não há vagas disponíveis.");
+            }
+        });
+        try {
+            inscricoes = gravarNovasInscricoes(inscricoes);
+        } catch (DataIntegrityViolationException e) {
+            if (violouRestricao(e, Inscricao.RESTRICAO_PARTICIPANTE_EVENTO)) {
+                throw new ValidationException("Participante já inscrito neste evento.");
+            }
+            throw e;
+        }
+        return inscricoes.stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Cria várias inscrições em uma transação e informa o resultado de cada item, na ordem recebida.
+     * Participantes, eventos e inscrições existentes são carregados com uma consulta de cada, e as vagas
+     * de cada evento gratuito são reservadas com um único UPDATE condicional. Itens recusados (evento lotado,
+     * participante já inscrito etc.) não impedem a gravação dos demais.
+     *
+     * Se outra requisição inscrever um dos participantes durante o processamento, a restrição única desfaz a
+     * transação do lote; os itens são então refeitos um a um, cada um em sua transação, e só o repetido é recusado.
+     */
+    public ResultadoLoteInscricoesDTO inscreverEmLote(List<InscricaoDTO> pedidos) {
+        try {
+            return transacaoNova.execute(status -> inscreverLote(pedidos));
+        } catch (DataIntegrityViolationException e) {
+            if (!violouRestricao(e, Inscricao.RESTRICAO_PARTICIPANTE_EVENTO)) {
+                throw e;
+            }
+        }
+        List<ItemLoteInscricaoDTO> itens = new ArrayList<>(pedidos.size());
+        for (int i = 0; i < pedidos.size(); i++) {
+            itens.add(inscreverItem(i, pedidos.get(i)));
+        }
+        return new ResultadoLoteInscricoesDTO(itens);
+    }
+
+    private ItemLoteInscricaoDTO inscreverItem(int indice, InscricaoDTO pedido) {
+        try {
+            ItemLoteInscricaoDTO item = transacaoNova.execute(status -> inscreverLote(List.of(pedido))).getItens().get(0);
+            item.setIndice(indice);
+            return item;
+        } catch (DataIntegrityViolationException e) {
+            if (!violouRestricao(e, Inscricao.RESTRICAO_PARTICIPANTE_EVENTO)) {
+                throw e;
+            }
+            return ItemLoteInscricaoDTO.recusada(indice, pedido, "Participante já inscrito neste evento.");
+        }
+    }
+
+    private ResultadoLoteInscricoesDTO inscreverLote(List<InscricaoDTO> pedidos) {
+        Set<Long> participanteIds = pedidos.stream().map(InscricaoDTO::getParticipanteId).collect(Collectors.toSet());
+        Set<Long> eventoIds = pedidos.stream().map(InscricaoDTO::getEventoId).collect(Collectors.toSet());
+        Map<Long, Participante> participantes = participantesPorId(participanteIds);
+        Map<Long, Evento> eventos = eventosPorId(eventoIds);
+        Map<Long, Set<Long>> inscritosPorEvento = new HashMap<>();
+        for (Object[] par : inscricaoRepository.findParesEventoParticipante(eventoIds, participanteIds)) {
+            inscritosPorEvento.computeIfAbsent((Long) par[0], id -> new HashSet<>()).add((Long) par[1]);
+        }
+
+        ItemLoteInscricaoDTO[] resultados = new ItemLoteInscricaoDTO[pedidos.size()];
+        Map<Long, List<Integer>> candidatosPorEvento = new LinkedHashMap<>();
+        for (int i = 0; i < pedidos.size(); i++) {
+            InscricaoDTO pedido = pedidos.get(i);
+            String recusa = validarItemLote(pedido, participantes, eventos, inscritosPorEvento);
+            if (recusa != null) {
+                resultados[i] = ItemLoteInscricaoDTO.recusada(i, pedido, recusa);
+            } else {
+                candidatosPorEvento.computeIfAbsent(pedido.getEventoId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Inscricao> inscricoes = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> candidatos : candidatosPorEvento.entrySet()) {
+            Evento evento = eventos.get(candidatos.getKey());
+            // Inscrições em eventos pagos ficam pendentes e só ocupam vaga na confirmação
+            List<Integer> admitidos = evento.isGratuito()
+                    ? admitirComVagas(evento, candidatos.getValue(), pedidos, resultados)
+                    : candidatos.getValue();
+            for (Integer indice : admitidos) {
+                Inscricao inscricao = new Inscricao(participantes.get(pedidos.get(indice).getParticipanteId()), evento);
+                if (evento.isGratuito()) {
+                    inscricao.confirmar();
+                }
+                inscricoes.add(inscricao);
+                indices.add(indice);
+            }
+        }
+
+        inscricoes = gravarNovasInscricoes(inscricoes);
+        for (int i = 0; i < inscricoes.size(); i++) {
+            resultados[indices.get(i)] = ItemLoteInscricaoDTO.criada(indices.get(i), toDTO(inscricoes.get(i)));
+        }
+        return new ResultadoLoteInscricoesDTO(Arrays.asList(resultados));
+    }
+
+    private Map<Long, Participante> participantesPorId(Set<Long> ids) {
+        return participanteRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Participante::getId, Function.identity()));
+    }
+
+    private Map<Long, Evento> eventosPorId(Set<Long> ids) {
+        return eventoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Evento::getId, Function.identity()));
+    }
+
+    /**
+     * Grava as inscrições novas com um único flush e registra as criações no histórico e no ranking. A violação
+     * da restrição única de participante e evento é propagada para quem decide como refazer o lote.
+     */
+    private List<Inscricao> gravarNovasInscricoes(List<Inscricao> inscricoes) {
+        List<Inscricao> gravadas = inscricaoRepository.saveAllAndFlush(inscricoes);
+        historicoInscricoesService.registrarCriacoes(gravadas);
+        gravadas.forEach(inscricao -> rankingPopularidadeService.registrarTransicao(
+                inscricao.getEvento().getId(), null, inscricao.getStatus()));
+        return gravadas;
+    }
+
     @Transactional(readOnly = true)
     public Page<InscricaoDTO> listarInscricoes(Pageable pageable) {
-        return inscricaoRepository.findAll(pageable).map(this::toDTO);
+        return inscricaoRepository.findAllComNomes(pageable);
     }
 
     @Transactional(readOnly = true)
@@ -75,18 +356,31 @@ public class InscricaoService {
         return toDTO(inscricao);
     }
 
+    @RetentarEmConflito
     @Transactional
     public InscricaoDTO atualizarInscricao(Long id, InscricaoDTO inscricaoDTO) {
         Inscricao inscricaoExistente = inscricaoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inscrição não encontrada com ID: " + id));
+        if (inscricaoDTO.getVersao() != null && !inscricaoDTO.getVersao().equals(inscricaoExistente.getVersao())) {
+            throw new ConflitoException("A inscrição foi alterada por outra requisição (versão atual: "
+                    + inscricaoExistente.getVersao() + "). Consulte-a novamente antes de alterar.");
+        }
 
         // Apenas o status pode ser atualizado via DTO, ou se for um admin
         // Outras alterações (participante/evento) implicariam em nova inscrição
-        if (inscricaoDTO.getStatus() != null) {
+        Inscricao.StatusInscricao statusAnterior = inscricaoExistente.getStatus();
+        if (inscricaoDTO.getStatus() != null && inscricaoDTO.getStatus() != statusAnterior) {
+            if (inscricaoExistente.isNaListaEspera() || inscricaoDTO.getStatus() == Inscricao.StatusInscricao.LISTA_ESPERA) {
+                throw new ValidationException("A lista de espera só é alterada pela entrada, cancelamento ou promoção.");
+            }
             inscricaoExistente.setStatus(inscricaoDTO.getStatus());
         }
         
         inscricaoExistente = inscricaoRepository.save(inscricaoExistente);
+        inscricaoRepository.flush();
+        if (inscricaoExistente.getStatus() != statusAnterior) {
+            registrarTransicaoStatus(inscricaoExistente, statusAnterior, inscricaoExistente.getStatus());
+        }
         return toDTO(inscricaoExistente);
     }
 
@@ -95,8 +389,18 @@ public class InscricaoService {
         Inscricao inscricao = inscricaoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inscrição não encontrada com ID: " + id));
         inscricaoRepository.delete(inscricao);
+        registrarTransicaoStatus(inscricao, inscricao.getStatus(), null);
+        if (inscricao.isNaListaEspera()) {
+            listaEsperaService.remover(inscricao.getEvento().getId(), inscricao.getParticipante().getId());
+        }
+        VagasEvento vagas = alocadorVagasService.buscar(inscricao.getEvento().getId());
+        if (vagas != null) {
+            Long participanteId = inscricao.getParticipante().getId();
+            AposCommit.executar(() -> vagas.removerParticipante(participanteId));
+        }
     }
 
+    @RetentarEmConflito
     @Transactional
     public InscricaoDTO confirmarInscricao(Long id) {
         Inscricao inscricao = inscricaoRepository.findById(id)
@@ -107,10 +411,17 @@ public class InscricaoService {
         if (inscricao.isCancelada()) {
             throw new ValidationException("Não é possível confirmar uma inscrição cancelada.");
         }
+        if (inscricao.isNaListaEspera()) {
+            throw new ValidationException("Inscrição na lista de espera; ela é confirmada quando uma vaga for liberada.");
+        }
         inscricao.confirmar();
-        return toDTO(inscricaoRepository.save(inscricao));
+        inscricao = inscricaoRepository.save(inscricao);
+        inscricaoRepository.flush();
+        registrarTransicaoStatus(inscricao, Inscricao.StatusInscricao.PENDENTE, inscricao.getStatus());
+        return toDTO(inscricao);
     }
 
+    @RetentarEmConflito
     @Transactional
     public InscricaoDTO cancelarInscricao(Long id) {
         Inscricao inscricao = inscricaoRepository.findById(id)
@@ -118,23 +429,381 @@ public class InscricaoService {
         if (inscricao.isCancelada()) {
             throw new ValidationException("Inscrição já está cancelada.");
         }
+        Inscricao.StatusInscricao statusAnterior = inscricao.getStatus();
         inscricao.cancelar();
-        return toDTO(inscricaoRepository.save(inscricao));
+        inscricao = inscricaoRepository.save(inscricao);
+        inscricaoRepository.flush();
+        registrarTransicaoStatus(inscricao, statusAnterior, inscricao.getStatus());
+        if (statusAnterior == Inscricao.StatusInscricao.LISTA_ESPERA) {
+            listaEsperaService.remover(inscricao.getEvento().getId(), inscricao.getParticipante().getId());
+        }
+        return toDTO(inscricao);
+    }
+
+    /**
+     * Confirma em bloco pendentes do evento, por ids ou status, enquanto houver vagas; as demais continuam pendentes
+     */
+    @Transactional
+    public ResultadoOperacaoInscricoesDTO confirmarInscricoesDoEvento(Long eventoId, OperacaoInscricoesDTO operacao) {
+        Evento evento = eventoRepository.findById(eventoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Evento não encontrado com ID: " + eventoId));
+        if (operacao.getStatus() != null && operacao.getStatus() != Inscricao.StatusInscricao.PENDENTE) {
+            throw new ValidationException("Apenas inscrições pendentes podem ser confirmadas.");
+        }
+        ResultadoOperacaoInscricoesDTO resultado = new ResultadoOperacaoInscricoesDTO(eventoId);
+        VagasEvento vagas = alocadorVagasService.buscar(eventoId);
+        BlocosInscricoes blocos = new BlocosInscricoes(eventoId, operacao, EnumSet.of(Inscricao.StatusInscricao.PENDENTE));
+        boolean esgotado = false;
+        List<Object[]> bloco;
+        while ((bloco = blocos.proximo()) != null) {
+            resultado.setSelecionadas(resultado.getSelecionadas() + bloco.size());
+            Map<Boolean, List<Object[]>> porReserva = bloco.stream()
+                    .collect(Collectors.partitioningBy(InscricaoService::vagaReservada));
+            // promovidas da lista de espera já têm a vaga reservada e são confirmadas sem nova reserva
+            List<Object[]> comVaga = porReserva.get(true);
+            if (!comVaga.isEmpty()) {
+                int confirmadas = inscricaoRepository.alterarStatus(ids(comVaga),
+                        Inscricao.StatusInscricao.PENDENTE, Inscricao.StatusInscricao.CONFIRMADA);
+                resultado.setAlteradas(resultado.getAlteradas() + confirmadas);
+                historicoInscricoesService.registrarTransicoes(eventoId, comVaga.subList(0, confirmadas),
+                        Inscricao.StatusInscricao.CONFIRMADA);
+                rankingPopularidadeService.registrarTransicoes(eventoId, Inscricao.StatusInscricao.PENDENTE,
+                        Inscricao.StatusInscricao.CONFIRMADA, true, confirmadas);
+            }
+            List<Object[]> pendentes = porReserva.get(false);
+            if (pendentes.isEmpty()) {
+                continue;
+            }
+            List<Long> ids = ids(pendentes);
+            int reservadas = esgotado ? 0 : reservarVagasDoBloco(evento, vagas, ids.size());
+            esgotado = reservadas < ids.size();
+            resultado.setSemVaga(resultado.getSemVaga() + ids.size() - reservadas);
+            if (reservadas == 0) {
+                continue;
+            }
+
+            int confirmadas = inscricaoRepository.alterarStatus(ids.subList(0, reservadas),
+                    Inscricao.StatusInscricao.PENDENTE, Inscricao.StatusInscricao.CONFIRMADA);
+            if (confirmadas < reservadas) {
+                // inscrições que deixaram de estar pendentes depois da seleção devolvem a vaga
+                devolverVagas(eventoId, vagas, reservadas - confirmadas);
+            }
+            resultado.setAlteradas(resultado.getAlteradas() + confirmadas);
+            historicoInscricoesService.registrarTransicoes(eventoId, pendentes.subList(0, confirmadas),
+                    Inscricao.StatusInscricao.CONFIRMADA);
+            rankingPopularidadeService.registrarTransicoes(eventoId, Inscricao.StatusInscricao.PENDENTE,
+                    Inscricao.StatusInscricao.CONFIRMADA, confirmadas);
+        }
+        resultado.setIgnoradas(blocos.ignoradas(resultado.getSelecionadas()));
+        return resultado;
+    }
+
+    /**
+     * Cancela em bloco inscrições do evento, por ids ou status, devolvendo as vagas liberadas à lista de espera
+     */
+    @Transactional
+    public ResultadoOperacaoInscricoesDTO cancelarInscricoesDoEvento(Long eventoId, OperacaoInscricoesDTO operacao) {
+        if (!eventoRepository.existsById(eventoId)) {
+            throw new ResourceNotFoundException("Evento não encontrado com ID: " + eventoId);
+        }
+        if (operacao.getStatus() == Inscricao.StatusInscricao.CANCELADA) {
+            throw new ValidationException("As inscrições selecionadas já estão canceladas.");
+        }
+        Set<Inscricao.StatusInscricao> elegiveis = operacao.getStatus() != null
+                ? EnumSet.of(operacao.getStatus())
+                : EnumSet.complementOf(EnumSet.of(Inscricao.StatusInscricao.CANCELADA));
+        ResultadoOperacaoInscricoesDTO resultado = new ResultadoOperacaoInscricoesDTO(eventoId);
+        BlocosInscricoes blocos = new BlocosInscricoes(eventoId, operacao, elegiveis);
+        long liberadas = 0;
+        List<Object[]> bloco;
+        while ((bloco = blocos.proximo()) != null) {
+            resultado.setSelecionadas(resultado.getSelecionadas() + bloco.size());
+            Map<Inscricao.StatusInscricao, List<Object[]>> porStatus = bloco.stream()
+                    .collect(Collectors.groupingBy(situacao -> (Inscricao.StatusInscricao) situacao[1]));
+            for (Map.Entry<Inscricao.StatusInscricao, List<Object[]>> grupo : porStatus.entrySet()) {
+                Inscricao.StatusInscricao statusAnterior = grupo.getKey();
+                Map<Boolean, List<Object[]>> porReserva = grupo.getValue().stream()
+                        .collect(Collectors.partitioningBy(InscricaoService::vagaReservada));
+                for (Map.Entry<Boolean, List<Object[]>> parte : porReserva.entrySet()) {
+                    if (parte.getValue().isEmpty()) {
+                        continue;
+                    }
+                    int canceladas = inscricaoRepository.alterarStatus(ids(parte.getValue()), statusAnterior,
+                            Inscricao.StatusInscricao.CANCELADA);
+                    resultado.setAlteradas(resultado.getAlteradas() + canceladas);
+                    historicoInscricoesService.registrarTransicoes(eventoId, parte.getValue(),
+                            Inscricao.StatusInscricao.CANCELADA);
+                    rankingPopularidadeService.registrarTransicoes(eventoId, statusAnterior,
+                            Inscricao.StatusInscricao.CANCELADA, parte.getKey(), canceladas);
+                    if (Inscricao.ocupaVaga(statusAnterior, parte.getKey())) {
+                        liberadas += canceladas;
+                    }
+                }
+                if (statusAnterior == Inscricao.StatusInscricao.LISTA_ESPERA) {
+                    grupo.getValue().forEach(situacao -> listaEsperaService.remover(eventoId, (Long) situacao[2]));
+                }
+            }
+        }
+        if (liberadas > 0) {
+            devolverVagas(eventoId, alocadorVagasService.buscar(eventoId), liberadas);
+            for (long i = 0; i < liberadas && listaEsperaService.tamanho(eventoId) > 0; i++) {
+                promoverListaEspera(eventoId);
+            }
+        }
+        resultado.setIgnoradas(blocos.ignoradas(resultado.getSelecionadas()));
+        return resultado;
     }
 
     @Transactional(readOnly = true)
     public Page<InscricaoDTO> buscarInscricoesPorParticipante(Long participanteId, Pageable pageable) {
-        return inscricaoRepository.findByParticipanteId(participanteId, pageable).map(this::toDTO);
+        return inscricaoRepository.findComNomesByParticipanteId(participanteId, pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<InscricaoDTO> buscarInscricoesPorEvento(Long eventoId, Pageable pageable) {
-        return inscricaoRepository.findByEventoId(eventoId, pageable).map(this::toDTO);
+        return inscricaoRepository.findComNomesByEventoId(eventoId, pageable);
+    }
+
+    /**
+     * Aplica a transição de status ao contador de vagas, ao ranking e ao histórico; falta de vaga desfaz
+     * a transação. Um status nulo representa a ausência da inscrição.
+     */
+    private void registrarTransicaoStatus(Inscricao inscricao, Inscricao.StatusInscricao statusAnterior,
+                                          Inscricao.StatusInscricao statusNovo) {
+        Long eventoId = inscricao.getEvento().getId();
+        historicoInscricoesService.registrar(inscricao, statusAnterior, statusNovo);
+        boolean vagaReservada = inscricao.isVagaReservada();
+        long delta = (Inscricao.ocupaVaga(statusNovo, vagaReservada) ? 1 : 0)
+                - (Inscricao.ocupaVaga(statusAnterior, vagaReservada) ? 1 : 0);
+        if (delta > 0) {
+            reservarVaga(eventoId);
+        }
+        if (delta < 0) {
+            eventoRepository.ajustarInscricoesConfirmadas(eventoId, delta);
+            VagasEvento vagas = alocadorVagasService.buscar(eventoId);
+            if (vagas != null) {
+                AposCommit.executar(vagas::liberar);
+            }
+        }
+        rankingPopularidadeService.registrarTransicao(eventoId, statusAnterior, statusNovo, vagaReservada);
+        if (delta < 0) {
+            promoverListaEspera(eventoId);
+        }
+    }
+
+    /**
+     * Promove o primeiro da lista de espera na transação que liberou a vaga: confirmado em eventos gratuitos,
+     * pendente com a vaga reservada nos pagos. Retorna se alguém foi promovido.
+     */
+    private boolean promoverListaEspera(Long eventoId) {
+        if (listaEsperaService.tamanho(eventoId) == 0) {
+            return false;
+        }
+        Evento evento = eventoRepository.findById(eventoId).orElse(null);
+        if (evento == null) {
+            return false;
+        }
+        if (eventoRepository.reservarVagas(eventoId, 1) == 0) {
+            return false;
+        }
+        boolean gratuito = evento.isGratuito();
+        Inscricao.StatusInscricao statusPromovida = gratuito
+                ? Inscricao.StatusInscricao.CONFIRMADA
+                : Inscricao.StatusInscricao.PENDENTE;
+        FilaEspera.Entrada entrada;
+        while ((entrada = listaEsperaService.retirarPrimeiro(eventoId)) != null) {
+            if (inscricaoRepository.promoverDaListaEspera(entrada.getInscricaoId(), statusPromovida, !gratuito) > 0) {
+                historicoInscricoesService.registrar(entrada.getInscricaoId(), eventoId, entrada.getParticipanteId(),
+                        Inscricao.StatusInscricao.LISTA_ESPERA, statusPromovida);
+                rankingPopularidadeService.registrarTransicao(eventoId, Inscricao.StatusInscricao.LISTA_ESPERA,
+                        statusPromovida, !gratuito);
+                return true;
+            }
+        }
+        eventoRepository.ajustarInscricoesConfirmadas(eventoId, -1);
+        return false;
+    }
+
+    /**
+     * Promove a lista de espera enquanto houver vagas livres, em transação própria; a varredura refaz o que falhar
+     */
+    private void promoverComVagasLivres(Long eventoId) {
+        try {
+            transacaoNova.executeWithoutResult(status -> {
+                while (promoverListaEspera(eventoId)) {
+                    // cada volta ocupa uma vaga livre com o primeiro da fila
+                }
+            });
+        } catch (RuntimeException e) {
+            // a inscrição que disparou a conferência continua gravada; ver varrerListasEspera
+        }
+    }
+
+    private void reservarVaga(Long eventoId) {
+        VagasEvento vagas = alocadorVagasService.buscar(eventoId);
+        if (vagas != null) {
+            if (!vagas.reservar()) {
+                throw new ValidationException("Evento lotado. Não há vagas disponíveis.");
+            }
+            AposCommit.aoDesfazer(vagas::liberar);
+        }
+        if (eventoRepository.reservarVagas(eventoId, 1) == 0) {
+            throw new ValidationException("Evento lotado. Não há vagas disponíveis.");
+        }
+    }
+
+    /**
+     * Reserva até a quantidade pedida de vagas para um bloco de confirmações, no alocador em memória
+     * (eventos de alta demanda) e no contador do evento, e retorna quantas foram reservadas em ambos
+     */
+    private int reservarVagasDoBloco(Evento evento, VagasEvento vagas, int quantidade) {
+        int emMemoria = quantidade;
+        if (vagas != null) {
+            emMemoria = 0;
+            while (emMemoria < quantidade && vagas.reservar()) {
+                emMemoria++;
+            }
+        }
+        int reservadas = (int) reservarVagasDisponiveis(evento, emMemoria);
+        if (vagas != null) {
+            for (int i = reservadas; i < emMemoria; i++) {
+                vagas.liberar();
+            }
+            int reservadasEmMemoria = reservadas;
+            AposCommit.aoDesfazer(() -> {
+                for (int i = 0; i < reservadasEmMemoria; i++) {
+                    vagas.liberar();
+                }
+            });
+        }
+        return reservadas;
+    }
+
+    private void devolverVagas(Long eventoId, VagasEvento vagas, long quantidade) {
+        eventoRepository.ajustarInscricoesConfirmadas(eventoId, -quantidade);
+        if (vagas != null) {
+            AposCommit.executar(() -> {
+                for (long i = 0; i < quantidade; i++) {
+                    vagas.liberar();
+                }
+            });
+        }
+    }
+
+    /**
+     * Motivo da recusa de um item do lote, ou null se ele puder ser inscrito.
+     * Registra o participante em inscritosPorEvento, então repetições dentro do próprio lote também são recusadas.
+     */
+    private String validarItemLote(InscricaoDTO pedido, Map<Long, Participante> participantes,
+                                   Map<Long, Evento> eventos, Map<Long, Set<Long>> inscritosPorEvento) {
+        if (!participantes.containsKey(pedido.getParticipanteId())) {
+            return "Participante não encontrado com ID: " + pedido.getParticipanteId();
+        }
+        Evento evento = eventos.get(pedido.getEventoId());
+        if (evento == null) {
+            return "Evento não encontrado com ID: " + pedido.getEventoId();
+        }
+        if (evento.getStatus() == Evento.StatusEvento.CANCELADO || evento.getStatus() == Evento.StatusEvento.CONCLUIDO) {
+            return "Não é possível inscrever-se em eventos cancelados ou concluídos.";
+        }
+        if (!evento.temVagasDisponiveis()) {
+            return "Evento lotado. Não há vagas disponíveis.";
+        }
+        if (!inscritosPorEvento.computeIfAbsent(evento.getId(), id -> new HashSet<>()).add(pedido.getParticipanteId())) {
+            return "Participante já inscrito neste evento.";
+        }
+        return null;
+    }
+
+    /**
+     * Reserva de uma vez as vagas dos candidatos de um evento gratuito e devolve os admitidos, na ordem do lote.
+     * Os candidatos que excedem as vagas livres são recusados.
+     * Em eventos de alta demanda cada admitido também precisa de vaga no alocador em memória, que já pode ter
+     * concedido vagas a inscrições ainda na fila de gravação; as vagas do banco que sobrarem são devolvidas.
+     */
+    private List<Integer> admitirComVagas(Evento evento, List<Integer> candidatos, List<InscricaoDTO> pedidos,
+                                          ItemLoteInscricaoDTO[] resultados) {
+        VagasEvento vagas = alocadorVagasService.buscar(evento.getId());
+        if (vagas != null) {
+            List<Integer> registrados = new ArrayList<>();
+            for (Integer indice : candidatos) {
+                Long participanteId = pedidos.get(indice).getParticipanteId();
+                if (vagas.registrarParticipante(participanteId)) {
+                    AposCommit.aoDesfazer(() -> vagas.removerParticipante(participanteId));
+                    registrados.add(indice);
+                } else {
+                    resultados[indice] = ItemLoteInscricaoDTO.recusada(indice, pedidos.get(indice),
+                            "Participante já inscrito neste evento.");
+                }
+            }
+            candidatos = registrados;
+        }
+
+        long reservadas = reservarVagasDisponiveis(evento, candidatos.size());
+        List<Integer> admitidos = new ArrayList<>();
+        for (Integer indice : candidatos) {
+            if (admitidos.size() < reservadas && (vagas == null || vagas.reservar())) {
+                if (vagas != null) {
+                    AposCommit.aoDesfazer(vagas::liberar);
+                }
+                admitidos.add(indice);
+            } else {
+                if (vagas != null) {
+                    vagas.removerParticipante(pedidos.get(indice).getParticipanteId());
+                }
+                resultados[indice] = ItemLoteInscricaoDTO.recusada(indice, pedidos.get(indice),
+                        "Evento lotado. Não há vagas disponíveis.");
+            }
+        }
+        if (admitidos.size() < reservadas) {
+            eventoRepository.ajustarInscricoesConfirmadas(evento.getId(), admitidos.size() - reservadas);
+        }
+        return admitidos;
+    }
+
+    /**
+     * Reserva até a quantidade pedida de vagas e retorna quantas foram reservadas.
+     * Se outra transação ocupar vagas entre a leitura do contador e o UPDATE condicional, o contador é relido
+     * e a reserva é refeita com as vagas que sobraram.
+     */
+    private long reservarVagasDisponiveis(Evento evento, long quantidade) {
+        if (quantidade == 0) {
+            return 0;
+        }
+        if (evento.temCapacidadeIlimitada()) {
+            eventoRepository.reservarVagas(evento.getId(), quantidade);
+            return quantidade;
+        }
+        long confirmadas = evento.getNumeroInscricoesConfirmadas();
+        for (int tentativa = 0; tentativa < MAXIMO_TENTATIVAS_RESERVA; tentativa++) {
+            long livres = Math.min(quantidade, evento.getCapacidadeMaxima() - confirmadas);
+            if (livres <= 0) {
+                return 0;
+            }
+            if (eventoRepository.reservarVagas(evento.getId(), livres) > 0) {
+                return livres;
+            }
+            confirmadas = eventoRepository.buscarInscricoesConfirmadas(evento.getId());
+        }
+        return 0;
+    }
+
+    private static boolean vagaReservada(Object[] situacao) {
+        return (Boolean) situacao[3];
+    }
+
+    private static List<Long> ids(List<Object[]> situacoes) {
+        return situacoes.stream().map(situacao -> (Long) situacao[0]).collect(Collectors.toList());
+    }
+
+    private boolean violouRestricao(DataIntegrityViolationException e, String restricao) {
+        String mensagem = e.getMostSpecificCause().getMessage();
+        return mensagem != null && mensagem.toLowerCase().contains(restricao);
     }
 
     // Métodos de conversão Entity para DTO
     private InscricaoDTO toDTO(Inscricao inscricao) {
-        return new InscricaoDTO(
+        InscricaoDTO dto = new InscricaoDTO(
                 inscricao.getId(),
                 inscricao.getParticipante().getId(),
                 inscricao.getEvento().getId(),
@@ -144,6 +813,61 @@ public class InscricaoService {
                 inscricao.getParticipante().getNome(), // Adiciona nome do participante
                 inscricao.getEvento().getNome() // Adiciona nome do evento
         );
+        dto.setVersao(inscricao.getVersao());
+        return dto;
+    }
+
+    /**
+     * Percorre em blocos as inscrições de uma operação em massa: os ids informados, ordenados e sem repetição,
+     * ou todas as inscrições do evento nos status elegíveis, por ordem de id
+     */
+    private class BlocosInscricoes {
+
+        private final Long eventoId;
+        private final Set<Inscricao.StatusInscricao> elegiveis;
+        private final List<Long> ids;
+        private int inicio;
+        private long ultimoId;
+
+        private BlocosInscricoes(Long eventoId, OperacaoInscricoesDTO operacao, Set<Inscricao.StatusInscricao> elegiveis) {
+            this.eventoId = eventoId;
+            this.elegiveis = elegiveis;
+            if (operacao.getIds() == null && operacao.getStatus() == null) {
+                throw new ValidationException("Informe os ids ou o status das inscrições.");
+            }
+            this.ids = operacao.getIds() != null ? new ArrayList<>(new TreeSet<>(operacao.getIds())) : null;
+        }
+
+        /**
+         * Próximo bloco de situações (id, status, participanteId, vagaReservada), ou null ao final
+         */
+        private List<Object[]> proximo() {
+            if (ids == null) {
+                List<Object[]> bloco = inscricaoRepository.findSituacoesByEventoId(eventoId, elegiveis, ultimoId,
+                        PageRequest.of(0, TAMANHO_BLOCO_OPERACAO));
+                if (bloco.isEmpty()) {
+                    return null;
+                }
+                ultimoId = (Long) bloco.get(bloco.size() - 1)[0];
+                return bloco;
+            }
+            while (inicio < ids.size()) {
+                List<Long> parte = ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_OPERACAO, ids.size()));
+                inicio += parte.size();
+                List<Object[]> bloco = inscricaoRepository.findSituacoesByEventoIdAndIdIn(eventoId, elegiveis, parte);
+                if (!bloco.isEmpty()) {
+                    return bloco;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Ids informados que não pertencem ao evento ou não estavam em um status elegível
+         */
+        private long ignoradas(long selecionadas) {
+            return ids == null ? 0 : ids.size() - selecionadas;
+        }
     }
 }
 
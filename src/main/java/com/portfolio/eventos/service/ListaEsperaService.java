@@ -0,0 +1,123 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.espera.FilaEspera;
+import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Filas de espera em memória dos eventos lotados.
+ *
+ * A ordem fica gravada na coluna posicao_lista_espera das inscrições, e as filas são reconstruídas a partir
+ * dela na inicialização. Entradas e saídas só chegam à memória depois do commit; a retirada do primeiro
+ * da fila acontece na hora, para que promoções concorrentes não escolham a mesma inscrição, e é desfeita
+ * se a transação falhar.
+ */
+@Service
+public class ListaEsperaService {
+
+    private final InscricaoRepository inscricaoRepository;
+    private final Map<Long, FilaEspera> filas = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ListaEsperaService(InscricaoRepository inscricaoRepository) {
+        this.inscricaoRepository = inscricaoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        filas.clear();
+        for (Inscricao inscricao : inscricaoRepository.findByStatus(Inscricao.StatusInscricao.LISTA_ESPERA)) {
+            fila(inscricao.getEvento().getId()).adicionar(inscricao.getPosicaoListaEspera(), inscricao.getId(),
+                    inscricao.getParticipante().getId());
+        }
+    }
+
+    /**
+     * Senha de chegada para uma nova entrada na fila do evento
+     */
+    public long proximaSenha(Long eventoId) {
+        return fila(eventoId).proximaSenha();
+    }
+
+    /**
+     * Coloca na fila, após o commit, uma inscrição gravada com status LISTA_ESPERA
+     */
+    public void adicionar(Inscricao inscricao) {
+        FilaEspera fila = fila(inscricao.getEvento().getId());
+        long senha = inscricao.getPosicaoListaEspera();
+        Long inscricaoId = inscricao.getId();
+        Long participanteId = inscricao.getParticipante().getId();
+        AposCommit.executar(() -> fila.adicionar(senha, inscricaoId, participanteId));
+    }
+
+    /**
+     * Retira a entrada mais antiga da fila do evento, ou null se não houver ninguém esperando.
+     * Se a transação corrente for desfeita a entrada volta à fila na mesma posição.
+     */
+    public FilaEspera.Entrada retirarPrimeiro(Long eventoId) {
+        FilaEspera fila = filas.get(eventoId);
+        if (fila == null) {
+            return null;
+        }
+        FilaEspera.Entrada entrada = fila.retirarPrimeiro();
+        if (entrada != null) {
+            AposCommit.aoDesfazer(() -> fila.adicionar(entrada.getSenha(), entrada.getInscricaoId(),
+                    entrada.getParticipanteId()));
+        }
+        return entrada;
+    }
+
+    public void remover(Long eventoId, Long participanteId) {
+        AposCommit.executar(() -> {
+            FilaEspera fila = filas.get(eventoId);
+            if (fila != null) {
+                fila.remover(participanteId);
+            }
+        });
+    }
+
+    /**
+     * Descarta, após o commit, a fila de um evento removido; as inscrições da fila são removidas em cascata
+     */
+    public void removerEvento(Long eventoId) {
+        AposCommit.executar(() -> filas.remove(eventoId));
+    }
+
+    /**
+     * Posição do participante na fila do evento, começando em 1; 0 se ele não estiver na fila
+     */
+    public int posicao(Long eventoId, Long participanteId) {
+        FilaEspera fila = filas.get(eventoId);
+        return fila != null ? fila.posicao(participanteId) : 0;
+    }
+
+    public int tamanho(Long eventoId) {
+        FilaEspera fila = filas.get(eventoId);
+        return fila != null ? fila.tamanho() : 0;
+    }
+
+    /**
+     * Eventos com alguém na fila de espera
+     */
+    public List<Long> eventosComFila() {
+        return filas.entrySet().stream()
+                .filter(fila -> fila.getValue().tamanho() > 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private FilaEspera fila(Long eventoId) {
+        return filas.computeIfAbsent(eventoId, id -> new FilaEspera());
+    }
+}
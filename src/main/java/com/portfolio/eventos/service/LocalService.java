@@ -16,10 +16,12 @@ import java.util.stream.Collectors;
 public class LocalService {
 
     private final LocalRepository localRepository;
+    private final BuscaTextualService buscaTextualService;
 
     @Autowired
-    public LocalService(LocalRepository localRepository) {
+    public LocalService(LocalRepository localRepository, BuscaTextualService buscaTextualService) {
         this.localRepository = localRepository;
+        this.buscaTextualService = buscaTextualService;
     }
 
     @Transactional
@@ -56,10 +58,14 @@ public class LocalService {
             throw new ValidationException("Já existe outro local com este nome.");
         }
 
+        boolean nomeAlterado = !localExistente.getNome().equals(localDTO.getNome());
         localExistente.setNome(localDTO.getNome());
         localExistente.setEndereco(localDTO.getEndereco());
         localExistente.setCapacidade(localDTO.getCapacidade());
         localExistente = localRepository.save(localExistente);
+        if (nomeAlterado) {
+            buscaTextualService.reindexarEventosDoLocal(id);
+        }
         return toDTO(localExistente);
     }
 
@@ -1,5 +1,7 @@
 package com.portfolio.eventos.service;
 
+import com.portfolio.eventos.dto.CursorPageDTO;
+import com.portfolio.eventos.dto.EstatisticasSenhasDTO;
 import com.portfolio.eventos.dto.ParticipanteDTO;
 import com.portfolio.eventos.dto.ParticipanteRequestDTO;
 import com.portfolio.eventos.entity.Participante;
@@ -7,76 +9,152 @@ import com.portfolio.eventos.exception.ResourceNotFoundException;
 import com.portfolio.eventos.exception.ValidationException;
 import com.portfolio.eventos.repository.ParticipanteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 public class ParticipanteService {
 
+    /** Participantes no máximo por página da listagem */
+    public static final int TAMANHO_MAXIMO_PAGINA = 1000;
+
+    /** Participantes lidos do banco por consulta na exportação */
+    public static final int TAMANHO_PAGINA_EXPORTACAO = 1000;
+
     private final ParticipanteRepository participanteRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final CodificacaoSenhasService codificacaoSenhasService;
+    private final TransactionTemplate transacao;
 
     @Autowired
-    public ParticipanteService(ParticipanteRepository participanteRepository, PasswordEncoder passwordEncoder) {
+    public ParticipanteService(ParticipanteRepository participanteRepository,
+                               CodificacaoSenhasService codificacaoSenhasService,
+                               PlatformTransactionManager transactionManager) {
         this.participanteRepository = participanteRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.codificacaoSenhasService = codificacaoSenhasService;
+        this.transacao = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
+    /**
+     * A senha é codificada antes da transação, para não manter uma conexão do banco durante a codificação;
+     * o email é verificado antes, para não codificar a senha de um cadastro que seria recusado, e de novo na gravação
+     */
     public ParticipanteDTO criarParticipante(ParticipanteRequestDTO participanteDTO) {
-        if (participanteRepository.existsByEmail(participanteDTO.getEmail())) {
-            throw new ValidationException("Já existe um participante com este email.");
-        }
+        verificarEmailLivre(participanteDTO.getEmail());
+        String senha = codificacaoSenhasService.codificar(participanteDTO.getSenha());
+
+        return transacao.execute(status -> {
+            verificarEmailLivre(participanteDTO.getEmail());
+            Participante participante = new Participante(
+                    participanteDTO.getNome(),
+                    participanteDTO.getEmail(),
+                    participanteDTO.getTelefone(),
+                    senha
+            );
+            participante.setRole(participanteDTO.getRole());
+            participante = participanteRepository.save(participante);
+            return toDTO(participante);
+        });
+    }
 
-        Participante participante = new Participante(
-                participanteDTO.getNome(),
-                participanteDTO.getEmail(),
-                participanteDTO.getTelefone(),
-                passwordEncoder.encode(participanteDTO.getSenha())
-        );
-        participante.setRole(participanteDTO.getRole());
-        participante = participanteRepository.save(participante);
-        return toDTO(participante);
+    /**
+     * Página de participantes com os totais de inscrições preenchidos por uma consulta agrupada para a página toda
+     */
+    @Transactional(readOnly = true)
+    public Page<ParticipanteDTO> listarParticipantes(Pageable pageable) {
+        validarTamanhoPagina(pageable.getPageSize());
+        Page<ParticipanteDTO> participantes = participanteRepository.findPagina(pageable);
+        preencherTotais(participantes.getContent());
+        return participantes;
     }
 
+    /**
+     * Paginação por keyset, em ordem de id: o cursor vazio inicia a listagem e os seguintes carregam o id do
+     * último participante retornado
+     */
     @Transactional(readOnly = true)
-    public List<ParticipanteDTO> listarParticipantes() {
-        return participanteRepository.findAll().stream()
-                .map(this::toDTOComTotais)
-                .collect(Collectors.toList());
+    public CursorPageDTO<ParticipanteDTO> listarParticipantesPorCursor(String cursor, int size) {
+        validarTamanhoPagina(size);
+        long ultimoId = cursor == null || cursor.isBlank() ? 0 : decodificarCursor(cursor);
+        List<ParticipanteDTO> participantes = participanteRepository.findAposId(ultimoId, PageRequest.of(0, size + 1));
+        String proximoCursor = null;
+        if (participantes.size() > size) {
+            participantes = participantes.subList(0, size);
+            proximoCursor = codificarCursor(participantes.get(size - 1).getId());
+        }
+        preencherTotais(participantes);
+        return new CursorPageDTO<>(participantes, size, proximoCursor);
+    }
+
+    /**
+     * Entrega ao consumidor todos os participantes, com os totais, em ordem de id, e retorna quantos foram
+     * entregues. Lê páginas por keyset, cada uma em sua própria consulta, sem manter uma transação aberta nem
+     * todos os participantes em memória.
+     */
+    public long exportarParticipantes(Consumer<ParticipanteDTO> consumidor) {
+        long exportados = 0;
+        long ultimoId = 0;
+        List<ParticipanteDTO> pagina;
+        do {
+            pagina = participanteRepository.findAposId(ultimoId, PageRequest.of(0, TAMANHO_PAGINA_EXPORTACAO));
+            preencherTotais(pagina);
+            for (ParticipanteDTO participante : pagina) {
+                consumidor.accept(participante);
+                ultimoId = participante.getId();
+                exportados++;
+            }
+        } while (pagina.size() == TAMANHO_PAGINA_EXPORTACAO);
+        return exportados;
     }
 
     @Transactional(readOnly = true)
     public ParticipanteDTO buscarParticipantePorId(Long id) {
         Participante participante = participanteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Participante não encontrado com ID: " + id));
-        return toDTOComTotais(participante);
+        ParticipanteDTO dto = toDTO(participante);
+        preencherTotais(List.of(dto));
+        return dto;
     }
 
-    @Transactional
+    /**
+     * Como na criação, a nova senha é codificada antes da transação
+     */
     public ParticipanteDTO atualizarParticipante(Long id, ParticipanteRequestDTO participanteDTO) {
-        Participante participanteExistente = participanteRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Participante não encontrado com ID: " + id));
-
-        if (!participanteExistente.getEmail().equalsIgnoreCase(participanteDTO.getEmail()) &&
-            participanteRepository.existsByEmail(participanteDTO.getEmail())) {
-            throw new ValidationException("Já existe outro participante com este email.");
-        }
-
-        participanteExistente.setNome(participanteDTO.getNome());
-        participanteExistente.setEmail(participanteDTO.getEmail());
-        participanteExistente.setTelefone(participanteDTO.getTelefone());
         // A senha só deve ser atualizada se uma nova for fornecida
-        if (participanteDTO.getSenha() != null && !participanteDTO.getSenha().isEmpty()) {
-            participanteExistente.setSenha(passwordEncoder.encode(participanteDTO.getSenha()));
-        }
-        participanteExistente.setRole(participanteDTO.getRole());
-        participanteExistente = participanteRepository.save(participanteExistente);
-        return toDTO(participanteExistente);
+        String senha = participanteDTO.getSenha() != null && !participanteDTO.getSenha().isEmpty()
+                ? codificacaoSenhasService.codificar(participanteDTO.getSenha())
+                : null;
+
+        return transacao.execute(status -> {
+            Participante participanteExistente = participanteRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Participante não encontrado com ID: " + id));
+
+            if (!participanteExistente.getEmail().equalsIgnoreCase(participanteDTO.getEmail()) &&
+                participanteRepository.existsByEmail(participanteDTO.getEmail())) {
+                throw new ValidationException("Já existe outro participante com este email.");
+            }
+
+            participanteExistente.setNome(participanteDTO.getNome());
+            participanteExistente.setEmail(participanteDTO.getEmail());
+            participanteExistente.setTelefone(participanteDTO.getTelefone());
+            if (senha != null) {
+                participanteExistente.setSenha(senha);
+            }
+            participanteExistente.setRole(participanteDTO.getRole());
+            participanteExistente = participanteRepository.save(participanteExistente);
+            return toDTO(participanteExistente);
+        });
     }
 
     @Transactional
@@ -90,6 +168,16 @@ public class ParticipanteService {
         participanteRepository.delete(participante);
     }
 
+    public EstatisticasSenhasDTO obterEstatisticasSenhas() {
+        return codificacaoSenhasService.obterEstatisticas();
+    }
+
+    private void verificarEmailLivre(String email) {
+        if (participanteRepository.existsByEmail(email)) {
+            throw new ValidationException("Já existe um participante com este email.");
+        }
+    }
+
     // Métodos de conversão Entity para DTO
     private ParticipanteDTO toDTO(Participante participante) {
         return new ParticipanteDTO(
@@ -103,11 +191,47 @@ public class ParticipanteService {
         );
     }
 
-    private ParticipanteDTO toDTOComTotais(Participante participante) {
-        ParticipanteDTO dto = toDTO(participante);
-        dto.setTotalInscricoes(participanteRepository.countInscricoesByParticipanteId(participante.getId()));
-        dto.setTotalInscricoesConfirmadas(participanteRepository.countInscricoesConfirmadasByParticipanteId(participante.getId()));
-        return dto;
+    /**
+     * Preenche os totais de inscrições dos participantes com uma única consulta agrupada
+     */
+    private void preencherTotais(List<ParticipanteDTO> participantes) {
+        if (participantes.isEmpty()) {
+            return;
+        }
+        Map<Long, ParticipanteDTO> porId = new HashMap<>();
+        for (ParticipanteDTO participante : participantes) {
+            participante.setTotalInscricoes(0L);
+            participante.setTotalInscricoesConfirmadas(0L);
+            porId.put(participante.getId(), participante);
+        }
+        for (Object[] totais : participanteRepository.countInscricoesPorParticipante(porId.keySet())) {
+            ParticipanteDTO participante = porId.get((Long) totais[0]);
+            participante.setTotalInscricoes(((Number) totais[1]).longValue());
+            participante.setTotalInscricoesConfirmadas(((Number) totais[2]).longValue());
+        }
+    }
+
+    private static void validarTamanhoPagina(int size) {
+        if (size < 1 || size > TAMANHO_MAXIMO_PAGINA) {
+            throw new ValidationException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
+        }
+    }
+
+    private static String codificarCursor(long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodificarCursor(String cursor) {
+        try {
+            long ultimoId = Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            if (ultimoId < 0) {
+                throw new ValidationException("Cursor inválido.");
+            }
+            return ultimoId;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Cursor inválido.", e);
+        }
     }
 }
 
@@ -0,0 +1,194 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.EventoDTO;
+import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.ranking.ContagemInscricoes;
+import com.portfolio.eventos.ranking.RankingContagens;
+import com.portfolio.eventos.repository.EventoRepository;
+import com.portfolio.eventos.repository.specification.EventoSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Ranking de eventos por número de inscrições em cada status, mantido em memória.
+ * É carregado com uma consulta agregada na inicialização e ajustado pelo InscricaoService
+ * a cada mudança de status, após o commit.
+ *
+ * Os dados dos eventos do topo ficam em cache e são invalidados pelo EventoService,
+ * de modo que a leitura do ranking não consulta o banco. O total de confirmadas dos eventos soma as pendentes
+ * com vaga reservada, como o contador do evento.
+ */
+@Service
+public class RankingPopularidadeService {
+
+    /** Maior quantidade de eventos que pode ser pedida ao ranking */
+    public static final int LIMITE_MAXIMO = 100;
+
+    private final EventoRepository eventoRepository;
+    private volatile Map<Inscricao.StatusInscricao, RankingContagens> rankings = novosRankings();
+    // Pendentes com vaga reservada por evento; substituído junto com os rankings
+    private volatile Map<Long, Long> vagasReservadas = new ConcurrentHashMap<>();
+    private final Map<Long, EventoDTO> eventosEmCache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RankingPopularidadeService(EventoRepository eventoRepository) {
+        this.eventoRepository = eventoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        aplicar(eventoRepository.findContagensInscricoesPorStatus(), eventoRepository.findContagensVagasReservadas());
+    }
+
+    /**
+     * Recalcula o ranking com a consulta agregada na transação corrente e o substitui após o commit
+     */
+    public void recarregar() {
+        List<ContagemInscricoes> contagens = eventoRepository.findContagensInscricoesPorStatus();
+        List<ContagemInscricoes> reservadas = eventoRepository.findContagensVagasReservadas();
+        AposCommit.executar(() -> aplicar(contagens, reservadas));
+    }
+
+    public void adicionarEvento(Long eventoId) {
+        AposCommit.executar(() -> rankings.values().forEach(ranking -> ranking.incluir(eventoId)));
+    }
+
+    public void atualizarEvento(Long eventoId) {
+        AposCommit.executar(() -> eventosEmCache.remove(eventoId));
+    }
+
+    public void removerEvento(Long eventoId) {
+        AposCommit.executar(() -> {
+            rankings.values().forEach(ranking -> ranking.remover(eventoId));
+            vagasReservadas.remove(eventoId);
+            eventosEmCache.remove(eventoId);
+        });
+    }
+
+    /**
+     * Move uma inscrição do evento entre os rankings; um status nulo representa a ausência da inscrição
+     */
+    public void registrarTransicao(Long eventoId, Inscricao.StatusInscricao statusAnterior,
+                                   Inscricao.StatusInscricao statusNovo) {
+        registrarTransicoes(eventoId, statusAnterior, statusNovo, false, 1);
+    }
+
+    public void registrarTransicao(Long eventoId, Inscricao.StatusInscricao statusAnterior,
+                                   Inscricao.StatusInscricao statusNovo, boolean vagaReservada) {
+        registrarTransicoes(eventoId, statusAnterior, statusNovo, vagaReservada, 1);
+    }
+
+    public void registrarTransicoes(Long eventoId, Inscricao.StatusInscricao statusAnterior,
+                                    Inscricao.StatusInscricao statusNovo, long quantidade) {
+        registrarTransicoes(eventoId, statusAnterior, statusNovo, false, quantidade);
+    }
+
+    /**
+     * Registra de uma vez a mesma transição de várias inscrições do evento, com ou sem vaga reservada
+     */
+    public void registrarTransicoes(Long eventoId, Inscricao.StatusInscricao statusAnterior,
+                                    Inscricao.StatusInscricao statusNovo, boolean vagaReservada, long quantidade) {
+        if (statusAnterior == statusNovo || quantidade == 0) {
+            return;
+        }
+        AposCommit.executar(() -> {
+            if (statusAnterior != null) {
+                rankings.get(statusAnterior).ajustar(eventoId, -quantidade);
+            }
+            if (statusNovo != null) {
+                rankings.get(statusNovo).ajustar(eventoId, quantidade);
+            }
+            if (vagaReservada) {
+                long delta = (statusNovo == Inscricao.StatusInscricao.PENDENTE ? quantidade : 0)
+                        - (statusAnterior == Inscricao.StatusInscricao.PENDENTE ? quantidade : 0);
+                vagasReservadas.merge(eventoId, delta, (total, ajuste) -> total + ajuste == 0 ? null : total + ajuste);
+            }
+        });
+    }
+
+    /**
+     * Eventos com mais inscrições no status informado, com o total de confirmadas atualizado pelo ranking
+     */
+    public List<EventoDTO> maisPopulares(Inscricao.StatusInscricao status, int limite) {
+        List<RankingContagens.Posicao> primeiros = rankings.get(status).primeiros(limite);
+        carregarEventosForaDoCache(primeiros);
+
+        return primeiros.stream()
+                .map(posicao -> eventosEmCache.get(posicao.getId()))
+                .filter(Objects::nonNull)
+                .map(this::comTotalConfirmadasAtual)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Cópia do evento com o total atual de vagas ocupadas (confirmadas e pendentes com vaga reservada) e as vagas
+     * disponíveis mantidos pelo ranking
+     */
+    public EventoDTO comTotalConfirmadasAtual(EventoDTO evento) {
+        long confirmadas = rankings.get(Inscricao.StatusInscricao.CONFIRMADA).total(evento.getId());
+        return comTotalConfirmadas(evento, confirmadas + vagasReservadas.getOrDefault(evento.getId(), 0L));
+    }
+
+    /**
+     * Só consulta o banco quando um evento entra no topo pela primeira vez ou foi alterado desde a última leitura
+     */
+    private void carregarEventosForaDoCache(List<RankingContagens.Posicao> posicoes) {
+        Set<Long> ids = posicoes.stream().map(RankingContagens.Posicao::getId).collect(Collectors.toSet());
+        Set<Long> ausentes = ids.stream().filter(id -> !eventosEmCache.containsKey(id)).collect(Collectors.toSet());
+        if (ausentes.isEmpty()) {
+            return;
+        }
+        if (eventosEmCache.size() + ausentes.size() > LIMITE_MAXIMO * Inscricao.StatusInscricao.values().length) {
+            eventosEmCache.keySet().retainAll(ids);
+        }
+        eventoRepository.findComTotais(EventoSpecifications.comIds(ausentes), Pageable.unpaged())
+                .forEach(evento -> eventosEmCache.put(evento.getId(), evento));
+    }
+
+    /**
+     * Monta rankings novos com as contagens e os publica de uma vez, sem expor um ranking parcial às leituras
+     */
+    private void aplicar(List<ContagemInscricoes> contagens, List<ContagemInscricoes> reservadas) {
+        Map<Inscricao.StatusInscricao, RankingContagens> novos = novosRankings();
+        for (ContagemInscricoes contagem : contagens) {
+            novos.values().forEach(ranking -> ranking.incluir(contagem.getEventoId()));
+            if (contagem.getStatus() != null) {
+                novos.get(contagem.getStatus()).definir(contagem.getEventoId(), contagem.getTotal());
+            }
+        }
+        Map<Long, Long> novasReservadas = new ConcurrentHashMap<>();
+        reservadas.forEach(contagem -> novasReservadas.put(contagem.getEventoId(), contagem.getTotal()));
+        rankings = novos;
+        vagasReservadas = novasReservadas;
+        eventosEmCache.clear();
+    }
+
+    private static Map<Inscricao.StatusInscricao, RankingContagens> novosRankings() {
+        Map<Inscricao.StatusInscricao, RankingContagens> rankings = new EnumMap<>(Inscricao.StatusInscricao.class);
+        for (Inscricao.StatusInscricao status : Inscricao.StatusInscricao.values()) {
+            rankings.put(status, new RankingContagens());
+        }
+        return rankings;
+    }
+
+    private EventoDTO comTotalConfirmadas(EventoDTO evento, long confirmadas) {
+        return new EventoDTO(evento.getId(), evento.getNome(), evento.getDescricao(), evento.getDataInicio(),
+                evento.getDataFim(), evento.getHoraInicio(), evento.getHoraFim(), evento.getCapacidadeMaxima(),
+                evento.getPreco(), evento.getStatus(), evento.getLocalId(), evento.getCategoriaId(),
+                evento.getDataCriacao(), evento.getDataAtualizacao(), confirmadas, evento.isAltaDemanda(),
+                evento.getLimiteInscricoesPorSegundo(), evento.getVersao());
+    }
+}
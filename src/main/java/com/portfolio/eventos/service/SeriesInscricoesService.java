@@ -0,0 +1,256 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.ConsolidacaoSeriesDTO;
+import com.portfolio.eventos.dto.PontoSerieDTO;
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.ConsolidacaoSeries;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo.Granularidade;
+import com.portfolio.eventos.exception.ValidationException;
+import com.portfolio.eventos.historico.AcumuladorSeries;
+import com.portfolio.eventos.repository.ConsolidacaoSeriesRepository;
+import com.portfolio.eventos.repository.InscricoesPorPeriodoRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Séries de inscrições criadas, confirmadas e canceladas por minuto, hora e dia, por evento e de todos os eventos.
+ *
+ * As contagens ficam em InscricoesPorPeriodo e são derivadas do histórico de inscrições: a cada
+ * {@value #INTERVALO_CONSOLIDACAO_MS} ms os registros posteriores ao último consolidado são somados em memória e
+ * gravados com um UPDATE por período alterado, sem recontar as inscrições. Na primeira consolidação, ou depois de
+ * {@link #reconstruir}, o histórico inteiro é agregado no banco com INSERT ... SELECT.
+ *
+ * A consolidação só chega à última sequência consolidada do histórico, abaixo das gravações ainda em andamento;
+ * os registros posteriores, recebidos do histórico após o commit, ficam em memória e são somados às séries na
+ * consulta. Como as demais estruturas em memória, pressupõe uma única instância: as transições feitas em outra só
+ * aparecem nas séries desta depois de consolidadas.
+ */
+@Service
+public class SeriesInscricoesService {
+
+    /** Intervalo entre as consolidações do histórico nas séries */
+    public static final long INTERVALO_CONSOLIDACAO_MS = 10_000;
+
+    /** Períodos no máximo por consulta de série */
+    public static final int MAXIMO_PERIODOS = 1_500;
+
+    /** Registros recentes mantidos em memória; se a consolidação parar, os mais antigos são descartados */
+    public static final int MAXIMO_RECENTES = 500_000;
+
+    private final InscricoesPorPeriodoRepository inscricoesPorPeriodoRepository;
+    private final ConsolidacaoSeriesRepository consolidacaoSeriesRepository;
+    private final HistoricoInscricoesService historicoInscricoesService;
+
+    // Registros do histórico ainda não consolidados, por sequência
+    private final ConcurrentNavigableMap<Long, RegistroHistoricoDTO> recentes = new ConcurrentSkipListMap<>();
+    private final AtomicInteger quantidadeRecentes = new AtomicInteger();
+    private volatile long ultimaConsolidada;
+
+    @Autowired
+    public SeriesInscricoesService(InscricoesPorPeriodoRepository inscricoesPorPeriodoRepository,
+                                   ConsolidacaoSeriesRepository consolidacaoSeriesRepository,
+                                   HistoricoInscricoesService historicoInscricoesService) {
+        this.inscricoesPorPeriodoRepository = inscricoesPorPeriodoRepository;
+        this.consolidacaoSeriesRepository = consolidacaoSeriesRepository;
+        this.historicoInscricoesService = historicoInscricoesService;
+    }
+
+    /**
+     * Assina o histórico antes da carga, para que nenhum registro gravado durante a carga se perca
+     */
+    @PostConstruct
+    void iniciar() {
+        historicoInscricoesService.assinar(this::guardar);
+    }
+
+    /**
+     * Lê a sequência consolidada e traz para a memória os registros posteriores já gravados no banco
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        ultimaConsolidada = consolidacaoSeriesRepository.findById(ConsolidacaoSeries.ID)
+                .map(ConsolidacaoSeries::getUltimaSequencia)
+                .orElse(0L);
+        if (ultimaConsolidada > 0) {
+            historicoInscricoesService.reproduzir(ultimaConsolidada, this::guardar);
+        }
+    }
+
+    /**
+     * Série do evento, ou de todos os eventos se eventoId for null, com os períodos de início entre de e ate que
+     * tiveram alguma transição, em ordem de início. Sem intervalo informado, termina agora e cobre um dia de
+     * minutos, uma semana de horas ou um ano de dias.
+     */
+    @Transactional(readOnly = true)
+    public List<PontoSerieDTO> serie(Long eventoId, Granularidade granularidade, LocalDateTime de,
+                                     LocalDateTime ate) {
+        if (eventoId != null && eventoId <= 0) {
+            throw new ValidationException("O ID do evento deve ser positivo.");
+        }
+        Duration duracao = granularidade.getDuracao();
+        if (ate == null) {
+            ate = LocalDateTime.now();
+        }
+        if (de == null) {
+            de = ate.minus(duracao.multipliedBy(periodosPadrao(granularidade)));
+        }
+        de = granularidade.truncar(de);
+        if (!de.isBefore(ate)) {
+            throw new ValidationException("O início do intervalo deve ser anterior ao fim.");
+        }
+        if (Duration.between(de, ate).compareTo(duracao.multipliedBy(MAXIMO_PERIODOS)) > 0) {
+            throw new ValidationException("O intervalo deve ter no máximo " + MAXIMO_PERIODOS + " períodos.");
+        }
+
+        long consolidada = ultimaConsolidada;
+        long eventoSerie = eventoId != null ? eventoId : InscricoesPorPeriodo.TODOS_EVENTOS;
+        Map<LocalDateTime, PontoSerieDTO> pontos = new TreeMap<>();
+        for (PontoSerieDTO ponto : inscricoesPorPeriodoRepository.findSerie(eventoSerie, granularidade, de, ate)) {
+            pontos.put(ponto.getInicio(), ponto);
+        }
+        for (RegistroHistoricoDTO registro : recentes.tailMap(consolidada, false).values()) {
+            if (eventoId != null && registro.getEventoId() != eventoId) {
+                continue;
+            }
+            LocalDateTime inicio = granularidade.truncar(registro.getDataRegistro());
+            if (inicio.isBefore(de) || !inicio.isBefore(ate)) {
+                continue;
+            }
+            somar(pontos, inicio, registro);
+        }
+        return new ArrayList<>(pontos.values());
+    }
+
+    /**
+     * Soma às séries os registros do histórico posteriores ao último consolidado, até a última sequência
+     * consolidada do histórico
+     */
+    @Scheduled(fixedDelay = INTERVALO_CONSOLIDACAO_MS)
+    @Transactional
+    public ConsolidacaoSeriesDTO consolidar() {
+        ConsolidacaoSeries consolidacao = bloquear();
+        if (consolidacao.getUltimaSequencia() == 0) {
+            return agregarHistorico(consolidacao);
+        }
+        AcumuladorSeries acumulador = new AcumuladorSeries();
+        long ultimaSequencia = historicoInscricoesService.reproduzirConsolidados(consolidacao.getUltimaSequencia(),
+                acumulador);
+        List<InscricoesPorPeriodo> periodos = acumulador.periodos();
+        List<InscricoesPorPeriodo> novos = new ArrayList<>();
+        for (InscricoesPorPeriodo periodo : periodos) {
+            int alterados = inscricoesPorPeriodoRepository.somar(periodo.getEventoId(), periodo.getGranularidade(),
+                    periodo.getInicio(), periodo.getCriadas(), periodo.getConfirmadas(), periodo.getCanceladas());
+            if (alterados == 0) {
+                novos.add(periodo);
+            }
+        }
+        inscricoesPorPeriodoRepository.inserir(novos);
+        return concluir(consolidacao, periodos.size(), ultimaSequencia);
+    }
+
+    /**
+     * Descarta as séries e as agrega de novo a partir do histórico inteiro
+     */
+    @Transactional
+    public ConsolidacaoSeriesDTO reconstruir() {
+        ConsolidacaoSeries consolidacao = bloquear();
+        inscricoesPorPeriodoRepository.removerTodos();
+        return agregarHistorico(consolidacao);
+    }
+
+    private ConsolidacaoSeriesDTO agregarHistorico(ConsolidacaoSeries consolidacao) {
+        long ultimaSequencia = historicoInscricoesService.ultimaSequenciaConsolidada();
+        int periodos = inscricoesPorPeriodoRepository.agregarHistoricoAte(ultimaSequencia);
+        return concluir(consolidacao, periodos, ultimaSequencia);
+    }
+
+    /**
+     * Linha de consolidação bloqueada até o fim da transação; sem a linha da migração (esquema criado pelo
+     * Hibernate), ela é inserida aqui, e a inserção a mantém bloqueada da mesma forma
+     */
+    private ConsolidacaoSeries bloquear() {
+        return consolidacaoSeriesRepository.findParaConsolidar(ConsolidacaoSeries.ID)
+                .orElseGet(() -> consolidacaoSeriesRepository.saveAndFlush(
+                        new ConsolidacaoSeries(ConsolidacaoSeries.ID)));
+    }
+
+    /**
+     * Grava a sequência consolidada e, após o commit, descarta da memória os registros que passaram ao banco
+     */
+    private ConsolidacaoSeriesDTO concluir(ConsolidacaoSeries consolidacao, long periodos, long ultimaSequencia) {
+        consolidacao.setUltimaSequencia(ultimaSequencia);
+        AposCommit.executar(() -> {
+            ultimaConsolidada = ultimaSequencia;
+            descartarAte(ultimaSequencia);
+        });
+        return new ConsolidacaoSeriesDTO(periodos, ultimaSequencia);
+    }
+
+    /**
+     * Guarda um registro publicado após o commit. Um registro de sequência até a consolidada já está nas séries:
+     * enquanto a transação que o gravou não termina, a consolidação para abaixo dele, e ele é publicado antes que
+     * ela termine
+     */
+    private void guardar(RegistroHistoricoDTO registro) {
+        if (registro.getSequencia() <= ultimaConsolidada
+                || recentes.putIfAbsent(registro.getSequencia(), registro) != null) {
+            return;
+        }
+        if (quantidadeRecentes.incrementAndGet() > MAXIMO_RECENTES && recentes.pollFirstEntry() != null) {
+            quantidadeRecentes.decrementAndGet();
+        }
+    }
+
+    private void descartarAte(long sequencia) {
+        Map.Entry<Long, RegistroHistoricoDTO> primeiro;
+        while ((primeiro = recentes.firstEntry()) != null && primeiro.getKey() <= sequencia) {
+            if (recentes.remove(primeiro.getKey()) != null) {
+                quantidadeRecentes.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Soma o registro ao ponto do período com os critérios de {@link AcumuladorSeries}
+     */
+    private static void somar(Map<LocalDateTime, PontoSerieDTO> pontos, LocalDateTime inicio,
+                              RegistroHistoricoDTO registro) {
+        boolean criada = AcumuladorSeries.criada(registro);
+        boolean confirmada = AcumuladorSeries.confirmada(registro);
+        boolean cancelada = AcumuladorSeries.cancelada(registro);
+        if (!criada && !confirmada && !cancelada) {
+            return;
+        }
+        PontoSerieDTO ponto = pontos.computeIfAbsent(inicio, i -> new PontoSerieDTO(i, 0, 0, 0));
+        ponto.setCriadas(ponto.getCriadas() + (criada ? 1 : 0));
+        ponto.setConfirmadas(ponto.getConfirmadas() + (confirmada ? 1 : 0));
+        ponto.setCanceladas(ponto.getCanceladas() + (cancelada ? 1 : 0));
+    }
+
+    private static int periodosPadrao(Granularidade granularidade) {
+        switch (granularidade) {
+            case MINUTO:
+                return 24 * 60;
+            case HORA:
+                return 7 * 24;
+            default:
+                return 365;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Troca a coluna IDENTITY de inscricoes pela sequência inscricoes_seq, que reserva ids em blocos.
+ *
+ * Escrita em Java porque o valor inicial depende do maior id já gravado, e o PostgreSQL e o H2 não têm
+ * uma forma comum de reiniciar uma sequência a partir de uma consulta. O otimizador "pooled" do Hibernate
+ * trata o valor lido da sequência como o fim do bloco, então ela começa um bloco acima do maior id.
+ */
+public class V3__Sequencia_inscricoes extends BaseJavaMigration {
+
+    /** Igual ao allocationSize de Inscricao; o Hibernate valida o incremento da sequência na inicialização */
+    private static final int INCREMENTO = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maiorId;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM inscricoes")) {
+                rs.next();
+                maiorId = rs.getLong(1);
+            }
+            statement.execute("ALTER TABLE inscricoes ALTER COLUMN id DROP IDENTITY");
+            statement.execute("CREATE SEQUENCE inscricoes_seq START WITH " + (maiorId + INCREMENTO)
+                    + " INCREMENT BY " + INCREMENTO);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Cria o histórico de inscrições (historico_inscricoes), só de inserção, e a sequência historico_inscricoes_seq,
+ * cujo valor é o número de sequência de cada registro.
+ *
+ * O histórico anterior à migração não existe: cada inscrição já gravada entra como CRIADA no seu status atual,
+ * o que basta para reconstruir as contagens a partir do histórico. Como em V3, a sequência começa um bloco
+ * acima do último registro gravado, o que exige ler a quantidade de inscrições antes de criá-la.
+ */
+public class V8__Historico_inscricoes extends BaseJavaMigration {
+
+    /** Igual ao allocationSize de HistoricoInscricao */
+    private static final int INCREMENTO = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE TABLE historico_inscricoes ("
+                    + "id BIGINT PRIMARY KEY, "
+                    + "inscricao_id BIGINT NOT NULL, "
+                    + "evento_id BIGINT NOT NULL, "
+                    + "participante_id BIGINT NOT NULL, "
+                    + "tipo VARCHAR(20) NOT NULL, "
+                    + "status_anterior VARCHAR(20), "
+                    + "status_novo VARCHAR(20), "
+                    + "data_registro TIMESTAMP NOT NULL, "
+                    + "CONSTRAINT ck_historico_inscricoes_tipo "
+                    + "CHECK (tipo IN ('CRIADA', 'CONFIRMADA', 'CANCELADA', 'REMOVIDA', 'ALTERADA')))");
+            // Sem chaves estrangeiras: os registros de inscrições e eventos removidos continuam no histórico
+            statement.execute("INSERT INTO historico_inscricoes "
+                    + "(id, inscricao_id, evento_id, participante_id, tipo, status_novo, data_registro) "
+                    + "SELECT ROW_NUMBER() OVER (ORDER BY id), id, evento_id, participante_id, 'CRIADA', status, "
+                    + "data_inscricao FROM inscricoes");
+            statement.execute("CREATE INDEX idx_historico_inscricoes_inscricao ON historico_inscricoes (inscricao_id, id)");
+            statement.execute("CREATE INDEX idx_historico_inscricoes_evento ON historico_inscricoes (evento_id, id)");
+
+            long registros;
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM historico_inscricoes")) {
+                rs.next();
+                registros = rs.getLong(1);
+            }
+            statement.execute("CREATE SEQUENCE historico_inscricoes_seq START WITH " + (registros + INCREMENTO)
+                    + " INCREMENT BY " + INCREMENTO);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Credenciamento: a chave de assinatura dos ingressos de cada evento (eventos.chave_ingressos) e os check-ins
+ * (checkins), um por inscrição, removidos em cascata com ela.
+ *
+ * Escrita em Java porque cada evento já gravado recebe uma chave aleatória própria, e o PostgreSQL e o H2 não
+ * têm uma função comum que gere bytes aleatórios; a coluna passa a NOT NULL depois de preenchida.
+ */
+public class V9__Credenciamento extends BaseJavaMigration {
+
+    /** Igual a Ingressos.TAMANHO_CHAVE */
+    private static final int TAMANHO_CHAVE = 32;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE eventos ADD COLUMN chave_ingressos BYTEA");
+
+            List<Long> eventos = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery("SELECT id FROM eventos")) {
+                while (rs.next()) {
+                    eventos.add(rs.getLong(1));
+                }
+            }
+            SecureRandom aleatorio = new SecureRandom();
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE eventos SET chave_ingressos = ? WHERE id = ?")) {
+                for (Long eventoId : eventos) {
+                    byte[] chave = new byte[TAMANHO_CHAVE];
+                    aleatorio.nextBytes(chave);
+                    update.setBytes(1, chave);
+                    update.setLong(2, eventoId);
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+            statement.execute("ALTER TABLE eventos ALTER COLUMN chave_ingressos SET NOT NULL");
+
+            statement.execute("CREATE TABLE checkins ("
+                    + "inscricao_id BIGINT PRIMARY KEY, "
+                    + "evento_id BIGINT NOT NULL, "
+                    + "data_checkin TIMESTAMP NOT NULL, "
+                    + "CONSTRAINT fk_checkins_inscricao FOREIGN KEY (inscricao_id) "
+                    + "REFERENCES inscricoes (id) ON DELETE CASCADE)");
+            statement.execute("CREATE INDEX idx_checkins_evento ON checkins (evento_id)");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- Séries de inscrições: contagens por evento, granularidade e início do período, consolidadas a partir do
+-- histórico de inscrições. evento_id 0 guarda as contagens de todos os eventos. consolidacao_series guarda a
+-- sequência do último registro do histórico consolidado; 0 faz a próxima consolidação agregar o histórico inteiro.
+
+CREATE TABLE inscricoes_por_periodo (
+    evento_id     BIGINT      NOT NULL,
+    granularidade VARCHAR(10) NOT NULL,
+    inicio        TIMESTAMP   NOT NULL,
+    criadas       BIGINT      NOT NULL,
+    confirmadas   BIGINT      NOT NULL,
+    canceladas    BIGINT      NOT NULL,
+    CONSTRAINT pk_inscricoes_por_periodo PRIMARY KEY (evento_id, granularidade, inicio),
+    CONSTRAINT ck_inscricoes_por_periodo_granularidade CHECK (granularidade IN ('MINUTO', 'HORA', 'DIA'))
+);
+
+CREATE TABLE consolidacao_series (
+    id               INTEGER PRIMARY KEY,
+    ultima_sequencia BIGINT  NOT NULL
+);
+
+INSERT INTO consolidacao_series (id, ultima_sequencia) VALUES (1, 0);
@@ -0,0 +1,4 @@
+-- Inscrições promovidas da lista de espera em eventos pagos ficam pendentes com a vaga já reservada no
+-- contador de confirmadas do evento, para que novas inscrições não a ocupem antes do pagamento.
+
+ALTER TABLE inscricoes ADD COLUMN vaga_reservada BOOLEAN DEFAULT FALSE NOT NULL;
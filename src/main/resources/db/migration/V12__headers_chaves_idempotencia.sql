@@ -0,0 +1,3 @@
+-- Headers guardados com a resposta de uma Idempotency-Key (Location, Retry-After etc.), um "Nome: valor" por linha.
+
+ALTER TABLE chaves_idempotencia ADD COLUMN headers VARCHAR(2000);
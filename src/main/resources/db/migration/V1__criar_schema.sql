@@ -0,0 +1,82 @@
+-- Schema inicial da API de eventos.
+-- Compatível com PostgreSQL e com o H2 (modo padrão e modo PostgreSQL).
+
+CREATE TABLE categorias (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(100) NOT NULL,
+    descricao        VARCHAR(500),
+    data_criacao     TIMESTAMP    NOT NULL,
+    data_atualizacao TIMESTAMP,
+    CONSTRAINT uk_categorias_nome UNIQUE (nome)
+);
+
+CREATE TABLE locais (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(150) NOT NULL,
+    endereco         VARCHAR(300) NOT NULL,
+    capacidade       INTEGER,
+    data_criacao     TIMESTAMP    NOT NULL,
+    data_atualizacao TIMESTAMP,
+    CONSTRAINT uk_locais_nome UNIQUE (nome)
+);
+
+CREATE TABLE participantes (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(100) NOT NULL,
+    email            VARCHAR(150) NOT NULL,
+    telefone         VARCHAR(20),
+    senha            VARCHAR(255) NOT NULL,
+    role             VARCHAR(20)  NOT NULL,
+    data_criacao     TIMESTAMP    NOT NULL,
+    data_atualizacao TIMESTAMP,
+    CONSTRAINT uk_participantes_email UNIQUE (email),
+    CONSTRAINT ck_participantes_role CHECK (role IN ('PARTICIPANTE', 'ADMINISTRADOR'))
+);
+
+CREATE TABLE eventos (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome                   VARCHAR(200)  NOT NULL,
+    descricao              VARCHAR(1000),
+    data_inicio            DATE          NOT NULL,
+    data_fim               DATE          NOT NULL,
+    hora_inicio            TIME,
+    hora_fim               TIME,
+    capacidade_maxima      INTEGER,
+    preco                  NUMERIC(10, 2),
+    status                 VARCHAR(20)   NOT NULL,
+    inscricoes_confirmadas BIGINT        NOT NULL DEFAULT 0,
+    local_id               BIGINT        NOT NULL,
+    categoria_id           BIGINT        NOT NULL,
+    data_criacao           TIMESTAMP     NOT NULL,
+    data_atualizacao       TIMESTAMP,
+    CONSTRAINT fk_eventos_local FOREIGN KEY (local_id) REFERENCES locais (id),
+    CONSTRAINT fk_eventos_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id),
+    CONSTRAINT ck_eventos_status CHECK (status IN ('EM_BREVE', 'ATIVO', 'CANCELADO', 'CONCLUIDO'))
+);
+
+CREATE TABLE inscricoes (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    participante_id  BIGINT      NOT NULL,
+    evento_id        BIGINT      NOT NULL,
+    data_inscricao   TIMESTAMP   NOT NULL,
+    status           VARCHAR(20) NOT NULL,
+    data_atualizacao TIMESTAMP,
+    CONSTRAINT uk_inscricoes_participante_evento UNIQUE (participante_id, evento_id),
+    CONSTRAINT fk_inscricoes_participante FOREIGN KEY (participante_id) REFERENCES participantes (id),
+    CONSTRAINT fk_inscricoes_evento FOREIGN KEY (evento_id) REFERENCES eventos (id),
+    CONSTRAINT ck_inscricoes_status CHECK (status IN ('PENDENTE', 'CONFIRMADA', 'CANCELADA'))
+);
+
+-- Eventos: listagens por período e filtros combinados com data de início.
+-- Os índices compostos começando por local_id/categoria_id também cobrem as chaves estrangeiras.
+CREATE INDEX idx_eventos_data_inicio ON eventos (data_inicio);
+CREATE INDEX idx_eventos_categoria_data_inicio ON eventos (categoria_id, data_inicio);
+CREATE INDEX idx_eventos_local_data_inicio ON eventos (local_id, data_inicio);
+CREATE INDEX idx_eventos_status_data_inicio ON eventos (status, data_inicio);
+CREATE INDEX idx_eventos_preco ON eventos (preco);
+
+-- Inscrições: contagens e listagens por evento/participante e status.
+-- A chave única (participante_id, evento_id) já cobre buscas apenas por participante.
+CREATE INDEX idx_inscricoes_evento_status ON inscricoes (evento_id, status);
+CREATE INDEX idx_inscricoes_participante_status ON inscricoes (participante_id, status);
+CREATE INDEX idx_inscricoes_data_inscricao ON inscricoes (data_inscricao);
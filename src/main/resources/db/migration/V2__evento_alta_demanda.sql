@@ -0,0 +1,3 @@
+-- Modo de alta demanda: vagas alocadas em memória e inscrições gravadas em lote.
+
+ALTER TABLE eventos ADD COLUMN alta_demanda BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,7 @@
+-- Lista de espera: inscrições com status LISTA_ESPERA, ordenadas pela senha de chegada.
+
+ALTER TABLE inscricoes ADD COLUMN posicao_lista_espera BIGINT;
+
+ALTER TABLE inscricoes DROP CONSTRAINT ck_inscricoes_status;
+ALTER TABLE inscricoes ADD CONSTRAINT ck_inscricoes_status
+    CHECK (status IN ('PENDENTE', 'CONFIRMADA', 'CANCELADA', 'LISTA_ESPERA'));
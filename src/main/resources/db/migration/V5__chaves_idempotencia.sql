@@ -0,0 +1,12 @@
+-- Respostas de POSTs com Idempotency-Key, usadas com eventos.idempotencia.armazenamento=banco.
+
+CREATE TABLE chaves_idempotencia (
+    chave             VARCHAR(400) PRIMARY KEY,
+    impressao_digital VARCHAR(64)  NOT NULL,
+    status            INTEGER      NOT NULL,
+    content_type      VARCHAR(100),
+    corpo             BYTEA        NOT NULL,
+    data_criacao      TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX idx_chaves_idempotencia_data_criacao ON chaves_idempotencia (data_criacao);
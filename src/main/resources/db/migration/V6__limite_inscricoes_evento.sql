@@ -0,0 +1,4 @@
+-- Controle de admissão: inscrições por segundo aceitas em cada evento antes de os pedidos entrarem na sala de espera.
+
+ALTER TABLE eventos ADD COLUMN limite_inscricoes_por_segundo INTEGER;
+ALTER TABLE eventos ADD CONSTRAINT ck_eventos_limite_inscricoes CHECK (limite_inscricoes_por_segundo > 0);
@@ -0,0 +1,4 @@
+-- Bloqueio otimista: versão incrementada a cada alteração de eventos e inscrições.
+
+ALTER TABLE eventos ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE inscricoes ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
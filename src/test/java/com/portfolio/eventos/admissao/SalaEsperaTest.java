@@ -0,0 +1,88 @@
+package com.portfolio.eventos.admissao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaEsperaTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private SalaEspera<String> sala;
+
+    @BeforeEach
+    void setUp() {
+        sala = new SalaEspera<>(new BaldeTokens(2, agora::get), 3);
+    }
+
+    @Test
+    void entrar_DeveAdmitirAteOLimiteEEnfileirarExcedentes() {
+        assertEquals(SalaEspera.ADMITIDO, sala.entrar("a"));
+        assertEquals(SalaEspera.ADMITIDO, sala.entrar("b"));
+        assertEquals(1, sala.entrar("c"));
+        assertEquals(2, sala.entrar("d"));
+        assertEquals(3, sala.entrar("e"));
+        assertEquals(SalaEspera.FILA_CHEIA, sala.entrar("f"));
+    }
+
+    @Test
+    void entrar_ComFilaNaoVazia_NaoDevePassarAFrente() {
+        sala.entrar("a");
+        sala.entrar("b");
+        sala.entrar("c");
+        agora.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertEquals(2, sala.entrar("d"));
+        assertEquals("c", sala.liberarProximo());
+        assertEquals("d", sala.liberarProximo());
+    }
+
+    @Test
+    void liberarProximo_DeveRespeitarTaxaEAtualizarPosicoes() {
+        sala.entrar("a");
+        sala.entrar("b");
+        long ordemC = sala.entrar("c");
+        long ordemD = sala.entrar("d");
+        long ordemE = sala.entrar("e");
+
+        assertNull(sala.liberarProximo());
+        agora.addAndGet(Duration.ofMillis(500).toNanos());
+        assertEquals("c", sala.liberarProximo());
+        assertNull(sala.liberarProximo());
+
+        assertEquals(0, sala.posicao(ordemC));
+        assertEquals(1, sala.posicao(ordemD));
+        assertEquals(2, sala.posicao(ordemE));
+        assertEquals(1, sala.esperaEstimadaSegundos(2));
+    }
+
+    @Test
+    void baldeTokens_NaoDeveAcumularMaisQueUmSegundo() {
+        BaldeTokens balde = new BaldeTokens(2, agora::get);
+        agora.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertTrue(balde.tentarConsumir());
+        assertTrue(balde.tentarConsumir());
+        assertFalse(balde.tentarConsumir());
+    }
+
+    @Test
+    void removerLimite_DeveLiberarPedidosNaOrdemDeChegadaSemTokens() {
+        sala.entrar("a");
+        sala.entrar("b");
+        long ordemC = sala.entrar("c");
+        long ordemD = sala.entrar("d");
+
+        sala.removerLimite();
+
+        assertEquals("c", sala.liberarProximo());
+        assertEquals(0, sala.posicao(ordemC));
+        assertEquals(1, sala.posicao(ordemD));
+        assertEquals("d", sala.liberarProximo());
+        assertNull(sala.liberarProximo());
+        assertEquals(0, sala.tamanhoFila());
+    }
+}
@@ -0,0 +1,85 @@
+package com.portfolio.eventos.alocacao;
+
+import com.portfolio.eventos.entity.Evento;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VagasEventoTest {
+
+    @Test
+    void reservar_NaoDeveExcederCapacidadeComThreadsConcorrentes() throws InterruptedException {
+        VagasEvento vagas = novasVagas(100, 0);
+        AtomicInteger concedidas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                largada.await();
+                if (vagas.reservar()) {
+                    concedidas.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, concedidas.get());
+        assertEquals(100, vagas.ocupadas());
+        assertEquals(0, vagas.vagasRestantes());
+    }
+
+    @Test
+    void atualizar_ReducaoAbaixoDasOcupadasDeveSerQuitadaPelasLiberacoes() {
+        VagasEvento vagas = novasVagas(10, 8);
+
+        vagas.atualizar("Evento", Evento.StatusEvento.ATIVO, 5);
+        assertEquals(0, vagas.vagasRestantes());
+        vagas.liberar();
+        vagas.liberar();
+        vagas.liberar();
+        assertFalse(vagas.reservar());
+
+        vagas.liberar();
+        assertEquals(1, vagas.vagasRestantes());
+        assertTrue(vagas.reservar());
+        assertFalse(vagas.reservar());
+    }
+
+    @Test
+    void atualizar_DeveAcumularAlteracoesSucessivasDeCapacidade() {
+        VagasEvento vagas = novasVagas(100, 100);
+
+        vagas.atualizar("Evento", Evento.StatusEvento.ATIVO, 110);
+        assertEquals(10, vagas.vagasRestantes());
+        vagas.atualizar("Evento", Evento.StatusEvento.ATIVO, 95);
+        assertEquals(0, vagas.vagasRestantes());
+        vagas.atualizar("Evento", Evento.StatusEvento.ATIVO, 0);
+        assertEquals(-1, vagas.vagasRestantes());
+        vagas.atualizar("Evento", Evento.StatusEvento.ATIVO, 102);
+        assertEquals(2, vagas.vagasRestantes());
+    }
+
+    @Test
+    void registrarParticipante_DeveRecusarParticipanteRepetido() {
+        VagasEvento vagas = novasVagas(10, 0);
+
+        assertTrue(vagas.registrarParticipante(1L));
+        assertFalse(vagas.registrarParticipante(1L));
+        vagas.removerParticipante(1L);
+        assertTrue(vagas.registrarParticipante(1L));
+    }
+
+    private VagasEvento novasVagas(int capacidade, long confirmadas) {
+        return new VagasEvento(1L, "Evento", Evento.StatusEvento.ATIVO, capacidade, confirmadas, List.of(), 4);
+    }
+}
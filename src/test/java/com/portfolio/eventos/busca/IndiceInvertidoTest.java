@@ -0,0 +1,80 @@
+package com.portfolio.eventos.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceInvertidoTest {
+
+    private IndiceInvertido indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceInvertido();
+        indice.indexar(1L, new IndiceInvertido.Campo("Palestrá de Tecnologia", 3f),
+                new IndiceInvertido.Campo("Auditório Central", 1f));
+        indice.indexar(2L, new IndiceInvertido.Campo("Workshop de Música", 3f),
+                new IndiceInvertido.Campo("Inclui uma palestra de abertura", 1f));
+        indice.indexar(3L, new IndiceInvertido.Campo("Feira de Ciências", 3f));
+    }
+
+    @Test
+    void buscar_DeveIgnorarAcentosEMaiusculas() {
+        assertEquals(List.of(1L, 2L), indice.buscar("PALESTRA", 0, 10).getIds());
+        assertEquals(List.of(2L), indice.buscar("musica", 0, 10).getIds());
+        assertEquals(List.of(3L), indice.buscar("ciências", 0, 10).getIds());
+    }
+
+    @Test
+    void buscar_DeveEncontrarPorPrefixo() {
+        assertEquals(List.of(1L, 2L), indice.buscar("palest", 0, 10).getIds());
+        assertEquals(List.of(1L), indice.buscar("tecno", 0, 10).getIds());
+        assertTrue(indice.buscar("pa", 0, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void buscar_DeveExigirTodosOsTermos() {
+        IndiceInvertido.Resultado resultado = indice.buscar("palestra auditorio", 0, 10);
+
+        assertEquals(List.of(1L), resultado.getIds());
+        assertEquals(1, resultado.getTotal());
+        assertTrue(indice.buscar("palestra inexistente", 0, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void buscar_DevePaginarMantendoTotal() {
+        IndiceInvertido.Resultado segundaPagina = indice.buscar("palestra", 1, 1);
+
+        assertEquals(List.of(2L), segundaPagina.getIds());
+        assertEquals(2, segundaPagina.getTotal());
+    }
+
+    @Test
+    void indexar_DeveSubstituirDocumentoExistente() {
+        indice.indexar(1L, new IndiceInvertido.Campo("Hackathon", 3f));
+
+        assertEquals(List.of(2L), indice.buscar("palestra", 0, 10).getIds());
+        assertEquals(List.of(1L), indice.buscar("hackathon", 0, 10).getIds());
+        assertEquals(3, indice.totalDocumentos());
+    }
+
+    @Test
+    void remover_DeveRetirarDocumentoDoIndice() {
+        indice.remover(2L);
+
+        assertEquals(List.of(1L), indice.buscar("palestra", 0, 10).getIds());
+        assertTrue(indice.buscar("workshop", 0, 10).getIds().isEmpty());
+        assertEquals(2, indice.totalDocumentos());
+    }
+
+    @Test
+    void buscar_ComApenasPalavrasVazias_DeveRetornarVazio() {
+        IndiceInvertido.Resultado resultado = indice.buscar("de uma", 0, 10);
+
+        assertTrue(resultado.getIds().isEmpty());
+        assertEquals(0, resultado.getTotal());
+    }
+}
@@ -0,0 +1,183 @@
+package com.portfolio.eventos.cache;
+
+import com.portfolio.eventos.dto.EstatisticasCacheDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheLocalTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private final AtomicInteger carregamentos = new AtomicInteger();
+    private CacheLocal<Long, String> cache;
+
+    private static final int THREADS = 4;
+
+    @BeforeEach
+    void setUp() {
+        // O relógio avança a cada leitura, para que cada acesso fique anotado como mais recente que o anterior
+        long passo = CacheLocal.RESOLUCAO_ULTIMO_ACESSO.toNanos();
+        cache = new CacheLocal<>(2, Duration.ofSeconds(10), () -> agora.getAndAdd(passo));
+    }
+
+    @Test
+    void obter_DeveCarregarApenasNaPrimeiraLeitura() {
+        assertEquals("evento-1", cache.obter(1L, this::carregar));
+        assertEquals("evento-1", cache.obter(1L, this::carregar));
+
+        EstatisticasCacheDTO estatisticas = cache.estatisticas();
+        assertEquals(1, carregamentos.get());
+        assertEquals(1, estatisticas.getAcertos());
+        assertEquals(1, estatisticas.getFalhas());
+        assertEquals(0.5, estatisticas.getTaxaAcerto());
+    }
+
+    @Test
+    void obter_DeveRemoverMenosUsadoAoExcederTamanho() {
+        cache.obter(1L, this::carregar);
+        cache.obter(2L, this::carregar);
+        cache.obter(1L, this::carregar);
+        cache.obter(3L, this::carregar);
+
+        cache.obter(1L, this::carregar);
+        cache.obter(2L, this::carregar);
+
+        assertEquals(4, carregamentos.get());
+        assertEquals(2, cache.estatisticas().getTamanho());
+        assertEquals(2, cache.estatisticas().getRemocoesPorTamanho());
+    }
+
+    @Test
+    void obter_DeveRecarregarEntradaExpirada() {
+        cache.obter(1L, this::carregar);
+        agora.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        cache.obter(1L, this::carregar);
+
+        assertEquals(2, carregamentos.get());
+        assertEquals(1, cache.estatisticas().getRemocoesPorExpiracao());
+    }
+
+    @Test
+    void invalidar_DeveForcarNovoCarregamento() {
+        cache.obter(1L, this::carregar);
+
+        cache.invalidar(1L);
+        cache.obter(1L, this::carregar);
+
+        assertEquals(2, carregamentos.get());
+        assertEquals(1, cache.estatisticas().getInvalidacoes());
+    }
+
+    @Test
+    void obter_ComInvalidacaoDuranteCarregamento_NaoDeveGuardarValor() {
+        cache.obter(1L, id -> {
+            cache.invalidar(id);
+            return "desatualizado";
+        });
+
+        assertEquals("evento-1", cache.obter(1L, this::carregar));
+    }
+
+    @Test
+    void obter_ComValorNulo_NaoDeveGuardar() {
+        assertNull(cache.obter(1L, id -> null));
+        assertEquals(0, cache.estatisticas().getTamanho());
+    }
+
+    @Test
+    void buscar_DeveRetornarValorGuardadoAteExpirar() {
+        assertNull(cache.buscar(1L));
+
+        cache.guardar(1L, "resposta");
+        assertEquals("resposta", cache.buscar(1L));
+
+        agora.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertNull(cache.buscar(1L));
+        assertEquals(1, cache.estatisticas().getRemocoesPorExpiracao());
+    }
+
+    @Test
+    void obter_ConcorrenteComRemocoes_DeveManterContagensELimite() throws Exception {
+        CacheLocal<Long, String> concorrido = new CacheLocal<>(100, Duration.ofMinutes(1));
+        int operacoesPorThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> execucoes = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                execucoes.add(executor.submit(() -> {
+                    for (int i = 0; i < operacoesPorThread; i++) {
+                        long id = ThreadLocalRandom.current().nextLong(1_000);
+                        assertEquals("evento-" + id, concorrido.obter(id, this::carregar));
+                    }
+                }));
+            }
+            for (Future<?> execucao : execucoes) {
+                execucao.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        EstatisticasCacheDTO estatisticas = concorrido.estatisticas();
+        assertEquals((long) THREADS * operacoesPorThread, estatisticas.getAcertos() + estatisticas.getFalhas());
+        assertEquals(estatisticas.getFalhas(), carregamentos.get());
+        assertTrue(estatisticas.getTamanho() <= 100, "tamanho acima do máximo: " + estatisticas.getTamanho());
+        assertTrue(estatisticas.getRemocoesPorTamanho() > 0);
+    }
+
+    @Test
+    void buscar_AcertosConcorrentes_NaoDevemBloquearEmMonitor() throws Exception {
+        CacheLocal<Long, String> concorrido = new CacheLocal<>(1_000, Duration.ofMinutes(1));
+        for (long id = 0; id < 64; id++) {
+            concorrido.guardar(id, "evento-" + id);
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        CyclicBarrier largada = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> bloqueios = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                bloqueios.add(executor.submit(() -> {
+                    // Aquecimento fora da medição: carga de classes e células dos contadores
+                    lerChaves(concorrido, 10_000);
+                    largada.await();
+                    long antes = threads.getThreadInfo(Thread.currentThread().getId()).getBlockedCount();
+                    lerChaves(concorrido, 200_000);
+                    return threads.getThreadInfo(Thread.currentThread().getId()).getBlockedCount() - antes;
+                }));
+            }
+            for (Future<Long> bloqueio : bloqueios) {
+                assertEquals(0, bloqueio.get(30, TimeUnit.SECONDS), "uma leitura esperou por um monitor");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void lerChaves(CacheLocal<Long, String> concorrido, int leituras) {
+        for (int i = 0; i < leituras; i++) {
+            assertNotNull(concorrido.buscar((long) (i & 63)));
+        }
+    }
+
+    private String carregar(Long id) {
+        carregamentos.incrementAndGet();
+        return "evento-" + id;
+    }
+}
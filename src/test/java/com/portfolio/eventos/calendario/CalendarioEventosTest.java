@@ -0,0 +1,71 @@
+package com.portfolio.eventos.calendario;
+
+import com.portfolio.eventos.dto.EventoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarioEventosTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2024, 3, 10);
+
+    private CalendarioEventos calendario;
+
+    private static EventoDTO evento(long id, LocalDate dataInicio, LocalTime horaInicio, long categoriaId) {
+        EventoDTO evento = new EventoDTO();
+        evento.setId(id);
+        evento.setDataInicio(dataInicio);
+        evento.setHoraInicio(horaInicio);
+        evento.setCategoriaId(categoriaId);
+        return evento;
+    }
+
+    private static List<Long> ids(List<EventoDTO> eventos) {
+        return eventos.stream().map(EventoDTO::getId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setUp() {
+        calendario = new CalendarioEventos(List.of(
+                evento(1L, HOJE.plusDays(2), LocalTime.of(9, 0), 1L),
+                evento(2L, HOJE, LocalTime.of(14, 0), 2L),
+                evento(3L, HOJE, LocalTime.of(8, 0), 1L),
+                evento(4L, HOJE, null, 2L),
+                evento(5L, HOJE.plusDays(10), LocalTime.of(10, 0), 1L)));
+    }
+
+    @Test
+    void entre_DeveConcatenarDiasOrdenadosPorHoraEId() {
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(calendario.entre(HOJE, HOJE.plusDays(7), null)));
+        assertEquals(List.of(4L, 3L, 2L), ids(calendario.entre(HOJE, HOJE, null)));
+    }
+
+    @Test
+    void entre_DeveFiltrarPorCategoria() {
+        assertEquals(List.of(3L, 1L, 5L), ids(calendario.entre(HOJE, HOJE.plusDays(30), 1L)));
+    }
+
+    @Test
+    void adicionar_DeveMoverEventoAlterado() {
+        calendario.adicionar(evento(2L, HOJE.plusDays(1), LocalTime.of(7, 0), 2L));
+
+        assertEquals(List.of(4L, 3L), ids(calendario.entre(HOJE, HOJE, null)));
+        assertEquals(List.of(2L), ids(calendario.entre(HOJE.plusDays(1), HOJE.plusDays(1), null)));
+        assertEquals(5, calendario.totalEventos());
+    }
+
+    @Test
+    void remover_DeveRetirarEventoDoDia() {
+        calendario.remover(1L);
+        calendario.remover(99L);
+
+        assertTrue(calendario.entre(HOJE.plusDays(2), HOJE.plusDays(2), null).isEmpty());
+        assertEquals(4, calendario.totalEventos());
+    }
+}
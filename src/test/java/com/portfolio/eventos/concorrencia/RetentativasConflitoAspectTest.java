@@ -0,0 +1,169 @@
+package com.portfolio.eventos.concorrencia;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Monta o aspecto à frente de um interceptador de {@code @Transactional} real, como no contexto da aplicação,
+ * com um gerenciador de transações que só conta as transações abertas, confirmadas e desfeitas.
+ */
+class RetentativasConflitoAspectTest {
+
+    private final GerenciadorTransacoes gerenciador = new GerenciadorTransacoes();
+    private final Operacao alvo = new Operacao();
+    private Operacao proxy;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(alvo);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new RetentativasConflitoAspect());
+        fabrica.addAdvice(new TransactionInterceptor(gerenciador, new AnnotationTransactionAttributeSource()));
+        proxy = fabrica.getProxy();
+    }
+
+    @Test
+    void retentar_ForaDeTransacao_DeveRepetirCadaTentativaEmUmaTransacaoNova() {
+        alvo.conflitos = 2;
+
+        assertEquals("ok", proxy.executar());
+
+        assertEquals(3, alvo.chamadas);
+        assertEquals(List.of(1, 2, 3), alvo.transacoes);
+        assertEquals(3, gerenciador.abertas);
+        assertEquals(2, gerenciador.desfeitas);
+        assertEquals(1, gerenciador.confirmadas);
+    }
+
+    @Test
+    void retentar_ConflitoPersistente_DevePropagarAposAsTentativas() {
+        alvo.conflitos = Integer.MAX_VALUE;
+
+        assertThrows(OptimisticLockingFailureException.class, () -> proxy.executar());
+
+        assertEquals(RetentativasConflitoAspect.MAXIMO_TENTATIVAS, alvo.chamadas);
+        assertEquals(RetentativasConflitoAspect.MAXIMO_TENTATIVAS, gerenciador.desfeitas);
+        assertEquals(0, gerenciador.confirmadas);
+    }
+
+    @Test
+    void retentar_DentroDeTransacaoAberta_NaoDeveRepetir() {
+        alvo.conflitos = 1;
+        TransactionTemplate externa = new TransactionTemplate(gerenciador);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> externa.execute(status -> proxy.executar()));
+
+        assertEquals(1, alvo.chamadas);
+    }
+
+    @Test
+    void retentar_OutraFalha_NaoDeveRepetir() {
+        assertThrows(IOException.class, () -> proxy.ler());
+        assertThrows(IllegalStateException.class, () -> proxy.falhar());
+
+        assertEquals(2, alvo.chamadas);
+        assertEquals(2, gerenciador.abertas);
+    }
+
+    static class Operacao {
+
+        int conflitos;
+        int chamadas;
+        final List<Integer> transacoes = new ArrayList<>();
+        private final List<Object> vistas = new ArrayList<>();
+
+        @RetentarEmConflito
+        @Transactional
+        public String executar() {
+            chamadas++;
+            assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+            Object transacao = TransactionSynchronizationManager.getResource(GerenciadorTransacoes.class);
+            if (!vistas.contains(transacao)) {
+                vistas.add(transacao);
+            }
+            transacoes.add(vistas.size());
+            if (conflitos-- > 0) {
+                throw new OptimisticLockingFailureException("versão alterada");
+            }
+            return "ok";
+        }
+
+        @RetentarEmConflito
+        @Transactional
+        public String ler() throws IOException {
+            chamadas++;
+            throw new IOException("falha de leitura");
+        }
+
+        @RetentarEmConflito
+        @Transactional
+        public String falhar() {
+            chamadas++;
+            throw new IllegalStateException("erro");
+        }
+    }
+
+    /**
+     * Abre uma transação nova a cada chamada fora de transação, identificada por um objeto próprio
+     * registrado como recurso da thread enquanto estiver aberta
+     */
+    static class GerenciadorTransacoes extends AbstractPlatformTransactionManager {
+
+        int abertas;
+        int confirmadas;
+        int desfeitas;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object[] {TransactionSynchronizationManager.getResource(GerenciadorTransacoes.class)};
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transacao) {
+            return ((Object[]) transacao)[0] != null;
+        }
+
+        @Override
+        protected void doBegin(Object transacao, TransactionDefinition definicao) {
+            abertas++;
+            Object identidade = new Object();
+            ((Object[]) transacao)[0] = identidade;
+            TransactionSynchronizationManager.bindResource(GerenciadorTransacoes.class, identidade);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            confirmadas++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            desfeitas++;
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transacao) {
+            TransactionSynchronizationManager.unbindResource(GerenciadorTransacoes.class);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.portfolio.eventos.concorrencia;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetentativasConflitoTest {
+
+    private final List<Long> esperas = new ArrayList<>();
+    private final RetentativasConflito retentativas =
+            new RetentativasConflito(4, 10, 25, LongUnaryOperator.identity(), esperas::add);
+
+    @Test
+    void executar_DeveRepetirAteAOperacaoTerSucesso() {
+        AtomicInteger chamadas = new AtomicInteger();
+
+        String resultado = retentativas.executar(() -> {
+            if (chamadas.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("conflito");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultado);
+        assertEquals(3, chamadas.get());
+        assertEquals(List.of(10L, 20L), esperas);
+    }
+
+    @Test
+    void executar_AposEsgotarTentativas_DevePropagarOConflito() {
+        AtomicInteger chamadas = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> retentativas.executar(() -> {
+            chamadas.incrementAndGet();
+            throw new OptimisticLockingFailureException("conflito");
+        }));
+
+        assertEquals(4, chamadas.get());
+        assertEquals(List.of(10L, 20L, 25L), esperas);
+    }
+
+    @Test
+    void executar_NaoDeveRepetirOutrasFalhas() {
+        AtomicInteger chamadas = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> retentativas.executar(() -> {
+            chamadas.incrementAndGet();
+            throw new IllegalStateException("erro");
+        }));
+
+        assertEquals(1, chamadas.get());
+        assertTrue(esperas.isEmpty());
+    }
+
+    @Test
+    void tetoEspera_DeveDobrarAteAEsperaMaxima() {
+        RetentativasConflito politica = new RetentativasConflito(100, 5, 100);
+
+        assertEquals(5, politica.tetoEspera(1));
+        assertEquals(40, politica.tetoEspera(4));
+        assertEquals(100, politica.tetoEspera(6));
+        assertEquals(100, politica.tetoEspera(99));
+    }
+}
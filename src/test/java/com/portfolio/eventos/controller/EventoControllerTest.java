@@ -1,8 +1,17 @@
 package com.portfolio.eventos.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.eventos.dto.CheckinDTO;
+import com.portfolio.eventos.dto.CursorPageDTO;
+import com.portfolio.eventos.dto.EstatisticasInscricoesDTO;
 import com.portfolio.eventos.dto.EventoDTO;
+import com.portfolio.eventos.dto.ResultadoCheckinDTO;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.exception.ConflitoException;
+import com.portfolio.eventos.service.CredenciamentoService;
+import com.portfolio.eventos.service.EstatisticasInscricoesService;
 import com.portfolio.eventos.service.EventoService;
+import com.portfolio.eventos.service.InscricaoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +23,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -26,6 +37,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +54,15 @@ class EventoControllerTest {
     @MockBean
     private EventoService eventoService;
 
+    @MockBean
+    private InscricaoService inscricaoService;
+
+    @MockBean
+    private EstatisticasInscricoesService estatisticasInscricoesService;
+
+    @MockBean
+    private CredenciamentoService credenciamentoService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -66,7 +87,7 @@ class EventoControllerTest {
     @Test
     void listarEventos_DeveRetornarPaginaDeEventos() throws Exception {
         List<EventoDTO> eventos = Arrays.asList(eventoDTO);
-        Page<EventoDTO> pageEventos = new PageImpl<>(eventos);
+        Page<EventoDTO> pageEventos = new PageImpl<>(eventos, PageRequest.of(0, 10), eventos.size());
         when(eventoService.listarEventos(any(Pageable.class))).thenReturn(pageEventos);
 
         mockMvc.perform(get("/api/eventos"))
@@ -77,6 +98,56 @@ class EventoControllerTest {
                 .andExpect(jsonPath("$.content[0].nome").value("Evento Teste"));
     }
 
+    @Test
+    void listarEventos_ComCursor_DeveRetornarJanelaSemTotais() throws Exception {
+        CursorPageDTO<EventoDTO> janela = new CursorPageDTO<>(Arrays.asList(eventoDTO), 1, "proximo");
+        when(eventoService.listarEventosPorCursor(eq(""), eq(1), eq(Sort.Order.desc("dataInicio")))).thenReturn(janela);
+
+        mockMvc.perform(get("/api/eventos")
+                .param("cursor", "")
+                .param("size", "1")
+                .param("sort", "dataInicio,desc"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("proximo"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void buscarEventoPorId_ComEtagAtual_DeveRetornarNaoModificado() throws Exception {
+        eventoDTO.setNumeroInscricoesConfirmadas(10L);
+        when(eventoService.buscarEventoPorId(1L)).thenReturn(eventoDTO);
+
+        String etag = mockMvc.perform(get("/api/eventos/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/eventos/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        eventoDTO.setNumeroInscricoesConfirmadas(11L);
+        mockMvc.perform(get("/api/eventos/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numeroInscricoesConfirmadas").value(11));
+    }
+
+    @Test
+    void listarEventos_ComEtagAtual_DeveRetornarNaoModificado() throws Exception {
+        when(eventoService.listarEventos(any(Pageable.class))).thenReturn(
+                new PageImpl<>(Arrays.asList(eventoDTO), PageRequest.of(0, 10), 1));
+
+        String etag = mockMvc.perform(get("/api/eventos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/eventos").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void buscarEventoPorId_DeveRetornarEvento() throws Exception {
         when(eventoService.buscarEventoPorId(1L)).thenReturn(eventoDTO);
@@ -114,10 +185,75 @@ class EventoControllerTest {
                 .andExpect(jsonPath("$.nome").value("Evento Teste"));
     }
 
+    @Test
+    void atualizarEvento_ComVersaoDesatualizada_DeveRetornarConflito() throws Exception {
+        eventoDTO.setVersao(2L);
+        when(eventoService.atualizarEvento(anyLong(), any(EventoDTO.class)))
+                .thenThrow(new ConflitoException("O evento foi alterado por outra requisição (versão atual: 3)."));
+
+        mockMvc.perform(put("/api/eventos/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(eventoDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.error").value("Conflito de versão"));
+    }
+
+    @Test
+    void atualizarEvento_ComConflitoAposAsRetentativas_DeveRetornarConflito() throws Exception {
+        when(eventoService.atualizarEvento(anyLong(), any(EventoDTO.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Evento.class, 1L));
+
+        mockMvc.perform(put("/api/eventos/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(eventoDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.error").value("Conflito de concorrência"));
+    }
+
     @Test
     void deletarEvento_DeveRetornarNoContent() throws Exception {
         mockMvc.perform(delete("/api/eventos/1"))
                 .andExpect(status().isNoContent());
     }
-}
 
+    @Test
+    void buscarEventosPorTexto_DeveRetornarPaginaDeEventos() throws Exception {
+        when(eventoService.buscarEventosPorTexto(eq("palestra"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(eventoDTO), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/eventos/busca").param("q", "palestra"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].nome").value("Evento Teste"));
+    }
+
+    @Test
+    void buscarEstatisticasInscricoes_DeveRetornarContagensDosEventosInformados() throws Exception {
+        EstatisticasInscricoesDTO estatisticas = new EstatisticasInscricoesDTO(1L);
+        estatisticas.setConfirmadas(3);
+        estatisticas.setTotal(3);
+        when(estatisticasInscricoesService.buscarPorEventos(List.of(1L, 2L))).thenReturn(List.of(estatisticas));
+
+        mockMvc.perform(get("/api/eventos/estatisticas").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[0].eventoId").value(1))
+                .andExpect(jsonPath("$[0].confirmadas").value(3))
+                .andExpect(jsonPath("$[0].pendentes").value(0));
+    }
+
+    @Test
+    void registrarCheckin_DeveRetornarSituacaoDoIngresso() throws Exception {
+        when(credenciamentoService.registrarCheckin(1L, "codigo-do-ingresso"))
+                .thenReturn(new ResultadoCheckinDTO(7L, 1L, ResultadoCheckinDTO.SituacaoCheckin.REPETIDO));
+
+        mockMvc.perform(post("/api/eventos/1/checkin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CheckinDTO("codigo-do-ingresso"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inscricaoId").value(7))
+                .andExpect(jsonPath("$.situacao").value("REPETIDO"));
+    }
+}
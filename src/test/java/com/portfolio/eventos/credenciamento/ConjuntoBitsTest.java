@@ -0,0 +1,74 @@
+package com.portfolio.eventos.credenciamento;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConjuntoBitsTest {
+
+    @Test
+    void adicionar_DeveInformarSeOIdEraNovo() {
+        ConjuntoBits conjunto = new ConjuntoBits();
+        long distante = 50L * ConjuntoBits.BITS_POR_PAGINA + 63;
+
+        assertTrue(conjunto.adicionar(0));
+        assertTrue(conjunto.adicionar(distante));
+        assertFalse(conjunto.adicionar(distante));
+
+        assertTrue(conjunto.contem(0));
+        assertTrue(conjunto.contem(distante));
+        assertFalse(conjunto.contem(1));
+        assertFalse(conjunto.contem(distante + ConjuntoBits.BITS_POR_PAGINA * 1000L));
+        assertThrows(IllegalArgumentException.class, () -> conjunto.adicionar(-1));
+    }
+
+    @Test
+    void remover_DeveRetirarSomenteOIdInformado() {
+        ConjuntoBits conjunto = new ConjuntoBits();
+        conjunto.adicionar(64);
+        conjunto.adicionar(65);
+
+        assertTrue(conjunto.remover(64));
+        assertFalse(conjunto.remover(64));
+        assertFalse(conjunto.remover(10L * ConjuntoBits.BITS_POR_PAGINA));
+
+        assertFalse(conjunto.contem(64));
+        assertTrue(conjunto.contem(65));
+    }
+
+    @Test
+    void adicionar_DeveAceitarCadaIdUmaVezEntreThreads() throws Exception {
+        ConjuntoBits conjunto = new ConjuntoBits();
+        int threads = 4;
+        int ids = 4 * ConjuntoBits.BITS_POR_PAGINA;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> aceitos = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            aceitos.add(executor.submit(() -> {
+                int novos = 0;
+                for (int id = ids - 1; id >= 0; id--) {
+                    if (conjunto.adicionar(id)) {
+                        novos++;
+                    }
+                }
+                return novos;
+            }));
+        }
+
+        int total = 0;
+        for (Future<Integer> aceitosPorThread : aceitos) {
+            total += aceitosPorThread.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(ids, total);
+    }
+}
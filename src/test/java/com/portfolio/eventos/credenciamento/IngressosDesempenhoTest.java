@@ -0,0 +1,52 @@
+package com.portfolio.eventos.credenciamento;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark da verificação de ingressos, fora do build padrão: mvn test -Pdesempenho -Dtest=IngressosDesempenhoTest.
+ * Meta: mais de {@value #META_POR_SEGUNDO} verificações por segundo em um núcleo.
+ */
+@Tag("desempenho")
+class IngressosDesempenhoTest {
+
+    private static final int META_POR_SEGUNDO = 20_000;
+    private static final int CODIGOS = 10_000;
+    private static final int AQUECIMENTO = 200_000;
+    private static final int MEDICAO = 1_000_000;
+
+    @Test
+    void verificar_DeveSuperarAMetaEmUmaThread() {
+        Ingressos ingressos = new Ingressos(7L, Ingressos.novaChave());
+        String[] codigos = new String[CODIGOS];
+        for (int i = 0; i < CODIGOS; i++) {
+            codigos[i] = ingressos.emitir(i + 1L);
+        }
+
+        verificar(ingressos, codigos, AQUECIMENTO);
+        long inicio = System.nanoTime();
+        long soma = verificar(ingressos, codigos, MEDICAO);
+        long duracao = System.nanoTime() - inicio;
+
+        double porSegundo = MEDICAO * 1e9 / duracao;
+        System.out.printf("Ingressos.verificar: %,.0f verificações/s em uma thread (%.0f ns cada)%n",
+                porSegundo, (double) duracao / MEDICAO);
+        assertTrue(soma > 0);
+        assertTrue(porSegundo > META_POR_SEGUNDO, "abaixo da meta: " + porSegundo);
+    }
+
+    /**
+     * Soma os ids verificados, para que o JIT não descarte as verificações
+     */
+    private static long verificar(Ingressos ingressos, String[] codigos, int quantidade) {
+        long soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            long inscricaoId = ingressos.verificar(codigos[i % codigos.length]);
+            assertNotEquals(Ingressos.INVALIDO, inscricaoId);
+            soma += inscricaoId;
+        }
+        return soma;
+    }
+}
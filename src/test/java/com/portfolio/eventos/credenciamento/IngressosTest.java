@@ -0,0 +1,37 @@
+package com.portfolio.eventos.credenciamento;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngressosTest {
+
+    private final byte[] chave = Ingressos.novaChave();
+
+    @Test
+    void verificar_DeveAceitarCodigoEmitidoPeloEvento() {
+        Ingressos ingressos = new Ingressos(7L, chave);
+
+        String codigo = ingressos.emitir(123_456L);
+
+        assertEquals(Ingressos.TAMANHO_CODIGO, codigo.length());
+        assertEquals(codigo, ingressos.emitir(123_456L));
+        assertEquals(123_456L, ingressos.verificar(codigo));
+        assertEquals(123_456L, new Ingressos(7L, chave.clone()).verificar(codigo));
+    }
+
+    @Test
+    void verificar_DeveRecusarCodigoDeOutroEventoOuAdulterado() {
+        String codigo = new Ingressos(7L, chave).emitir(42L);
+
+        assertEquals(Ingressos.INVALIDO, new Ingressos(8L, chave).verificar(codigo));
+        assertEquals(Ingressos.INVALIDO, new Ingressos(7L, Ingressos.novaChave()).verificar(codigo));
+
+        char[] adulterado = codigo.toCharArray();
+        adulterado[5] = adulterado[5] == 'A' ? 'B' : 'A';
+        assertEquals(Ingressos.INVALIDO, new Ingressos(7L, chave).verificar(new String(adulterado)));
+        assertEquals(Ingressos.INVALIDO, new Ingressos(7L, chave).verificar(codigo.substring(1)));
+        assertEquals(Ingressos.INVALIDO, new Ingressos(7L, chave).verificar("#".repeat(Ingressos.TAMANHO_CODIGO)));
+        assertEquals(Ingressos.INVALIDO, new Ingressos(7L, chave).verificar(null));
+    }
+}
@@ -0,0 +1,70 @@
+package com.portfolio.eventos.espera;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilaEsperaTest {
+
+    private final FilaEspera fila = new FilaEspera();
+
+    @Test
+    void retirarPrimeiro_DeveSeguirOrdemDeChegada() {
+        entrar(10L);
+        entrar(20L);
+        entrar(30L);
+
+        assertEquals(10L, fila.retirarPrimeiro().getParticipanteId());
+        assertEquals(20L, fila.retirarPrimeiro().getParticipanteId());
+        assertEquals(30L, fila.retirarPrimeiro().getParticipanteId());
+        assertNull(fila.retirarPrimeiro());
+    }
+
+    @Test
+    void posicao_DeveDesconsiderarQuemSaiuDoMeioDaFila() {
+        entrar(10L);
+        entrar(20L);
+        entrar(30L);
+        entrar(40L);
+
+        fila.remover(20L);
+        fila.retirarPrimeiro();
+
+        assertEquals(1, fila.posicao(30L));
+        assertEquals(2, fila.posicao(40L));
+        assertEquals(0, fila.posicao(20L));
+        assertEquals(2, fila.tamanho());
+    }
+
+    @Test
+    void adicionar_EntradaDevolvidaDeveVoltarParaOInicio() {
+        entrar(10L);
+        entrar(20L);
+
+        FilaEspera.Entrada primeira = fila.retirarPrimeiro();
+        fila.adicionar(primeira.getSenha(), primeira.getInscricaoId(), primeira.getParticipanteId());
+
+        assertEquals(1, fila.posicao(10L));
+        assertEquals(2, fila.posicao(20L));
+    }
+
+    @Test
+    void posicao_DeveSerMantidaAoCrescerAlemDaCapacidadeInicial() {
+        for (long participante = 1; participante <= 1000; participante++) {
+            entrar(participante);
+        }
+        for (int i = 0; i < 500; i++) {
+            fila.retirarPrimeiro();
+        }
+        for (long participante = 1001; participante <= 1500; participante++) {
+            entrar(participante);
+        }
+
+        assertEquals(1, fila.posicao(501L));
+        assertEquals(1000, fila.posicao(1500L));
+    }
+
+    private void entrar(Long participanteId) {
+        fila.adicionar(fila.proximaSenha(), participanteId * 100, participanteId);
+    }
+}
@@ -0,0 +1,88 @@
+package com.portfolio.eventos.historico;
+
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.HistoricoInscricao.TipoRegistro;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo.Granularidade;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcumuladorSeriesTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2024, 3, 10, 14, 30, 15);
+
+    @Test
+    void accept_DeveSomarPorPeriodoEmCadaGranularidade() {
+        AcumuladorSeries acumulador = new AcumuladorSeries();
+        acumulador.accept(registro(1, 7, null, StatusInscricao.PENDENTE, DATA));
+        acumulador.accept(registro(2, 7, StatusInscricao.PENDENTE, StatusInscricao.CONFIRMADA, DATA.plusSeconds(30)));
+        acumulador.accept(registro(3, 7, null, StatusInscricao.CONFIRMADA, DATA.plusMinutes(5)));
+
+        Map<Granularidade, Map<LocalDateTime, InscricoesPorPeriodo>> doEvento = porPeriodo(acumulador, 7);
+
+        assertEquals(2, doEvento.get(Granularidade.MINUTO).size());
+        assertContagens(doEvento.get(Granularidade.MINUTO).get(LocalDateTime.of(2024, 3, 10, 14, 30)), 1, 1, 0);
+        assertContagens(doEvento.get(Granularidade.MINUTO).get(LocalDateTime.of(2024, 3, 10, 14, 35)), 1, 1, 0);
+        assertContagens(doEvento.get(Granularidade.HORA).get(LocalDateTime.of(2024, 3, 10, 14, 0)), 2, 2, 0);
+        assertContagens(doEvento.get(Granularidade.DIA).get(LocalDateTime.of(2024, 3, 10, 0, 0)), 2, 2, 0);
+    }
+
+    @Test
+    void accept_DeveSomarTodosOsEventosEIgnorarTransicoesNaoContadas() {
+        AcumuladorSeries acumulador = new AcumuladorSeries();
+        acumulador.accept(registro(1, 7, null, StatusInscricao.PENDENTE, DATA));
+        acumulador.accept(registro(2, 8, null, StatusInscricao.LISTA_ESPERA, DATA));
+        acumulador.accept(registro(3, 8, StatusInscricao.CONFIRMADA, StatusInscricao.CANCELADA, DATA.plusDays(1)));
+        acumulador.accept(registro(4, 8, StatusInscricao.LISTA_ESPERA, null, DATA));
+
+        Map<Granularidade, Map<LocalDateTime, InscricoesPorPeriodo>> todos =
+                porPeriodo(acumulador, InscricoesPorPeriodo.TODOS_EVENTOS);
+
+        assertContagens(todos.get(Granularidade.DIA).get(LocalDateTime.of(2024, 3, 10, 0, 0)), 2, 0, 0);
+        assertContagens(todos.get(Granularidade.DIA).get(LocalDateTime.of(2024, 3, 11, 0, 0)), 0, 0, 1);
+        // 2 eventos mais todos os eventos, em 2 dias para o evento 8 e para todos, nas 3 granularidades
+        assertEquals(3 * 5, acumulador.periodos().size());
+    }
+
+    @Test
+    void accept_NaoDeveCriarPeriodosParaRegistrosNaoContados() {
+        AcumuladorSeries acumulador = new AcumuladorSeries();
+        acumulador.accept(registro(1, 7, StatusInscricao.CONFIRMADA, null, DATA));
+        acumulador.accept(registro(2, 7, StatusInscricao.PENDENTE, StatusInscricao.LISTA_ESPERA, DATA));
+
+        assertTrue(acumulador.isEmpty());
+        assertTrue(acumulador.periodos().isEmpty());
+    }
+
+    private static Map<Granularidade, Map<LocalDateTime, InscricoesPorPeriodo>> porPeriodo(
+            AcumuladorSeries acumulador, long eventoId) {
+        Map<Granularidade, Map<LocalDateTime, InscricoesPorPeriodo>> periodos = new HashMap<>();
+        for (InscricoesPorPeriodo periodo : acumulador.periodos()) {
+            if (periodo.getEventoId() == eventoId) {
+                periodos.computeIfAbsent(periodo.getGranularidade(), g -> new HashMap<>())
+                        .put(periodo.getInicio(), periodo);
+            }
+        }
+        return periodos;
+    }
+
+    private static void assertContagens(InscricoesPorPeriodo periodo, long criadas, long confirmadas,
+                                        long canceladas) {
+        assertNotNull(periodo);
+        assertEquals(criadas, periodo.getCriadas());
+        assertEquals(confirmadas, periodo.getConfirmadas());
+        assertEquals(canceladas, periodo.getCanceladas());
+    }
+
+    private static RegistroHistoricoDTO registro(long sequencia, long eventoId, StatusInscricao anterior,
+                                                 StatusInscricao novo, LocalDateTime data) {
+        return new RegistroHistoricoDTO(sequencia, 100 + sequencia, eventoId, 1000 + sequencia,
+                TipoRegistro.daTransicao(anterior, novo), anterior, novo, data);
+    }
+}
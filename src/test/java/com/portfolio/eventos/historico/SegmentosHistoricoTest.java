@@ -0,0 +1,96 @@
+package com.portfolio.eventos.historico;
+
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.HistoricoInscricao.TipoRegistro;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentosHistoricoTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2024, 3, 10, 14, 30, 15, 123_456_789);
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void reproduzir_DeveDevolverOsRegistrosGravadosEmVariosSegmentos() throws IOException {
+        try (EscritorSegmentos escritor = new EscritorSegmentos(diretorio, 4)) {
+            for (long sequencia = 1; sequencia <= 10; sequencia++) {
+                escritor.anexar(registro(sequencia, StatusInscricao.PENDENTE, StatusInscricao.CONFIRMADA));
+            }
+        }
+
+        List<RegistroHistoricoDTO> lidos = new ArrayList<>();
+        long ultima = LeitorSegmentos.reproduzir(diretorio, 0, registro -> lidos.add(copia(registro)));
+
+        assertEquals(3, FormatoSegmento.listar(diretorio).size());
+        assertEquals(10, ultima);
+        assertEquals(10, lidos.size());
+        RegistroHistoricoDTO primeiro = lidos.get(0);
+        assertEquals(1, primeiro.getSequencia());
+        assertEquals(100, primeiro.getInscricaoId());
+        assertEquals(7, primeiro.getEventoId());
+        assertEquals(1000, primeiro.getParticipanteId());
+        assertEquals(TipoRegistro.CONFIRMADA, primeiro.getTipo());
+        assertEquals(StatusInscricao.PENDENTE, primeiro.getStatusAnterior());
+        assertEquals(StatusInscricao.CONFIRMADA, primeiro.getStatusNovo());
+        assertEquals(DATA, primeiro.getDataRegistro());
+    }
+
+    @Test
+    void reproduzir_DeveComecarDepoisDaSequenciaInformada() throws IOException {
+        try (EscritorSegmentos escritor = new EscritorSegmentos(diretorio, 4)) {
+            for (long sequencia = 2; sequencia <= 20; sequencia += 2) {
+                escritor.anexar(registro(sequencia, null, StatusInscricao.PENDENTE));
+            }
+        }
+
+        List<Long> sequencias = new ArrayList<>();
+        LeitorSegmentos.reproduzir(diretorio, 11, registro -> sequencias.add(registro.getSequencia()));
+
+        assertEquals(List.of(12L, 14L, 16L, 18L, 20L), sequencias);
+        assertEquals(20, LeitorSegmentos.reproduzir(diretorio, 20, registro -> fail("nenhum registro esperado")));
+    }
+
+    @Test
+    void escritor_DeveContinuarNoUltimoSegmentoAoReabrir() throws IOException {
+        try (EscritorSegmentos escritor = new EscritorSegmentos(diretorio, 4)) {
+            escritor.anexar(registro(1, null, StatusInscricao.PENDENTE));
+            escritor.anexar(registro(2, StatusInscricao.PENDENTE, StatusInscricao.CANCELADA));
+        }
+        try (EscritorSegmentos escritor = new EscritorSegmentos(diretorio, 4)) {
+            assertEquals(2, escritor.getUltimaSequencia());
+            assertThrows(IllegalArgumentException.class, () -> escritor.anexar(registro(2, null, null)));
+            escritor.anexar(registro(3, null, StatusInscricao.LISTA_ESPERA));
+        }
+
+        ContagensHistorico contagens = new ContagensHistorico();
+        assertEquals(3, LeitorSegmentos.reproduzir(diretorio, 0, contagens));
+
+        assertEquals(1, FormatoSegmento.listar(diretorio).size());
+        assertEquals(0, contagens.total(7L, StatusInscricao.PENDENTE));
+        assertEquals(1, contagens.total(7L, StatusInscricao.CANCELADA));
+        assertEquals(1, contagens.total(7L, StatusInscricao.LISTA_ESPERA));
+        assertEquals(2, contagens.contagens().size());
+    }
+
+    private static RegistroHistoricoDTO registro(long sequencia, StatusInscricao anterior, StatusInscricao novo) {
+        return new RegistroHistoricoDTO(sequencia, 99 + sequencia, 7, 999 + sequencia,
+                TipoRegistro.daTransicao(anterior, novo), anterior, novo, DATA);
+    }
+
+    private static RegistroHistoricoDTO copia(RegistroHistoricoDTO registro) {
+        return new RegistroHistoricoDTO(registro.getSequencia(), registro.getInscricaoId(), registro.getEventoId(),
+                registro.getParticipanteId(), registro.getTipo(), registro.getStatusAnterior(),
+                registro.getStatusNovo(), registro.getDataRegistro());
+    }
+}
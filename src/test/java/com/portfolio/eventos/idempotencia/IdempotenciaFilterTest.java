@@ -0,0 +1,246 @@
+package com.portfolio.eventos.idempotencia;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotenciaFilterTest {
+
+    private static final String CORPO = "{\"participanteId\":1,\"eventoId\":1}";
+
+    private final AtomicInteger processadas = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private IdempotenciaFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        filtro = new IdempotenciaFilter(new ArmazenamentoIdempotenciaMemoria(),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void repeticao_DeveDevolverRespostaGuardadaComHeadersSemProcessarDeNovo() throws Exception {
+        FilterChain aceita = (request, response) -> {
+            processadas.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(202);
+            http.setHeader(HttpHeaders.LOCATION, "/api/inscricoes/admissoes/7");
+            http.setHeader(HttpHeaders.RETRY_AFTER, "2");
+            http.setHeader("X-Outro", "nao-guardado");
+            http.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            http.getOutputStream().write("{\"senha\":7}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        MockHttpServletResponse original = executar("chave-1", CORPO, aceita);
+        MockHttpServletResponse repetida = executar("chave-1", CORPO, aceita);
+
+        assertEquals(1, processadas.get());
+        assertEquals(202, repetida.getStatus());
+        assertEquals(original.getContentAsString(), repetida.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, repetida.getContentType());
+        assertEquals("/api/inscricoes/admissoes/7", repetida.getHeader(HttpHeaders.LOCATION));
+        assertEquals("2", repetida.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(repetida.getHeader("X-Outro"));
+        assertEquals("true", repetida.getHeader(IdempotenciaFilter.HEADER_REPETIDA));
+        assertNull(original.getHeader(IdempotenciaFilter.HEADER_REPETIDA));
+    }
+
+    @Test
+    void chaveReutilizadaComOutroCorpo_DeveResponder422() throws Exception {
+        executar("chave-1", CORPO, responder(201));
+
+        MockHttpServletResponse resposta = executar("chave-1", "{\"participanteId\":2,\"eventoId\":1}", responder(201));
+
+        assertEquals(422, resposta.getStatus());
+        assertEquals(1, processadas.get());
+    }
+
+    @Test
+    void mesmaChaveEmOutroCaminho_DeveSerProcessadaSeparadamente() throws Exception {
+        executar("chave-1", CORPO, responder(201));
+
+        MockHttpServletRequest request = requisicao("chave-1", CORPO);
+        request.setRequestURI("/api/inscricoes/lote");
+        filtro.doFilter(request, new MockHttpServletResponse(), responder(201));
+
+        assertEquals(2, processadas.get());
+    }
+
+    @Test
+    void respostaConflito_NaoDeveSerGuardada() throws Exception {
+        executar("chave-1", CORPO, responder(409));
+
+        MockHttpServletResponse resposta = executar("chave-1", CORPO, responder(201));
+
+        assertEquals(201, resposta.getStatus());
+        assertEquals(2, processadas.get());
+        assertNull(resposta.getHeader(IdempotenciaFilter.HEADER_REPETIDA));
+    }
+
+    @Test
+    void requisicoesSimultaneasComMesmaChave_DevemSerProcessadasUmaVez() throws Exception {
+        CountDownLatch emProcessamento = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain lenta = (request, response) -> {
+            processadas.incrementAndGet();
+            emProcessamento.countDown();
+            aguardar(liberar);
+            ((HttpServletResponse) response).setStatus(201);
+            response.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        Future<MockHttpServletResponse> original = executor.submit(() -> executar("chave-1", CORPO, lenta));
+        assertTrue(emProcessamento.await(5, TimeUnit.SECONDS));
+        AtomicReference<Thread> aguardando = new AtomicReference<>();
+        Future<MockHttpServletResponse> repetida = executor.submit(() -> {
+            aguardando.set(Thread.currentThread());
+            return executar("chave-1", CORPO, lenta);
+        });
+        aguardarBloqueio(aguardando);
+        liberar.countDown();
+
+        assertEquals(201, original.get(5, TimeUnit.SECONDS).getStatus());
+        MockHttpServletResponse resposta = repetida.get(5, TimeUnit.SECONDS);
+        assertEquals(201, resposta.getStatus());
+        assertEquals("{\"id\":1}", resposta.getContentAsString());
+        assertEquals("true", resposta.getHeader(IdempotenciaFilter.HEADER_REPETIDA));
+        assertEquals(1, processadas.get());
+    }
+
+    @Test
+    void requisicaoAguardando_DeveAssumirQuandoAOriginalFalhaCom5xx() throws Exception {
+        CountDownLatch emProcessamento = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain falhaNaPrimeira = (request, response) -> {
+            int tentativa = processadas.incrementAndGet();
+            if (tentativa == 1) {
+                emProcessamento.countDown();
+                aguardar(liberar);
+                ((HttpServletResponse) response).setStatus(503);
+            } else {
+                ((HttpServletResponse) response).setStatus(201);
+            }
+        };
+
+        Future<MockHttpServletResponse> original = executor.submit(() -> executar("chave-1", CORPO, falhaNaPrimeira));
+        assertTrue(emProcessamento.await(5, TimeUnit.SECONDS));
+        AtomicReference<Thread> aguardando = new AtomicReference<>();
+        Future<MockHttpServletResponse> repetida = executor.submit(() -> {
+            aguardando.set(Thread.currentThread());
+            return executar("chave-1", CORPO, falhaNaPrimeira);
+        });
+        aguardarBloqueio(aguardando);
+        liberar.countDown();
+
+        assertEquals(503, original.get(5, TimeUnit.SECONDS).getStatus());
+        MockHttpServletResponse resposta = repetida.get(5, TimeUnit.SECONDS);
+        assertEquals(201, resposta.getStatus());
+        assertNull(resposta.getHeader(IdempotenciaFilter.HEADER_REPETIDA));
+        assertEquals(2, processadas.get());
+        assertEquals(201, executar("chave-1", CORPO, falhaNaPrimeira).getStatus());
+        assertEquals(2, processadas.get());
+    }
+
+    @Test
+    void corpoDaRequisicao_DeveSerEntregueAoLeitorAssincrono() throws Exception {
+        StringBuilder lido = new StringBuilder();
+        AtomicInteger fimDaLeitura = new AtomicInteger();
+        FilterChain assincrona = (request, response) -> {
+            ServletInputStream entrada = request.getInputStream();
+            entrada.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] parte = new byte[8];
+                    int n;
+                    while (entrada.isReady() && (n = entrada.read(parte)) != -1) {
+                        lido.append(new String(parte, 0, n, StandardCharsets.UTF_8));
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    fimDaLeitura.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        executar("chave-1", CORPO, assincrona);
+
+        assertEquals(CORPO, lido.toString());
+        assertEquals(1, fimDaLeitura.get());
+    }
+
+    private MockHttpServletResponse executar(String chave, String corpo, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(requisicao(chave, corpo), response, chain);
+        return response;
+    }
+
+    private MockHttpServletRequest requisicao(String chave, String corpo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/inscricoes");
+        request.addHeader(IdempotenciaFilter.HEADER_CHAVE, chave);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private FilterChain responder(int status) {
+        return (request, response) -> {
+            processadas.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(status);
+        };
+    }
+
+    /**
+     * Espera a thread da requisição repetida parar aguardando a resposta da original
+     */
+    private static void aguardarBloqueio(AtomicReference<Thread> aguardando) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (aguardando.get() == null || aguardando.get().getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.nanoTime() < limite, "a requisição repetida não passou a aguardar a original");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.portfolio.eventos.ranking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingContagensTest {
+
+    private RankingContagens ranking;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new RankingContagens();
+        ranking.definir(1L, 5);
+        ranking.definir(2L, 10);
+        ranking.definir(3L, 5);
+        ranking.incluir(4L);
+    }
+
+    private List<Long> primeiros(int limite) {
+        return ranking.primeiros(limite).stream().map(RankingContagens.Posicao::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void primeiros_DeveOrdenarPorContagemEDesempatarPeloMenorId() {
+        assertEquals(List.of(2L, 1L, 3L, 4L), primeiros(10));
+        assertEquals(List.of(2L, 1L), primeiros(2));
+    }
+
+    @Test
+    void ajustar_DeveReposicionarNoRanking() {
+        ranking.ajustar(3L, 6);
+        ranking.ajustar(2L, -10);
+
+        assertEquals(List.of(3L, 1L, 2L, 4L), primeiros(10));
+        assertEquals(11, ranking.total(3L));
+        assertEquals(0, ranking.total(2L));
+    }
+
+    @Test
+    void ajustar_NaoDeveFicarNegativo() {
+        ranking.ajustar(4L, -1);
+
+        assertEquals(0, ranking.total(4L));
+    }
+
+    @Test
+    void incluir_NaoDeveSobrescreverContagemExistente() {
+        ranking.incluir(2L);
+
+        assertEquals(10, ranking.total(2L));
+    }
+
+    @Test
+    void remover_DeveRetirarDoRanking() {
+        ranking.remover(2L);
+
+        assertEquals(List.of(1L, 3L, 4L), primeiros(10));
+        assertEquals(0, ranking.total(2L));
+    }
+}
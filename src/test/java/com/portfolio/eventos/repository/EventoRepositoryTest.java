@@ -0,0 +1,159 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.dto.EventoDTO;
+import com.portfolio.eventos.entity.Categoria;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.entity.Local;
+import com.portfolio.eventos.entity.Participante;
+import com.portfolio.eventos.ranking.ContagemInscricoes;
+import com.portfolio.eventos.repository.specification.EventoSpecifications;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EventoRepositoryTest {
+
+    private static final int TOTAL_EVENTOS = 30;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Categoria categoria;
+    private Evento eventoComInscricoes;
+    private final List<Long> idsEventos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        categoria = entityManager.persist(new Categoria("Tecnologia", "Eventos de tecnologia"));
+        Categoria outraCategoria = entityManager.persist(new Categoria("Música", "Shows"));
+        Local local = entityManager.persist(new Local("Centro de Convenções", "Rua A, 100", 500));
+
+        for (int i = 0; i < TOTAL_EVENTOS; i++) {
+            Evento evento = new Evento("Evento " + i, "Descrição " + i,
+                    LocalDate.now().plusDays(i), LocalDate.now().plusDays(i + 1),
+                    null, null, i % 3 == 0 ? 0 : 50, BigDecimal.valueOf(i * 10L),
+                    local, i % 2 == 0 ? categoria : outraCategoria);
+            evento = entityManager.persist(evento);
+            idsEventos.add(evento.getId());
+            if (i == 0) {
+                eventoComInscricoes = evento;
+            }
+        }
+
+        for (int i = 0; i < 3; i++) {
+            Participante participante = entityManager.persist(
+                    new Participante("Participante " + i, "participante" + i + "@email.com", null, "senha"));
+            entityManager.persist(new Inscricao(participante, eventoComInscricoes, Inscricao.StatusInscricao.CONFIRMADA));
+        }
+        eventoRepository.reconciliarInscricoesConfirmadas();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"id", "nome", "dataInicio", "preco", "status", "capacidadeMaxima", "numeroInscricoesConfirmadas"})
+    void findAllComTotais_DeveExecutarConsultaEContagemParaQualquerOrdenacao(String propriedade) {
+        Page<EventoDTO> pagina = eventoRepository.findAllComTotais(
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, propriedade)));
+
+        assertEquals(10, pagina.getNumberOfElements());
+        assertEquals(TOTAL_EVENTOS, pagina.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 25, 100})
+    void findAllComTotais_NumeroDeConsultasNaoDependeDoTamanhoDaPagina(int tamanho) {
+        eventoRepository.findAllComTotais(PageRequest.of(0, tamanho, Sort.by("id")));
+
+        // A contagem só é omitida quando a primeira página já contém todos os registros
+        long esperado = tamanho < TOTAL_EVENTOS ? 2 : 1;
+        assertEquals(esperado, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllComTotais_DevePreencherTotaisDeInscricoes() {
+        EventoDTO dto = eventoRepository.findAllComTotais(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0);
+
+        assertEquals(eventoComInscricoes.getId(), dto.getId());
+        assertEquals(3L, dto.getNumeroInscricoesConfirmadas());
+        assertEquals(-1, dto.getVagasDisponiveis());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"id", "nome", "dataInicio", "preco"})
+    void findComTotais_ComFiltros_DeveExecutarConsultaEContagem(String propriedade) {
+        Page<EventoDTO> pagina = eventoRepository.findComTotais(
+                EventoSpecifications.comFiltros(categoria.getId(), null, Evento.StatusEvento.EM_BREVE,
+                        LocalDate.now(), null, BigDecimal.valueOf(200)),
+                PageRequest.of(0, 5, Sort.by(propriedade)));
+
+        assertEquals(5, pagina.getNumberOfElements());
+        assertEquals(11, pagina.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findContagensInscricoesPorStatusByEventoIdIn_DeveContarTodosOsEventosEmUmaConsulta() {
+        List<Long> ids = new ArrayList<>(idsEventos);
+        ids.add(-1L);
+
+        List<ContagemInscricoes> contagens = eventoRepository.findContagensInscricoesPorStatusByEventoIdIn(ids);
+
+        assertEquals(TOTAL_EVENTOS, contagens.size());
+        ContagemInscricoes comInscricoes = contagens.stream()
+                .filter(contagem -> contagem.getEventoId().equals(eventoComInscricoes.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(Inscricao.StatusInscricao.CONFIRMADA, comInscricoes.getStatus());
+        assertEquals(3L, comInscricoes.getTotal());
+        assertEquals(TOTAL_EVENTOS - 1, contagens.stream().filter(contagem -> contagem.getStatus() == null).count());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void reconciliarInscricoesConfirmadas_DeveContarPendentesComVagaReservada() {
+        Evento evento = entityManager.find(Evento.class, eventoComInscricoes.getId());
+        Participante promovido = entityManager.persist(
+                new Participante("Promovido", "promovido@email.com", null, "senha"));
+        Inscricao comVaga = new Inscricao(promovido, evento, Inscricao.StatusInscricao.PENDENTE);
+        comVaga.setVagaReservada(true);
+        entityManager.persist(comVaga);
+        Participante pendente = entityManager.persist(
+                new Participante("Pendente", "pendente@email.com", null, "senha"));
+        entityManager.persist(new Inscricao(pendente, evento, Inscricao.StatusInscricao.PENDENTE));
+        entityManager.flush();
+
+        eventoRepository.reconciliarInscricoesConfirmadas();
+
+        assertEquals(4L, eventoRepository.buscarInscricoesConfirmadas(eventoComInscricoes.getId()));
+    }
+}
@@ -0,0 +1,113 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.dto.InscricaoDTO;
+import com.portfolio.eventos.entity.Categoria;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.entity.Local;
+import com.portfolio.eventos.entity.Participante;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class InscricaoRepositoryTest {
+
+    private static final int TOTAL_PARTICIPANTES = 40;
+    private static final int TOTAL_EVENTOS = 2;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Evento primeiroEvento;
+    private Participante primeiroParticipante;
+
+    @BeforeEach
+    void setUp() {
+        Categoria categoria = entityManager.persist(new Categoria("Tecnologia", "Eventos de tecnologia"));
+        Local local = entityManager.persist(new Local("Centro de Convenções", "Rua A, 100", 500));
+
+        Evento[] eventos = new Evento[TOTAL_EVENTOS];
+        for (int i = 0; i < TOTAL_EVENTOS; i++) {
+            eventos[i] = entityManager.persist(new Evento("Evento " + i, "Descrição " + i,
+                    LocalDate.now().plusDays(1), LocalDate.now().plusDays(2),
+                    null, null, 0, BigDecimal.ZERO, local, categoria));
+        }
+        for (int i = 0; i < TOTAL_PARTICIPANTES; i++) {
+            Participante participante = entityManager.persist(
+                    new Participante("Participante " + i, "participante" + i + "@email.com", null, "senha"));
+            if (i == 0) {
+                primeiroParticipante = participante;
+            }
+            for (Evento evento : eventos) {
+                entityManager.persist(new Inscricao(participante, evento, Inscricao.StatusInscricao.CONFIRMADA));
+            }
+        }
+        primeiroEvento = eventos[0];
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, 35})
+    void findComNomesByEventoId_NumeroDeConsultasNaoDependeDoTamanhoDaPagina(int tamanho) {
+        Page<InscricaoDTO> pagina = inscricaoRepository.findComNomesByEventoId(primeiroEvento.getId(),
+                PageRequest.of(0, tamanho, Sort.by("id")));
+
+        assertEquals(tamanho, pagina.getNumberOfElements());
+        assertEquals(TOTAL_PARTICIPANTES, pagina.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"id", "dataInscricao", "status"})
+    void findAllComNomes_DeveExecutarConsultaEContagemParaQualquerOrdenacao(String propriedade) {
+        Page<InscricaoDTO> pagina = inscricaoRepository.findAllComNomes(
+                PageRequest.of(1, 25, Sort.by(Sort.Direction.DESC, propriedade)));
+
+        assertEquals(25, pagina.getNumberOfElements());
+        assertEquals(TOTAL_PARTICIPANTES * TOTAL_EVENTOS, pagina.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findComNomesByParticipanteId_DevePreencherNomes() {
+        Page<InscricaoDTO> pagina = inscricaoRepository.findComNomesByParticipanteId(primeiroParticipante.getId(),
+                PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(TOTAL_EVENTOS, pagina.getTotalElements());
+        InscricaoDTO dto = pagina.getContent().get(0);
+        assertEquals("Participante 0", dto.getNomeParticipante());
+        assertEquals("Evento 0", dto.getNomeEvento());
+        assertEquals(primeiroEvento.getId(), dto.getEventoId());
+        // a primeira página já contém todos os registros, então a contagem é omitida
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,59 @@
+package com.portfolio.eventos.repository;
+
+import com.portfolio.eventos.config.BaselineSchemaLegado;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Adota com baseline-on-migrate um schema criado pelo ddl-auto=update, de antes das migrações, e aplica as demais
+ */
+class MigracoesBaselineTest {
+
+    @Test
+    void migrar_SchemaCriadoPeloHibernate_DeveAdotarNaVersao1EAplicarAsDemais() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:legado;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/legado/schema_ddl_auto_update.sql'");
+
+            MigrateResult resultado = Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .callbacks(new BaselineSchemaLegado())
+                    .load()
+                    .migrate();
+
+            assertTrue(resultado.success);
+            assertEquals("12", resultado.targetSchemaVersion);
+            assertEquals(List.of("CK_INSCRICOES_STATUS"), consultar(statement,
+                    "SELECT constraint_name FROM information_schema.check_constraints "
+                            + "WHERE check_clause LIKE '%LISTA_ESPERA%'"));
+            assertEquals(List.of("IDX_INSCRICOES_EVENTO_STATUS"), consultar(statement,
+                    "SELECT DISTINCT index_name FROM information_schema.indexes "
+                            + "WHERE index_name = 'IDX_INSCRICOES_EVENTO_STATUS'"));
+        }
+    }
+
+    private static List<String> consultar(Statement statement, String sql) throws SQLException {
+        List<String> valores = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                valores.add(rs.getString(1));
+            }
+        }
+        return valores;
+    }
+}
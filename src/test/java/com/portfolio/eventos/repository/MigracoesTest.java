@@ -0,0 +1,82 @@
+package com.portfolio.eventos.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aplica as migrações Flyway em um H2 no modo PostgreSQL, valida o schema contra as entidades
+ * (ddl-auto=validate) e verifica os índices esperados em produção.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migracoes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class MigracoesTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void migracoes_DevemCriarIndicesDeEventos() throws SQLException {
+        Map<String, List<String>> indices = indices("eventos");
+
+        assertEquals(List.of("data_inicio"), indices.get("idx_eventos_data_inicio"));
+        assertEquals(List.of("categoria_id", "data_inicio"), indices.get("idx_eventos_categoria_data_inicio"));
+        assertEquals(List.of("local_id", "data_inicio"), indices.get("idx_eventos_local_data_inicio"));
+        assertEquals(List.of("status", "data_inicio"), indices.get("idx_eventos_status_data_inicio"));
+        assertEquals(List.of("preco"), indices.get("idx_eventos_preco"));
+    }
+
+    @Test
+    void migracoes_DevemCriarIndicesDeInscricoes() throws SQLException {
+        Map<String, List<String>> indices = indices("inscricoes");
+
+        assertEquals(List.of("evento_id", "status"), indices.get("idx_inscricoes_evento_status"));
+        assertEquals(List.of("participante_id", "status"), indices.get("idx_inscricoes_participante_status"));
+        assertEquals(List.of("data_inscricao"), indices.get("idx_inscricoes_data_inscricao"));
+    }
+
+    @Test
+    void migracoes_DevemCriarChavesUnicas() throws SQLException {
+        assertTrue(indices("inscricoes").values().contains(List.of("participante_id", "evento_id")));
+        assertTrue(indices("participantes").values().contains(List.of("email")));
+        assertTrue(indices("categorias").values().contains(List.of("nome")));
+        assertTrue(indices("locais").values().contains(List.of("nome")));
+    }
+
+    /** Colunas de cada índice da tabela, na ordem da definição */
+    private Map<String, List<String>> indices(String tabela) throws SQLException {
+        Map<String, List<String>> indices = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(null, null, tabela, false, false)) {
+                while (rs.next()) {
+                    String nome = rs.getString("INDEX_NAME");
+                    List<String> colunas = indices.computeIfAbsent(nome, n -> new ArrayList<>());
+                    colunas.add(rs.getShort("ORDINAL_POSITION") - 1, rs.getString("COLUMN_NAME"));
+                }
+            }
+        }
+        return indices;
+    }
+}
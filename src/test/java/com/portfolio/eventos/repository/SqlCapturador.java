@@ -0,0 +1,29 @@
+package com.portfolio.eventos.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * StatementInspector de teste que guarda o SQL gerado pelo Hibernate.
+ * Registrado via hibernate.session_factory.statement_inspector.
+ */
+public class SqlCapturador implements StatementInspector {
+
+    private static final List<String> SQL_EXECUTADO = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        SQL_EXECUTADO.add(sql);
+        return sql;
+    }
+
+    public static void limpar() {
+        SQL_EXECUTADO.clear();
+    }
+
+    public static List<String> consultas() {
+        return List.copyOf(SQL_EXECUTADO);
+    }
+}
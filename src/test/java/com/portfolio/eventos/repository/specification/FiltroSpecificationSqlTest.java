@@ -0,0 +1,121 @@
+package com.portfolio.eventos.repository.specification;
+
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.repository.EventoRepository;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import com.portfolio.eventos.repository.SqlCapturador;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica, para cada combinação de filtros, que o SQL gerado contém apenas os predicados dos filtros informados.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.portfolio.eventos.repository.SqlCapturador")
+class FiltroSpecificationSqlTest {
+
+    private static final String[] PREDICADOS_EVENTO = {
+            "categoria_id=?", "local_id=?", "status=?", "data_inicio>=?", "data_fim<=?", "preco<=?"
+    };
+
+    private static final String[] PREDICADOS_INSCRICAO = {
+            "participante_id=?", "evento_id=?", "status=?", "data_inscricao>=?", "data_inscricao<=?"
+    };
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapturador.limpar();
+    }
+
+    static IntStream combinacoesEvento() {
+        return IntStream.range(0, 1 << PREDICADOS_EVENTO.length);
+    }
+
+    static IntStream combinacoesInscricao() {
+        return IntStream.range(0, 1 << PREDICADOS_INSCRICAO.length);
+    }
+
+    @ParameterizedTest
+    @MethodSource("combinacoesEvento")
+    void findEventosComFiltros_DeveGerarApenasPredicadosInformados(int combinacao) {
+        eventoRepository.findEventosComFiltros(
+                informado(combinacao, 0) ? 1L : null,
+                informado(combinacao, 1) ? 1L : null,
+                informado(combinacao, 2) ? Evento.StatusEvento.ATIVO : null,
+                informado(combinacao, 3) ? LocalDate.now() : null,
+                informado(combinacao, 4) ? LocalDate.now().plusDays(30) : null,
+                informado(combinacao, 5) ? BigDecimal.TEN : null,
+                PageRequest.of(0, 10));
+
+        assertPredicados(combinacao, PREDICADOS_EVENTO);
+    }
+
+    @ParameterizedTest
+    @MethodSource("combinacoesEvento")
+    void findComTotais_DeveGerarApenasPredicadosInformados(int combinacao) {
+        eventoRepository.findComTotais(EventoSpecifications.comFiltros(
+                informado(combinacao, 0) ? 1L : null,
+                informado(combinacao, 1) ? 1L : null,
+                informado(combinacao, 2) ? Evento.StatusEvento.ATIVO : null,
+                informado(combinacao, 3) ? LocalDate.now() : null,
+                informado(combinacao, 4) ? LocalDate.now().plusDays(30) : null,
+                informado(combinacao, 5) ? BigDecimal.TEN : null),
+                PageRequest.of(0, 10));
+
+        assertPredicados(combinacao, PREDICADOS_EVENTO);
+    }
+
+    @ParameterizedTest
+    @MethodSource("combinacoesInscricao")
+    void findInscricoesComFiltros_DeveGerarApenasPredicadosInformados(int combinacao) {
+        inscricaoRepository.findInscricoesComFiltros(
+                informado(combinacao, 0) ? 1L : null,
+                informado(combinacao, 1) ? 1L : null,
+                informado(combinacao, 2) ? Inscricao.StatusInscricao.CONFIRMADA : null,
+                informado(combinacao, 3) ? LocalDateTime.now().minusDays(7) : null,
+                informado(combinacao, 4) ? LocalDateTime.now() : null,
+                PageRequest.of(0, 10));
+
+        assertPredicados(combinacao, PREDICADOS_INSCRICAO);
+    }
+
+    private static boolean informado(int combinacao, int filtro) {
+        return (combinacao & (1 << filtro)) != 0;
+    }
+
+    private static void assertPredicados(int combinacao, String[] predicados) {
+        assertFalse(SqlCapturador.consultas().isEmpty());
+        String sql = SqlCapturador.consultas().get(0).toLowerCase();
+        int inicioWhere = sql.indexOf(" where ");
+        String where = inicioWhere < 0 ? "" : sql.substring(inicioWhere);
+
+        assertFalse(where.contains("is null"), "Predicado genérico encontrado: " + sql);
+        assertFalse(sql.contains(" join "), "Join desnecessário encontrado: " + sql);
+        for (int filtro = 0; filtro < predicados.length; filtro++) {
+            assertEquals(informado(combinacao, filtro), where.contains(predicados[filtro]),
+                    "Predicado '" + predicados[filtro] + "' inesperado para a combinação " + combinacao + ": " + sql);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.InscricaoDTO;
+import com.portfolio.eventos.dto.SenhaAdmissaoDTO;
+import com.portfolio.eventos.dto.SenhaAdmissaoDTO.StatusAdmissao;
+import com.portfolio.eventos.exception.SobrecargaException;
+import com.portfolio.eventos.exception.ValidationException;
+import com.portfolio.eventos.repository.EventoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AdmissaoInscricoesServiceTest {
+
+    private static final Long EVENTO_ID = 1L;
+
+    private final EventoRepository eventoRepository = mock(EventoRepository.class);
+    private final InscricaoAltaDemandaService inscricaoAltaDemandaService = mock(InscricaoAltaDemandaService.class);
+    private final CountDownLatch liberarProcessamento = new CountDownLatch(1);
+    private AdmissaoInscricoesService service;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> limites = new ArrayList<>();
+        limites.add(new Object[] {EVENTO_ID, 1});
+        when(eventoRepository.findLimitesInscricoesPorSegundo()).thenReturn(limites);
+        service = new AdmissaoInscricoesService(eventoRepository, inscricaoAltaDemandaService);
+        service.carregar();
+        service.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        liberarProcessamento.countDown();
+        service.encerrar();
+    }
+
+    @Test
+    void admitir_EventoSemLimite_DeveSeguirNaPropriaRequisicao() {
+        assertNull(service.admitir(pedido(2L, 1L)));
+    }
+
+    @Test
+    void admitir_AcimaDoLimite_DeveDevolverSenhaNaFilaEProcessarNaVez() throws Exception {
+        when(inscricaoAltaDemandaService.criarInscricao(any(InscricaoDTO.class)))
+                .thenAnswer(invocacao -> inscrita(invocacao.getArgument(0)));
+
+        assertNull(service.admitir(pedido(EVENTO_ID, 1L)));
+        SenhaAdmissaoDTO senha = service.admitir(pedido(EVENTO_ID, 2L));
+
+        assertEquals(StatusAdmissao.AGUARDANDO, senha.getStatus());
+        assertEquals(1, senha.getPosicao());
+        assertEquals(AdmissaoInscricoesService.CAMINHO_CONSULTA + senha.getSenha(), senha.getUrlConsulta());
+        aguardar(() -> service.consultar(senha.getSenha()).getStatus() == StatusAdmissao.CONCLUIDA);
+        assertEquals(20L, service.consultar(senha.getSenha()).getInscricao().getId());
+    }
+
+    @Test
+    void admitir_PedidoRecusadoNaCriacao_DeveGuardarAMensagem() throws Exception {
+        when(inscricaoAltaDemandaService.criarInscricao(any(InscricaoDTO.class)))
+                .thenThrow(new ValidationException("Evento lotado. Não há vagas disponíveis."));
+
+        service.admitir(pedido(EVENTO_ID, 1L));
+        SenhaAdmissaoDTO senha = service.admitir(pedido(EVENTO_ID, 2L));
+
+        aguardar(() -> service.consultar(senha.getSenha()).getStatus() == StatusAdmissao.RECUSADA);
+        assertEquals("Evento lotado. Não há vagas disponíveis.", service.consultar(senha.getSenha()).getMensagem());
+    }
+
+    @Test
+    void admitir_FilaCheia_DeveRecusarCom503() {
+        service.admitir(pedido(EVENTO_ID, 0L));
+        for (long i = 1; i <= AdmissaoInscricoesService.TAMANHO_MAXIMO_FILA; i++) {
+            assertNotNull(service.admitir(pedido(EVENTO_ID, i)));
+        }
+
+        assertThrows(SobrecargaException.class, () -> service.admitir(pedido(EVENTO_ID, -1L)));
+    }
+
+    @Test
+    void removerEvento_DeveLiberarOsPedidosSoQuandoHouverProcessadorLivre() throws Exception {
+        AtomicInteger emProcessamento = new AtomicInteger();
+        AtomicInteger maximoSimultaneos = new AtomicInteger();
+        when(inscricaoAltaDemandaService.criarInscricao(any(InscricaoDTO.class))).thenAnswer(invocacao -> {
+            maximoSimultaneos.accumulateAndGet(emProcessamento.incrementAndGet(), Math::max);
+            try {
+                assertTrue(liberarProcessamento.await(5, TimeUnit.SECONDS));
+                return inscrita(invocacao.getArgument(0));
+            } finally {
+                emProcessamento.decrementAndGet();
+            }
+        });
+        service.admitir(pedido(EVENTO_ID, 0L));
+        int aguardando = 50;
+        List<String> senhas = new ArrayList<>();
+        for (long i = 1; i <= aguardando; i++) {
+            senhas.add(service.admitir(pedido(EVENTO_ID, i)).getSenha());
+        }
+
+        service.removerEvento(EVENTO_ID);
+
+        int processadores = AdmissaoInscricoesService.PROCESSADORES;
+        aguardar(() -> emProcessamento.get() == processadores);
+        Thread.sleep(100);
+        // Os excedentes continuam na sala, na ordem de chegada, em vez de se acumularem no pool
+        assertEquals(aguardando - processadores, service.totalAguardando());
+        SenhaAdmissaoDTO ultima = service.consultar(senhas.get(aguardando - 1));
+        assertEquals(StatusAdmissao.AGUARDANDO, ultima.getStatus());
+        assertEquals(aguardando - processadores, ultima.getPosicao());
+
+        liberarProcessamento.countDown();
+        aguardar(() -> senhas.stream().allMatch(senha ->
+                service.consultar(senha).getStatus() == StatusAdmissao.CONCLUIDA));
+        assertEquals(0, service.totalAguardando());
+        assertEquals(processadores, maximoSimultaneos.get());
+        verify(inscricaoAltaDemandaService, times(aguardando)).criarInscricao(any(InscricaoDTO.class));
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "a condição não foi atingida a tempo");
+            Thread.sleep(10);
+        }
+    }
+
+    private static InscricaoDTO pedido(Long eventoId, Long participanteId) {
+        InscricaoDTO dto = new InscricaoDTO();
+        dto.setEventoId(eventoId);
+        dto.setParticipanteId(participanteId);
+        return dto;
+    }
+
+    private static InscricaoDTO inscrita(InscricaoDTO pedido) {
+        InscricaoDTO dto = pedido(pedido.getEventoId(), pedido.getParticipanteId());
+        dto.setId(pedido.getParticipanteId() * 10);
+        return dto;
+    }
+}
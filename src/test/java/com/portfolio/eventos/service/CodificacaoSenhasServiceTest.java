@@ -0,0 +1,78 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.EstatisticasSenhasDTO;
+import com.portfolio.eventos.exception.SobrecargaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CodificacaoSenhasServiceTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private CodificacaoSenhasService codificacaoSenhasService;
+
+    @AfterEach
+    void encerrar() {
+        if (codificacaoSenhasService != null) {
+            codificacaoSenhasService.encerrar();
+        }
+    }
+
+    @Test
+    void codificar_DeveCodificarNoPoolERegistrarEstatisticas() {
+        when(passwordEncoder.encode("senha123")).thenReturn("codificada");
+        codificacaoSenhasService = new CodificacaoSenhasService(passwordEncoder, 2, 4);
+
+        assertEquals("codificada", codificacaoSenhasService.codificar("senha123"));
+
+        EstatisticasSenhasDTO estatisticas = codificacaoSenhasService.obterEstatisticas();
+        assertEquals(2, estatisticas.getThreads());
+        assertEquals(4, estatisticas.getCapacidadeFila());
+        assertEquals(1, estatisticas.getConcluidas());
+        assertEquals(0, estatisticas.getRecusadas());
+    }
+
+    @Test
+    void codificar_ComFilaCheia_DeveRecusarComSobrecarga() throws Exception {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocacao -> {
+            iniciada.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return "codificada-" + invocacao.getArgument(0);
+        });
+        codificacaoSenhasService = new CodificacaoSenhasService(passwordEncoder, 1, 1);
+
+        CompletableFuture<String> emExecucao = CompletableFuture.supplyAsync(() -> codificacaoSenhasService.codificar("a"));
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> codificacaoSenhasService.codificar("b"));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (codificacaoSenhasService.obterEstatisticas().getTamanhoFila() == 0 && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+
+        SobrecargaException excecao = assertThrows(SobrecargaException.class,
+                () -> codificacaoSenhasService.codificar("c"));
+        assertTrue(excecao.getSegundosParaNovaTentativa() >= 1);
+
+        liberar.countDown();
+        assertEquals("codificada-a", emExecucao.get(5, TimeUnit.SECONDS));
+        assertEquals("codificada-b", naFila.get(5, TimeUnit.SECONDS));
+        assertEquals(1, codificacaoSenhasService.obterEstatisticas().getRecusadas());
+        verify(passwordEncoder, never()).encode("c");
+    }
+}
@@ -0,0 +1,131 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.credenciamento.Ingressos;
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.dto.ResultadoCheckinDTO.SituacaoCheckin;
+import com.portfolio.eventos.entity.HistoricoInscricao.TipoRegistro;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+import com.portfolio.eventos.repository.CheckinRepository;
+import com.portfolio.eventos.repository.EventoRepository;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark do check-in completo (conferência do ingresso, inscrição confirmada, check-in repetido e fila de
+ * gravação), sem banco, fora do build padrão: mvn test -Pdesempenho -Dtest=CredenciamentoDesempenhoTest.
+ * Meta: mais de {@value #META_POR_SEGUNDO} check-ins por segundo em um núcleo.
+ */
+@Tag("desempenho")
+class CredenciamentoDesempenhoTest {
+
+    private static final long EVENTO_ID = 1L;
+    private static final int META_POR_SEGUNDO = 20_000;
+    private static final int INSCRICOES = 400_000;
+    private static final int AQUECIMENTO = 100_000;
+
+    private CredenciamentoService credenciamentoService;
+    private String[] codigos;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        EventoRepository eventoRepository = mock(EventoRepository.class);
+        HistoricoInscricoesService historicoInscricoesService = mock(HistoricoInscricoesService.class);
+        byte[] chave = Ingressos.novaChave();
+        when(eventoRepository.findChaveIngressosById(EVENTO_ID)).thenReturn(Optional.of(chave));
+        credenciamentoService = new CredenciamentoService(eventoRepository, mock(InscricaoRepository.class),
+                mock(CheckinRepository.class), historicoInscricoesService);
+
+        ArgumentCaptor<Consumer<RegistroHistoricoDTO>> assinante = ArgumentCaptor.forClass(Consumer.class);
+        credenciamentoService.iniciar();
+        verify(historicoInscricoesService).assinar(assinante.capture());
+        Ingressos ingressos = new Ingressos(EVENTO_ID, chave);
+        codigos = new String[INSCRICOES];
+        for (int i = 0; i < INSCRICOES; i++) {
+            long inscricaoId = i + 1L;
+            assinante.getValue().accept(new RegistroHistoricoDTO(inscricaoId, inscricaoId, EVENTO_ID, inscricaoId,
+                    TipoRegistro.CONFIRMADA, StatusInscricao.PENDENTE, StatusInscricao.CONFIRMADA, LocalDateTime.now()));
+            codigos[i] = ingressos.emitir(inscricaoId);
+        }
+    }
+
+    @Test
+    void registrarCheckin_DeveSuperarAMetaEmUmaThread() {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            credenciamentoService.registrarCheckin(EVENTO_ID, codigos[i]);
+        }
+
+        long inicio = System.nanoTime();
+        int realizados = 0;
+        for (int i = AQUECIMENTO; i < INSCRICOES; i++) {
+            if (credenciamentoService.registrarCheckin(EVENTO_ID, codigos[i]).getSituacao() == SituacaoCheckin.REALIZADO) {
+                realizados++;
+            }
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        int medidos = INSCRICOES - AQUECIMENTO;
+        double porSegundo = medidos * 1e9 / duracao;
+        System.out.printf("CredenciamentoService.registrarCheckin: %,.0f check-ins/s em uma thread (%.0f ns cada)%n",
+                porSegundo, (double) duracao / medidos);
+        assertEquals(medidos, realizados);
+        assertEquals(SituacaoCheckin.REPETIDO, credenciamentoService.registrarCheckin(EVENTO_ID, codigos[0]).getSituacao());
+        assertTrue(porSegundo > META_POR_SEGUNDO, "abaixo da meta: " + porSegundo);
+    }
+
+    @Test
+    void registrarCheckin_EmVariasThreads_DeveAceitarCadaIngressoUmaVez() throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                // todas as threads apresentam todos os ingressos, a partir de pontos diferentes
+                int deslocamento = t * (INSCRICOES / threads);
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    int realizados = 0;
+                    for (int i = 0; i < INSCRICOES; i++) {
+                        String codigo = codigos[(i + deslocamento) % INSCRICOES];
+                        if (credenciamentoService.registrarCheckin(EVENTO_ID, codigo).getSituacao()
+                                == SituacaoCheckin.REALIZADO) {
+                            realizados++;
+                        }
+                    }
+                    return realizados;
+                }));
+            }
+            long inicio = System.nanoTime();
+            largada.countDown();
+            int realizados = 0;
+            for (Future<Integer> resultado : resultados) {
+                realizados += resultado.get();
+            }
+            long duracao = System.nanoTime() - inicio;
+
+            long total = (long) threads * INSCRICOES;
+            System.out.printf("CredenciamentoService.registrarCheckin: %,d check-ins em %d threads em %d ms " +
+                    "(%,.0f/s)%n", total, threads, duracao / 1_000_000, total * 1e9 / duracao);
+            assertEquals(INSCRICOES, realizados);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
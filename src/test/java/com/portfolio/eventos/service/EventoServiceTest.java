@@ -1,10 +1,15 @@
 package com.portfolio.eventos.service;
 
+import com.portfolio.eventos.busca.IndiceInvertido;
+import com.portfolio.eventos.dto.EstatisticasCacheDTO;
 import com.portfolio.eventos.dto.EventoDTO;
 import com.portfolio.eventos.entity.Categoria;
 import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.entity.Inscricao;
 import com.portfolio.eventos.entity.Local;
+import com.portfolio.eventos.exception.ConflitoException;
 import com.portfolio.eventos.exception.ResourceNotFoundException;
+import com.portfolio.eventos.exception.ValidationException;
 import com.portfolio.eventos.repository.CategoriaRepository;
 import com.portfolio.eventos.repository.EventoRepository;
 import com.portfolio.eventos.repository.LocalRepository;
@@ -29,6 +34,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +49,27 @@ class EventoServiceTest {
     @Mock
     private LocalRepository localRepository;
 
+    @Mock
+    private BuscaTextualService buscaTextualService;
+
+    @Mock
+    private RankingPopularidadeService rankingPopularidadeService;
+
+    @Mock
+    private CalendarioEventosService calendarioEventosService;
+
+    @Mock
+    private AlocadorVagasService alocadorVagasService;
+
+    @Mock
+    private AdmissaoInscricoesService admissaoInscricoesService;
+
+    @Mock
+    private HistoricoInscricoesService historicoInscricoesService;
+
+    @Mock
+    private ListaEsperaService listaEsperaService;
+
     @InjectMocks
     private EventoService eventoService;
 
@@ -90,23 +117,26 @@ class EventoServiceTest {
 
     @Test
     void listarEventos_DeveRetornarPaginaDeEventos() {
-        List<Evento> eventos = Arrays.asList(evento);
-        Page<Evento> pageEventos = new PageImpl<>(eventos);
+        List<EventoDTO> eventos = Arrays.asList(eventoDTO);
+        Page<EventoDTO> pageEventos = new PageImpl<>(eventos);
         Pageable pageable = PageRequest.of(0, 10);
         
-        when(eventoRepository.findAll(pageable)).thenReturn(pageEventos);
+        when(eventoRepository.findAllComTotais(pageable)).thenReturn(pageEventos);
 
         Page<EventoDTO> resultado = eventoService.listarEventos(pageable);
 
         assertNotNull(resultado);
         assertEquals(1, resultado.getContent().size());
         assertEquals("Evento Teste", resultado.getContent().get(0).getNome());
-        verify(eventoRepository, times(1)).findAll(pageable);
+        verify(eventoRepository, times(1)).findAllComTotais(pageable);
+        verify(eventoRepository, never()).findAll(pageable);
     }
 
     @Test
     void buscarEventoPorId_ComIdValido_DeveRetornarEvento() {
         when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(rankingPopularidadeService.comTotalConfirmadasAtual(any(EventoDTO.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
 
         EventoDTO resultado = eventoService.buscarEventoPorId(1L);
 
@@ -116,6 +146,28 @@ class EventoServiceTest {
         verify(eventoRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void buscarEventoPorId_DeveUsarCacheAteAtualizacaoDoEvento() {
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(localRepository.findById(1L)).thenReturn(Optional.of(local));
+        when(eventoRepository.save(any(Evento.class))).thenReturn(evento);
+        when(rankingPopularidadeService.comTotalConfirmadasAtual(any(EventoDTO.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        eventoService.buscarEventoPorId(1L);
+        eventoService.buscarEventoPorId(1L);
+        eventoService.atualizarEvento(1L, eventoDTO);
+        eventoService.buscarEventoPorId(1L);
+
+        // duas leituras do banco pelo cache e uma pela atualização
+        verify(eventoRepository, times(3)).findById(1L);
+        EstatisticasCacheDTO estatisticas = eventoService.obterEstatisticasCache();
+        assertEquals(1, estatisticas.getAcertos());
+        assertEquals(2, estatisticas.getFalhas());
+        assertEquals(1, estatisticas.getInvalidacoes());
+    }
+
     @Test
     void buscarEventoPorId_ComIdInvalido_DeveLancarExcecao() {
         when(eventoRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -140,6 +192,7 @@ class EventoServiceTest {
         verify(categoriaRepository, times(1)).findById(1L);
         verify(localRepository, times(1)).findById(1L);
         verify(eventoRepository, times(1)).save(any(Evento.class));
+        verify(buscaTextualService, times(1)).indexarEvento(evento);
     }
 
     @Test
@@ -171,6 +224,31 @@ class EventoServiceTest {
         verify(eventoRepository, never()).save(any(Evento.class));
     }
 
+    @Test
+    void atualizarEvento_ComVersaoDesatualizada_DeveLancarConflito() {
+        evento.setVersao(3L);
+        eventoDTO.setVersao(2L);
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+
+        assertThrows(ConflitoException.class, () -> eventoService.atualizarEvento(1L, eventoDTO));
+
+        verify(eventoRepository, never()).save(any(Evento.class));
+    }
+
+    @Test
+    void atualizarEvento_ComVersaoAtual_DeveAtualizar() {
+        evento.setVersao(3L);
+        eventoDTO.setVersao(3L);
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(localRepository.findById(1L)).thenReturn(Optional.of(local));
+        when(eventoRepository.save(any(Evento.class))).thenReturn(evento);
+
+        assertNotNull(eventoService.atualizarEvento(1L, eventoDTO));
+
+        verify(eventoRepository).save(evento);
+    }
+
     @Test
     void deletarEvento_ComIdValido_DeveExecutarSemErro() {
         when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
@@ -184,6 +262,9 @@ class EventoServiceTest {
         verify(eventoRepository, times(1)).findById(1L);
         verify(eventoRepository, times(1)).countInscricoesConfirmadasByEventoId(1L);
         verify(eventoRepository, times(1)).delete(evento);
+        verify(historicoInscricoesService, times(1)).registrarRemocoesDoEvento(1L);
+        verify(buscaTextualService, times(1)).removerEvento(1L);
+        verify(listaEsperaService, times(1)).removerEvento(1L);
     }
 
     @Test
@@ -197,5 +278,67 @@ class EventoServiceTest {
         verify(eventoRepository, times(1)).findById(999L);
         verify(eventoRepository, never()).delete(any(Evento.class));
     }
-}
 
+    @Test
+    void buscarEventosPorTexto_DeveManterOrdemDeRelevancia() {
+        EventoDTO primeiro = new EventoDTO();
+        primeiro.setId(2L);
+        EventoDTO segundo = new EventoDTO();
+        segundo.setId(1L);
+        when(buscaTextualService.buscarEventos("palestra", 0, 10))
+                .thenReturn(new IndiceInvertido.Resultado(List.of(2L, 1L), 2));
+        when(eventoRepository.findComTotais(any(), eq(Pageable.unpaged())))
+                .thenReturn(new PageImpl<>(List.of(segundo, primeiro)));
+
+        Page<EventoDTO> resultado = eventoService.buscarEventosPorTexto("palestra", PageRequest.of(0, 10));
+
+        assertEquals(List.of(2L, 1L), resultado.getContent().stream().map(EventoDTO::getId).toList());
+        assertEquals(2, resultado.getTotalElements());
+    }
+
+    @Test
+    void buscarEventosPorTexto_SemResultados_NaoDeveConsultarBanco() {
+        when(buscaTextualService.buscarEventos("inexistente", 0, 10))
+                .thenReturn(new IndiceInvertido.Resultado(List.of(), 0));
+
+        Page<EventoDTO> resultado = eventoService.buscarEventosPorTexto("inexistente", PageRequest.of(0, 10));
+
+        assertTrue(resultado.isEmpty());
+        verify(eventoRepository, never()).findComTotais(any(), any());
+    }
+
+    @Test
+    void buscarEventosMaisPopulares_DeveUsarRankingSemConsultarBanco() {
+        when(rankingPopularidadeService.maisPopulares(Inscricao.StatusInscricao.CONFIRMADA, 5))
+                .thenReturn(List.of(eventoDTO));
+
+        List<EventoDTO> resultado = eventoService.buscarEventosMaisPopulares(5);
+
+        assertEquals(List.of(eventoDTO), resultado);
+        verifyNoInteractions(eventoRepository);
+    }
+
+    @Test
+    void buscarEventosMaisPopulares_ComLimiteInvalido_DeveLancarExcecao() {
+        assertThrows(ValidationException.class, () -> eventoService.buscarEventosMaisPopulares(0));
+        assertThrows(ValidationException.class,
+                () -> eventoService.buscarEventosMaisPopulares(RankingPopularidadeService.LIMITE_MAXIMO + 1));
+    }
+
+    @Test
+    void buscarEventosProximos_DeveUsarCalendarioSemConsultarBanco() {
+        when(calendarioEventosService.proximos(7, 1L)).thenReturn(List.of(eventoDTO));
+
+        List<EventoDTO> resultado = eventoService.buscarEventosProximos(7, 1L);
+
+        assertEquals(List.of(eventoDTO), resultado);
+        verifyNoInteractions(eventoRepository);
+    }
+
+    @Test
+    void buscarEventosProximos_ForaDoHorizonte_DeveLancarExcecao() {
+        assertThrows(ValidationException.class, () -> eventoService.buscarEventosProximos(-1, null));
+        assertThrows(ValidationException.class,
+                () -> eventoService.buscarEventosProximos(CalendarioEventosService.HORIZONTE_DIAS + 1, null));
+    }
+}
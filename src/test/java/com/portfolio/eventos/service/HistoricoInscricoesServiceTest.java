@@ -0,0 +1,181 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.ExportacaoHistoricoDTO;
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.HistoricoInscricao;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+import com.portfolio.eventos.historico.LeitorSegmentos;
+import com.portfolio.eventos.repository.HistoricoInscricaoRepository;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class HistoricoInscricoesServiceTest {
+
+    private final HistoricoInscricaoRepository historicoInscricaoRepository = mock(HistoricoInscricaoRepository.class);
+    private final AtomicLong sequencia = new AtomicLong();
+    /** Registros visíveis no banco: os publicados após o commit da transação que os gravou */
+    private final List<RegistroHistoricoDTO> visiveis = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path diretorio;
+
+    private HistoricoInscricoesService service;
+
+    @BeforeEach
+    void setUp() {
+        when(historicoInscricaoRepository.save(any(HistoricoInscricao.class))).thenAnswer(invocacao -> {
+            HistoricoInscricao registro = invocacao.getArgument(0);
+            ReflectionTestUtils.setField(registro, "id", sequencia.incrementAndGet());
+            ReflectionTestUtils.setField(registro, "dataRegistro", LocalDateTime.now());
+            return registro;
+        });
+        when(historicoInscricaoRepository.findUltimaSequencia()).thenAnswer(invocacao -> visiveis.stream()
+                .map(RegistroHistoricoDTO::getSequencia).max(Comparator.naturalOrder()).orElse(null));
+        when(historicoInscricaoRepository.findRegistrosAposSequencia(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocacao -> {
+                    long aPartirDe = invocacao.getArgument(0);
+                    return visiveis.stream()
+                            .filter(registro -> registro.getSequencia() > aPartirDe)
+                            .sorted(Comparator.comparingLong(RegistroHistoricoDTO::getSequencia))
+                            .collect(Collectors.toList());
+                });
+        service = new HistoricoInscricoesService(historicoInscricaoRepository, mock(InscricaoRepository.class),
+                diretorio);
+        service.assinar(visiveis::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void ultimaSequenciaConsolidada_ComGravacaoEmAndamento_DeveFicarAbaixoDela() {
+        registrarEmTransacaoConcluida();
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.registrar(1L, 7L, 100L, null, StatusInscricao.PENDENTE);
+        List<TransactionSynchronization> emAndamento = suspender();
+
+        // Uma transação posterior termina primeiro: a sequência 3 fica visível antes da 2
+        registrarEmTransacaoConcluida();
+
+        assertEquals(3, historicoInscricaoRepository.findUltimaSequencia());
+        assertEquals(1, service.ultimaSequenciaConsolidada());
+
+        concluir(emAndamento, TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(3, service.ultimaSequenciaConsolidada());
+    }
+
+    @Test
+    void ultimaSequenciaConsolidada_GravacaoDesfeita_DeveAvancar() {
+        registrarEmTransacaoConcluida();
+        TransactionSynchronizationManager.initSynchronization();
+        service.registrar(1L, 7L, 100L, null, StatusInscricao.PENDENTE);
+        List<TransactionSynchronization> desfeita = suspender();
+        registrarEmTransacaoConcluida();
+
+        assertEquals(1, service.ultimaSequenciaConsolidada());
+
+        concluir(desfeita, TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(3, service.ultimaSequenciaConsolidada());
+    }
+
+    @Test
+    void ultimaSequenciaConsolidada_DuranteAObtencaoDoId_JaDeveExcluirASequencia() {
+        registrarEmTransacaoConcluida();
+        List<Long> consolidadas = new ArrayList<>();
+        when(historicoInscricaoRepository.save(any(HistoricoInscricao.class))).thenAnswer(invocacao -> {
+            // Outra transação grava e faz commit de uma sequência maior enquanto esta obtém a sua
+            visiveis.add(registro(3));
+            consolidadas.add(service.ultimaSequenciaConsolidada());
+            HistoricoInscricao registro = invocacao.getArgument(0);
+            ReflectionTestUtils.setField(registro, "id", 2L);
+            ReflectionTestUtils.setField(registro, "dataRegistro", LocalDateTime.now());
+            return registro;
+        });
+
+        service.registrar(1L, 7L, 100L, null, StatusInscricao.PENDENTE);
+
+        assertEquals(List.of(1L), consolidadas);
+    }
+
+    @Test
+    void exportarSegmentos_RegistroQueTerminaDepoisDeUmMaior_DeveSerExportadoNaOrdem() throws IOException {
+        registrarEmTransacaoConcluida();
+        TransactionSynchronizationManager.initSynchronization();
+        service.registrar(1L, 7L, 100L, null, StatusInscricao.PENDENTE);
+        List<TransactionSynchronization> atrasada = suspender();
+        registrarEmTransacaoConcluida();
+
+        ExportacaoHistoricoDTO primeira = service.exportarSegmentos(diretorio);
+        assertEquals(1, primeira.getExportados());
+        assertEquals(1, primeira.getUltimaSequencia());
+
+        concluir(atrasada, TransactionSynchronization.STATUS_COMMITTED);
+        ExportacaoHistoricoDTO segunda = service.exportarSegmentos(diretorio);
+
+        assertEquals(2, segunda.getExportados());
+        assertEquals(3, segunda.getUltimaSequencia());
+        List<Long> exportadas = new ArrayList<>();
+        LeitorSegmentos.reproduzir(diretorio, 0, registro -> exportadas.add(registro.getSequencia()));
+        assertEquals(List.of(1L, 2L, 3L), exportadas);
+    }
+
+    /**
+     * Registra uma transição em uma transação que faz commit logo em seguida, tornando o registro visível
+     */
+    private void registrarEmTransacaoConcluida() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.registrar(1L, 7L, 100L, null, StatusInscricao.PENDENTE);
+        concluir(suspender(), TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    /**
+     * Retira as sincronizações da transação simulada da thread, para concluí-la depois
+     */
+    private static List<TransactionSynchronization> suspender() {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        return sincronizacoes;
+    }
+
+    /**
+     * Conclui a transação simulada: no commit os registros são publicados, e ficam visíveis, antes do fim
+     */
+    private void concluir(List<TransactionSynchronization> sincronizacoes, int status) {
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+        }
+        sincronizacoes.forEach(sincronizacao -> sincronizacao.afterCompletion(status));
+    }
+
+    private static RegistroHistoricoDTO registro(long sequencia) {
+        return new RegistroHistoricoDTO(sequencia, 1L, 7L, 100L, HistoricoInscricao.TipoRegistro.CRIADA, null,
+                StatusInscricao.PENDENTE, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,210 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.alocacao.VagasEvento;
+import com.portfolio.eventos.dto.InscricaoDTO;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.exception.SobrecargaException;
+import com.portfolio.eventos.exception.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class InscricaoAltaDemandaServiceTest {
+
+    private static final Long EVENTO_ID = 1L;
+
+    private final InscricaoService inscricaoService = mock(InscricaoService.class);
+    private final AlocadorVagasService alocadorVagasService = mock(AlocadorVagasService.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    /** Participantes de cada lote entregue ao InscricaoService, na ordem das chamadas */
+    private final List<List<Long>> lotes = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch primeiroLoteIniciado = new CountDownLatch(1);
+    private final CountDownLatch liberarPrimeiroLote = new CountDownLatch(1);
+
+    private VagasEvento vagas;
+    private InscricaoAltaDemandaService service;
+
+    @BeforeEach
+    void setUp() {
+        vagas = new VagasEvento(EVENTO_ID, "Evento", Evento.StatusEvento.ATIVO, 10, 0, List.of(), 1);
+        when(alocadorVagasService.buscar(EVENTO_ID)).thenReturn(vagas);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        liberarPrimeiroLote.countDown();
+        executor.shutdownNow();
+        if (service != null) {
+            service.encerrar();
+        }
+    }
+
+    @Test
+    void criarInscricao_EventoSemAlocador_DeveUsarFluxoTransacional() {
+        iniciar(Duration.ofSeconds(5));
+        InscricaoDTO criada = inscrita(2L);
+        InscricaoDTO pedido = pedido(7L);
+        pedido.setEventoId(2L);
+        when(inscricaoService.criarInscricao(pedido)).thenReturn(criada);
+
+        assertSame(criada, service.criarInscricao(pedido));
+        verify(inscricaoService, never()).criarInscricoesEmLote(anyList());
+    }
+
+    @Test
+    void criarInscricao_DeveResponderDepoisDaGravacaoDoLote() {
+        iniciar(Duration.ofSeconds(5));
+        gravarLotes(null);
+        liberarPrimeiroLote.countDown();
+
+        InscricaoDTO criada = service.criarInscricao(pedido(1L));
+
+        assertEquals(10L, criada.getId());
+        assertEquals(List.of(List.of(1L)), lotes);
+        assertEquals(1, vagas.ocupadas());
+    }
+
+    @Test
+    void criarInscricao_PedidosAcumuladosDuranteAGravacao_DevemSerGravadosEmUmLote() throws Exception {
+        iniciar(Duration.ofSeconds(5));
+        gravarLotes(null);
+
+        List<Future<InscricaoDTO>> respostas = enviarComEscritorOcupado(2L, 3L, 4L);
+
+        for (Future<InscricaoDTO> resposta : respostas) {
+            assertNotNull(resposta.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(List.of(List.of(1L), List.of(2L, 3L, 4L)), lotes);
+        assertEquals(4, vagas.ocupadas());
+    }
+
+    @Test
+    void criarInscricao_LoteRecusado_DeveGravarUmAUmERecusarSoOPedidoInvalido() throws Exception {
+        iniciar(Duration.ofSeconds(5));
+        gravarLotes(3L);
+
+        List<Future<InscricaoDTO>> respostas = enviarComEscritorOcupado(2L, 3L, 4L);
+
+        assertEquals(20L, respostas.get(0).get(5, TimeUnit.SECONDS).getId());
+        ExecutionException recusa = assertThrows(ExecutionException.class, () -> respostas.get(1).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ValidationException.class, recusa.getCause());
+        assertEquals(40L, respostas.get(2).get(5, TimeUnit.SECONDS).getId());
+        assertEquals(List.of(List.of(1L), List.of(2L, 3L, 4L), List.of(2L), List.of(3L), List.of(4L)), lotes);
+        // A vaga e o registro do participante recusado são devolvidos
+        assertEquals(3, vagas.ocupadas());
+        assertTrue(vagas.registrarParticipante(3L));
+    }
+
+    @Test
+    void criarInscricao_EsperaEsgotadaComPedidoNaFila_DeveDescartarOPedidoEDevolverAVaga() throws Exception {
+        iniciar(Duration.ofMillis(200));
+        gravarLotes(null);
+        Future<InscricaoDTO> ocupante = executor.submit(() -> service.criarInscricao(pedido(1L)));
+        assertTrue(primeiroLoteIniciado.await(5, TimeUnit.SECONDS));
+
+        SobrecargaException erro = assertThrows(SobrecargaException.class, () -> service.criarInscricao(pedido(2L)));
+
+        assertTrue(erro.getMessage().contains("descartado"));
+        assertEquals(InscricaoAltaDemandaService.SEGUNDOS_PARA_NOVA_TENTATIVA, erro.getSegundosParaNovaTentativa());
+        assertEquals(0, service.pedidosPendentes());
+        assertEquals(1, vagas.ocupadas());
+        assertTrue(vagas.registrarParticipante(2L));
+        // A espera do ocupante também se esgota com o lote retido; liberado antes, ele receberia a inscrição gravada
+        assertThrows(ExecutionException.class, () -> ocupante.get(5, TimeUnit.SECONDS));
+
+        liberarPrimeiroLote.countDown();
+        verify(inscricaoService, after(300).times(1)).criarInscricoesEmLote(anyList());
+        assertEquals(List.of(List.of(1L)), lotes);
+    }
+
+    @Test
+    void criarInscricao_EsperaEsgotadaDuranteAGravacao_DeveIndicarOndeConferirAInscricao() throws Exception {
+        iniciar(Duration.ofMillis(200));
+        gravarLotes(null);
+
+        SobrecargaException erro = assertThrows(SobrecargaException.class, () -> service.criarInscricao(pedido(1L)));
+
+        assertTrue(erro.getMessage().contains("/api/inscricoes/participante/1"));
+        // A gravação em andamento continua com a vaga e o participante reservados
+        assertEquals(1, vagas.ocupadas());
+        assertFalse(vagas.registrarParticipante(1L));
+        liberarPrimeiroLote.countDown();
+        verify(inscricaoService, timeout(5000)).criarInscricoesEmLote(anyList());
+        assertEquals(List.of(List.of(1L)), lotes);
+    }
+
+    private void iniciar(Duration tempoMaximoGravacao) {
+        service = new InscricaoAltaDemandaService(inscricaoService, alocadorVagasService, tempoMaximoGravacao);
+        service.iniciar();
+    }
+
+    /**
+     * O primeiro lote fica retido até liberarPrimeiroLote; lotes com o participante recusado e mais de um
+     * pedido falham inteiros, e sozinho o pedido é recusado como inscrição repetida
+     */
+    private void gravarLotes(Long participanteRecusado) {
+        when(inscricaoService.criarInscricoesEmLote(anyList())).thenAnswer(invocacao -> {
+            List<InscricaoDTO> pedidos = invocacao.getArgument(0);
+            List<Long> participantes = pedidos.stream().map(InscricaoDTO::getParticipanteId).collect(Collectors.toList());
+            lotes.add(participantes);
+            if (lotes.size() == 1) {
+                primeiroLoteIniciado.countDown();
+                assertTrue(liberarPrimeiroLote.await(5, TimeUnit.SECONDS));
+            }
+            if (participantes.contains(participanteRecusado)) {
+                throw new ValidationException("Participante já inscrito neste evento.");
+            }
+            return participantes.stream().map(this::inscrita).collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Envia o pedido do participante 1, retém a gravação do seu lote, enfileira os demais, um de cada vez
+     * para fixar a ordem na fila, e só então libera o escritor, para que eles sejam gravados juntos
+     */
+    private List<Future<InscricaoDTO>> enviarComEscritorOcupado(Long... participantes) throws Exception {
+        Future<InscricaoDTO> primeiro = executor.submit(() -> service.criarInscricao(pedido(1L)));
+        assertTrue(primeiroLoteIniciado.await(5, TimeUnit.SECONDS));
+        List<Future<InscricaoDTO>> respostas = new ArrayList<>();
+        for (Long participanteId : participantes) {
+            respostas.add(executor.submit(() -> service.criarInscricao(pedido(participanteId))));
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (service.pedidosPendentes() < respostas.size()) {
+                assertTrue(System.nanoTime() < limite, "o pedido não chegou à fila");
+                Thread.sleep(5);
+            }
+        }
+        liberarPrimeiroLote.countDown();
+        assertEquals(10L, primeiro.get(5, TimeUnit.SECONDS).getId());
+        return respostas;
+    }
+
+    private InscricaoDTO pedido(Long participanteId) {
+        InscricaoDTO dto = new InscricaoDTO();
+        dto.setParticipanteId(participanteId);
+        dto.setEventoId(EVENTO_ID);
+        return dto;
+    }
+
+    private InscricaoDTO inscrita(Long participanteId) {
+        InscricaoDTO dto = pedido(participanteId);
+        dto.setId(participanteId * 10);
+        return dto;
+    }
+}
@@ -0,0 +1,192 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.InscricaoDTO;
+import com.portfolio.eventos.entity.Categoria;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.entity.Local;
+import com.portfolio.eventos.entity.Participante;
+import com.portfolio.eventos.exception.ValidationException;
+import com.portfolio.eventos.repository.CategoriaRepository;
+import com.portfolio.eventos.repository.EventoRepository;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import com.portfolio.eventos.repository.LocalRepository;
+import com.portfolio.eventos.repository.ParticipanteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dispara inscrições simultâneas no mesmo evento com transações reais e confere que a reserva condicional
+ * do contador não deixa o evento passar da capacidade: inscrições confirmadas == contador == capacidade.
+ * O benchmark de 500 inscrições simultâneas fica fora do build padrão:
+ * mvn test -Pdesempenho -Dtest=InscricaoConcorrenciaTest.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:concorrencia;LOCK_TIMEOUT=10000")
+class InscricaoConcorrenciaTest {
+
+    private static final int THREADS = 32;
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+
+    @Autowired
+    private InscricaoService inscricaoService;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LocalRepository localRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void criarInscricao_EventoGratuitoDisputado_NaoDeveUltrapassarACapacidade() throws Exception {
+        Evento evento = criarEvento(20, BigDecimal.ZERO);
+        List<Long> participantes = criarParticipantes(120);
+
+        Disputa disputa = disputar(participantes.size(), i ->
+                inscricaoService.criarInscricao(pedido(participantes.get((int) i), evento.getId())));
+
+        assertEquals(20, disputa.aceitas);
+        assertEquals(100, disputa.recusadas);
+        assertCapacidadeRespeitada(evento.getId(), 20);
+    }
+
+    @Test
+    void confirmarInscricao_EventoPagoDisputado_NaoDeveUltrapassarACapacidade() throws Exception {
+        Evento evento = criarEvento(15, new BigDecimal("50.00"));
+        List<Long> inscricoes = new ArrayList<>();
+        for (Long participanteId : criarParticipantes(60)) {
+            inscricoes.add(inscricaoService.criarInscricao(pedido(participanteId, evento.getId())).getId());
+        }
+
+        Disputa disputa = disputar(inscricoes.size(), i ->
+                inscricaoService.confirmarInscricao(inscricoes.get((int) i)));
+
+        assertEquals(15, disputa.aceitas);
+        assertEquals(45, disputa.recusadas);
+        assertCapacidadeRespeitada(evento.getId(), 15);
+        assertEquals(45, inscricaoRepository.countByEventoIdAndStatus(evento.getId(), Inscricao.StatusInscricao.PENDENTE));
+    }
+
+    @Test
+    @Tag("desempenho")
+    void criarInscricao_QuinhentasSimultaneas_DeveRespeitarACapacidade() throws Exception {
+        Evento evento = criarEvento(100, BigDecimal.ZERO);
+        List<Long> participantes = criarParticipantes(500);
+
+        long inicio = System.nanoTime();
+        Disputa disputa = disputar(participantes.size(), i ->
+                inscricaoService.criarInscricao(pedido(participantes.get((int) i), evento.getId())));
+        long duracao = System.nanoTime() - inicio;
+
+        System.out.printf("InscricaoService.criarInscricao: 500 inscrições simultâneas em %d threads em %d ms " +
+                "(%,.0f/s), %d aceitas%n", THREADS, duracao / 1_000_000, 500 * 1e9 / duracao, disputa.aceitas);
+        assertEquals(100, disputa.aceitas);
+        assertEquals(400, disputa.recusadas);
+        assertCapacidadeRespeitada(evento.getId(), 100);
+    }
+
+    private void assertCapacidadeRespeitada(Long eventoId, long capacidade) {
+        assertEquals(capacidade, eventoRepository.countInscricoesConfirmadasByEventoId(eventoId));
+        assertEquals(capacidade, eventoRepository.buscarInscricoesConfirmadas(eventoId));
+    }
+
+    /**
+     * Executa as operações ao mesmo tempo a partir de uma largada comum. Recusas por falta de vaga
+     * (ValidationException) são contadas; qualquer outra falha derruba o teste.
+     */
+    private Disputa disputar(int operacoes, LongFunction<?> operacao) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> resultados = new ArrayList<>();
+        for (int i = 0; i < operacoes; i++) {
+            long indice = i;
+            resultados.add(executor.submit((Callable<Object>) () -> {
+                largada.await();
+                return operacao.apply(indice);
+            }));
+        }
+        largada.countDown();
+
+        Disputa disputa = new Disputa();
+        for (Future<?> resultado : resultados) {
+            try {
+                resultado.get(60, TimeUnit.SECONDS);
+                disputa.aceitas++;
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof ValidationException)) {
+                    throw e;
+                }
+                disputa.recusadas++;
+            }
+        }
+        return disputa;
+    }
+
+    private Evento criarEvento(int capacidade, BigDecimal preco) {
+        int n = SEQUENCIA.incrementAndGet();
+        Categoria categoria = categoriaRepository.save(new Categoria("Concorrência " + n, "Eventos disputados"));
+        Local local = localRepository.save(new Local("Arena " + n, "Rua A, " + n, capacidade));
+        LocalDate data = LocalDate.now().plusMonths(1);
+        return eventoRepository.save(new Evento("Evento disputado " + n, "Descrição", data, data.plusDays(1),
+                null, null, capacidade, preco, local, categoria));
+    }
+
+    private List<Long> criarParticipantes(int quantidade) {
+        int n = SEQUENCIA.incrementAndGet();
+        List<Participante> participantes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            participantes.add(new Participante("Participante " + i, "p" + n + "-" + i + "@concorrencia.com",
+                    null, "senha"));
+        }
+        return participanteRepository.saveAll(participantes).stream().map(Participante::getId).toList();
+    }
+
+    private static InscricaoDTO pedido(Long participanteId, Long eventoId) {
+        InscricaoDTO dto = new InscricaoDTO();
+        dto.setParticipanteId(participanteId);
+        dto.setEventoId(eventoId);
+        return dto;
+    }
+
+    private static class Disputa {
+        int aceitas;
+        int recusadas;
+    }
+}
@@ -0,0 +1,484 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.InscricaoDTO;
+import com.portfolio.eventos.dto.ItemLoteInscricaoDTO;
+import com.portfolio.eventos.dto.OperacaoInscricoesDTO;
+import com.portfolio.eventos.dto.ResultadoLoteInscricoesDTO;
+import com.portfolio.eventos.dto.ResultadoOperacaoInscricoesDTO;
+import com.portfolio.eventos.entity.Categoria;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.entity.Inscricao;
+import com.portfolio.eventos.entity.Local;
+import com.portfolio.eventos.entity.Participante;
+import com.portfolio.eventos.espera.FilaEspera;
+import com.portfolio.eventos.exception.ConflitoException;
+import com.portfolio.eventos.exception.ValidationException;
+import com.portfolio.eventos.repository.EventoRepository;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import com.portfolio.eventos.repository.ParticipanteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InscricaoServiceTest {
+
+    @Mock
+    private InscricaoRepository inscricaoRepository;
+
+    @Mock
+    private ParticipanteRepository participanteRepository;
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private RankingPopularidadeService rankingPopularidadeService;
+
+    @Mock
+    private AlocadorVagasService alocadorVagasService;
+
+    @Mock
+    private ListaEsperaService listaEsperaService;
+
+    @Mock
+    private HistoricoInscricoesService historicoInscricoesService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private InscricaoService inscricaoService;
+
+    private Participante participante;
+    private Evento evento;
+    private InscricaoDTO inscricaoDTO;
+
+    @BeforeEach
+    void setUp() {
+        participante = new Participante("Participante Teste", "teste@email.com", null, "senha");
+        participante.setId(1L);
+
+        Local local = new Local();
+        local.setId(1L);
+        Categoria categoria = new Categoria();
+        categoria.setId(1L);
+
+        evento = new Evento("Evento Teste", "Descrição", LocalDate.now().plusDays(1), LocalDate.now().plusDays(2),
+                null, null, 2, BigDecimal.ZERO, local, categoria);
+        evento.setId(1L);
+
+        inscricaoDTO = new InscricaoDTO();
+        inscricaoDTO.setParticipanteId(1L);
+        inscricaoDTO.setEventoId(1L);
+    }
+
+    private InscricaoDTO pedido(Long participanteId) {
+        InscricaoDTO pedido = new InscricaoDTO();
+        pedido.setParticipanteId(participanteId);
+        pedido.setEventoId(1L);
+        return pedido;
+    }
+
+    private Inscricao novaInscricao(Inscricao.StatusInscricao status) {
+        Inscricao inscricao = new Inscricao(participante, evento, status);
+        inscricao.setId(10L);
+        return inscricao;
+    }
+
+    @Test
+    void criarInscricao_EventoGratuito_DeveReservarVaga() {
+        when(participanteRepository.findById(1L)).thenReturn(Optional.of(participante));
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(inscricaoRepository.saveAndFlush(any(Inscricao.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(1);
+
+        InscricaoDTO resultado = inscricaoService.criarInscricao(inscricaoDTO);
+
+        assertEquals(Inscricao.StatusInscricao.CONFIRMADA, resultado.getStatus());
+        verify(eventoRepository, times(1)).reservarVagas(1L, 1L);
+    }
+
+    @Test
+    void criarInscricao_SemVagaNaReserva_DeveLancarExcecao() {
+        when(participanteRepository.findById(1L)).thenReturn(Optional.of(participante));
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(inscricaoRepository.saveAndFlush(any(Inscricao.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(0);
+
+        assertThrows(ValidationException.class, () -> inscricaoService.criarInscricao(inscricaoDTO));
+
+        verify(rankingPopularidadeService, never()).registrarTransicao(anyLong(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void criarInscricao_ParticipanteJaInscrito_DeveLancarExcecaoPelaRestricaoUnica() {
+        when(participanteRepository.findById(1L)).thenReturn(Optional.of(participante));
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(inscricaoRepository.saveAndFlush(any(Inscricao.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("duplicate key value violates unique constraint \"uk_inscricoes_participante_evento\"")));
+
+        ValidationException excecao = assertThrows(ValidationException.class,
+                () -> inscricaoService.criarInscricao(inscricaoDTO));
+
+        assertEquals("Participante já inscrito neste evento.", excecao.getMessage());
+        verify(eventoRepository, never()).reservarVagas(anyLong(), anyLong());
+    }
+
+    @Test
+    void criarInscricao_EventoLotado_DeveLancarExcecaoSemCarregarInscricoes() {
+        evento.setNumeroInscricoesConfirmadas(2);
+        when(participanteRepository.findById(1L)).thenReturn(Optional.of(participante));
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+
+        assertThrows(ValidationException.class, () -> inscricaoService.criarInscricao(inscricaoDTO));
+
+        verify(inscricaoRepository, never()).saveAndFlush(any(Inscricao.class));
+        verify(eventoRepository, never()).reservarVagas(anyLong(), anyLong());
+    }
+
+    @Test
+    void inscreverEmLote_DeveInformarResultadoDeCadaItem() {
+        participante.setId(1L);
+        Participante outro = new Participante("Outro", "outro@email.com", null, "senha");
+        outro.setId(2L);
+        Participante terceiro = new Participante("Terceiro", "terceiro@email.com", null, "senha");
+        terceiro.setId(3L);
+        when(participanteRepository.findAllById(anySet())).thenReturn(List.of(participante, outro, terceiro));
+        when(eventoRepository.findAllById(anySet())).thenReturn(List.of(evento));
+        when(inscricaoRepository.findParesEventoParticipante(anySet(), anySet())).thenReturn(List.of());
+        when(eventoRepository.reservarVagas(1L, 2L)).thenReturn(1);
+        when(inscricaoRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ResultadoLoteInscricoesDTO resultado = inscricaoService.inscreverEmLote(List.of(
+                pedido(1L), pedido(1L), pedido(2L), pedido(99L), pedido(3L)));
+
+        assertEquals(2, resultado.getCriadas());
+        assertEquals(3, resultado.getRecusadas());
+        List<ItemLoteInscricaoDTO> itens = resultado.getItens();
+        assertTrue(itens.get(0).isCriada());
+        assertEquals("Participante já inscrito neste evento.", itens.get(1).getMensagem());
+        assertTrue(itens.get(2).isCriada());
+        assertEquals("Participante não encontrado com ID: 99", itens.get(3).getMensagem());
+        assertEquals("Evento lotado. Não há vagas disponíveis.", itens.get(4).getMensagem());
+        verify(eventoRepository, times(1)).reservarVagas(1L, 2L);
+    }
+
+    @Test
+    void inscreverEmLote_ParticipanteInscritoPorOutraRequisicao_DeveRefazerOsItensUmAUm() {
+        Participante outro = new Participante("Outro", "outro@email.com", null, "senha");
+        outro.setId(2L);
+        when(participanteRepository.findAllById(anySet())).thenReturn(List.of(participante, outro));
+        when(eventoRepository.findAllById(anySet())).thenReturn(List.of(evento));
+        when(inscricaoRepository.findParesEventoParticipante(anySet(), anySet())).thenReturn(List.of());
+        when(eventoRepository.reservarVagas(eq(1L), anyLong())).thenReturn(1);
+        // O participante 2 foi inscrito por outra requisição depois da verificação das inscrições existentes
+        when(inscricaoRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Inscricao> inscricoes = invocation.getArgument(0);
+            if (inscricoes.stream().anyMatch(inscricao -> inscricao.getParticipante() == outro)) {
+                throw violacaoInscricaoRepetida();
+            }
+            return inscricoes;
+        });
+
+        ResultadoLoteInscricoesDTO resultado = inscricaoService.inscreverEmLote(List.of(pedido(1L), pedido(2L)));
+
+        assertEquals(1, resultado.getCriadas());
+        assertEquals(1, resultado.getRecusadas());
+        List<ItemLoteInscricaoDTO> itens = resultado.getItens();
+        assertTrue(itens.get(0).isCriada());
+        assertEquals(0, itens.get(0).getIndice());
+        assertEquals("Participante já inscrito neste evento.", itens.get(1).getMensagem());
+        assertEquals(1, itens.get(1).getIndice());
+        verify(inscricaoRepository, times(3)).saveAllAndFlush(anyList());
+        verify(historicoInscricoesService, times(1)).registrarCriacoes(anyList());
+    }
+
+    @Test
+    void criarInscricoesEmLote_ParticipanteJaInscrito_DeveRecusarOLote() {
+        when(participanteRepository.findAllById(anySet())).thenReturn(List.of(participante));
+        when(eventoRepository.findAllById(anySet())).thenReturn(List.of(evento));
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(1);
+        when(inscricaoRepository.saveAllAndFlush(anyList())).thenThrow(violacaoInscricaoRepetida());
+
+        ValidationException excecao = assertThrows(ValidationException.class,
+                () -> inscricaoService.criarInscricoesEmLote(List.of(pedido(1L))));
+
+        assertEquals("Participante já inscrito neste evento.", excecao.getMessage());
+        verify(historicoInscricoesService, never()).registrarCriacoes(anyList());
+    }
+
+    private static DataIntegrityViolationException violacaoInscricaoRepetida() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLException("duplicate key value violates unique constraint \"uk_inscricoes_participante_evento\""));
+    }
+
+    @Test
+    void confirmarInscricao_DeveReservarVaga() {
+        Inscricao inscricao = novaInscricao(Inscricao.StatusInscricao.PENDENTE);
+        when(inscricaoRepository.findById(10L)).thenReturn(Optional.of(inscricao));
+        when(inscricaoRepository.save(inscricao)).thenReturn(inscricao);
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(1);
+
+        inscricaoService.confirmarInscricao(10L);
+
+        verify(eventoRepository, times(1)).reservarVagas(1L, 1L);
+    }
+
+    @Test
+    void atualizarInscricao_ComVersaoDesatualizada_DeveLancarConflito() {
+        Inscricao inscricao = novaInscricao(Inscricao.StatusInscricao.PENDENTE);
+        inscricao.setVersao(5L);
+        when(inscricaoRepository.findById(10L)).thenReturn(Optional.of(inscricao));
+        InscricaoDTO alteracao = new InscricaoDTO();
+        alteracao.setStatus(Inscricao.StatusInscricao.CONFIRMADA);
+        alteracao.setVersao(4L);
+
+        assertThrows(ConflitoException.class, () -> inscricaoService.atualizarInscricao(10L, alteracao));
+
+        verify(inscricaoRepository, never()).save(any(Inscricao.class));
+        verify(eventoRepository, never()).reservarVagas(anyLong(), anyLong());
+        assertEquals(Inscricao.StatusInscricao.PENDENTE, inscricao.getStatus());
+    }
+
+    @Test
+    void confirmarInscricoesDoEvento_DeveConfirmarApenasAsVagasDisponiveis() {
+        evento.setPreco(BigDecimal.TEN);
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(inscricaoRepository.findSituacoesByEventoIdAndIdIn(1L, Set.of(Inscricao.StatusInscricao.PENDENTE),
+                List.of(11L, 12L, 13L, 14L))).thenReturn(List.of(
+                new Object[]{11L, Inscricao.StatusInscricao.PENDENTE, 1L, false},
+                new Object[]{12L, Inscricao.StatusInscricao.PENDENTE, 2L, false},
+                new Object[]{13L, Inscricao.StatusInscricao.PENDENTE, 3L, false}));
+        when(eventoRepository.reservarVagas(1L, 2L)).thenReturn(1);
+        when(inscricaoRepository.alterarStatus(List.of(11L, 12L), Inscricao.StatusInscricao.PENDENTE,
+                Inscricao.StatusInscricao.CONFIRMADA)).thenReturn(2);
+
+        ResultadoOperacaoInscricoesDTO resultado = inscricaoService.confirmarInscricoesDoEvento(1L,
+                new OperacaoInscricoesDTO(List.of(13L, 11L, 14L, 12L, 11L), null));
+
+        assertEquals(3, resultado.getSelecionadas());
+        assertEquals(2, resultado.getAlteradas());
+        assertEquals(1, resultado.getSemVaga());
+        assertEquals(1, resultado.getIgnoradas());
+        verify(rankingPopularidadeService).registrarTransicoes(1L, Inscricao.StatusInscricao.PENDENTE,
+                Inscricao.StatusInscricao.CONFIRMADA, 2);
+        verify(historicoInscricoesService).registrarTransicoes(eq(1L),
+                argThat(situacoes -> situacoes.stream().map(situacao -> situacao[0]).toList().equals(List.of(11L, 12L))),
+                eq(Inscricao.StatusInscricao.CONFIRMADA));
+    }
+
+    @Test
+    void cancelarInscricao_Confirmada_DeveDecrementarContador() {
+        Inscricao inscricao = novaInscricao(Inscricao.StatusInscricao.CONFIRMADA);
+        when(inscricaoRepository.findById(10L)).thenReturn(Optional.of(inscricao));
+        when(inscricaoRepository.save(inscricao)).thenReturn(inscricao);
+
+        inscricaoService.cancelarInscricao(10L);
+
+        verify(eventoRepository, times(1)).ajustarInscricoesConfirmadas(1L, -1L);
+        verify(rankingPopularidadeService, times(1)).registrarTransicao(
+                1L, Inscricao.StatusInscricao.CONFIRMADA, Inscricao.StatusInscricao.CANCELADA, false);
+    }
+
+    @Test
+    void cancelarInscricao_Confirmada_DevePromoverPrimeiroDaListaEspera() {
+        Inscricao inscricao = novaInscricao(Inscricao.StatusInscricao.CONFIRMADA);
+        when(inscricaoRepository.findById(10L)).thenReturn(Optional.of(inscricao));
+        when(inscricaoRepository.save(inscricao)).thenReturn(inscricao);
+        when(listaEsperaService.tamanho(1L)).thenReturn(1);
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(1);
+        when(listaEsperaService.retirarPrimeiro(1L)).thenReturn(new FilaEspera.Entrada(1L, 20L, 2L));
+        when(inscricaoRepository.promoverDaListaEspera(20L, Inscricao.StatusInscricao.CONFIRMADA, false)).thenReturn(1);
+
+        inscricaoService.cancelarInscricao(10L);
+
+        verify(eventoRepository, times(1)).ajustarInscricoesConfirmadas(1L, -1L);
+        verify(eventoRepository, times(1)).reservarVagas(1L, 1L);
+        verify(rankingPopularidadeService, times(1)).registrarTransicao(
+                1L, Inscricao.StatusInscricao.LISTA_ESPERA, Inscricao.StatusInscricao.CONFIRMADA, false);
+        verify(historicoInscricoesService).registrar(inscricao, Inscricao.StatusInscricao.CONFIRMADA,
+                Inscricao.StatusInscricao.CANCELADA);
+        verify(historicoInscricoesService).registrar(20L, 1L, 2L, Inscricao.StatusInscricao.LISTA_ESPERA,
+                Inscricao.StatusInscricao.CONFIRMADA);
+    }
+
+    @Test
+    void cancelarInscricao_Pendente_NaoDeveAlterarContador() {
+        Inscricao inscricao = novaInscricao(Inscricao.StatusInscricao.PENDENTE);
+        when(inscricaoRepository.findById(10L)).thenReturn(Optional.of(inscricao));
+        when(inscricaoRepository.save(inscricao)).thenReturn(inscricao);
+
+        inscricaoService.cancelarInscricao(10L);
+
+        verify(eventoRepository, never()).ajustarInscricoesConfirmadas(anyLong(), anyLong());
+    }
+
+    @Test
+    void deletarInscricao_Confirmada_DeveDecrementarContador() {
+        Inscricao inscricao = novaInscricao(Inscricao.StatusInscricao.CONFIRMADA);
+        when(inscricaoRepository.findById(10L)).thenReturn(Optional.of(inscricao));
+
+        inscricaoService.deletarInscricao(10L);
+
+        verify(inscricaoRepository, times(1)).delete(inscricao);
+        verify(eventoRepository, times(1)).ajustarInscricoesConfirmadas(1L, -1L);
+        verify(rankingPopularidadeService, times(1)).registrarTransicao(1L, Inscricao.StatusInscricao.CONFIRMADA, null, false);
+    }
+
+    @Test
+    void entrarNaListaEspera_VagaLiberadaAntesDaEntradaNaFila_DevePromoverAoEntrar() {
+        evento.setNumeroInscricoesConfirmadas(2);
+        when(participanteRepository.findById(1L)).thenReturn(Optional.of(participante));
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(listaEsperaService.proximaSenha(1L)).thenReturn(1L);
+        when(inscricaoRepository.saveAndFlush(any(Inscricao.class))).thenAnswer(invocation -> {
+            Inscricao inscricao = invocation.getArgument(0);
+            inscricao.setId(10L);
+            return inscricao;
+        });
+        // um cancelamento confirmado entre a verificação de vagas e a entrada na fila em memória não promoveu
+        // ninguém; a vaga continua livre quando a nova entrada chega à fila
+        when(listaEsperaService.tamanho(1L)).thenReturn(1, 0);
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(1);
+        when(listaEsperaService.retirarPrimeiro(1L)).thenReturn(new FilaEspera.Entrada(1L, 10L, 1L));
+        when(inscricaoRepository.promoverDaListaEspera(10L, Inscricao.StatusInscricao.CONFIRMADA, false)).thenReturn(1);
+
+        InscricaoDTO resultado = inscricaoService.entrarNaListaEspera(inscricaoDTO);
+
+        assertEquals(Inscricao.StatusInscricao.LISTA_ESPERA, resultado.getStatus());
+        verify(listaEsperaService).adicionar(any(Inscricao.class));
+        verify(inscricaoRepository).promoverDaListaEspera(10L, Inscricao.StatusInscricao.CONFIRMADA, false);
+        verify(historicoInscricoesService).registrar(10L, 1L, 1L, Inscricao.StatusInscricao.LISTA_ESPERA,
+                Inscricao.StatusInscricao.CONFIRMADA);
+    }
+
+    @Test
+    void entrarNaListaEspera_EventoAindaLotado_NaoDevePromover() {
+        evento.setNumeroInscricoesConfirmadas(2);
+        when(participanteRepository.findById(1L)).thenReturn(Optional.of(participante));
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(listaEsperaService.proximaSenha(1L)).thenReturn(1L);
+        when(inscricaoRepository.saveAndFlush(any(Inscricao.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(listaEsperaService.tamanho(1L)).thenReturn(1);
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(0);
+
+        inscricaoService.entrarNaListaEspera(inscricaoDTO);
+
+        verify(listaEsperaService, never()).retirarPrimeiro(anyLong());
+        verify(inscricaoRepository, never()).promoverDaListaEspera(anyLong(), any(), anyBoolean());
+    }
+
+    @Test
+    void varrerListasEspera_DevePromoverEnquantoHouverVagas() {
+        when(listaEsperaService.eventosComFila()).thenReturn(List.of(1L));
+        when(listaEsperaService.tamanho(1L)).thenReturn(2, 1, 0);
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(1);
+        when(listaEsperaService.retirarPrimeiro(1L)).thenReturn(
+                new FilaEspera.Entrada(1L, 20L, 2L), new FilaEspera.Entrada(2L, 21L, 3L));
+        when(inscricaoRepository.promoverDaListaEspera(anyLong(), eq(Inscricao.StatusInscricao.CONFIRMADA), eq(false))).thenReturn(1);
+
+        inscricaoService.varrerListasEspera();
+
+        verify(inscricaoRepository).promoverDaListaEspera(20L, Inscricao.StatusInscricao.CONFIRMADA, false);
+        verify(inscricaoRepository).promoverDaListaEspera(21L, Inscricao.StatusInscricao.CONFIRMADA, false);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void cancelarInscricao_EventoPago_DevePromoverComVagaReservada() {
+        evento.setPreco(BigDecimal.TEN);
+        Inscricao inscricao = novaInscricao(Inscricao.StatusInscricao.CONFIRMADA);
+        when(inscricaoRepository.findById(10L)).thenReturn(Optional.of(inscricao));
+        when(inscricaoRepository.save(inscricao)).thenReturn(inscricao);
+        when(listaEsperaService.tamanho(1L)).thenReturn(1);
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(1);
+        when(listaEsperaService.retirarPrimeiro(1L)).thenReturn(new FilaEspera.Entrada(1L, 20L, 2L));
+        when(inscricaoRepository.promoverDaListaEspera(20L, Inscricao.StatusInscricao.PENDENTE, true)).thenReturn(1);
+
+        inscricaoService.cancelarInscricao(10L);
+
+        // a vaga liberada passa direto para a promovida, que continua pendente até o pagamento
+        verify(eventoRepository).ajustarInscricoesConfirmadas(1L, -1L);
+        verify(eventoRepository).reservarVagas(1L, 1L);
+        verify(historicoInscricoesService).registrar(20L, 1L, 2L, Inscricao.StatusInscricao.LISTA_ESPERA,
+                Inscricao.StatusInscricao.PENDENTE);
+        verify(rankingPopularidadeService).registrarTransicao(1L, Inscricao.StatusInscricao.LISTA_ESPERA,
+                Inscricao.StatusInscricao.PENDENTE, true);
+    }
+
+    @Test
+    void confirmarInscricao_PendenteComVagaReservada_NaoDeveReservarOutraVaga() {
+        evento.setPreco(BigDecimal.TEN);
+        Inscricao inscricao = novaInscricao(Inscricao.StatusInscricao.PENDENTE);
+        inscricao.setVagaReservada(true);
+        when(inscricaoRepository.findById(10L)).thenReturn(Optional.of(inscricao));
+        when(inscricaoRepository.save(inscricao)).thenReturn(inscricao);
+
+        InscricaoDTO resultado = inscricaoService.confirmarInscricao(10L);
+
+        assertEquals(Inscricao.StatusInscricao.CONFIRMADA, resultado.getStatus());
+        verify(eventoRepository, never()).reservarVagas(anyLong(), anyLong());
+        verify(eventoRepository, never()).ajustarInscricoesConfirmadas(anyLong(), anyLong());
+    }
+
+    @Test
+    void cancelarInscricao_PendenteComVagaReservada_DeveLiberarVaga() {
+        evento.setPreco(BigDecimal.TEN);
+        Inscricao inscricao = novaInscricao(Inscricao.StatusInscricao.PENDENTE);
+        inscricao.setVagaReservada(true);
+        when(inscricaoRepository.findById(10L)).thenReturn(Optional.of(inscricao));
+        when(inscricaoRepository.save(inscricao)).thenReturn(inscricao);
+
+        inscricaoService.cancelarInscricao(10L);
+
+        verify(eventoRepository).ajustarInscricoesConfirmadas(1L, -1L);
+        verify(rankingPopularidadeService).registrarTransicao(1L, Inscricao.StatusInscricao.PENDENTE,
+                Inscricao.StatusInscricao.CANCELADA, true);
+    }
+
+    @Test
+    void confirmarInscricoesDoEvento_PendentesComVagaReservada_DevemSerConfirmadasSemNovaReserva() {
+        evento.setPreco(BigDecimal.TEN);
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(inscricaoRepository.findSituacoesByEventoIdAndIdIn(1L, Set.of(Inscricao.StatusInscricao.PENDENTE),
+                List.of(11L, 12L))).thenReturn(List.of(
+                new Object[]{11L, Inscricao.StatusInscricao.PENDENTE, 1L, true},
+                new Object[]{12L, Inscricao.StatusInscricao.PENDENTE, 2L, false}));
+        when(inscricaoRepository.alterarStatus(List.of(11L), Inscricao.StatusInscricao.PENDENTE,
+                Inscricao.StatusInscricao.CONFIRMADA)).thenReturn(1);
+        when(eventoRepository.reservarVagas(1L, 1L)).thenReturn(0);
+        when(eventoRepository.buscarInscricoesConfirmadas(1L)).thenReturn(2L);
+
+        ResultadoOperacaoInscricoesDTO resultado = inscricaoService.confirmarInscricoesDoEvento(1L,
+                new OperacaoInscricoesDTO(List.of(11L, 12L), null));
+
+        assertEquals(1, resultado.getAlteradas());
+        assertEquals(1, resultado.getSemVaga());
+        verify(inscricaoRepository, never()).alterarStatus(eq(List.of(12L)), any(), any());
+    }
+}
@@ -0,0 +1,92 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.CursorPageDTO;
+import com.portfolio.eventos.dto.ParticipanteDTO;
+import com.portfolio.eventos.entity.Participante;
+import com.portfolio.eventos.exception.ValidationException;
+import com.portfolio.eventos.repository.ParticipanteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipanteServiceTest {
+
+    @Mock
+    private ParticipanteRepository participanteRepository;
+
+    @Mock
+    private CodificacaoSenhasService codificacaoSenhasService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ParticipanteService participanteService;
+
+    @BeforeEach
+    void setUp() {
+        participanteService = new ParticipanteService(participanteRepository, codificacaoSenhasService,
+                transactionManager);
+    }
+
+    @Test
+    void listarParticipantes_DevePreencherTotaisComUmaConsultaAgrupada() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ParticipanteDTO> pagina = new PageImpl<>(List.of(participante(1L), participante(2L)), pageable, 2);
+        when(participanteRepository.findPagina(pageable)).thenReturn(pagina);
+        when(participanteRepository.countInscricoesPorParticipante(Set.of(1L, 2L)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 3L, 2L}));
+
+        Page<ParticipanteDTO> resultado = participanteService.listarParticipantes(pageable);
+
+        assertEquals(3L, resultado.getContent().get(0).getTotalInscricoes());
+        assertEquals(2L, resultado.getContent().get(0).getTotalInscricoesConfirmadas());
+        assertEquals(0L, resultado.getContent().get(1).getTotalInscricoes());
+        assertEquals(0L, resultado.getContent().get(1).getTotalInscricoesConfirmadas());
+        verify(participanteRepository, times(1)).countInscricoesPorParticipante(anyCollection());
+        verify(participanteRepository, never()).countInscricoesByParticipanteId(anyLong());
+    }
+
+    @Test
+    void listarParticipantesPorCursor_DeveContinuarDepoisDoUltimoIdRetornado() {
+        List<ParticipanteDTO> primeira = new ArrayList<>(List.of(participante(1L), participante(2L), participante(3L)));
+        when(participanteRepository.findAposId(eq(0L), any(Pageable.class))).thenReturn(primeira);
+        when(participanteRepository.findAposId(eq(2L), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(List.of(participante(3L))));
+
+        CursorPageDTO<ParticipanteDTO> pagina1 = participanteService.listarParticipantesPorCursor("", 2);
+        CursorPageDTO<ParticipanteDTO> pagina2 = participanteService.listarParticipantesPorCursor(pagina1.getNextCursor(), 2);
+
+        assertEquals(2, pagina1.getContent().size());
+        assertTrue(pagina1.isHasNext());
+        assertEquals(List.of(3L), pagina2.getContent().stream().map(ParticipanteDTO::getId).toList());
+        assertFalse(pagina2.isHasNext());
+        assertThrows(ValidationException.class, () -> participanteService.listarParticipantesPorCursor("???", 2));
+        assertThrows(ValidationException.class,
+                () -> participanteService.listarParticipantesPorCursor("", ParticipanteService.TAMANHO_MAXIMO_PAGINA + 1));
+    }
+
+    private static ParticipanteDTO participante(Long id) {
+        return new ParticipanteDTO(id, "Participante " + id, "p" + id + "@email.com", null,
+                Participante.Role.PARTICIPANTE, LocalDateTime.now(), null);
+    }
+}
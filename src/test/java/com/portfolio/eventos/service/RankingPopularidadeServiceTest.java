@@ -0,0 +1,69 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.EventoDTO;
+import com.portfolio.eventos.entity.Evento;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+import com.portfolio.eventos.ranking.ContagemInscricoes;
+import com.portfolio.eventos.repository.EventoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RankingPopularidadeServiceTest {
+
+    private static final Long EVENTO_ID = 1L;
+
+    private final EventoRepository eventoRepository = mock(EventoRepository.class);
+    private RankingPopularidadeService service;
+
+    @BeforeEach
+    void setUp() {
+        when(eventoRepository.findContagensInscricoesPorStatus()).thenReturn(List.of(
+                new ContagemInscricoes(EVENTO_ID, StatusInscricao.CONFIRMADA, 3L),
+                new ContagemInscricoes(EVENTO_ID, StatusInscricao.PENDENTE, 2L)));
+        when(eventoRepository.findContagensVagasReservadas()).thenReturn(List.of(
+                new ContagemInscricoes(EVENTO_ID, StatusInscricao.PENDENTE, 1L)));
+        service = new RankingPopularidadeService(eventoRepository);
+        service.carregar();
+    }
+
+    @Test
+    void comTotalConfirmadasAtual_DeveContarAsPendentesComVagaReservada() {
+        EventoDTO atual = service.comTotalConfirmadasAtual(evento());
+
+        assertEquals(4L, atual.getNumeroInscricoesConfirmadas());
+        assertEquals(6, atual.getVagasDisponiveis());
+    }
+
+    @Test
+    void registrarTransicao_PromocaoComVagaReservada_DeveOcuparAVagaAteOCancelamento() {
+        service.registrarTransicao(EVENTO_ID, StatusInscricao.LISTA_ESPERA, StatusInscricao.PENDENTE, true);
+        assertEquals(5L, service.comTotalConfirmadasAtual(evento()).getNumeroInscricoesConfirmadas());
+
+        // Confirmar a pendente não ocupa outra vaga
+        service.registrarTransicao(EVENTO_ID, StatusInscricao.PENDENTE, StatusInscricao.CONFIRMADA, true);
+        assertEquals(5L, service.comTotalConfirmadasAtual(evento()).getNumeroInscricoesConfirmadas());
+
+        service.registrarTransicoes(EVENTO_ID, StatusInscricao.PENDENTE, StatusInscricao.CANCELADA, true, 1);
+        assertEquals(4L, service.comTotalConfirmadasAtual(evento()).getNumeroInscricoesConfirmadas());
+    }
+
+    @Test
+    void registrarTransicao_PendenteSemVagaReservada_NaoDeveOcuparVaga() {
+        service.registrarTransicao(EVENTO_ID, null, StatusInscricao.PENDENTE);
+
+        assertEquals(4L, service.comTotalConfirmadasAtual(evento()).getNumeroInscricoesConfirmadas());
+    }
+
+    private static EventoDTO evento() {
+        LocalDate data = LocalDate.now().plusMonths(1);
+        return new EventoDTO(EVENTO_ID, "Evento", "Descrição", data, data.plusDays(1), null, null, 10,
+                BigDecimal.TEN, Evento.StatusEvento.ATIVO, 1L, 1L, null, null, 0L, false, null, 0L);
+    }
+}
@@ -0,0 +1,166 @@
+package com.portfolio.eventos.service;
+
+import com.portfolio.eventos.dto.ConsolidacaoSeriesDTO;
+import com.portfolio.eventos.dto.PontoSerieDTO;
+import com.portfolio.eventos.dto.RegistroHistoricoDTO;
+import com.portfolio.eventos.entity.ConsolidacaoSeries;
+import com.portfolio.eventos.entity.HistoricoInscricao;
+import com.portfolio.eventos.entity.Inscricao.StatusInscricao;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo;
+import com.portfolio.eventos.entity.InscricoesPorPeriodo.Granularidade;
+import com.portfolio.eventos.repository.ConsolidacaoSeriesRepository;
+import com.portfolio.eventos.repository.HistoricoInscricaoRepository;
+import com.portfolio.eventos.repository.InscricaoRepository;
+import com.portfolio.eventos.repository.InscricoesPorPeriodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SeriesInscricoesServiceTest {
+
+    private static final long EVENTO_ID = 7L;
+
+    private final HistoricoInscricaoRepository historicoInscricaoRepository = mock(HistoricoInscricaoRepository.class);
+    private final InscricoesPorPeriodoRepository inscricoesPorPeriodoRepository =
+            mock(InscricoesPorPeriodoRepository.class);
+    private final ConsolidacaoSeriesRepository consolidacaoSeriesRepository = mock(ConsolidacaoSeriesRepository.class);
+    private final AtomicLong sequencia = new AtomicLong();
+    /** Registros visíveis no banco: os publicados após o commit da transação que os gravou */
+    private final List<RegistroHistoricoDTO> visiveis = new CopyOnWriteArrayList<>();
+    /** Períodos inseridos pelas consolidações */
+    private final List<InscricoesPorPeriodo> inseridos = new ArrayList<>();
+    private final ConsolidacaoSeries consolidacao = new ConsolidacaoSeries();
+
+    private HistoricoInscricoesService historicoInscricoesService;
+    private SeriesInscricoesService service;
+
+    @BeforeEach
+    void setUp() {
+        when(historicoInscricaoRepository.save(any(HistoricoInscricao.class))).thenAnswer(invocacao -> {
+            HistoricoInscricao registro = invocacao.getArgument(0);
+            ReflectionTestUtils.setField(registro, "id", sequencia.incrementAndGet());
+            ReflectionTestUtils.setField(registro, "dataRegistro", LocalDateTime.now());
+            return registro;
+        });
+        when(historicoInscricaoRepository.findUltimaSequencia()).thenAnswer(invocacao -> visiveis.stream()
+                .map(RegistroHistoricoDTO::getSequencia).max(Comparator.naturalOrder()).orElse(null));
+        when(historicoInscricaoRepository.findRegistrosAposSequencia(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocacao -> {
+                    long aPartirDe = invocacao.getArgument(0);
+                    return visiveis.stream()
+                            .filter(registro -> registro.getSequencia() > aPartirDe)
+                            .sorted(Comparator.comparingLong(RegistroHistoricoDTO::getSequencia))
+                            .collect(Collectors.toList());
+                });
+        when(consolidacaoSeriesRepository.findById(ConsolidacaoSeries.ID))
+                .thenAnswer(invocacao -> Optional.of(consolidacao));
+        when(consolidacaoSeriesRepository.findParaConsolidar(ConsolidacaoSeries.ID))
+                .thenAnswer(invocacao -> Optional.of(consolidacao));
+        doAnswer(invocacao -> inseridos.addAll(invocacao.getArgument(0)))
+                .when(inscricoesPorPeriodoRepository).inserir(anyList());
+
+        historicoInscricoesService = new HistoricoInscricoesService(historicoInscricaoRepository,
+                mock(InscricaoRepository.class), Path.of("data", "historico"));
+        historicoInscricoesService.assinar(visiveis::add);
+        service = new SeriesInscricoesService(inscricoesPorPeriodoRepository, consolidacaoSeriesRepository,
+                historicoInscricoesService);
+        service.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void consolidar_RegistroQueTerminaDepoisDeUmMaior_DeveSerSomadoUmaUnicaVez() {
+        registrarEmTransacaoConcluida();
+        consolidacao.setUltimaSequencia(1);
+        service.carregar();
+
+        TransactionSynchronizationManager.initSynchronization();
+        historicoInscricoesService.registrar(1L, EVENTO_ID, 100L, null, StatusInscricao.PENDENTE);
+        List<TransactionSynchronization> atrasada = suspender();
+        registrarEmTransacaoConcluida();
+
+        // A sequência 2 ainda está em andamento: a consolidação não passa da 1, e a 3 fica em memória
+        assertEquals(1, service.consolidar().getUltimaSequencia());
+        assertEquals(1, totalCriadas());
+
+        concluir(atrasada);
+        assertEquals(2, totalCriadas());
+
+        ConsolidacaoSeriesDTO resultado = service.consolidar();
+
+        assertEquals(3, resultado.getUltimaSequencia());
+        assertEquals(3, consolidacao.getUltimaSequencia());
+        long consolidadas = inseridos.stream()
+                .filter(periodo -> periodo.getEventoId() == EVENTO_ID && periodo.getGranularidade() == Granularidade.HORA)
+                .mapToLong(InscricoesPorPeriodo::getCriadas)
+                .sum();
+        assertEquals(2, consolidadas);
+        // Já consolidados, os registros saem da memória e não são somados de novo na consulta
+        assertEquals(0, totalCriadas());
+    }
+
+    @Test
+    void consolidar_SemLinhaDeConsolidacao_DeveCriarALinha() {
+        when(consolidacaoSeriesRepository.findParaConsolidar(ConsolidacaoSeries.ID)).thenReturn(Optional.empty());
+        when(consolidacaoSeriesRepository.saveAndFlush(any(ConsolidacaoSeries.class)))
+                .thenAnswer(invocacao -> invocacao.getArgument(0));
+        registrarEmTransacaoConcluida();
+
+        ConsolidacaoSeriesDTO resultado = service.consolidar();
+
+        assertEquals(1, resultado.getUltimaSequencia());
+        verify(consolidacaoSeriesRepository).saveAndFlush(argThat(linha ->
+                linha.getId() == ConsolidacaoSeries.ID && linha.getUltimaSequencia() == 1));
+    }
+
+    /**
+     * Criadas na série horária do evento somadas a partir da memória; o repositório de séries não devolve pontos
+     */
+    private long totalCriadas() {
+        return service.serie(EVENTO_ID, Granularidade.HORA, null, LocalDateTime.now().plusHours(1)).stream()
+                .mapToLong(PontoSerieDTO::getCriadas)
+                .sum();
+    }
+
+    private void registrarEmTransacaoConcluida() {
+        TransactionSynchronizationManager.initSynchronization();
+        historicoInscricoesService.registrar(1L, EVENTO_ID, 100L, null, StatusInscricao.PENDENTE);
+        concluir(suspender());
+    }
+
+    private static List<TransactionSynchronization> suspender() {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        return sincronizacoes;
+    }
+
+    private static void concluir(List<TransactionSynchronization> sincronizacoes) {
+        sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+        sincronizacoes.forEach(sincronizacao ->
+                sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
@@ -0,0 +1,71 @@
+-- Schema criado pelo ddl-auto=update antes das migrações (H2), com os nomes gerados pelo Hibernate
+CREATE TABLE "CATEGORIAS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "DATA_ATUALIZACAO" TIMESTAMP(6),
+    "DATA_CRIACAO" TIMESTAMP(6) NOT NULL,
+    "DESCRICAO" CHARACTER VARYING(500),
+    "NOME" CHARACTER VARYING(100) NOT NULL
+);
+ALTER TABLE "CATEGORIAS" ADD CONSTRAINT "CONSTRAINT_6" PRIMARY KEY("ID");
+CREATE TABLE "EVENTOS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "CAPACIDADE_MAXIMA" INTEGER,
+    "DATA_ATUALIZACAO" TIMESTAMP(6),
+    "DATA_CRIACAO" TIMESTAMP(6) NOT NULL,
+    "DATA_FIM" DATE NOT NULL,
+    "DATA_INICIO" DATE NOT NULL,
+    "DESCRICAO" CHARACTER VARYING(1000),
+    "HORA_FIM" TIME(6),
+    "HORA_INICIO" TIME(6),
+    "NOME" CHARACTER VARYING(200) NOT NULL,
+    "INSCRICOES_CONFIRMADAS" BIGINT NOT NULL,
+    "PRECO" NUMERIC(10, 2),
+    "STATUS" CHARACTER VARYING(255) NOT NULL,
+    "CATEGORIA_ID" BIGINT NOT NULL,
+    "LOCAL_ID" BIGINT NOT NULL
+);
+ALTER TABLE "EVENTOS" ADD CONSTRAINT "CONSTRAINT_D8" PRIMARY KEY("ID");
+CREATE INDEX "IDX_EVENTOS_CATEGORIA_DATA_INICIO" ON "EVENTOS"("CATEGORIA_ID", "DATA_INICIO");
+CREATE INDEX "IDX_EVENTOS_LOCAL_DATA_INICIO" ON "EVENTOS"("LOCAL_ID", "DATA_INICIO");
+CREATE INDEX "IDX_EVENTOS_STATUS_DATA_INICIO" ON "EVENTOS"("STATUS", "DATA_INICIO");
+CREATE INDEX "IDX_EVENTOS_PRECO" ON "EVENTOS"("PRECO");
+CREATE TABLE "INSCRICOES"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "DATA_ATUALIZACAO" TIMESTAMP(6),
+    "DATA_INSCRICAO" TIMESTAMP(6) NOT NULL,
+    "STATUS" CHARACTER VARYING(255) NOT NULL,
+    "EVENTO_ID" BIGINT NOT NULL,
+    "PARTICIPANTE_ID" BIGINT NOT NULL
+);
+ALTER TABLE "INSCRICOES" ADD CONSTRAINT "CONSTRAINT_EC" PRIMARY KEY("ID");
+CREATE TABLE "LOCAIS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "CAPACIDADE" INTEGER,
+    "DATA_ATUALIZACAO" TIMESTAMP(6),
+    "DATA_CRIACAO" TIMESTAMP(6) NOT NULL,
+    "ENDERECO" CHARACTER VARYING(300) NOT NULL,
+    "NOME" CHARACTER VARYING(150) NOT NULL
+);
+ALTER TABLE "LOCAIS" ADD CONSTRAINT "CONSTRAINT_8" PRIMARY KEY("ID");
+CREATE TABLE "PARTICIPANTES"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "DATA_ATUALIZACAO" TIMESTAMP(6),
+    "DATA_CRIACAO" TIMESTAMP(6) NOT NULL,
+    "EMAIL" CHARACTER VARYING(150) NOT NULL,
+    "NOME" CHARACTER VARYING(100) NOT NULL,
+    "ROLE" CHARACTER VARYING(255) NOT NULL,
+    "SENHA" CHARACTER VARYING(255) NOT NULL,
+    "TELEFONE" CHARACTER VARYING(20)
+);
+ALTER TABLE "PARTICIPANTES" ADD CONSTRAINT "CONSTRAINT_6FB" PRIMARY KEY("ID");
+ALTER TABLE "EVENTOS" ADD CONSTRAINT "CONSTRAINT_D" CHECK("STATUS" IN('EM_BREVE', 'ATIVO', 'CANCELADO', 'CONCLUIDO'));
+ALTER TABLE "INSCRICOES" ADD CONSTRAINT "CONSTRAINT_E" CHECK("STATUS" IN('PENDENTE', 'CONFIRMADA', 'CANCELADA'));
+ALTER TABLE "PARTICIPANTES" ADD CONSTRAINT "CONSTRAINT_6F" CHECK("ROLE" IN('PARTICIPANTE', 'ADMINISTRADOR'));
+ALTER TABLE "CATEGORIAS" ADD CONSTRAINT "UK_9QTE5SVL2I6N82LPDYYHEOI1H" UNIQUE("NOME");
+ALTER TABLE "INSCRICOES" ADD CONSTRAINT "UK13RFFVAC44B3OTHIEHFP8Y1VC" UNIQUE("PARTICIPANTE_ID", "EVENTO_ID");
+ALTER TABLE "LOCAIS" ADD CONSTRAINT "UK_RINGK47BYBTXXHM0AURT3C21Q" UNIQUE("NOME");
+ALTER TABLE "PARTICIPANTES" ADD CONSTRAINT "UK_AGB8WXJAL1BUMEALA1Q0M7POU" UNIQUE("EMAIL");
+ALTER TABLE "INSCRICOES" ADD CONSTRAINT "FKLMFM98H4VKA45LEATIPDQC51N" FOREIGN KEY("EVENTO_ID") REFERENCES "EVENTOS"("ID");
+ALTER TABLE "INSCRICOES" ADD CONSTRAINT "FK7FXXRO1GTQGJPAV0W9ET8LVO4" FOREIGN KEY("PARTICIPANTE_ID") REFERENCES "PARTICIPANTES"("ID");
+ALTER TABLE "EVENTOS" ADD CONSTRAINT "FKQI3B3V5FLJG5P9LAYC2QPK98P" FOREIGN KEY("CATEGORIA_ID") REFERENCES "CATEGORIAS"("ID");
+ALTER TABLE "EVENTOS" ADD CONSTRAINT "FKCN6DMCKEFSIBJR1XYOC0LDBN0" FOREIGN KEY("LOCAL_ID") REFERENCES "LOCAIS"("ID");